@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.tables;
+
+import ai.dqo.data.readings.factory.SensorReadingsTableFactoryImpl;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageService;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import org.openjdk.jmh.annotations.*;
+import tech.tablesaw.api.Table;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark that compares the hash based {@link TableMergeUtility#mergeNewResults(Table, Table, String...)} with the
+ * join based {@link TableMergeUtility#mergeNewResultsUsingJoin(Table, Table, String...)} on a monthly partition of sensor readings.
+ * The historic results contain daily readings of all checks and dimensions for a whole month, the new results replace the readings
+ * of the last day. Run with: <code>mvn -P benchmarks test-compile exec:exec</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableMergeUtilityBenchmark {
+    /**
+     * Number of checks that are stored in the partition.
+     */
+    @Param({"100", "1000"})
+    public int checkCount;
+
+    /**
+     * Number of data stream dimensions for each check.
+     */
+    @Param({"10"})
+    public int dimensionCount;
+
+    private Table historicResults;
+    private Table newResults;
+
+    /**
+     * Generates the historic (one month) and new (last day) sensor readings.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        SensorReadingsTableFactoryImpl tableFactory = new SensorReadingsTableFactoryImpl();
+        this.historicResults = tableFactory.createEmptySensorReadingsTable("historic");
+        this.newResults = tableFactory.createEmptySensorReadingsTable("new");
+        LocalDateTime monthStart = LocalDateTime.of(2022, 3, 1, 0, 0);
+
+        for (int day = 0; day < 31; day++) {
+            appendDailyReadings(this.historicResults, monthStart.plusDays(day), day);
+        }
+        appendDailyReadings(this.newResults, monthStart.plusDays(30), -1.0);
+    }
+
+    /**
+     * Appends the readings of all checks and dimensions for one day.
+     * @param table Target table.
+     * @param timePeriod Time period of the readings.
+     * @param actualValue Actual value to store.
+     */
+    private void appendDailyReadings(Table table, LocalDateTime timePeriod, double actualValue) {
+        SensorNormalizedResult normalizedResult = new SensorNormalizedResult(table);
+        for (int checkIndex = 0; checkIndex < this.checkCount; checkIndex++) {
+            for (int dimensionIndex = 0; dimensionIndex < this.dimensionCount; dimensionIndex++) {
+                int rowIndex = table.appendRow().getRowNumber();
+                normalizedResult.getCheckHashColumn().set(rowIndex, 1000000L + checkIndex * 7919L);
+                normalizedResult.getDimensionIdColumn().set(rowIndex, 31L * dimensionIndex);
+                normalizedResult.getTimePeriodColumn().set(rowIndex, timePeriod);
+                normalizedResult.getActualValueColumn().set(rowIndex, actualValue);
+            }
+        }
+    }
+
+    /**
+     * Merges the results using primitive key hashes.
+     * @return Merged table.
+     */
+    @Benchmark
+    public Table mergeNewResults() {
+        return TableMergeUtility.mergeNewResults(this.historicResults, this.newResults, SensorReadingsFileStorageService.KEY_COLUMN_NAMES);
+    }
+
+    /**
+     * Merges the results using a Tablesaw left outer join.
+     * @return Merged table.
+     */
+    @Benchmark
+    public Table mergeNewResultsUsingJoin() {
+        return TableMergeUtility.mergeNewResultsUsingJoin(this.historicResults, this.newResults, SensorReadingsFileStorageService.KEY_COLUMN_NAMES);
+    }
+}
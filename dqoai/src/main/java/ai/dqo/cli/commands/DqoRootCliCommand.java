@@ -19,6 +19,7 @@ import ai.dqo.cli.commands.check.CheckCliCommand;
 import ai.dqo.cli.commands.cloud.CloudCliCommand;
 import ai.dqo.cli.commands.column.ColumnCliCommand;
 import ai.dqo.cli.commands.connection.ConnectionCliCommand;
+import ai.dqo.cli.commands.data.DataCliCommand;
 import ai.dqo.cli.commands.impl.DqoShellRunnerService;
 import ai.dqo.cli.commands.settings.SettingsCliCommand;
 import ai.dqo.cli.commands.table.TableCliCommand;
@@ -45,6 +46,7 @@ import picocli.CommandLine;
             ConnectionCliCommand.class,
             TableCliCommand.class,
             CheckCliCommand.class,
+            DataCliCommand.class,
             ColumnCliCommand.class,
             SettingsCliCommand.class,
             CloudCliCommand.class,
@@ -18,12 +18,14 @@ package ai.dqo.cli.commands.check.impl;
 import ai.dqo.cli.commands.check.CheckRunReportingMode;
 import ai.dqo.cli.terminal.TerminalWriter;
 import ai.dqo.execution.checks.progress.*;
+import ai.dqo.execution.sensors.ExpandedSpecCache;
 import ai.dqo.utils.serialization.JsonSerializer;
 import org.apache.commons.lang3.StringUtils;
 import tech.tablesaw.api.Table;
 
 /**
  * Check execution progress listener used in the CLI. Reports progress to the console.
+ * Event handlers are synchronized, so the output of events raised at the same time for different tables is not interleaved.
  */
 public class CliCheckExecutionProgressListener implements CheckExecutionProgressListener {
     private final TerminalWriter terminalWriter;
@@ -64,7 +66,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onExecuteChecksOnTableStart(ExecuteChecksOnTableStartEvent event) {
+    public synchronized void onExecuteChecksOnTableStart(ExecuteChecksOnTableStartEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String connectionName = event.getConnectionWrapper().getName();
@@ -80,7 +82,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onExecutingSensor(ExecutingSensorEvent event) {
+    public synchronized void onExecutingSensor(ExecutingSensorEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String tableName = event.getTableSpec().getTarget().toPhysicalTableName().toString();
@@ -98,7 +100,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onSensorExecuted(SensorExecutedEvent event) {
+    public synchronized void onSensorExecuted(SensorExecutedEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String tableName = event.getTableSpec().getTarget().toPhysicalTableName().toString();
@@ -124,7 +126,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onSensorResultsNormalized(SensorResultsNormalizedEvent event) {
+    public synchronized void onSensorResultsNormalized(SensorResultsNormalizedEvent event) {
 
     }
 
@@ -134,7 +136,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onRulesExecuted(RulesExecutedEvent event) {
+    public synchronized void onRulesExecuted(RulesExecutedEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String tableName = event.getTableSpec().getTarget().toPhysicalTableName().toString();
@@ -160,7 +162,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onSavingSensorResults(SavingSensorResultsEvent event) {
+    public synchronized void onSavingSensorResults(SavingSensorResultsEvent event) {
 
     }
 
@@ -170,7 +172,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onSavingRuleEvaluationResults(SavingRuleEvaluationResults event) {
+    public synchronized void onSavingRuleEvaluationResults(SavingRuleEvaluationResults event) {
 
     }
 
@@ -180,8 +182,17 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onTableChecksProcessingFinished(TableChecksProcessingFinished event) {
-
+    public synchronized void onTableChecksProcessingFinished(TableChecksProcessingFinished event) {
+        if (this.mode == CheckRunReportingMode.debug && event.getExpandedSpecCache() != null) {
+			renderEventHeader();
+            String tableName = event.getTableSpec().getTarget().toPhysicalTableName().toString();
+            ExpandedSpecCache expandedSpecCache = event.getExpandedSpecCache();
+			this.terminalWriter.writeLine(String.format("Expanded %d connection, table and column specifications for the table %s, " +
+                            "reused them %d times, allocated %d bytes, saved about %d bytes",
+                    expandedSpecCache.getExpandedSpecsCount(), tableName, expandedSpecCache.getReusedSpecsCount(),
+                    expandedSpecCache.getExpansionAllocatedBytes(), expandedSpecCache.getEstimatedSavedBytes()));
+			renderEventFooter();
+        }
     }
 
     /**
@@ -190,7 +201,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onBeforeSqlTemplateRender(BeforeSqlTemplateRenderEvent event) {
+    public synchronized void onBeforeSqlTemplateRender(BeforeSqlTemplateRenderEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             //String tableName = event.getInputDto().getParameters().getTable().getTarget().toPhysicalTableName().toString();
@@ -217,7 +228,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onSqlTemplateRendered(SqlTemplateRenderedRendered event) {
+    public synchronized void onSqlTemplateRendered(SqlTemplateRenderedRendered event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String renderedTemplate = event.getOutput().getTemplate();
@@ -238,7 +249,7 @@ public class CliCheckExecutionProgressListener implements CheckExecutionProgress
      * @param event Log event.
      */
     @Override
-    public void onExecutingSqlOnConnection(ExecutingSqlOnConnectionEvent event) {
+    public synchronized void onExecutingSqlOnConnection(ExecutingSqlOnConnectionEvent event) {
         if (this.mode == CheckRunReportingMode.debug) {
 			renderEventHeader();
             String connectionName = event.getConnectionSpec().getConnectionName();
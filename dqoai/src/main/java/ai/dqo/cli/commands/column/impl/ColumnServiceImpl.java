@@ -26,6 +26,7 @@ import ai.dqo.metadata.sources.ConnectionWrapper;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.metadata.sources.TableWrapper;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContext;
+import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextCache;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextFactory;
 import ai.dqo.metadata.traversal.HierarchyNodeTreeWalker;
 import ai.dqo.metadata.traversal.HierarchyNodeTreeWalkerImpl;
@@ -41,14 +42,17 @@ import java.util.Collection;
 @Scope("prototype")
 public class ColumnServiceImpl implements ColumnService {
 	private final UserHomeContextFactory userHomeContextFactory;
+	private final UserHomeContextCache userHomeContextCache;
 	private final TerminalReader terminalReader;
 	private final TerminalWriter terminalWriter;
 
 	@Autowired
 	public ColumnServiceImpl(UserHomeContextFactory userHomeContextFactory,
+							 UserHomeContextCache userHomeContextCache,
 							 TerminalReader terminalReader,
 							 TerminalWriter terminalWriter) {
 		this.userHomeContextFactory = userHomeContextFactory;
+		this.userHomeContextCache = userHomeContextCache;
 		this.terminalReader = terminalReader;
 		this.terminalWriter = terminalWriter;
 	}
@@ -71,7 +75,8 @@ public class ColumnServiceImpl implements ColumnService {
 		HierarchyNodeTreeWalker hierarchyNodeTreeWalker = new HierarchyNodeTreeWalkerImpl();
 		HierarchyNodeTreeSearcherImpl hierarchyNodeTreeSearcher = new HierarchyNodeTreeSearcherImpl(hierarchyNodeTreeWalker);
 
-		Collection <ColumnSpec> columnSpecs = hierarchyNodeTreeSearcher.findColumns(userHomeContextFactory.openLocalUserHome().getUserHome(), columnSearchFilters);
+		UserHome userHome = this.userHomeContextCache.getCachedLocalUserHome().getUserHome(); // read only listing, the cached snapshot is enough
+		Collection <ColumnSpec> columnSpecs = hierarchyNodeTreeSearcher.findColumns(userHome, columnSearchFilters);
 
 		if (columnSpecs.size() == 0) {
 			cliOperationStatus.setFailedMessage("There are no columns with this filters!");
@@ -88,8 +93,8 @@ public class ColumnServiceImpl implements ColumnService {
 
 		for (ColumnSpec columnSpec: columnSpecs) {
 			Row row = resultTable.appendRow();
-			ConnectionWrapper currentConnection = userHomeContextFactory.openLocalUserHome().getUserHome().findConnectionFor(columnSpec.getHierarchyId());
-			TableWrapper currentTable = userHomeContextFactory.openLocalUserHome().getUserHome().findTableFor(columnSpec.getHierarchyId());
+			ConnectionWrapper currentConnection = userHome.findConnectionFor(columnSpec.getHierarchyId());
+			TableWrapper currentTable = userHome.findTableFor(columnSpec.getHierarchyId());
 			row.setLong(0, columnSpec.getHierarchyId().hashCode64());
 			row.setString(1, currentConnection.getName());
 			row.setString(2, currentTable.getPhysicalTableName().toBaseFileName());
@@ -32,6 +32,7 @@ import ai.dqo.metadata.search.HierarchyNodeTreeSearcherImpl;
 import ai.dqo.metadata.search.TableSearchFilters;
 import ai.dqo.metadata.sources.*;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContext;
+import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextCache;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextFactory;
 import ai.dqo.metadata.traversal.HierarchyNodeTreeWalker;
 import ai.dqo.metadata.traversal.HierarchyNodeTreeWalkerImpl;
@@ -57,6 +58,7 @@ import java.util.stream.Collectors;
 @Component
 public class ConnectionServiceImpl implements ConnectionService {
     private final UserHomeContextFactory userHomeContextFactory;
+    private final UserHomeContextCache userHomeContextCache;
     private final TerminalReader terminalReader;
     private final TerminalWriter terminalWriter;
     private final ConnectionProviderRegistry connectionProviderRegistry;
@@ -64,11 +66,13 @@ public class ConnectionServiceImpl implements ConnectionService {
 
     @Autowired
     public ConnectionServiceImpl(UserHomeContextFactory userHomeContextFactory,
+                                 UserHomeContextCache userHomeContextCache,
 								 ConnectionProviderRegistry connectionProviderRegistry,
                                  TerminalReader terminalReader,
                                  TerminalWriter terminalWriter,
                                  SecretValueProvider secretValueProvider) {
         this.userHomeContextFactory = userHomeContextFactory;
+        this.userHomeContextCache = userHomeContextCache;
         this.connectionProviderRegistry = connectionProviderRegistry;
         this.terminalReader = terminalReader;
         this.terminalWriter = terminalWriter;
@@ -279,7 +283,7 @@ public class ConnectionServiceImpl implements ConnectionService {
      * @return Connection list.
      */
     public FormattedTableDto<ConnectionListModel> loadConnectionTable(String connectionNameFilter) {
-        UserHomeContext userHomeContext = this.userHomeContextFactory.openLocalUserHome();
+        UserHomeContext userHomeContext = this.userHomeContextCache.getCachedLocalUserHome(); // read only listing, the cached snapshot is enough
         UserHome userHome = userHomeContext.getUserHome();
 
         ConnectionSearchFilters connectionSearchFilters = new ConnectionSearchFilters();
@@ -288,8 +292,7 @@ public class ConnectionServiceImpl implements ConnectionService {
         HierarchyNodeTreeWalker hierarchyNodeTreeWalker = new HierarchyNodeTreeWalkerImpl();
         HierarchyNodeTreeSearcherImpl hierarchyNodeTreeSearcher = new HierarchyNodeTreeSearcherImpl(hierarchyNodeTreeWalker);
 
-        Collection<ConnectionSpec> connectionSpecs = hierarchyNodeTreeSearcher.findConnections(userHomeContextFactory.
-                openLocalUserHome().getUserHome(), connectionSearchFilters);
+        Collection<ConnectionSpec> connectionSpecs = hierarchyNodeTreeSearcher.findConnections(userHome, connectionSearchFilters);
 
         List<ConnectionListModel> connectionModels = connectionSpecs.stream().map(
                 spec -> {
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.cli.commands.data;
+
+import ai.dqo.cli.commands.BaseCommand;
+import ai.dqo.cli.completion.completedcommands.ITableNameCommand;
+import ai.dqo.cli.completion.completers.ConnectionNameCompleter;
+import ai.dqo.cli.completion.completers.FullTableNameCompleter;
+import ai.dqo.data.lake.DataLakeQueryFilters;
+import picocli.CommandLine;
+
+import java.time.LocalDate;
+
+/**
+ * Base class for "data" 2nd level CLI commands, with the common options that select the partitions of the data lake.
+ */
+public abstract class BaseDataQueryCliCommand extends BaseCommand implements ITableNameCommand {
+    @CommandLine.Option(names = {"-c", "--connection"}, description = "Connection name, supports patterns like 'conn*'",
+            completionCandidates = ConnectionNameCompleter.class)
+    private String connection;
+
+    @CommandLine.Option(names = {"-t", "--table"}, description = "Full table name (schema.table), supports patterns like 'sch*.tab*'",
+            completionCandidates = FullTableNameCompleter.class)
+    private String table;
+
+    @CommandLine.Option(names = {"-k", "--check"}, description = "Data quality check name, supports patterns like '*_count'")
+    private String check;
+
+    @CommandLine.Option(names = {"-f", "--from"}, description = "The first month that is queried (yyyy-mm-dd), all months are queried when not given")
+    private LocalDate from;
+
+    @CommandLine.Option(names = {"-u", "--until"}, description = "The last month that is queried (yyyy-mm-dd), all months are queried when not given")
+    private LocalDate until;
+
+    /**
+     * Gets the connection name.
+     * @return Connection name.
+     */
+    public String getConnection() {
+        return connection;
+    }
+
+    /**
+     * Sets the connection name.
+     * @param connection Connection name.
+     */
+    public void setConnection(String connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Get the schema.table filter.
+     * @return schema.table filter.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Sets the schema.table filter.
+     * @param table Full table name filter.
+     */
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Get the check filter.
+     * @return Check filter.
+     */
+    public String getCheck() {
+        return check;
+    }
+
+    /**
+     * Sets the check name filter.
+     * @param check Check name filter.
+     */
+    public void setCheck(String check) {
+        this.check = check;
+    }
+
+    /**
+     * Gets the first queried month.
+     * @return First month.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Sets the first queried month.
+     * @param from First month.
+     */
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * Gets the last queried month.
+     * @return Last month.
+     */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Sets the last queried month.
+     * @param until Last month.
+     */
+    public void setUntil(LocalDate until) {
+        this.until = until;
+    }
+
+    /**
+     * Creates the data lake query filters from the command options.
+     * @return Query filters.
+     */
+    protected DataLakeQueryFilters createQueryFilters() {
+        DataLakeQueryFilters filters = new DataLakeQueryFilters();
+        filters.setConnectionName(this.connection);
+        filters.setSchemaTableName(this.table);
+        filters.setCheckName(this.check);
+        filters.setStartMonth(this.from);
+        filters.setEndMonth(this.until);
+        return filters;
+    }
+}
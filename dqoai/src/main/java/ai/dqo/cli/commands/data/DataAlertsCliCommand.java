@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.cli.commands.data;
+
+import ai.dqo.cli.commands.ICommand;
+import ai.dqo.cli.terminal.TablesawDatasetTableModel;
+import ai.dqo.cli.terminal.TerminalWriter;
+import ai.dqo.data.lake.DataLakeQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine;
+import tech.tablesaw.api.Table;
+
+/**
+ * "data alerts" 2nd level CLI command that shows the count of alerts per connection, using the data from the local data lake.
+ */
+@Component
+@Scope("prototype")
+@CommandLine.Command(name = "alerts", description = "Show the count of alerts per connection")
+public class DataAlertsCliCommand extends BaseDataQueryCliCommand implements ICommand {
+    private final TerminalWriter terminalWriter;
+    private final DataLakeQueryService dataLakeQueryService;
+
+    /**
+     * Dependency injection constructor.
+     * @param terminalWriter Terminal writer.
+     * @param dataLakeQueryService Data lake query service.
+     */
+    @Autowired
+    public DataAlertsCliCommand(TerminalWriter terminalWriter, DataLakeQueryService dataLakeQueryService) {
+        this.terminalWriter = terminalWriter;
+        this.dataLakeQueryService = dataLakeQueryService;
+    }
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return computed result
+     * @throws Exception if unable to compute a result
+     */
+    @Override
+    public Integer call() throws Exception {
+        Table resultTable = this.dataLakeQueryService.countAlertsPerConnection(this.createQueryFilters());
+        this.terminalWriter.writeLine("Alerts per connection:");
+        this.terminalWriter.writeTable(new TablesawDatasetTableModel(resultTable), true);
+        return 0;
+    }
+}
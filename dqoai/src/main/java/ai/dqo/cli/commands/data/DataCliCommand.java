@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.cli.commands.data;
+
+import ai.dqo.cli.commands.BaseCommand;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine;
+
+/**
+ * "data" 1st level CLI command - a grouping command for aggregate queries and maintenance of the sensor readings and alerts stored in the local data lake.
+ */
+@Component
+@Scope("prototype")
+@CommandLine.Command(name = "data", description = "Query and maintain the sensor readings and alerts of all connections and tables", subcommands = {
+        DataAlertsCliCommand.class,
+        DataTablesCliCommand.class,
+        DataTrendsCliCommand.class,
+        DataRetentionCliCommand.class,
+})
+public class DataCliCommand extends BaseCommand {
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.cli.commands.data;
+
+import ai.dqo.cli.commands.BaseCommand;
+import ai.dqo.cli.commands.ICommand;
+import ai.dqo.cli.completion.completedcommands.ITableNameCommand;
+import ai.dqo.cli.completion.completers.ConnectionNameCompleter;
+import ai.dqo.cli.completion.completers.FullTableNameCompleter;
+import ai.dqo.cli.terminal.TablesawDatasetTableModel;
+import ai.dqo.cli.terminal.TerminalWriter;
+import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
+import ai.dqo.data.retention.DataRetentionPolicy;
+import ai.dqo.data.retention.DataRetentionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine;
+import tech.tablesaw.api.Table;
+
+import java.time.LocalDate;
+
+/**
+ * "data retention" 2nd level CLI command that deletes expired monthly partitions of sensor readings and alerts
+ * and downsamples old hourly sensor readings to daily readings.
+ */
+@Component
+@Scope("prototype")
+@CommandLine.Command(name = "retention", description = "Delete expired sensor readings and alerts and downsample old hourly sensor readings to daily readings")
+public class DataRetentionCliCommand extends BaseCommand implements ICommand, ITableNameCommand {
+    private final TerminalWriter terminalWriter;
+    private final DataRetentionService dataRetentionService;
+    private final DqoStorageConfigurationProperties storageConfigurationProperties;
+
+    /**
+     * Dependency injection constructor.
+     * @param terminalWriter Terminal writer.
+     * @param dataRetentionService Data retention service.
+     * @param storageConfigurationProperties Storage configuration with the default retention periods.
+     */
+    @Autowired
+    public DataRetentionCliCommand(TerminalWriter terminalWriter,
+                                   DataRetentionService dataRetentionService,
+                                   DqoStorageConfigurationProperties storageConfigurationProperties) {
+        this.terminalWriter = terminalWriter;
+        this.dataRetentionService = dataRetentionService;
+        this.storageConfigurationProperties = storageConfigurationProperties;
+    }
+
+    @CommandLine.Option(names = {"-c", "--connection"}, description = "Connection name, supports patterns like 'conn*'",
+            completionCandidates = ConnectionNameCompleter.class)
+    private String connection;
+
+    @CommandLine.Option(names = {"-t", "--table"}, description = "Full table name (schema.table), supports patterns like 'sch*.tab*'",
+            completionCandidates = FullTableNameCompleter.class)
+    private String table;
+
+    @CommandLine.Option(names = {"-r", "--retention-months"},
+            description = "The number of past months whose sensor readings and alerts are kept, 0 keeps the data forever. The default value is configured in dqo.storage.retention-months")
+    private Integer retentionMonths;
+
+    @CommandLine.Option(names = {"-o", "--hourly-retention-months"},
+            description = "The number of past months whose hourly sensor readings are kept before they are downsampled to daily readings, 0 never downsamples the readings. " +
+                    "The default value is configured in dqo.storage.hourly-readings-retention-months")
+    private Integer hourlyRetentionMonths;
+
+    /**
+     * Gets the connection name.
+     * @return Connection name.
+     */
+    public String getConnection() {
+        return connection;
+    }
+
+    /**
+     * Sets the connection name.
+     * @param connection Connection name.
+     */
+    public void setConnection(String connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Get the schema.table filter.
+     * @return schema.table filter.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Sets the schema.table filter.
+     * @param table Full table name filter.
+     */
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Gets the number of past months whose data is kept.
+     * @return Retention in months or null when the configured retention is used.
+     */
+    public Integer getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose data is kept.
+     * @param retentionMonths Retention in months.
+     */
+    public void setRetentionMonths(Integer retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Gets the number of past months whose hourly readings are kept.
+     * @return Hourly readings retention in months or null when the configured retention is used.
+     */
+    public Integer getHourlyRetentionMonths() {
+        return hourlyRetentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose hourly readings are kept.
+     * @param hourlyRetentionMonths Hourly readings retention in months.
+     */
+    public void setHourlyRetentionMonths(Integer hourlyRetentionMonths) {
+        this.hourlyRetentionMonths = hourlyRetentionMonths;
+    }
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return computed result
+     * @throws Exception if unable to compute a result
+     */
+    @Override
+    public Integer call() throws Exception {
+        DataRetentionPolicy policy = new DataRetentionPolicy(
+                this.retentionMonths != null ? this.retentionMonths : this.storageConfigurationProperties.getRetentionMonths(),
+                this.hourlyRetentionMonths != null ? this.hourlyRetentionMonths : this.storageConfigurationProperties.getHourlyReadingsRetentionMonths());
+        policy.setConnectionName(this.connection);
+        policy.setSchemaTableName(this.table);
+
+        if (policy.getRetentionMonths() <= 0 && policy.getHourlyReadingsRetentionMonths() <= 0) {
+            this.terminalWriter.writeLine("No retention is configured, the data is kept forever.");
+            return 0;
+        }
+
+        Table summaryTable = this.dataRetentionService.applyRetention(policy, LocalDate.now());
+        if (summaryTable.rowCount() == 0) {
+            this.terminalWriter.writeLine("No partitions were deleted or downsampled.");
+            return 0;
+        }
+
+        this.terminalWriter.writeLine("Deleted and downsampled partitions:");
+        this.terminalWriter.writeTable(new TablesawDatasetTableModel(summaryTable), true);
+        return 0;
+    }
+}
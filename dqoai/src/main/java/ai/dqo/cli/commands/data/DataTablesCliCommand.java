@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.cli.commands.data;
+
+import ai.dqo.cli.commands.ICommand;
+import ai.dqo.cli.terminal.TablesawDatasetTableModel;
+import ai.dqo.cli.terminal.TerminalWriter;
+import ai.dqo.data.lake.DataLakeQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import picocli.CommandLine;
+import tech.tablesaw.api.Table;
+
+/**
+ * "data tables" 2nd level CLI command that shows the tables with the highest number of alerts, using the data from the local data lake.
+ */
+@Component
+@Scope("prototype")
+@CommandLine.Command(name = "tables", description = "Show the tables with the highest number of alerts")
+public class DataTablesCliCommand extends BaseDataQueryCliCommand implements ICommand {
+    private final TerminalWriter terminalWriter;
+    private final DataLakeQueryService dataLakeQueryService;
+
+    /**
+     * Dependency injection constructor.
+     * @param terminalWriter Terminal writer.
+     * @param dataLakeQueryService Data lake query service.
+     */
+    @Autowired
+    public DataTablesCliCommand(TerminalWriter terminalWriter, DataLakeQueryService dataLakeQueryService) {
+        this.terminalWriter = terminalWriter;
+        this.dataLakeQueryService = dataLakeQueryService;
+    }
+
+    @CommandLine.Option(names = {"-l", "--limit"}, description = "The maximum number of tables that are shown", defaultValue = "10")
+    private int limit = 10;
+
+    /**
+     * Gets the maximum number of shown tables.
+     * @return Table limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the maximum number of shown tables.
+     * @param limit Table limit.
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Computes a result, or throws an exception if unable to do so.
+     *
+     * @return computed result
+     * @throws Exception if unable to compute a result
+     */
+    @Override
+    public Integer call() throws Exception {
+        Table resultTable = this.dataLakeQueryService.findWorstTables(this.createQueryFilters(), this.limit);
+        this.terminalWriter.writeLine("Tables with the most alerts:");
+        this.terminalWriter.writeTable(new TablesawDatasetTableModel(resultTable), true);
+        return 0;
+    }
+}
@@ -19,10 +19,9 @@ import ai.dqo.cli.completion.completers.cache.CliCompleterCacheKey;
 import ai.dqo.cli.completion.completers.cache.CliCompletionCache;
 import ai.dqo.metadata.definitions.sensors.SensorDefinitionList;
 import ai.dqo.metadata.definitions.sensors.SensorDefinitionWrapper;
-import ai.dqo.metadata.storage.localfiles.dqohome.DqoHomeContextFactory;
+import ai.dqo.metadata.storage.localfiles.dqohome.DqoHomeContextCache;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContext;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextCache;
-import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextFactory;
 import ai.dqo.metadata.userhome.UserHome;
 import ai.dqo.utils.StaticBeanFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -50,17 +49,19 @@ public class SensorNameCompleter implements Iterable<String> {
 					try {
 						BeanFactory beanFactory = StaticBeanFactory.getBeanFactory();
 						UserHomeContextCache userHomeContextCache = beanFactory.getBean(UserHomeContextCache.class);
-						DqoHomeContextFactory dqoHomeContextFactory = beanFactory.getBean(DqoHomeContextFactory.class);
+						DqoHomeContextCache dqoHomeContextCache = beanFactory.getBean(DqoHomeContextCache.class);
 						UserHomeContext userHomeContext = userHomeContextCache.getCachedLocalUserHome();
 						UserHome userHome = userHomeContext.getUserHome();
 						SensorDefinitionList userHomeSensors = userHome.getSensors();
-						SensorDefinitionList localDqoSensors = userHome.getSensors();
+						SensorDefinitionList dqoHomeSensors = dqoHomeContextCache.getCachedLocalDqoHome().getDqoHome().getSensors();
 						HashSet<String> sensorNames = new HashSet<>();
-						userHomeSensors.toList().addAll(localDqoSensors.toList());
 
 						for (SensorDefinitionWrapper sensor : userHomeSensors) {
 							sensorNames.add(sensor.getName());
 						}
+						for (SensorDefinitionWrapper sensor : dqoHomeSensors) {
+							sensorNames.add(sensor.getName());
+						}
 						ArrayList<String> sensors = new ArrayList<>();
 						for (String sensorName : sensorNames) {
 							sensors.add(sensorName);
@@ -271,6 +271,16 @@ public abstract class AbstractSqlSourceConnection implements SourceConnection {
     @Override
     public abstract Table executeQuery(String sqlQueryStatement);
 
+    /**
+     * Executes a provider specific SQL that returns a query, applying the row limit and the query timeout.
+     *
+     * @param sqlQueryStatement SQL statement that returns a row set.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     * @return Tabular result captured from the query.
+     */
+    @Override
+    public abstract Table executeQuery(String sqlQueryStatement, QueryExecutionLimits queryExecutionLimits);
+
     /**
      * Creates a target table following the table specification.
      *
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.connectors;
+
+import ai.dqo.core.configuration.DqoExecutionConfigurationProperties;
+
+/**
+ * Limits applied to a query executed on a source connection: the maximum number of rows that the query may return
+ * and the query timeout after which the query is cancelled.
+ */
+public final class QueryExecutionLimits {
+    /**
+     * Limits that do not restrict the query (no row limit and no timeout). Used for metadata queries.
+     */
+    public static final QueryExecutionLimits UNLIMITED = new QueryExecutionLimits(0, 0);
+
+    private final int maxRows;
+    private final int queryTimeoutSeconds;
+
+    /**
+     * Creates query execution limits.
+     * @param maxRows Maximum number of rows that the query may return, 0 when the result size is not limited.
+     * @param queryTimeoutSeconds Query timeout in seconds, 0 when the query is never cancelled.
+     */
+    public QueryExecutionLimits(int maxRows, int queryTimeoutSeconds) {
+        this.maxRows = maxRows;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    /**
+     * Creates the query execution limits for sensor queries, using the check execution configuration.
+     * @param executionConfigurationProperties Check execution configuration.
+     * @return Query execution limits for sensor queries.
+     */
+    public static QueryExecutionLimits createForSensorQueries(DqoExecutionConfigurationProperties executionConfigurationProperties) {
+        return new QueryExecutionLimits(executionConfigurationProperties.getMaxSensorResultRows(),
+                executionConfigurationProperties.getSensorQueryTimeoutSeconds());
+    }
+
+    /**
+     * Returns the maximum number of rows that the query may return. A query that returns more rows fails.
+     * @return Maximum number of result rows, 0 when the result size is not limited.
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Returns the query timeout in seconds. A query that is running longer is cancelled.
+     * @return Query timeout in seconds, 0 when the query is never cancelled.
+     */
+    public int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+}
@@ -70,6 +70,14 @@ public interface SourceConnection extends Closeable {
      */
     Table executeQuery(String sqlQueryStatement);
 
+    /**
+     * Executes a provider specific SQL that returns a query, applying the row limit and the query timeout.
+     * @param sqlQueryStatement SQL statement that returns a row set.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     * @return Tabular result captured from the query.
+     */
+    Table executeQuery(String sqlQueryStatement, QueryExecutionLimits queryExecutionLimits);
+
     /**
      * Creates a target table following the table specification.
      * @param tableSpec Table specification with the physical table name, column names and physical column data types.
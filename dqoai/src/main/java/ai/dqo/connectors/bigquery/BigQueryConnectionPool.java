@@ -17,6 +17,7 @@ package ai.dqo.connectors.bigquery;
 
 import ai.dqo.metadata.sources.ConnectionSpec;
 import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
 
 /**
  * BigQuery connection pool that supports multiple connections.
@@ -28,4 +29,12 @@ public interface BigQueryConnectionPool {
      * @return BigQuery service.
      */
     BigQuery getBigQueryService(ConnectionSpec connectionSpec);
+
+    /**
+     * Returns or creates a BigQuery Storage Read API client for the given connection specification. The client uses the same credentials
+     * as the BigQuery service returned by {@link #getBigQueryService(ConnectionSpec)}.
+     * @param connectionSpec Connection specification (should be not mutable).
+     * @return BigQuery Storage Read API client.
+     */
+    BigQueryReadClient getBigQueryReadClient(ConnectionSpec connectionSpec);
 }
@@ -19,18 +19,24 @@ import ai.dqo.connectors.ConnectorOperationFailedException;
 import ai.dqo.connectors.ProviderType;
 import ai.dqo.connectors.jdbc.JdbConnectionPoolCreateException;
 import ai.dqo.metadata.sources.ConnectionSpec;
+import com.google.api.gax.core.FixedCredentialsProvider;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.BigQueryOptions;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadSettings;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -49,6 +55,22 @@ public class BigQueryConnectionPoolImpl implements BigQueryConnectionPool {
                     .expireAfterWrite(1, TimeUnit.HOURS) // after 1h, we want to re-authenticate
                     .build();
 
+    /**
+     * BigQuery Storage Read API clients cache. The clients are not closed when they are evicted, because another table worker
+     * may still be streaming rows with an evicted client.
+     */
+    private final Cache<ConnectionSpec, BigQueryReadClient> bigQueryReadClientCache =
+            CacheBuilder.newBuilder()
+                    .maximumSize(100)
+                    .expireAfterWrite(1, TimeUnit.HOURS) // after 1h, we want to re-authenticate
+                    .build();
+
+    /**
+     * All BigQuery Storage Read API clients that were created, including the clients evicted from the cache. The clients keep gRPC channels open,
+     * so they are closed when the application is closed.
+     */
+    private final Set<BigQueryReadClient> createdReadClients = ConcurrentHashMap.newKeySet();
+
     /**
      * Returns or creates a BigQuery service for the given connection specification.
      * @param connectionSpec Connection specification (should be not mutable).
@@ -67,6 +89,64 @@ public class BigQueryConnectionPoolImpl implements BigQueryConnectionPool {
         }
     }
 
+    /**
+     * Returns or creates a BigQuery Storage Read API client for the given connection specification. The client uses the same credentials
+     * as the BigQuery service returned by {@link #getBigQueryService(ConnectionSpec)}.
+     * @param connectionSpec Connection specification (should be not mutable).
+     * @return BigQuery Storage Read API client.
+     */
+    public BigQueryReadClient getBigQueryReadClient(ConnectionSpec connectionSpec) {
+        assert connectionSpec != null;
+        assert connectionSpec.getProviderType() == ProviderType.bigquery;
+        assert connectionSpec.getBigquery() != null;
+
+        try {
+            final ConnectionSpec clonedConnectionSpec = connectionSpec.clone();
+            return this.bigQueryReadClientCache.get(clonedConnectionSpec, () -> {
+                BigQueryReadClient readClient = createBigQueryReadClient(clonedConnectionSpec);
+                this.createdReadClients.add(readClient);
+                return readClient;
+            });
+        } catch (ExecutionException e) {
+            throw new JdbConnectionPoolCreateException("Cannot create a BigQuery Storage Read API client for " + connectionSpec.getConnectionName(), e);
+        }
+    }
+
+    /**
+     * Closes all BigQuery Storage Read API clients when the application is closed.
+     */
+    @PreDestroy
+    public void closeReadClients() {
+        this.bigQueryReadClientCache.invalidateAll();
+        for (BigQueryReadClient readClient : this.createdReadClients) {
+            readClient.close();
+        }
+        this.createdReadClients.clear();
+    }
+
+    /**
+     * Creates a BigQuery Storage Read API client.
+     * @param connectionSpec Connection specification for a BigQuery connection.
+     * @return BigQuery Storage Read API client.
+     */
+    public BigQueryReadClient createBigQueryReadClient(ConnectionSpec connectionSpec) {
+        try {
+            BigQuery bigQueryService = getBigQueryService(connectionSpec);
+            BigQueryReadSettings.Builder builder = BigQueryReadSettings.newBuilder()
+                    .setCredentialsProvider(FixedCredentialsProvider.create(bigQueryService.getOptions().getCredentials()));
+
+            BigQueryParametersSpec bigQueryParametersSpec = connectionSpec.getBigquery();
+            if (bigQueryParametersSpec.getQuotaProjectId() != null) {
+                builder = builder.setQuotaProjectId(bigQueryParametersSpec.getQuotaProjectId());
+            }
+
+            return BigQueryReadClient.create(builder.build());
+        }
+        catch (Exception ex) {
+            throw new ConnectorOperationFailedException("Failed to open a BigQuery Storage Read API client for the connection " + connectionSpec.getConnectionName(), ex);
+        }
+    }
+
     /**
      * Creates a big query service.
      * @param connectionSpec Connection specification for a BigQuery connection.
@@ -209,6 +209,11 @@ public class BigQueryConnectionProvider extends AbstractSqlConnectionProvider {
 
             bigquerySpec.setQuotaProjectId(terminalReader.prompt("GCP quota (billing) project ID (-P=bigquery-quota-project-id)", bigquerySpec.getBillingProjectId(), true));
         }
+
+        if (connectionProperties.containsKey("bigquery-large-results-row-threshold")) {
+            bigquerySpec.setLargeResultsRowThreshold(Long.parseLong(connectionProperties.get("bigquery-large-results-row-threshold")));
+            connectionProperties.remove("bigquery-large-results-row-threshold");
+        }
     }
 
     /**
@@ -57,6 +57,9 @@ public class BigQueryParametersSpec extends BaseProviderParametersSpec implement
     @JsonPropertyDescription("Quota GCP project ID.")
     private String quotaProjectId;
 
+    @JsonPropertyDescription("Row count threshold of large query results. Results of queries that return more rows are read from the query's destination table with the BigQuery Storage Read API in the Arrow format, instead of paging through the query results. Leave empty to always page through the query results.")
+    private Long largeResultsRowThreshold;
+
     /**
      * Returns the source GCP Project id.
      * @return Source GCP project id.
@@ -159,6 +162,23 @@ public class BigQueryParametersSpec extends BaseProviderParametersSpec implement
         this.quotaProjectId = quotaProjectId;
     }
 
+    /**
+     * Returns the row count threshold of large query results that are read from the query's destination table with the BigQuery Storage Read API.
+     * @return Large results row threshold or null when the large results are not read with the BigQuery Storage Read API.
+     */
+    public Long getLargeResultsRowThreshold() {
+        return largeResultsRowThreshold;
+    }
+
+    /**
+     * Sets the row count threshold of large query results that are read from the query's destination table with the BigQuery Storage Read API.
+     * @param largeResultsRowThreshold Large results row threshold.
+     */
+    public void setLargeResultsRowThreshold(Long largeResultsRowThreshold) {
+        this.setDirtyIf(!Objects.equals(this.largeResultsRowThreshold, largeResultsRowThreshold));
+        this.largeResultsRowThreshold = largeResultsRowThreshold;
+    }
+
     /**
      * Returns the child map on the spec class with all fields.
      *
@@ -220,6 +240,7 @@ public class BigQueryParametersSpec extends BaseProviderParametersSpec implement
 				this.billingProjectId == null &&
                 this.quotaProjectId == null &&
 				this.jsonKeyContent == null &&
-				this.jsonKeyPath == null;
+				this.jsonKeyPath == null &&
+                this.largeResultsRowThreshold == null;
     }
 }
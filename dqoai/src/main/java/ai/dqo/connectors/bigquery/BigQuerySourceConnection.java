@@ -26,6 +26,7 @@ import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.Dataset;
 import com.google.cloud.bigquery.DatasetId;
 import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
 import com.google.common.base.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -72,6 +73,14 @@ public class BigQuerySourceConnection extends AbstractSqlSourceConnection {
         return bigQueryService;
     }
 
+    /**
+     * Returns a BigQuery Storage Read API client that reads large query results. The client is created on the first use.
+     * @return BigQuery Storage Read API client.
+     */
+    public BigQueryReadClient getBigQueryReadClient() {
+        return this.bigQueryConnectionPool.getBigQueryReadClient(this.getConnectionSpec());
+    }
+
     /**
      * Opens a connection before it can be used for executing any statements.
      */
@@ -99,6 +108,18 @@ public class BigQuerySourceConnection extends AbstractSqlSourceConnection {
         return this.bigQuerySqlRunner.executeQuery(this, sqlQueryStatement);
     }
 
+    /**
+     * Executes a provider specific SQL that returns a query, applying the row limit and the query timeout.
+     *
+     * @param sqlQueryStatement SQL statement that returns a row set.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     * @return Tabular result captured from the query.
+     */
+    @Override
+    public tech.tablesaw.api.Table executeQuery(String sqlQueryStatement, QueryExecutionLimits queryExecutionLimits) {
+        return this.bigQuerySqlRunner.executeQuery(this, sqlQueryStatement, queryExecutionLimits);
+    }
+
     /**
      * Returns a list of schemas from the source.
      *
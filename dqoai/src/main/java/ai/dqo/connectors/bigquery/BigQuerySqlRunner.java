@@ -16,14 +16,52 @@
 package ai.dqo.connectors.bigquery;
 
 import ai.dqo.connectors.ConnectionQueryException;
+import ai.dqo.connectors.QueryExecutionLimits;
+import com.google.api.gax.rpc.ServerStream;
 import com.google.cloud.bigquery.*;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
+import com.google.cloud.bigquery.storage.v1.CreateReadSessionRequest;
+import com.google.cloud.bigquery.storage.v1.DataFormat;
+import com.google.cloud.bigquery.storage.v1.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.ReadSession;
+import com.google.cloud.bigquery.storage.v1.ReadStream;
 import com.google.common.base.Strings;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
 import org.apache.commons.codec.binary.Hex;
 import org.springframework.stereotype.Component;
-import tech.tablesaw.api.Row;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.InstantColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TextColumn;
+import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -41,91 +79,307 @@ public class BigQuerySqlRunner {
      * @return Table object.
      */
     public Table executeQuery(BigQuerySourceConnection connection, String sql) {
+        return executeQuery(connection, sql, QueryExecutionLimits.UNLIMITED);
+    }
+
+    /**
+     * Executes a query and returns a data frame with the results. The query job is cancelled by BigQuery when it runs longer than the timeout.
+     * When the connection has a large results row threshold, the query job is created explicitly and the size of the results is read
+     * from the metadata of the destination table of the query job. Results with more rows than the threshold are read from the destination table
+     * with the BigQuery Storage Read API in the Arrow format, which transfers the rows in columnar batches instead of pages of JSON rows.
+     * @param connection Connection object.
+     * @param sql SQL string to execute.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     * @return Table object.
+     */
+    public Table executeQuery(BigQuerySourceConnection connection, String sql, QueryExecutionLimits queryExecutionLimits) {
         try {
-            BigQuerySourceConnection bgConn = connection;
             String projectId = connection.getConnectionSpec().getDatabaseName();
-            QueryJobConfiguration queryJobConfiguration = QueryJobConfiguration.newBuilder(sql).build();
+            QueryJobConfiguration.Builder queryJobConfigurationBuilder = QueryJobConfiguration.newBuilder(sql);
+            if (queryExecutionLimits.getQueryTimeoutSeconds() > 0) {
+                queryJobConfigurationBuilder.setJobTimeoutMs(queryExecutionLimits.getQueryTimeoutSeconds() * 1000L);
+            }
+            QueryJobConfiguration queryJobConfiguration = queryJobConfigurationBuilder.build();
             JobId.Builder jobBuilder = JobId.newBuilder();
             if (!Strings.isNullOrEmpty(projectId)) {
                 jobBuilder = jobBuilder.setProject(projectId);
             }
             JobId jobId = jobBuilder.build();
             BigQuery bigQueryService = connection.getBigQueryService();
+            BigQueryParametersSpec bigQueryParametersSpec = connection.getConnectionSpec().getBigquery();
+            Long largeResultsRowThreshold = bigQueryParametersSpec != null ? bigQueryParametersSpec.getLargeResultsRowThreshold() : null;
 
-            TableResult tableResult = bigQueryService.query(queryJobConfiguration, jobId);
-            Schema tableSchema = tableResult.getSchema();
-            Table table = Table.create(sql); // the name of the table is the SQL that was executed, for simpler debugging
-            List<Column<?>> columns = createColumnsFromBigQuerySchema(tableSchema);
-            table.addColumns(columns.toArray(size -> new Column<?>[size]));
+            if (largeResultsRowThreshold == null) {
+                TableResult tableResult = bigQueryService.query(queryJobConfiguration, jobId);
+                verifyResultRowCount(tableResult.getTotalRows(), queryExecutionLimits);
+                return readTableResult(sql, tableResult);
+            }
 
-            for (FieldValueList bqRow : tableResult.iterateAll()) {
-                Row row = table.appendRow();
+            JobId randomJobId = jobId.toBuilder().setRandomJob().build(); // the job is created explicitly to find its destination table
+            Job queryJob = bigQueryService.create(JobInfo.of(randomJobId, queryJobConfiguration)).waitFor();
+            if (queryJob == null) {
+                throw new ConnectionQueryException("The query job no longer exists");
+            }
+            if (queryJob.getStatus().getError() != null) {
+                throw new ConnectionQueryException(queryJob.getStatus().getError().getMessage());
+            }
 
-                for (int colIndex = 0; colIndex < bqRow.size(); colIndex++) {
-                    FieldValue fieldValue = bqRow.get(colIndex);
-                    if (fieldValue.isNull()) {
-                        continue; // no value
-                    }
+            TableId destinationTableId = ((QueryJobConfiguration) queryJob.getConfiguration()).getDestinationTable();
+            com.google.cloud.bigquery.Table destinationTable = bigQueryService.getTable(destinationTableId);
+            if (destinationTable == null) {
+                throw new ConnectionQueryException("The destination table of the query job no longer exists: " + destinationTableId);
+            }
+            long totalRows = destinationTable.getNumRows() != null ? destinationTable.getNumRows().longValue() : 0L;
+            verifyResultRowCount(totalRows, queryExecutionLimits);
+            Schema tableSchema = destinationTable.getDefinition().getSchema();
 
-                    Field field = tableSchema.getFields().get(colIndex);
-                    LegacySQLTypeName legacyFieldType = field.getType();
-                    StandardSQLTypeName standardFieldType = legacyFieldType.getStandardType();
-
-                    switch (standardFieldType) {
-                        case BOOL:
-                            row.setBoolean(colIndex, fieldValue.getBooleanValue());
-                            break;
-                        case INT64:
-                            row.setLong(colIndex, fieldValue.getLongValue());
-                            break;
-                        case FLOAT64:
-                            row.setDouble(colIndex, fieldValue.getDoubleValue());
-                            break;
-                        case NUMERIC:
-                            row.setDouble(colIndex, fieldValue.getNumericValue().doubleValue());
-                        case BIGNUMERIC:
-                            row.setDouble(colIndex, fieldValue.getNumericValue().doubleValue());
-                            break;
-                        case STRING:
-                            row.setString(colIndex, fieldValue.getStringValue());
-                            break;
-                        case BYTES:
-                            row.setText(colIndex, "0x" + new String(Hex.encodeHex(fieldValue.getBytesValue())));
-                            break;
-                        case STRUCT:
-                            row.setText(colIndex, fieldValue.getRecordValue().toString());
-                            break;
-                        case ARRAY:
-                            row.setText(colIndex, fieldValue.getRepeatedValue().toString());
-                            break;
-                        case GEOGRAPHY:
-                            row.setText(colIndex, fieldValue.getValue().toString());
-                            break;
-                        case TIMESTAMP:
-                            row.setInstant(colIndex, Instant.ofEpochMilli(fieldValue.getTimestampValue() / 1000));
-                            break;
-                        case DATE:
-                            row.setDate(colIndex, LocalDate.parse(fieldValue.getStringValue(), DateTimeFormatter.ISO_DATE));
-                            break;
-                        case TIME:
-                            row.setTime(colIndex, LocalTime.ofInstant(Instant.ofEpochMilli(fieldValue.getTimestampValue() / 1000), ZoneOffset.UTC));
-                            break;
-                        case DATETIME:
-                            row.setDateTime(colIndex, LocalDateTime.ofInstant(Instant.ofEpochMilli(fieldValue.getTimestampValue() / 1000), ZoneOffset.UTC));
-                            break;
-                        default:
-                            throw new RuntimeException("Unknown column type: " + standardFieldType.name());
-                    }
-                }
+            if (totalRows > largeResultsRowThreshold) {
+                String parentProjectId = queryJob.getJobId().getProject();
+                return readTableWithStorageReadApi(connection.getBigQueryReadClient(), parentProjectId, destinationTableId, tableSchema, sql);
             }
 
-            return table;
+            TableResult tableResult = bigQueryService.listTableData(destinationTableId, tableSchema);
+            return readTableResult(sql, tableResult);
         }
         catch (Exception ex) {
             throw new ConnectionQueryException(String.format("Failed to execute query: %s, error: %s", sql, ex.getMessage()), ex);
         }
     }
 
+    /**
+     * Verifies that the query did not return more rows than the limit.
+     * @param totalRows Total number of rows returned by the query.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     */
+    protected void verifyResultRowCount(long totalRows, QueryExecutionLimits queryExecutionLimits) {
+        if (queryExecutionLimits.getMaxRows() > 0 && totalRows > queryExecutionLimits.getMaxRows()) {
+            throw new ConnectionQueryException(String.format("The query returned %d rows, more than the limit of %d rows",
+                    totalRows, queryExecutionLimits.getMaxRows()));
+        }
+    }
+
+    /**
+     * Reads all pages of query results (or rows listed from a table) into a data frame.
+     * @param sql SQL that was executed, used as the name of the table.
+     * @param tableResult Query results.
+     * @return Table object.
+     */
+    protected Table readTableResult(String sql, TableResult tableResult) {
+        Schema tableSchema = tableResult.getSchema();
+        List<Column<?>> columns = createColumnsFromBigQuerySchema(tableSchema);
+        FieldValueAppender[] valueAppenders = new FieldValueAppender[columns.size()];
+        for (int colIndex = 0; colIndex < valueAppenders.length; colIndex++) {
+            StandardSQLTypeName standardFieldType = tableSchema.getFields().get(colIndex).getType().getStandardType();
+            valueAppenders[colIndex] = createFieldValueAppender(columns.get(colIndex), standardFieldType);
+        }
+
+        for (FieldValueList bqRow : tableResult.iterateAll()) {
+            for (int colIndex = 0; colIndex < valueAppenders.length; colIndex++) {
+                FieldValue fieldValue = bqRow.get(colIndex);
+                if (fieldValue.isNull()) {
+                    columns.get(colIndex).appendMissing();
+                }
+                else {
+                    valueAppenders[colIndex].appendValue(fieldValue);
+                }
+            }
+        }
+
+        Table table = Table.create(sql); // the name of the table is the SQL that was executed, for simpler debugging
+        table.addColumns(columns.toArray(size -> new Column<?>[size]));
+        return table;
+    }
+
+    /**
+     * Reads a whole table (the destination table of a query job) with the BigQuery Storage Read API. The rows are received as Arrow record batches
+     * and the vectors of every batch are appended to typed columns.
+     * @param readClient BigQuery Storage Read API client.
+     * @param parentProjectId Project that is billed for the read session.
+     * @param tableId Identifier of the table to read.
+     * @param tableSchema Table schema.
+     * @param sql SQL that was executed, used as the name of the table.
+     * @return Table object.
+     * @throws IOException When the Arrow schema or a record batch cannot be deserialized.
+     */
+    protected Table readTableWithStorageReadApi(BigQueryReadClient readClient,
+                                                String parentProjectId,
+                                                TableId tableId,
+                                                Schema tableSchema,
+                                                String sql) throws IOException {
+        String tablePath = String.format("projects/%s/datasets/%s/tables/%s", tableId.getProject(), tableId.getDataset(), tableId.getTable());
+        CreateReadSessionRequest createReadSessionRequest = CreateReadSessionRequest.newBuilder()
+                .setParent("projects/" + parentProjectId)
+                .setReadSession(ReadSession.newBuilder()
+                        .setTable(tablePath)
+                        .setDataFormat(DataFormat.ARROW))
+                .setMaxStreamCount(1) // a single stream returns the rows in the order of the destination table, sensor queries sort the results
+                .build();
+        ReadSession readSession = readClient.createReadSession(createReadSessionRequest);
+        List<Column<?>> columns = createColumnsFromBigQuerySchema(tableSchema);
+
+        if (readSession.getStreamsCount() > 0) {
+            byte[] serializedSchema = readSession.getArrowSchema().getSerializedSchema().toByteArray();
+            org.apache.arrow.vector.types.pojo.Schema arrowSchema = MessageSerializer.deserializeSchema(
+                    new ReadChannel(new ByteArrayReadableSeekableByteChannel(serializedSchema)));
+
+            try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+                 VectorSchemaRoot vectorSchemaRoot = VectorSchemaRoot.create(arrowSchema, allocator)) {
+                VectorLoader vectorLoader = new VectorLoader(vectorSchemaRoot);
+                ArrowValueAppender[] valueAppenders = createArrowValueAppenders(vectorSchemaRoot, tableSchema, columns);
+
+                for (ReadStream readStream : readSession.getStreamsList()) {
+                    ReadRowsRequest readRowsRequest = ReadRowsRequest.newBuilder().setReadStream(readStream.getName()).build();
+                    ServerStream<ReadRowsResponse> readRowsResponses = readClient.readRowsCallable().call(readRowsRequest);
+                    for (ReadRowsResponse readRowsResponse : readRowsResponses) {
+                        if (!readRowsResponse.hasArrowRecordBatch()) {
+                            continue;
+                        }
+
+                        byte[] serializedRecordBatch = readRowsResponse.getArrowRecordBatch().getSerializedRecordBatch().toByteArray();
+                        try (ArrowRecordBatch arrowRecordBatch = MessageSerializer.deserializeRecordBatch(
+                                new ReadChannel(new ByteArrayReadableSeekableByteChannel(serializedRecordBatch)), allocator)) {
+                            vectorLoader.load(arrowRecordBatch);
+                        }
+
+                        appendArrowRows(vectorSchemaRoot, columns, valueAppenders);
+                        vectorSchemaRoot.clear();
+                    }
+                }
+            }
+        }
+
+        Table table = Table.create(sql); // the name of the table is the SQL that was executed, for simpler debugging
+        table.addColumns(columns.toArray(size -> new Column<?>[size]));
+        return table;
+    }
+
+    /**
+     * Creates appenders that copy the values from the Arrow vectors of a vector schema root to the typed columns. The vectors are
+     * matched to the columns by name. The vectors of a vector schema root are reused by all record batches loaded into the root.
+     * @param vectorSchemaRoot Vector schema root.
+     * @param tableSchema BigQuery table schema.
+     * @param columns Target columns, created by {@link #createColumnsFromBigQuerySchema(Schema)}.
+     * @return Array of appenders, one for each column.
+     */
+    protected ArrowValueAppender[] createArrowValueAppenders(VectorSchemaRoot vectorSchemaRoot, Schema tableSchema, List<Column<?>> columns) {
+        ArrowValueAppender[] valueAppenders = new ArrowValueAppender[columns.size()];
+        for (int colIndex = 0; colIndex < valueAppenders.length; colIndex++) {
+            Field field = tableSchema.getFields().get(colIndex);
+            FieldVector fieldVector = vectorSchemaRoot.getVector(field.getName());
+            if (fieldVector == null) {
+                throw new ConnectionQueryException("The Arrow schema of the read session has no column " + field.getName());
+            }
+            valueAppenders[colIndex] = createArrowValueAppender(columns.get(colIndex), fieldVector, field.getType().getStandardType());
+        }
+        return valueAppenders;
+    }
+
+    /**
+     * Appends all rows of the record batch that was loaded into the vector schema root to the typed columns.
+     * @param vectorSchemaRoot Vector schema root with a loaded record batch.
+     * @param columns Target columns.
+     * @param valueAppenders Value appenders created by {@link #createArrowValueAppenders(VectorSchemaRoot, Schema, List)}.
+     */
+    protected void appendArrowRows(VectorSchemaRoot vectorSchemaRoot, List<Column<?>> columns, ArrowValueAppender[] valueAppenders) {
+        int rowCount = vectorSchemaRoot.getRowCount();
+        for (int colIndex = 0; colIndex < valueAppenders.length; colIndex++) {
+            Column<?> column = columns.get(colIndex);
+            ArrowValueAppender valueAppender = valueAppenders[colIndex];
+            for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                if (valueAppender.isNull(rowIndex)) {
+                    column.appendMissing();
+                }
+                else {
+                    valueAppender.appendValue(rowIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an appender that converts a non null value from an Arrow vector returned by the BigQuery Storage Read API and appends it to a typed column.
+     * @param column Target column, created by {@link #createColumnsFromBigQuerySchema(Schema)}.
+     * @param fieldVector Arrow vector with the values of the column.
+     * @param standardFieldType BigQuery field type.
+     * @return Arrow value appender.
+     */
+    protected ArrowValueAppender createArrowValueAppender(Column<?> column, FieldVector fieldVector, StandardSQLTypeName standardFieldType) {
+        switch (standardFieldType) {
+            case BOOL:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((BooleanColumn) column).append(((BitVector) fieldVector).get(rowIndex) != 0));
+            case INT64:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((LongColumn) column).append(((BigIntVector) fieldVector).get(rowIndex)));
+            case FLOAT64:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((DoubleColumn) column).append(((Float8Vector) fieldVector).get(rowIndex)));
+            case NUMERIC:
+            case BIGNUMERIC:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((DoubleColumn) column).append(((BigDecimal) fieldVector.getObject(rowIndex)).doubleValue()));
+            case STRING:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((StringColumn) column).append(
+                        new String(((VarCharVector) fieldVector).get(rowIndex), StandardCharsets.UTF_8)));
+            case BYTES:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((TextColumn) column).append(
+                        "0x" + new String(Hex.encodeHex(((VarBinaryVector) fieldVector).get(rowIndex)))));
+            case STRUCT:
+            case ARRAY:
+            case GEOGRAPHY:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((TextColumn) column).append(fieldVector.getObject(rowIndex).toString()));
+            case TIMESTAMP:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((InstantColumn) column).append(
+                        Instant.ofEpochMilli(Math.floorDiv(((TimeStampMicroTZVector) fieldVector).get(rowIndex), 1000L))));
+            case DATE:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((DateColumn) column).append(LocalDate.ofEpochDay(((DateDayVector) fieldVector).get(rowIndex))));
+            case TIME:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((TimeColumn) column).append(
+                        LocalTime.ofNanoOfDay(((TimeMicroVector) fieldVector).get(rowIndex) * 1000L)));
+            case DATETIME:
+                return new ArrowValueAppender(fieldVector, rowIndex -> ((DateTimeColumn) column).append(((TimeStampMicroVector) fieldVector).getObject(rowIndex)));
+            default:
+                throw new RuntimeException("Unknown column type: " + standardFieldType.name());
+        }
+    }
+
+    /**
+     * Creates an appender that converts a non null BigQuery field value and appends it to a typed column. The type dispatch is
+     * done once per column, not for every value.
+     * @param column Target column, created by {@link #createColumnsFromBigQuerySchema(Schema)}.
+     * @param standardFieldType BigQuery field type.
+     * @return Field value appender.
+     */
+    protected FieldValueAppender createFieldValueAppender(Column<?> column, StandardSQLTypeName standardFieldType) {
+        switch (standardFieldType) {
+            case BOOL:
+                return fieldValue -> ((BooleanColumn) column).append(fieldValue.getBooleanValue());
+            case INT64:
+                return fieldValue -> ((LongColumn) column).append(fieldValue.getLongValue());
+            case FLOAT64:
+                return fieldValue -> ((DoubleColumn) column).append(fieldValue.getDoubleValue());
+            case NUMERIC:
+            case BIGNUMERIC:
+                return fieldValue -> ((DoubleColumn) column).append(fieldValue.getNumericValue().doubleValue());
+            case STRING:
+                return fieldValue -> ((StringColumn) column).append(fieldValue.getStringValue());
+            case BYTES:
+                return fieldValue -> ((TextColumn) column).append("0x" + new String(Hex.encodeHex(fieldValue.getBytesValue())));
+            case STRUCT:
+                return fieldValue -> ((TextColumn) column).append(fieldValue.getRecordValue().toString());
+            case ARRAY:
+                return fieldValue -> ((TextColumn) column).append(fieldValue.getRepeatedValue().toString());
+            case GEOGRAPHY:
+                return fieldValue -> ((TextColumn) column).append(fieldValue.getValue().toString());
+            case TIMESTAMP:
+                return fieldValue -> ((InstantColumn) column).append(Instant.ofEpochMilli(fieldValue.getTimestampValue() / 1000));
+            case DATE:
+                return fieldValue -> ((DateColumn) column).append(LocalDate.parse(fieldValue.getStringValue(), DateTimeFormatter.ISO_DATE));
+            case TIME:
+                return fieldValue -> ((TimeColumn) column).append(LocalTime.parse(fieldValue.getStringValue(), DateTimeFormatter.ISO_LOCAL_TIME));
+            case DATETIME:
+                return fieldValue -> ((DateTimeColumn) column).append(LocalDateTime.parse(fieldValue.getStringValue().replace(' ', 'T'), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            default:
+                throw new RuntimeException("Unknown column type: " + standardFieldType.name());
+        }
+    }
+
     /**
      * Creates a list of columns for a bigquery result schema.
      * @param tableSchema Table schema.
@@ -176,4 +430,63 @@ public class BigQuerySqlRunner {
         }
         return columns;
     }
+
+    /**
+     * Converts a non null BigQuery field value and appends it to a typed Tablesaw column.
+     */
+    @FunctionalInterface
+    protected interface FieldValueAppender {
+        /**
+         * Appends a value to the column.
+         * @param fieldValue Non null field value.
+         */
+        void appendValue(FieldValue fieldValue);
+    }
+
+    /**
+     * Converts non null values from an Arrow vector and appends them to a typed Tablesaw column.
+     */
+    protected static class ArrowValueAppender {
+        private final FieldVector fieldVector;
+        private final RowValueAppender rowValueAppender;
+
+        /**
+         * Creates an appender for a vector.
+         * @param fieldVector Arrow vector with the values.
+         * @param rowValueAppender Callback that converts and appends a non null value at the given row index.
+         */
+        public ArrowValueAppender(FieldVector fieldVector, RowValueAppender rowValueAppender) {
+            this.fieldVector = fieldVector;
+            this.rowValueAppender = rowValueAppender;
+        }
+
+        /**
+         * Checks if the vector has a null value at the given row index.
+         * @param rowIndex Row index in the current record batch.
+         * @return True when the value is null.
+         */
+        public boolean isNull(int rowIndex) {
+            return this.fieldVector.isNull(rowIndex);
+        }
+
+        /**
+         * Appends a non null value at the given row index to the column.
+         * @param rowIndex Row index in the current record batch.
+         */
+        public void appendValue(int rowIndex) {
+            this.rowValueAppender.appendValue(rowIndex);
+        }
+    }
+
+    /**
+     * Converts a non null value at a row index of an Arrow vector and appends it to a typed Tablesaw column.
+     */
+    @FunctionalInterface
+    protected interface RowValueAppender {
+        /**
+         * Appends a value to the column.
+         * @param rowIndex Row index in the current record batch.
+         */
+        void appendValue(int rowIndex);
+    }
 }
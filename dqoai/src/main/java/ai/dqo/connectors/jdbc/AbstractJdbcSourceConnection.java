@@ -17,21 +17,40 @@ package ai.dqo.connectors.jdbc;
 
 import ai.dqo.connectors.AbstractSqlSourceConnection;
 import ai.dqo.connectors.ConnectionProvider;
+import ai.dqo.connectors.QueryExecutionLimits;
 import ai.dqo.core.secrets.SecretValueProvider;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.columns.Column;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base abstract class for JDBC based source connections.
  */
 public abstract class AbstractJdbcSourceConnection extends AbstractSqlSourceConnection {
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractJdbcSourceConnection.class);
+
+    /**
+     * The default number of rows fetched from the database in one round trip.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Scheduler that cancels queries running longer than the query timeout, for drivers that do not enforce the timeout while the results are fetched.
+     */
+    private static final ScheduledExecutorService QUERY_CANCEL_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("jdbc-query-cancel-%d").setDaemon(true).build());
+
     private final JdbcConnectionPool jdbcConnectionPool;
     private Connection jdbcConnection;
 
@@ -102,6 +121,15 @@ public abstract class AbstractJdbcSourceConnection extends AbstractSqlSourceConn
         }
     }
 
+    /**
+     * Returns the number of rows fetched from the database in one round trip. Connections to databases whose drivers
+     * need a different fetch size to stream the results (instead of buffering the whole result) should override this method.
+     * @return Fetch size.
+     */
+    protected int getFetchSize() {
+        return DEFAULT_FETCH_SIZE;
+    }
+
     /**
      * Executes a provider specific SQL that returns a query. For example a SELECT statement or any other SQL text that also returns rows.
      *
@@ -110,16 +138,41 @@ public abstract class AbstractJdbcSourceConnection extends AbstractSqlSourceConn
      */
     @Override
     public Table executeQuery(String sqlQueryStatement) {
+        return executeQuery(sqlQueryStatement, QueryExecutionLimits.UNLIMITED);
+    }
+
+    /**
+     * Executes a provider specific SQL that returns a query, applying the row limit and the query timeout.
+     * The rows are streamed from the result set directly into typed Tablesaw columns. The query timeout is passed to the driver
+     * and the statement is also cancelled when reading the results takes longer than the timeout.
+     *
+     * @param sqlQueryStatement SQL statement that returns a row set.
+     * @param queryExecutionLimits Limits of the result size and the query execution time.
+     * @return Tabular result captured from the query.
+     */
+    @Override
+    public Table executeQuery(String sqlQueryStatement, QueryExecutionLimits queryExecutionLimits) {
         try {
             try (Statement statement = this.jdbcConnection.createStatement()) {
+                statement.setFetchSize(getFetchSize());
+                if (queryExecutionLimits.getMaxRows() > 0) {
+                    statement.setMaxRows(queryExecutionLimits.getMaxRows() + 1); // one more row to detect that the limit was exceeded
+                }
+
+                ScheduledFuture<?> cancelFuture = null;
+                if (queryExecutionLimits.getQueryTimeoutSeconds() > 0) {
+                    statement.setQueryTimeout(queryExecutionLimits.getQueryTimeoutSeconds());
+                    cancelFuture = QUERY_CANCEL_SCHEDULER.schedule(() -> cancelStatement(statement),
+                            queryExecutionLimits.getQueryTimeoutSeconds(), TimeUnit.SECONDS);
+                }
+
                 try (ResultSet results = statement.executeQuery(sqlQueryStatement)) {
-                    Table resultTable = Table.read().db(results, "query_result");
-                    for (Column<?> column : resultTable.columns()) {
-                        if (column.name() != null) {
-                            column.setName(column.name().toLowerCase(Locale.ENGLISH));
-                        }
+                    return JdbcResultSetReader.read(results, "query_result", queryExecutionLimits.getMaxRows());
+                }
+                finally {
+                    if (cancelFuture != null) {
+                        cancelFuture.cancel(false);
                     }
-                    return resultTable;
                 }
             }
         }
@@ -130,4 +183,17 @@ public abstract class AbstractJdbcSourceConnection extends AbstractSqlSourceConn
                     ex, sqlQueryStatement, connectionName);
         }
     }
+
+    /**
+     * Cancels a statement that is running longer than the query timeout.
+     * @param statement Statement to cancel.
+     */
+    private static void cancelStatement(Statement statement) {
+        try {
+            statement.cancel();
+        }
+        catch (Exception ex) {
+            LOG.warn("Cannot cancel a query that exceeded the timeout, error: " + ex.getMessage(), ex);
+        }
+    }
 }
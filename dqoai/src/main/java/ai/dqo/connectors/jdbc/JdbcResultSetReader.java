@@ -0,0 +1,275 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.connectors.jdbc;
+
+import tech.tablesaw.api.*;
+import tech.tablesaw.columns.Column;
+
+import java.sql.*;
+import java.util.Locale;
+
+/**
+ * Reads a JDBC result set into a Tablesaw table. The column types are chosen once from the {@link ResultSetMetaData}
+ * and the values are read with the primitive getters of the result set and appended to primitive Tablesaw columns,
+ * so numeric values are not boxed. The rows are consumed as they are fetched by the driver, using the fetch size of the statement.
+ * The column names are converted to lower case.
+ */
+public final class JdbcResultSetReader {
+    private JdbcResultSetReader() {
+    }
+
+    /**
+     * Reads the whole result set into a table.
+     * @param resultSet Result set to read.
+     * @param tableName Name of the result table.
+     * @param maxRows Maximum number of rows that the result set may return, 0 when the result size is not limited.
+     * @return Table with the result rows.
+     * @throws SQLException When the result set cannot be read or the result set has more rows than the row limit.
+     */
+    public static Table read(ResultSet resultSet, String tableName, int maxRows) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Column<?>[] columns = new Column<?>[columnCount];
+        ColumnValueReader[] valueReaders = new ColumnValueReader[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            int jdbcColumnIndex = i + 1;
+            String columnName = metaData.getColumnLabel(jdbcColumnIndex);
+            if (columnName != null) {
+                columnName = columnName.toLowerCase(Locale.ENGLISH);
+            }
+            columns[i] = createColumn(columnName, metaData.getColumnType(jdbcColumnIndex),
+                    metaData.getPrecision(jdbcColumnIndex), metaData.getScale(jdbcColumnIndex));
+            valueReaders[i] = createValueReader(columns[i], jdbcColumnIndex);
+        }
+
+        int rowCount = 0;
+        while (resultSet.next()) {
+            rowCount++;
+            if (maxRows > 0 && rowCount > maxRows) {
+                throw new SQLException("The query returned more than the limit of " + maxRows + " rows");
+            }
+
+            for (int i = 0; i < columnCount; i++) {
+                valueReaders[i].appendValue(resultSet);
+            }
+        }
+
+        return Table.create(tableName, columns);
+    }
+
+    /**
+     * Creates an empty Tablesaw column for a result set column. The types follow the mapping of the Tablesaw SQL reader,
+     * so the sensor results have the same column types as before.
+     * @param columnName Column name.
+     * @param sqlType Column type, one of the {@link Types} constants.
+     * @param precision Numeric precision.
+     * @param scale Numeric scale.
+     * @return Empty column.
+     */
+    public static Column<?> createColumn(String columnName, int sqlType, int precision, int scale) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BooleanColumn.create(columnName);
+
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return ShortColumn.create(columnName);
+
+            case Types.INTEGER:
+                return IntColumn.create(columnName);
+
+            case Types.BIGINT:
+                return LongColumn.create(columnName);
+
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                if (scale == 0 && precision > 0) {
+                    if (precision <= 4) {
+                        return ShortColumn.create(columnName);
+                    }
+                    if (precision <= 9) {
+                        return IntColumn.create(columnName);
+                    }
+                    if (precision <= 18) {
+                        return LongColumn.create(columnName);
+                    }
+                }
+                return DoubleColumn.create(columnName);
+
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DoubleColumn.create(columnName);
+
+            case Types.DATE:
+                return DateColumn.create(columnName);
+
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                return TimeColumn.create(columnName);
+
+            case Types.TIMESTAMP:
+                return DateTimeColumn.create(columnName);
+
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return InstantColumn.create(columnName);
+
+            default:
+                return StringColumn.create(columnName);
+        }
+    }
+
+    /**
+     * Creates a value reader that reads a value from the current row of the result set and appends it to the column.
+     * @param column Target column.
+     * @param jdbcColumnIndex Column index in the result set (starting at 1).
+     * @return Value reader.
+     */
+    private static ColumnValueReader createValueReader(Column<?> column, int jdbcColumnIndex) {
+        if (column instanceof BooleanColumn) {
+            BooleanColumn booleanColumn = (BooleanColumn) column;
+            return resultSet -> {
+                boolean value = resultSet.getBoolean(jdbcColumnIndex);
+                if (resultSet.wasNull()) {
+                    booleanColumn.appendMissing();
+                } else {
+                    booleanColumn.append(value);
+                }
+            };
+        }
+
+        if (column instanceof ShortColumn) {
+            ShortColumn shortColumn = (ShortColumn) column;
+            return resultSet -> {
+                short value = resultSet.getShort(jdbcColumnIndex);
+                if (resultSet.wasNull()) {
+                    shortColumn.appendMissing();
+                } else {
+                    shortColumn.append(value);
+                }
+            };
+        }
+
+        if (column instanceof IntColumn) {
+            IntColumn intColumn = (IntColumn) column;
+            return resultSet -> {
+                int value = resultSet.getInt(jdbcColumnIndex);
+                if (resultSet.wasNull()) {
+                    intColumn.appendMissing();
+                } else {
+                    intColumn.append(value);
+                }
+            };
+        }
+
+        if (column instanceof LongColumn) {
+            LongColumn longColumn = (LongColumn) column;
+            return resultSet -> {
+                long value = resultSet.getLong(jdbcColumnIndex);
+                if (resultSet.wasNull()) {
+                    longColumn.appendMissing();
+                } else {
+                    longColumn.append(value);
+                }
+            };
+        }
+
+        if (column instanceof DoubleColumn) {
+            DoubleColumn doubleColumn = (DoubleColumn) column;
+            return resultSet -> {
+                double value = resultSet.getDouble(jdbcColumnIndex);
+                if (resultSet.wasNull()) {
+                    doubleColumn.appendMissing();
+                } else {
+                    doubleColumn.append(value);
+                }
+            };
+        }
+
+        if (column instanceof DateColumn) {
+            DateColumn dateColumn = (DateColumn) column;
+            return resultSet -> {
+                Date value = resultSet.getDate(jdbcColumnIndex);
+                if (value == null) {
+                    dateColumn.appendMissing();
+                } else {
+                    dateColumn.append(value.toLocalDate());
+                }
+            };
+        }
+
+        if (column instanceof TimeColumn) {
+            TimeColumn timeColumn = (TimeColumn) column;
+            return resultSet -> {
+                Time value = resultSet.getTime(jdbcColumnIndex);
+                if (value == null) {
+                    timeColumn.appendMissing();
+                } else {
+                    timeColumn.append(value.toLocalTime());
+                }
+            };
+        }
+
+        if (column instanceof DateTimeColumn) {
+            DateTimeColumn dateTimeColumn = (DateTimeColumn) column;
+            return resultSet -> {
+                Timestamp value = resultSet.getTimestamp(jdbcColumnIndex);
+                if (value == null) {
+                    dateTimeColumn.appendMissing();
+                } else {
+                    dateTimeColumn.append(value.toLocalDateTime());
+                }
+            };
+        }
+
+        if (column instanceof InstantColumn) {
+            InstantColumn instantColumn = (InstantColumn) column;
+            return resultSet -> {
+                Timestamp value = resultSet.getTimestamp(jdbcColumnIndex);
+                if (value == null) {
+                    instantColumn.appendMissing();
+                } else {
+                    instantColumn.append(value.toInstant());
+                }
+            };
+        }
+
+        StringColumn stringColumn = (StringColumn) column;
+        return resultSet -> {
+            String value = resultSet.getString(jdbcColumnIndex);
+            if (value == null) {
+                stringColumn.appendMissing();
+            } else {
+                stringColumn.append(value);
+            }
+        };
+    }
+
+    /**
+     * Reads a value of one column from the current row of the result set and appends it to the target column.
+     */
+    @FunctionalInterface
+    private interface ColumnValueReader {
+        /**
+         * Reads a value from the current row and appends it to the target column.
+         * @param resultSet Result set positioned at the current row.
+         * @throws SQLException When the value cannot be read.
+         */
+        void appendValue(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -31,6 +31,12 @@ import org.springframework.stereotype.Component;
 @Component("snowflake-connection")
 @Scope("prototype")
 public class SnowflakeSourceConnection extends AbstractJdbcSourceConnection {
+    /**
+     * Fetch size used for Snowflake queries. The Snowflake driver downloads the results in large chunks in the background,
+     * a bigger fetch size avoids frequent round trips between the result set and the downloaded chunks.
+     */
+    public static final int SNOWFLAKE_FETCH_SIZE = 10000;
+
     /**
      * Injection constructor for the snowflake connection.
      * @param jdbcConnectionPool Jdbc connection pool.
@@ -75,4 +81,13 @@ public class SnowflakeSourceConnection extends AbstractJdbcSourceConnection {
 
         return hikariConfig;
     }
+
+    /**
+     * Returns the number of rows fetched from Snowflake in one round trip.
+     * @return Snowflake fetch size.
+     */
+    @Override
+    protected int getFetchSize() {
+        return SNOWFLAKE_FETCH_SIZE;
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.core.configuration;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration POJO with the configuration for dqo.ai. Properties are mapped to the "dqo.cache." prefix that configure in-memory and on-disk caches.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dqo.cache")
+@EqualsAndHashCode(callSuper = false)
+public class DqoCacheConfigurationProperties implements Cloneable {
+    private int renderedSqlMaxEntries = 10000;
+    private boolean renderedSqlPersistent = false;
+    private int renderedSqlPersistentMaxEntries = 100000;
+    private int renderedSqlPersistentMaxAgeDays = 30;
+    private boolean dqoHomePreload = true;
+    private boolean dqoHomeWatch = true;
+    private boolean userHomeWatch = true;
+    private boolean userHomePreload = true;
+    private boolean userHomeSnapshot = true;
+
+    /**
+     * Returns the maximum number of rendered sensor SQL queries that are kept in the in-memory cache.
+     * The value 0 disables caching of rendered SQL queries.
+     * @return Maximum number of cached rendered SQL queries.
+     */
+    public int getRenderedSqlMaxEntries() {
+        return renderedSqlMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of rendered sensor SQL queries that are kept in the in-memory cache.
+     * @param renderedSqlMaxEntries Maximum number of cached rendered SQL queries.
+     */
+    public void setRenderedSqlMaxEntries(int renderedSqlMaxEntries) {
+        this.renderedSqlMaxEntries = renderedSqlMaxEntries;
+    }
+
+    /**
+     * Returns true when rendered sensor SQL queries are also stored in the .cache folder in the user home,
+     * so they survive a restart of the application.
+     * @return True when the persistent rendered SQL cache is enabled.
+     */
+    public boolean isRenderedSqlPersistent() {
+        return renderedSqlPersistent;
+    }
+
+    /**
+     * Enables or disables storing rendered sensor SQL queries in the .cache folder in the user home.
+     * @param renderedSqlPersistent True when the persistent rendered SQL cache is enabled.
+     */
+    public void setRenderedSqlPersistent(boolean renderedSqlPersistent) {
+        this.renderedSqlPersistent = renderedSqlPersistent;
+    }
+
+    /**
+     * Returns the maximum number of rendered sensor SQL queries that are kept in the .cache folder in the user home.
+     * The least recently used queries are removed when the limit is exceeded. The value 0 disables the limit.
+     * @return Maximum number of rendered SQL queries stored on disk.
+     */
+    public int getRenderedSqlPersistentMaxEntries() {
+        return renderedSqlPersistentMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of rendered sensor SQL queries that are kept in the .cache folder in the user home.
+     * @param renderedSqlPersistentMaxEntries Maximum number of rendered SQL queries stored on disk.
+     */
+    public void setRenderedSqlPersistentMaxEntries(int renderedSqlPersistentMaxEntries) {
+        this.renderedSqlPersistentMaxEntries = renderedSqlPersistentMaxEntries;
+    }
+
+    /**
+     * Returns the number of days after which a rendered sensor SQL query that was not used is removed from the .cache folder in the user home.
+     * The value 0 disables the age limit.
+     * @return Maximum age (in days) of unused rendered SQL queries stored on disk.
+     */
+    public int getRenderedSqlPersistentMaxAgeDays() {
+        return renderedSqlPersistentMaxAgeDays;
+    }
+
+    /**
+     * Sets the number of days after which an unused rendered sensor SQL query is removed from the .cache folder in the user home.
+     * @param renderedSqlPersistentMaxAgeDays Maximum age (in days) of unused rendered SQL queries stored on disk.
+     */
+    public void setRenderedSqlPersistentMaxAgeDays(int renderedSqlPersistentMaxAgeDays) {
+        this.renderedSqlPersistentMaxAgeDays = renderedSqlPersistentMaxAgeDays;
+    }
+
+    /**
+     * Returns true when the shared DQO_HOME model with the built-in sensor and rule definitions is loaded in the background
+     * when the application starts, so the first check run does not wait for parsing the definitions.
+     * @return True when the DQO_HOME model is preloaded.
+     */
+    public boolean isDqoHomePreload() {
+        return dqoHomePreload;
+    }
+
+    /**
+     * Enables or disables loading the shared DQO_HOME model when the application starts.
+     * @param dqoHomePreload True when the DQO_HOME model is preloaded.
+     */
+    public void setDqoHomePreload(boolean dqoHomePreload) {
+        this.dqoHomePreload = dqoHomePreload;
+    }
+
+    /**
+     * Returns true when the DQO_HOME folder is watched for changes and the shared DQO_HOME model is reloaded after a file was changed.
+     * When disabled, the shared model is loaded once and never reloaded.
+     * @return True when the DQO_HOME folder is watched for changes.
+     */
+    public boolean isDqoHomeWatch() {
+        return dqoHomeWatch;
+    }
+
+    /**
+     * Enables or disables watching the DQO_HOME folder for changes.
+     * @param dqoHomeWatch True when the DQO_HOME folder is watched for changes.
+     */
+    public void setDqoHomeWatch(boolean dqoHomeWatch) {
+        this.dqoHomeWatch = dqoHomeWatch;
+    }
+
+    /**
+     * Returns true when the user home folder is watched for changes. The cached user home model (used by the cli completers
+     * and the read only cli commands) is kept until a change is detected and only the changed connection and table files are parsed again.
+     * When disabled, the cached user home model is reloaded after 30 seconds.
+     * @return True when the user home folder is watched for changes.
+     */
+    public boolean isUserHomeWatch() {
+        return userHomeWatch;
+    }
+
+    /**
+     * Enables or disables watching the user home folder for changes.
+     * @param userHomeWatch True when the user home folder is watched for changes.
+     */
+    public void setUserHomeWatch(boolean userHomeWatch) {
+        this.userHomeWatch = userHomeWatch;
+    }
+
+    /**
+     * Returns true when the first cached user home model (used by the cli completers and the read only cli commands)
+     * is loaded in the background when the application starts, so the first completion does not wait for parsing all specification files.
+     * @return True when the user home model is preloaded.
+     */
+    public boolean isUserHomePreload() {
+        return userHomePreload;
+    }
+
+    /**
+     * Enables or disables loading the cached user home model when the application starts.
+     * @param userHomePreload True when the user home model is preloaded.
+     */
+    public void setUserHomePreload(boolean userHomePreload) {
+        this.userHomePreload = userHomePreload;
+    }
+
+    /**
+     * Returns true when the parsed connection and table specifications are stored in a binary snapshot file in the .cache folder in the user home.
+     * The specifications of yaml files that were not changed since the snapshot was written are decoded from the snapshot instead of being parsed again.
+     * @return True when the user home snapshot is enabled.
+     */
+    public boolean isUserHomeSnapshot() {
+        return userHomeSnapshot;
+    }
+
+    /**
+     * Enables or disables storing the parsed connection and table specifications in a binary snapshot file in the user home.
+     * @param userHomeSnapshot True when the user home snapshot is enabled.
+     */
+    public void setUserHomeSnapshot(boolean userHomeSnapshot) {
+        this.userHomeSnapshot = userHomeSnapshot;
+    }
+
+    /**
+     * Clones the current object.
+     * @return Cloned instance.
+     */
+    @Override
+    public DqoCacheConfigurationProperties clone() {
+        try {
+            return (DqoCacheConfigurationProperties)super.clone();
+        }
+        catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
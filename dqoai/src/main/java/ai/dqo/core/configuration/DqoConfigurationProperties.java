@@ -42,6 +42,12 @@ public class DqoConfigurationProperties implements Cloneable {
     @Autowired
     private DqoCloudConfigurationProperties cloud;
 
+    @Autowired
+    private DqoExecutionConfigurationProperties execution;
+
+    @Autowired
+    private DqoCacheConfigurationProperties cache;
+
     private String home;
     private String yamlSchemaServer;
 
@@ -160,6 +166,38 @@ public class DqoConfigurationProperties implements Cloneable {
         this.cloud = cloud;
     }
 
+    /**
+     * Returns the check execution engine configuration.
+     * @return Check execution configuration.
+     */
+    public DqoExecutionConfigurationProperties getExecution() {
+        return execution;
+    }
+
+    /**
+     * Sets the check execution engine configuration.
+     * @param execution Check execution configuration.
+     */
+    public void setExecution(DqoExecutionConfigurationProperties execution) {
+        this.execution = execution;
+    }
+
+    /**
+     * Returns the cache configuration.
+     * @return Cache configuration.
+     */
+    public DqoCacheConfigurationProperties getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache configuration.
+     * @param cache Cache configuration.
+     */
+    public void setCache(DqoCacheConfigurationProperties cache) {
+        this.cache = cache;
+    }
+
     /**
      * Clones the current object.
      * @return Deeply cloned instance.
@@ -173,6 +211,8 @@ public class DqoConfigurationProperties implements Cloneable {
             cloned.secrets = this.secrets != null ? this.secrets.clone() : null;
             cloned.storage = this.storage != null ? this.storage.clone() : null;
             cloned.cloud = this.cloud != null ? this.cloud.clone() : null;
+            cloned.execution = this.execution != null ? this.execution.clone() : null;
+            cloned.cache = this.cache != null ? this.cache.clone() : null;
             return cloned;
         }
         catch (Exception ex) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.core.configuration;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration POJO with the configuration for dqo.ai. Properties are mapped to the "dqo.execution." prefix that are responsible for the check execution engine.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dqo.execution")
+@EqualsAndHashCode(callSuper = false)
+public class DqoExecutionConfigurationProperties implements Cloneable {
+    private int maxParallelTables = 4;
+    private int maxParallelTablesPerConnection = 2;
+    private boolean batchSensorQueries = false;
+    private int maxSensorsPerBatchedQuery = 20;
+    private int sensorQueryTimeoutSeconds = 900;
+    private int maxSensorResultRows = 1000000;
+    private int flushResultsRowsThreshold = 500000;
+    private long flushResultsBytesThreshold = 256L * 1024L * 1024L;
+
+    /**
+     * Returns the maximum number of tables whose checks are executed at the same time (the degree of parallelism).
+     * The value 1 executes the checks table by table on the calling thread.
+     * @return Maximum number of tables processed in parallel.
+     */
+    public int getMaxParallelTables() {
+        return maxParallelTables;
+    }
+
+    /**
+     * Sets the maximum number of tables whose checks are executed at the same time.
+     * @param maxParallelTables Maximum number of tables processed in parallel.
+     */
+    public void setMaxParallelTables(int maxParallelTables) {
+        this.maxParallelTables = maxParallelTables;
+    }
+
+    /**
+     * Returns the maximum number of tables from the same connection whose checks are executed at the same time.
+     * This limit protects a single data source from too many concurrent sensor queries.
+     * @return Maximum number of tables from one connection processed in parallel.
+     */
+    public int getMaxParallelTablesPerConnection() {
+        return maxParallelTablesPerConnection;
+    }
+
+    /**
+     * Sets the maximum number of tables from the same connection whose checks are executed at the same time.
+     * @param maxParallelTablesPerConnection Maximum number of tables from one connection processed in parallel.
+     */
+    public void setMaxParallelTablesPerConnection(int maxParallelTablesPerConnection) {
+        this.maxParallelTablesPerConnection = maxParallelTablesPerConnection;
+    }
+
+    /**
+     * Returns true when compatible sql template sensors on the same table (with the same filters, time series and dimensions)
+     * are merged into a single query that calculates all actual values in one table scan.
+     * @return True when the sensor queries are batched.
+     */
+    public boolean isBatchSensorQueries() {
+        return batchSensorQueries;
+    }
+
+    /**
+     * Enables or disables merging compatible sensor queries on the same table into a single query.
+     * @param batchSensorQueries True when the sensor queries are batched.
+     */
+    public void setBatchSensorQueries(boolean batchSensorQueries) {
+        this.batchSensorQueries = batchSensorQueries;
+    }
+
+    /**
+     * Returns the maximum number of sensors whose queries are merged into one batched query.
+     * @return Maximum number of sensors in a batched query.
+     */
+    public int getMaxSensorsPerBatchedQuery() {
+        return maxSensorsPerBatchedQuery;
+    }
+
+    /**
+     * Sets the maximum number of sensors whose queries are merged into one batched query.
+     * @param maxSensorsPerBatchedQuery Maximum number of sensors in a batched query.
+     */
+    public void setMaxSensorsPerBatchedQuery(int maxSensorsPerBatchedQuery) {
+        this.maxSensorsPerBatchedQuery = maxSensorsPerBatchedQuery;
+    }
+
+    /**
+     * Returns the timeout of sensor queries in seconds. Sensor queries that are running longer are cancelled.
+     * The value 0 disables the timeout.
+     * @return Sensor query timeout in seconds.
+     */
+    public int getSensorQueryTimeoutSeconds() {
+        return sensorQueryTimeoutSeconds;
+    }
+
+    /**
+     * Sets the timeout of sensor queries in seconds.
+     * @param sensorQueryTimeoutSeconds Sensor query timeout in seconds.
+     */
+    public void setSensorQueryTimeoutSeconds(int sensorQueryTimeoutSeconds) {
+        this.sensorQueryTimeoutSeconds = sensorQueryTimeoutSeconds;
+    }
+
+    /**
+     * Returns the maximum number of rows that a sensor query may return. Sensor queries with too many dimension groups
+     * or time periods that return more rows fail instead of loading the whole result into memory. The value 0 disables the limit.
+     * @return Maximum number of rows returned by a sensor query.
+     */
+    public int getMaxSensorResultRows() {
+        return maxSensorResultRows;
+    }
+
+    /**
+     * Sets the maximum number of rows that a sensor query may return.
+     * @param maxSensorResultRows Maximum number of rows returned by a sensor query.
+     */
+    public void setMaxSensorResultRows(int maxSensorResultRows) {
+        this.maxSensorResultRows = maxSensorResultRows;
+    }
+
+    /**
+     * Returns the number of new sensor readings or rule results (buffered in memory for one table) that are written to the storage
+     * before the checks on the table are finished. The affected monthly partitions are updated incrementally and the buffered rows are released.
+     * The value 0 disables flushing by the number of rows.
+     * @return Number of buffered rows that are flushed.
+     */
+    public int getFlushResultsRowsThreshold() {
+        return flushResultsRowsThreshold;
+    }
+
+    /**
+     * Sets the number of buffered sensor readings or rule results that are flushed to the storage.
+     * @param flushResultsRowsThreshold Number of buffered rows that are flushed.
+     */
+    public void setFlushResultsRowsThreshold(int flushResultsRowsThreshold) {
+        this.flushResultsRowsThreshold = flushResultsRowsThreshold;
+    }
+
+    /**
+     * Returns the estimated size (in bytes) of the new sensor readings or rule results (buffered in memory for one table) that are written
+     * to the storage before the checks on the table are finished. The value 0 disables flushing by the estimated size.
+     * @return Estimated size of buffered rows that are flushed.
+     */
+    public long getFlushResultsBytesThreshold() {
+        return flushResultsBytesThreshold;
+    }
+
+    /**
+     * Sets the estimated size (in bytes) of the buffered sensor readings or rule results that are flushed to the storage.
+     * @param flushResultsBytesThreshold Estimated size of buffered rows that are flushed.
+     */
+    public void setFlushResultsBytesThreshold(long flushResultsBytesThreshold) {
+        this.flushResultsBytesThreshold = flushResultsBytesThreshold;
+    }
+
+    /**
+     * Clones the current object.
+     * @return Cloned instance.
+     */
+    @Override
+    public DqoExecutionConfigurationProperties clone() {
+        try {
+            return (DqoExecutionConfigurationProperties)super.clone();
+        }
+        catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -33,6 +33,8 @@ public class DqoPythonConfigurationProperties implements Cloneable {
     private String dqoHomeRequirements = "lib/requirements.txt";
     private int pipTimeoutSeconds = 120;
     private int pythonScriptTimeoutSeconds = 120;
+    private int workersPerModule = 4;
+    private int maxRequestsPerWorker = 10000;
 
     /**
      * Python runtime file name (python, python3, python.exe, python3.exe, etc.)
@@ -146,6 +148,39 @@ public class DqoPythonConfigurationProperties implements Cloneable {
         this.pythonScriptTimeoutSeconds = pythonScriptTimeoutSeconds;
     }
 
+    /**
+     * Returns the maximum number of python processes (workers) started for each python module (like the rule evaluation module).
+     * Each worker serves one request at a time, so this is the limit of concurrent calls to the module.
+     * @return Maximum number of workers per python module.
+     */
+    public int getWorkersPerModule() {
+        return workersPerModule;
+    }
+
+    /**
+     * Sets the maximum number of python processes (workers) started for each python module.
+     * @param workersPerModule Maximum number of workers per python module.
+     */
+    public void setWorkersPerModule(int workersPerModule) {
+        this.workersPerModule = workersPerModule;
+    }
+
+    /**
+     * Returns the number of requests served by a python worker, after which the worker process is restarted. 0 disables recycling.
+     * @return Maximum number of requests per worker.
+     */
+    public int getMaxRequestsPerWorker() {
+        return maxRequestsPerWorker;
+    }
+
+    /**
+     * Sets the number of requests served by a python worker, after which the worker process is restarted.
+     * @param maxRequestsPerWorker Maximum number of requests per worker, 0 disables recycling.
+     */
+    public void setMaxRequestsPerWorker(int maxRequestsPerWorker) {
+        this.maxRequestsPerWorker = maxRequestsPerWorker;
+    }
+
     /**
      * Clones the current object.
      * @return
@@ -15,6 +15,8 @@
  */
 package ai.dqo.core.configuration;
 
+import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.delta.ParquetCompressionCodec;
 import lombok.EqualsAndHashCode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +30,12 @@ import org.springframework.context.annotation.Configuration;
 public class DqoStorageConfigurationProperties implements Cloneable {
     private String sensorReadingsStoragePath;
     private String alertsStoragePath;
+    private ChangeDeltaMode deltaMode = ChangeDeltaMode.REPLACE_ALL;
+    private int maxDeltaFilesPerPartition = 10;
+    private ParquetCompressionCodec parquetCompressionCodec = ParquetCompressionCodec.SNAPPY;
+    private boolean sortParquetRows = true;
+    private int retentionMonths;
+    private int hourlyReadingsRetentionMonths;
 
     /**
      * Sensor readings storage path.
@@ -61,6 +69,109 @@ public class DqoStorageConfigurationProperties implements Cloneable {
         this.alertsStoragePath = alertsStoragePath;
     }
 
+    /**
+     * Returns the mode used to store new sensor readings and rule results. In the {@link ChangeDeltaMode#REPLACE_ALL} mode, the monthly
+     * partitions are rewritten. In the {@link ChangeDeltaMode#INSERT_UPDATE_DELETE} mode, new rows are written to small delta files
+     * next to the monthly partition files and they are compacted into the partition file in the background.
+     * @return Delta mode.
+     */
+    public ChangeDeltaMode getDeltaMode() {
+        return deltaMode;
+    }
+
+    /**
+     * Sets the mode used to store new sensor readings and rule results.
+     * @param deltaMode Delta mode.
+     */
+    public void setDeltaMode(ChangeDeltaMode deltaMode) {
+        this.deltaMode = deltaMode;
+    }
+
+    /**
+     * Returns the number of delta files in a monthly partition after which the delta files are compacted into the partition file.
+     * @return Maximum number of delta files in a partition.
+     */
+    public int getMaxDeltaFilesPerPartition() {
+        return maxDeltaFilesPerPartition;
+    }
+
+    /**
+     * Sets the number of delta files in a monthly partition after which the delta files are compacted into the partition file.
+     * @param maxDeltaFilesPerPartition Maximum number of delta files in a partition.
+     */
+    public void setMaxDeltaFilesPerPartition(int maxDeltaFilesPerPartition) {
+        this.maxDeltaFilesPerPartition = maxDeltaFilesPerPartition;
+    }
+
+    /**
+     * Returns the compression codec of the parquet files with sensor readings and rule results. The parquet writer always uses
+     * the dictionary encoding for columns with repeated values (like the connection, table and column names), the compression reduces the size further.
+     * @return Parquet compression codec.
+     */
+    public ParquetCompressionCodec getParquetCompressionCodec() {
+        return parquetCompressionCodec;
+    }
+
+    /**
+     * Sets the compression codec of the parquet files with sensor readings and rule results.
+     * @param parquetCompressionCodec Parquet compression codec.
+     */
+    public void setParquetCompressionCodec(ParquetCompressionCodec parquetCompressionCodec) {
+        this.parquetCompressionCodec = parquetCompressionCodec;
+    }
+
+    /**
+     * Returns true when the rows are sorted by the check hash, dimension id and time period before they are written to a parquet file.
+     * Sorted rows put the repeated values next to each other (which improves the compression) and make the min/max statistics
+     * of row groups and pages selective for the check hash, so the row groups of other checks are skipped when the time series are loaded.
+     * @return True when the rows are sorted before writing.
+     */
+    public boolean isSortParquetRows() {
+        return sortParquetRows;
+    }
+
+    /**
+     * Enables or disables sorting the rows before they are written to a parquet file.
+     * @param sortParquetRows True when the rows are sorted before writing.
+     */
+    public void setSortParquetRows(boolean sortParquetRows) {
+        this.sortParquetRows = sortParquetRows;
+    }
+
+    /**
+     * Returns the number of past months (before the current month) whose sensor readings and rule results are kept by the data retention job.
+     * Older monthly partitions are deleted. The value 0 disables the retention, the data is kept forever.
+     * @return Number of past months that are kept.
+     */
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose sensor readings and rule results are kept by the data retention job.
+     * @param retentionMonths Number of past months that are kept, 0 keeps the data forever.
+     */
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Returns the number of past months (before the current month) whose hourly sensor readings are kept. The hourly readings in older
+     * monthly partitions are downsampled to daily readings by the data retention job. The value 0 disables the downsampling.
+     * @return Number of past months with hourly readings.
+     */
+    public int getHourlyReadingsRetentionMonths() {
+        return hourlyReadingsRetentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose hourly sensor readings are kept before they are downsampled to daily readings.
+     * @param hourlyReadingsRetentionMonths Number of past months with hourly readings, 0 never downsamples the readings.
+     */
+    public void setHourlyReadingsRetentionMonths(int hourlyReadingsRetentionMonths) {
+        this.hourlyReadingsRetentionMonths = hourlyReadingsRetentionMonths;
+    }
+
     /**
      * Clones the current object.
      * @return Cloned instance.
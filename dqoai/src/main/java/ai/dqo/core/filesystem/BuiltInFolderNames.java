@@ -48,4 +48,9 @@ public final class BuiltInFolderNames {
      * Credentials folder to store local credentials that are not stored in the repository.
      */
     public static final String CREDENTIALS = ".credentials";
+
+    /**
+     * Local cache folder with files that could be recreated at any time (like rendered sensor SQL queries).
+     */
+    public static final String CACHE = ".cache";
 }
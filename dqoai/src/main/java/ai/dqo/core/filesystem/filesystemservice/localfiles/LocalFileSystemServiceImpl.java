@@ -21,6 +21,7 @@ import ai.dqo.core.filesystem.filesystemservice.contract.FileSystemChangeExcepti
 import ai.dqo.core.filesystem.filesystemservice.contract.FileSystemReadException;
 import ai.dqo.core.filesystem.metadata.FileMetadata;
 import ai.dqo.core.filesystem.metadata.FolderMetadata;
+import ai.dqo.data.delta.PartitionFileLock;
 import ai.dqo.utils.exceptions.CloseableHelper;
 import com.google.common.collect.Streams;
 import com.google.common.hash.HashCode;
@@ -34,6 +35,7 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -120,31 +122,36 @@ public class LocalFileSystemServiceImpl implements LocalFileSystemService {
             long statusCheckedAt = Instant.now().toEpochMilli();
             final FolderMetadata resultFolderMetadata = new FolderMetadata(relativeFilePath, statusCheckedAt, true);
 
-            Files.list(fullPathToFolder)
-                    .forEach(childPath -> {
-                        Path childRelativePath = rootFileSystemPath.relativize(childPath);
-                        String fileName = childPath.getFileName().toString();
+            try (Stream<Path> childPaths = Files.list(fullPathToFolder)) {
+                childPaths.forEach(childPath -> {
+                    Path childRelativePath = rootFileSystemPath.relativize(childPath);
+                    String fileName = childPath.getFileName().toString();
 
-                        if (Files.isDirectory(childPath)) {
-                            if (Objects.equals("__pycache__", fileName)) {
-                                return; // we ignore python cache folders
-                            }
+                    if (Files.isDirectory(childPath)) {
+                        if (Objects.equals("__pycache__", fileName)) {
+                            return; // we ignore python cache folders
+                        }
 
-                            FolderMetadata lastKnownChildFolder = lastKnownFolderMetadata != null ?
-                                    lastKnownFolderMetadata.getFolders().get(fileName) : null;
-                            FolderMetadata childFolderMetadata = this.listFilesInFolder(fileSystemRoot, childRelativePath, lastKnownChildFolder);
-                            resultFolderMetadata.getFolders().add(childFolderMetadata);
-                        } else {
-                            if (fileName.startsWith(".") && fileName.endsWith(".parquet.crc")) {
-                                return; // crc files are ignored, they are generated by parquet-mr, we are storing the .parquet.crc file content as a hash of the file instead of calculating the hash directly
-                            }
+                        FolderMetadata lastKnownChildFolder = lastKnownFolderMetadata != null ?
+                                lastKnownFolderMetadata.getFolders().get(fileName) : null;
+                        FolderMetadata childFolderMetadata = this.listFilesInFolder(fileSystemRoot, childRelativePath, lastKnownChildFolder);
+                        resultFolderMetadata.getFolders().add(childFolderMetadata);
+                    } else {
+                        if (fileName.startsWith(".") && fileName.endsWith(".parquet.crc")) {
+                            return; // crc files are ignored, they are generated by parquet-mr, we are storing the .parquet.crc file content as a hash of the file instead of calculating the hash directly
+                        }
 
-                            FileMetadata lastKnownFileMetadata = lastKnownFolderMetadata != null ?
-                                    lastKnownFolderMetadata.getFiles().get(fileName) : null;
-                            FileMetadata fileMetadata = this.readFileMetadata(fileSystemRoot, childRelativePath, lastKnownFileMetadata);
-                            resultFolderMetadata.getFiles().add(fileMetadata);
+                        if (Objects.equals(PartitionFileLock.LOCK_FILE_NAME, fileName)) {
+                            return; // partition lock files are used only by the local writers
                         }
-                    });
+
+                        FileMetadata lastKnownFileMetadata = lastKnownFolderMetadata != null ?
+                                lastKnownFolderMetadata.getFiles().get(fileName) : null;
+                        FileMetadata fileMetadata = this.readFileMetadata(fileSystemRoot, childRelativePath, lastKnownFileMetadata);
+                        resultFolderMetadata.getFiles().add(fileMetadata);
+                    }
+                });
+            }
 
             return resultFolderMetadata;
         }
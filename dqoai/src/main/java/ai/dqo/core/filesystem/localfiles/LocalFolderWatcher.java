@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.core.filesystem.localfiles;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches a local folder and all its subfolders for changes using a {@link WatchService}. The changes are reported
+ * on a background daemon thread to a listener, grouped by the watched folder. Folders that are created later are also watched.
+ * The listener receives a list of absolute paths of the changed files and folders or null when the watch service lost some events
+ * (an overflow) and the listener should assume that anything in the folder tree could have changed.
+ */
+public class LocalFolderWatcher implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalFolderWatcher.class);
+
+    private final Path rootFolder;
+    private final Consumer<List<Path>> changeListener;
+    private final Predicate<Path> subFolderFilter;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean closed;
+
+    /**
+     * Creates a folder watcher. The watcher must be started by calling {@link #start()}.
+     * @param rootFolder Root folder to watch (with all subfolders).
+     * @param changeListener Listener that is notified about changed files and folders, or receives null after an overflow.
+     */
+    public LocalFolderWatcher(Path rootFolder, Consumer<List<Path>> changeListener) {
+        this(rootFolder, changeListener, subFolder -> true);
+    }
+
+    /**
+     * Creates a folder watcher that watches only selected subfolders. The watcher must be started by calling {@link #start()}.
+     * @param rootFolder Root folder to watch.
+     * @param changeListener Listener that is notified about changed files and folders, or receives null after an overflow.
+     * @param subFolderFilter Filter of the subfolders (at any level) that are watched. Changes in the rejected folders and their subfolders are not reported.
+     */
+    public LocalFolderWatcher(Path rootFolder, Consumer<List<Path>> changeListener, Predicate<Path> subFolderFilter) {
+        this.rootFolder = rootFolder.toAbsolutePath();
+        this.changeListener = changeListener;
+        this.subFolderFilter = subFolderFilter;
+    }
+
+    /**
+     * Returns the root folder that is watched.
+     * @return Root folder.
+     */
+    public Path getRootFolder() {
+        return rootFolder;
+    }
+
+    /**
+     * Starts watching the folder tree. Does nothing when the folder does not exist or the file system does not support watching.
+     * @return True when the watcher was started, false when the folder cannot be watched.
+     */
+    public synchronized boolean start() {
+        if (this.watchService != null || !Files.isDirectory(this.rootFolder)) {
+            return false;
+        }
+
+        try {
+            this.watchService = this.rootFolder.getFileSystem().newWatchService();
+            registerFolderTree(this.rootFolder);
+        }
+        catch (IOException | UnsupportedOperationException ex) {
+            LOG.warn("Cannot watch the folder " + this.rootFolder + " for changes: " + ex.getMessage(), ex);
+            closeWatchService();
+            return false;
+        }
+
+        this.watcherThread = new Thread(this::processEvents, "dqo-folder-watcher-" + this.rootFolder.getFileName());
+        this.watcherThread.setDaemon(true);
+        this.watcherThread.start();
+        return true;
+    }
+
+    /**
+     * Registers a folder and all its subfolders in the watch service.
+     * @param folder Folder to register.
+     * @throws IOException When the folder tree cannot be traversed.
+     */
+    private void registerFolderTree(Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(rootFolder) && !subFolderFilter.test(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Event processing loop, executed on the watcher thread.
+     */
+    private void processEvents() {
+        while (!this.closed) {
+            WatchKey watchKey;
+            try {
+                watchKey = this.watchService.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+
+            Path watchedFolder = (Path) watchKey.watchable();
+            List<Path> changedPaths = new ArrayList<>();
+            boolean overflow = false;
+
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (watchEvent.kind() == OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+
+                Path changedPath = watchedFolder.resolve((Path) watchEvent.context());
+                boolean isFolder = Files.isDirectory(changedPath, LinkOption.NOFOLLOW_LINKS);
+                if (isFolder && !this.subFolderFilter.test(changedPath)) {
+                    continue;
+                }
+
+                changedPaths.add(changedPath);
+                if (watchEvent.kind() == ENTRY_CREATE && isFolder) {
+                    try {
+                        registerFolderTree(changedPath);
+                    }
+                    catch (IOException ex) {
+                        overflow = true; // files in the new folder could be missed
+                    }
+                }
+            }
+            watchKey.reset();
+
+            if (overflow || !changedPaths.isEmpty()) {
+                try {
+                    this.changeListener.accept(overflow ? null : changedPaths);
+                }
+                catch (Exception ex) {
+                    LOG.error("Folder change listener failed for the folder " + this.rootFolder + ": " + ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the watch service quietly.
+     */
+    private void closeWatchService() {
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            }
+            catch (IOException ex) {
+                // ignore
+            }
+            this.watchService = null;
+        }
+    }
+
+    /**
+     * Stops watching the folder tree.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        closeWatchService();
+        if (this.watcherThread != null) {
+            this.watcherThread.interrupt();
+            this.watcherThread = null;
+        }
+    }
+}
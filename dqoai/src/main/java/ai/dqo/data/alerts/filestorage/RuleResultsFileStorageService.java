@@ -16,10 +16,13 @@
 package ai.dqo.data.alerts.filestorage;
 
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.execution.checks.ruleeval.RuleEvaluationResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Service that provides access to stored rule evaluation results (alerts).
@@ -27,6 +30,16 @@ import java.time.LocalDate;
 public interface RuleResultsFileStorageService {
     String PARQUET_FILE_NAME = "alerts.0.parquet";
 
+    /**
+     * Columns that identify a rule result. Rows in delta files replace the rows with the same values of these columns.
+     */
+    String[] KEY_COLUMN_NAMES = {
+            SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
+            SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
+            RuleEvaluationResult.RULE_HASH_COLUMN_NAME,
+            SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME
+    };
+
     /**
      * Returns a supported delta mode.
      * @return Delta mode that is supported.
@@ -43,7 +56,44 @@ public interface RuleResultsFileStorageService {
     void saveTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month);
 
     /**
-     * Reads data for a single month.
+     * Saves new or updated rule results for a connection, table and month as a delta file next to the monthly partition file.
+     * A compaction of the partition is scheduled in the background when the partition has too many delta files.
+     * @param data New or updated rule results for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Reads a version of the files of a monthly partition. The version changes whenever the partition file is replaced or a delta file is written,
+     * so a version read before the month is loaded identifies changes made by other writers since the load.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Partition version.
+     */
+    long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Deletes the rule results of a connection, table and month, together with the delta files of the month.
+     * The partition folder and the parent folders that became empty are also deleted.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Reads data for a single month. The rows from the delta files of the month are merged with the rows from the partition file.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
@@ -71,4 +121,28 @@ public interface RuleResultsFileStorageService {
      * @param end End date (the first day of the month is enough because the full month until the last day is saved).
      */
     void saveTableInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end);
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code> while each monthly partition is locked.
+     * A month whose partition was changed by another writer since it was loaded is loaded again and only the new rows are merged into it.
+     * @param table Table with full months for the given period (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     * @param partitionVersions Versions of the partitions (by month) when they were loaded, updated with the versions of the saved partitions.
+     */
+    void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                Map<LocalDate, Long> partitionVersions);
+
+    /**
+     * Saves new or updated rule results as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     * @param table Table with new or updated rule results for the given period.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end);
 }
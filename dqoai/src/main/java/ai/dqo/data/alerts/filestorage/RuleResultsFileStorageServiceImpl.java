@@ -18,14 +18,16 @@ package ai.dqo.data.alerts.filestorage;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
 import ai.dqo.data.DataStorageIOException;
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.delta.DeltaCompactionService;
+import ai.dqo.data.delta.PartitionDeltaFileUtility;
+import ai.dqo.data.delta.PartitionFileLock;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
+import ai.dqo.utils.tables.TableMergeUtility;
 import net.tlabs.tablesaw.parquet.TablesawParquetReadOptions;
 import net.tlabs.tablesaw.parquet.TablesawParquetReader;
-import net.tlabs.tablesaw.parquet.TablesawParquetWriteOptions;
-import net.tlabs.tablesaw.parquet.TablesawParquetWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tech.tablesaw.api.DateTimeColumn;
@@ -33,14 +35,17 @@ import tech.tablesaw.api.Table;
 import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
-import java.io.File;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service that provides access to rule evaluation results (alerts).
@@ -49,18 +54,22 @@ import java.time.temporal.ChronoUnit;
 public class RuleResultsFileStorageServiceImpl implements RuleResultsFileStorageService {
     private final DqoStorageConfigurationProperties storageConfigurationProperties;
     private LocalDqoUserHomePathProvider localDqoUserHomePathProvider;
+    private final DeltaCompactionService deltaCompactionService;
 
     /**
      * Dependency injection constructor.
      * @param storageConfigurationProperties Storage configuration.
      * @param localDqoUserHomePathProvider DQO User home finder.
+     * @param deltaCompactionService Background compaction service that merges delta files into the partition files.
      */
     @Autowired
     public RuleResultsFileStorageServiceImpl(
             DqoStorageConfigurationProperties storageConfigurationProperties,
-            LocalDqoUserHomePathProvider localDqoUserHomePathProvider) {
+            LocalDqoUserHomePathProvider localDqoUserHomePathProvider,
+            DeltaCompactionService deltaCompactionService) {
         this.storageConfigurationProperties = storageConfigurationProperties;
         this.localDqoUserHomePathProvider = localDqoUserHomePathProvider;
+        this.deltaCompactionService = deltaCompactionService;
     }
 
     /**
@@ -70,7 +79,8 @@ public class RuleResultsFileStorageServiceImpl implements RuleResultsFileStorage
      */
     @Override
     public ChangeDeltaMode getDeltaMode() {
-        return ChangeDeltaMode.REPLACE_ALL;
+        ChangeDeltaMode deltaMode = this.storageConfigurationProperties.getDeltaMode();
+        return deltaMode != null ? deltaMode : ChangeDeltaMode.REPLACE_ALL;
     }
 
     /**
@@ -107,65 +117,219 @@ public class RuleResultsFileStorageServiceImpl implements RuleResultsFileStorage
     }
 
     /**
-     * Saves rule evaluation results for a connection, table and month.
+     * Creates a path to the parquet file with the rule results for a connection, table and month.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param month Date of the month (the first day of the month).
+     * @return Path to the parquet file inside the user home.
+     */
+    public Path makeParquetFilePath(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getAlertsStoragePath());
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
+        String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
+        Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
+        return partitionPath.resolve(RuleResultsFileStorageService.PARQUET_FILE_NAME);
+    }
+
+    /**
+     * Saves rule evaluation results for a connection, table and month. The partition file is replaced and the delta files of the month are deleted.
      * @param data Data for the given month.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
      */
     public void saveTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
-        try {
-            Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getAlertsStoragePath());
-            Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
-            String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
-            Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
-            Path targetParquetFilePath = partitionPath.resolve(RuleResultsFileStorageService.PARQUET_FILE_NAME);
-            File targetParquetFile = targetParquetFilePath.toFile();
-
-            TablesawParquetWriteOptions writeOptions = TablesawParquetWriteOptions
-                    .builder(targetParquetFile)
-                    .withOverwrite(true)
-                    .withCompressionCode(TablesawParquetWriteOptions.CompressionCodec.UNCOMPRESSED)  // TODO: add configuration for the compression
-                    .build();
-
-            new TablesawParquetWriter().write(data, writeOptions);
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            List<Path> replacedDeltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), RuleResultsFileStorageService.PARQUET_FILE_NAME);
+
+            PartitionDeltaFileUtility.writeParquetFile(sortRuleResults(data), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(replacedDeltaFiles);
         }
-        catch (Exception ex) {
-            throw new DataStorageIOException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Saves rule evaluation results for a connection, table and month while the partition is locked, detecting changes made by other writers since the month was loaded.
+     * When the partition version is still the version of the loaded data, the merged data is written as is. Otherwise the partition is loaded again
+     * and only the new rows are merged into its current rows, so the rows written by the other writers are preserved.
+     * @param data Data for the given month (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param loadedVersion Version of the partition when it was loaded or {@link PartitionDeltaFileUtility#UNKNOWN_PARTITION_VERSION}.
+     * @return Version of the written partition or {@link PartitionDeltaFileUtility#UNKNOWN_PARTITION_VERSION} when the partition was merged again,
+     *         because the given data is not up to date anymore.
+     */
+    public long saveTableMonth(Table data, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate month, long loadedVersion) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            List<Path> replacedDeltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), RuleResultsFileStorageService.PARQUET_FILE_NAME);
+            boolean changedSinceLoad = loadedVersion == PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION ||
+                    PartitionDeltaFileUtility.readPartitionVersion(targetParquetFilePath) != loadedVersion;
+
+            Table monthData = data;
+            if (changedSinceLoad) {
+                Table currentData;
+                try {
+                    currentData = PartitionDeltaFileUtility.mergeBaseAndDeltaFiles(targetParquetFilePath, replacedDeltaFiles,
+                            RuleResultsFileStorageService.KEY_COLUMN_NAMES, this::readParquetFile);
+                }
+                catch (Exception ex) {
+                    throw new DataStorageIOException(ex.getMessage(), ex);
+                }
+
+                monthData = (currentData == null || currentData.rowCount() == 0) ? newRows :
+                        TableMergeUtility.mergeNewResults(currentData, newRows, RuleResultsFileStorageService.KEY_COLUMN_NAMES);
+            }
+
+            PartitionDeltaFileUtility.writeParquetFile(sortRuleResults(monthData), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(replacedDeltaFiles);
+
+            return changedSinceLoad ? PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION :
+                    PartitionDeltaFileUtility.readPartitionVersion(targetParquetFilePath);
         }
     }
 
     /**
-     * Reads data for a single month.
+     * Reads a version of the files of a monthly partition. The version changes whenever the partition file is replaced or a delta file is written.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
-     * @return Returns a dataset table with the rule results. Returns null if the data is not present (missing file).
+     * @return Partition version.
      */
-    public Table loadForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
-        try {
-            Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getAlertsStoragePath());
-            Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
-            String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
-            Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
-            Path targetParquetFilePath = partitionPath.resolve(RuleResultsFileStorageService.PARQUET_FILE_NAME);
-            File targetParquetFile = targetParquetFilePath.toFile();
-
-            if (!targetParquetFile.exists()) {
-                return null;
+    @Override
+    public long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        return PartitionDeltaFileUtility.readPartitionVersion(makeParquetFilePath(connectionName, tableName, month));
+    }
+
+    /**
+     * Deletes the rule results of a connection, table and month, together with the delta files of the month.
+     * The partition folder and the parent folders that became empty are also deleted.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getAlertsStoragePath());
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
+        PartitionDeltaFileUtility.deletePartition(makeParquetFilePath(connectionName, tableName, month), storeRootPath);
+    }
+
+    /**
+     * Saves new or updated rule results for a connection, table and month as a delta file next to the monthly partition file.
+     * A compaction of the partition is scheduled in the background when the partition has too many delta files.
+     * @param data New or updated rule results for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
+        if (data.rowCount() == 0) {
+            return;
+        }
+
+        Path partitionPath = makeParquetFilePath(connectionName, tableName, month).getParent();
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(partitionPath)) {
+            Path deltaFilePath = partitionPath.resolve(PartitionDeltaFileUtility.makeDeltaFileName(RuleResultsFileStorageService.PARQUET_FILE_NAME));
+            while (Files.exists(deltaFilePath)) {
+                // another process has written a delta file with the same timestamp and sequence
+                deltaFilePath = partitionPath.resolve(PartitionDeltaFileUtility.makeDeltaFileName(RuleResultsFileStorageService.PARQUET_FILE_NAME));
             }
+            PartitionDeltaFileUtility.writeParquetFile(sortRuleResults(data), deltaFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+        }
 
-            TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
-                    .builder(targetParquetFile)
-                    .build();
-            Table table = new TablesawParquetReader().read(readOptions);
-            return table;
+        int maxDeltaFilesPerPartition = this.storageConfigurationProperties.getMaxDeltaFilesPerPartition();
+        if (maxDeltaFilesPerPartition > 0 &&
+                PartitionDeltaFileUtility.listDeltaFiles(partitionPath, RuleResultsFileStorageService.PARQUET_FILE_NAME).size() >= maxDeltaFilesPerPartition) {
+            this.deltaCompactionService.scheduleCompaction(partitionPath.toString(),
+                    () -> compactTableMonth(connectionName, tableName, month));
         }
-        catch (Exception ex) {
-            throw new DataStorageIOException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     * The rows in delta files are idempotent upserts, so readers that still see the delta files together with the new partition file load the same rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        if (PartitionDeltaFileUtility.listDeltaFiles(targetParquetFilePath.getParent(), RuleResultsFileStorageService.PARQUET_FILE_NAME).isEmpty()) {
+            return;
+        }
+
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            // the delta files are listed again while the partition is locked, another process could have compacted them already
+            List<Path> deltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), RuleResultsFileStorageService.PARQUET_FILE_NAME);
+            if (deltaFiles.isEmpty()) {
+                return;
+            }
+
+            Table mergedData;
+            try {
+                mergedData = PartitionDeltaFileUtility.mergeBaseAndDeltaFiles(targetParquetFilePath, deltaFiles,
+                        RuleResultsFileStorageService.KEY_COLUMN_NAMES, this::readParquetFile);
+            }
+            catch (Exception ex) {
+                throw new DataStorageIOException(ex.getMessage(), ex);
+            }
+
+            PartitionDeltaFileUtility.writeParquetFile(sortRuleResults(mergedData), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(deltaFiles);
         }
     }
 
+    /**
+     * Sorts the rule results by the check, dimension, rule and time period before they are written, unless sorting is disabled in the storage configuration.
+     * Key columns that are missing in the table are skipped.
+     * @param data Rule results to sort.
+     * @return Sorted rule results.
+     */
+    protected Table sortRuleResults(Table data) {
+        if (!this.storageConfigurationProperties.isSortParquetRows()) {
+            return data;
+        }
+
+        String[] sortColumnNames = Arrays.stream(RuleResultsFileStorageService.KEY_COLUMN_NAMES)
+                .filter(data::containsColumn)
+                .toArray(String[]::new);
+        return data.sortAscendingOn(sortColumnNames);
+    }
+
+    /**
+     * Reads a whole parquet file.
+     * @param parquetFilePath Parquet file path.
+     * @return Table with all rows and columns.
+     * @throws Exception When the file cannot be read.
+     */
+    protected Table readParquetFile(Path parquetFilePath) throws Exception {
+        TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
+                .builder(parquetFilePath.toFile())
+                .build();
+        return new TablesawParquetReader().read(readOptions);
+    }
+
+    /**
+     * Reads data for a single month. The rows from the delta files of the month are merged with the rows from the partition file.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Returns a dataset table with the rule results. Returns null if the data is not present (missing file).
+     */
+    public Table loadForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        return PartitionDeltaFileUtility.loadWithDeltaFiles(targetParquetFilePath, RuleResultsFileStorageService.KEY_COLUMN_NAMES,
+                this::readParquetFile);
+    }
+
     /**
      * Loads readings that cover the time period between <code>start</code> and <code>end</code>.
      * This method may read more rows than expected, because it operates on full months.
@@ -221,4 +385,83 @@ public class RuleResultsFileStorageServiceImpl implements RuleResultsFileStorage
 			this.saveTableMonth(dataInMonth, connectionName, tableName, currentMonth);
         }
     }
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code> while each monthly partition is locked.
+     * A month whose partition was changed by another writer since it was loaded is loaded again and only the new rows are merged into it.
+     * Months without new rows are not written.
+     * @param table Table with full months for the given period (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     * @param partitionVersions Versions of the partitions (by month) when they were loaded. The versions of the saved months are updated,
+     *                          the version of a month that was merged again is removed, because the month in the table is not up to date.
+     */
+    @Override
+    public void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                       Map<LocalDate, Long> partitionVersions) {
+        LocalDate startMonth = LocalDateTimeTruncateUtility.truncateMonth(start);
+        LocalDate endMonth = LocalDateTimeTruncateUtility.truncateMonth(end);
+        LongIndex timePeriodIndex = new LongIndex((DateTimeColumn) table.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME));
+        LongIndex newRowsTimePeriodIndex = new LongIndex((DateTimeColumn) newRows.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME));
+
+        for( LocalDate currentMonth = startMonth; !currentMonth.isAfter(endMonth); currentMonth = currentMonth.plus(1L, ChronoUnit.MONTHS)) {
+            Table newRowsInMonth = newRows.where(selectMonth(newRowsTimePeriodIndex, currentMonth));
+            if (newRowsInMonth.rowCount() == 0) {
+                continue;
+            }
+
+            Table dataInMonth = table.where(selectMonth(timePeriodIndex, currentMonth));
+            Long loadedVersion = partitionVersions.get(currentMonth);
+            long savedVersion = this.saveTableMonth(dataInMonth, newRowsInMonth, connectionName, tableName, currentMonth,
+                    loadedVersion != null ? loadedVersion : PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION);
+            if (savedVersion == PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION) {
+                partitionVersions.remove(currentMonth);
+            }
+            else {
+                partitionVersions.put(currentMonth, savedVersion);
+            }
+        }
+    }
+
+    /**
+     * Selects the rows within a month.
+     * @param timePeriodIndex Index on the time period column.
+     * @param month The date of the first date of the month.
+     * @return Selection of rows in the month.
+     */
+    private static Selection selectMonth(LongIndex timePeriodIndex, LocalDate month) {
+        Selection selectionStart = timePeriodIndex.atLeast(LocalDateTime.of(month, LocalTime.MIDNIGHT));
+        Selection selectionEnd = timePeriodIndex.lessThan(LocalDateTime.of(month.plus(1L, ChronoUnit.MONTHS), LocalTime.MIDNIGHT));
+        return selectionStart.and(selectionEnd);
+    }
+
+    /**
+     * Saves new or updated rule results as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     * @param table Table with new or updated rule results for the given period.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    @Override
+    public void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
+        LocalDate startMonth = LocalDateTimeTruncateUtility.truncateMonth(start);
+        LocalDate endMonth = LocalDateTimeTruncateUtility.truncateMonth(end);
+        DateTimeColumn timePeriodColumn = (DateTimeColumn) table.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        LongIndex timePeriodIndex = new LongIndex(timePeriodColumn);
+
+        for( LocalDate currentMonth = startMonth; !currentMonth.isAfter(endMonth); currentMonth = currentMonth.plus(1L, ChronoUnit.MONTHS)) {
+            LocalDateTime startDateTime = LocalDateTime.of(currentMonth, LocalTime.MIDNIGHT);
+            Selection selectionStart = timePeriodIndex.atLeast(startDateTime);
+            LocalDateTime endDateTime = LocalDateTime.of(currentMonth.plus(1L, ChronoUnit.MONTHS), LocalTime.MIDNIGHT);
+            Selection selectionEnd = timePeriodIndex.lessThan(endDateTime);
+            Selection selectionInMonth = selectionStart.and(selectionEnd);
+            Table dataInMonth = table.where(selectionInMonth);
+
+            this.saveTableMonthDelta(dataInMonth, connectionName, tableName, currentMonth);
+        }
+    }
 }
@@ -18,16 +18,17 @@ package ai.dqo.data.alerts.snapshot;
 import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageService;
 import ai.dqo.data.delta.ChangeDeltaMode;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
-import ai.dqo.execution.checks.ruleeval.RuleEvaluationResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
 import ai.dqo.utils.tables.TableMergeUtility;
+import ai.dqo.utils.tables.TableSizeEstimateUtility;
 import tech.tablesaw.api.DateTimeColumn;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Rule evaluation results snapshot that contains an in-memory rule results (alerts) snapshot
@@ -41,6 +42,9 @@ public class RuleResultsSnapshot {
     private final RuleResultsFileStorageService storageService;
     private Table historicResults;
     private final Table newResults;
+    private int newResultsEstimatedRowCount;
+    private long newResultsEstimatedSizeInBytes;
+    private final Map<LocalDate, Long> loadedMonthVersions = new HashMap<>();
 
     /**
      * Default constructor.
@@ -127,22 +131,18 @@ public class RuleResultsSnapshot {
 
 			this.firstMonth = LocalDateTimeTruncateUtility.truncateMonth(startMonth);
 			this.lastMonth = LocalDateTimeTruncateUtility.truncateMonth(endMonth);
-			this.historicResults = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, this.firstMonth, this.lastMonth);
+			this.historicResults = loadMonthsRange(this.firstMonth, this.lastMonth);
 
             return;
         }
 
-        assert this.historicResults != null;
-
         if (startMonth.isBefore(this.firstMonth)) {
             // we need to load a few months before
             LocalDate lastMonthToLoad = this.firstMonth.minus(1, ChronoUnit.MONTHS);
 			this.firstMonth = LocalDateTimeTruncateUtility.truncateMonth(startMonth);
 
-            Table loadedRows = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, this.firstMonth, lastMonthToLoad);
-            if (loadedRows != null) {
-				this.historicResults.append(loadedRows);
-            }
+            Table loadedRows = loadMonthsRange(this.firstMonth, lastMonthToLoad);
+            appendLoadedRows(loadedRows);
         }
 
         LocalDate truncatedEndMonth = LocalDateTimeTruncateUtility.truncateMonth(endMonth);
@@ -151,52 +151,111 @@ public class RuleResultsSnapshot {
             LocalDate firstMonthToLoad = this.lastMonth.plus(1, ChronoUnit.MONTHS);
 			this.lastMonth = truncatedEndMonth;
 
-            Table loadedRows = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, firstMonthToLoad, this.lastMonth);
-            if (loadedRows != null) {
-				this.historicResults.append(loadedRows);
-            }
+            Table loadedRows = loadMonthsRange(firstMonthToLoad, this.lastMonth);
+            appendLoadedRows(loadedRows);
+        }
+    }
+
+    /**
+     * Loads the rule results of a range of months. The versions of the monthly partitions are read before the months are loaded,
+     * so the partitions changed by other writers in the meantime are merged again when the snapshot is saved.
+     * @param startMonth The first month to load.
+     * @param endMonth The last month to load.
+     * @return Loaded rows or null when no data was found.
+     */
+    private Table loadMonthsRange(LocalDate startMonth, LocalDate endMonth) {
+        for (LocalDate month = startMonth; !month.isAfter(endMonth); month = month.plus(1L, ChronoUnit.MONTHS)) {
+            this.loadedMonthVersions.put(month, this.storageService.readTableMonthVersion(this.connection, this.tableName, month));
+        }
+
+        return this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, startMonth, endMonth);
+    }
+
+    /**
+     * Appends rows loaded for additional months to the historic results.
+     * @param loadedRows Loaded rows or null when no data was found.
+     */
+    private void appendLoadedRows(Table loadedRows) {
+        if (loadedRows == null) {
+            return;
+        }
+
+        if (this.historicResults == null) {
+			this.historicResults = loadedRows;
+        }
+        else {
+			this.historicResults.append(loadedRows);
         }
     }
 
     /**
      * Saves all results to a persistent storage (like files).
+     * In the {@link ChangeDeltaMode#INSERT_UPDATE_DELETE} mode, only the new rule results are written as delta files of the monthly partitions.
+     * In the {@link ChangeDeltaMode#REPLACE_ALL} mode, the months with new rule results are rewritten, so they are loaded in whole before the new results are merged.
+     * Months that were changed by another writer since they were loaded are loaded again by the storage service and only the new rows are merged into them.
      */
     public void save() {
-        assert this.storageService.getDeltaMode() == ChangeDeltaMode.REPLACE_ALL : "only replace mode supported right now";
+        if (this.newResults.rowCount() == 0) {
+            return; // nothing to write
+        }
 
         DateTimeColumn newResultsTimePeriodColumn = (DateTimeColumn) this.newResults.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
-        LocalDateTime minDateNewResults = newResultsTimePeriodColumn.min();
-        LocalDateTime maxDateNewResults = newResultsTimePeriodColumn.max();
+        LocalDate firstNewResultsMonth = LocalDateTimeTruncateUtility.truncateMonth(newResultsTimePeriodColumn.min().toLocalDate());
+        LocalDate lastNewResultsMonth = LocalDateTimeTruncateUtility.truncateMonth(newResultsTimePeriodColumn.max().toLocalDate());
 
-        if (this.historicResults == null) {
-            // no historic data was loaded (or not present)
-            if (this.newResults.rowCount() == 0) {
-                return; // nothing to write
-            }
-
-            // save only the new readings
-			this.storageService.saveTableInMonthsRange(this.newResults, this.connection, this.tableName,
-                    LocalDateTimeTruncateUtility.truncateMonth(minDateNewResults.toLocalDate()),
-                    LocalDateTimeTruncateUtility.truncateMonth(maxDateNewResults.toLocalDate()));
+        if (this.storageService.getDeltaMode() == ChangeDeltaMode.INSERT_UPDATE_DELETE) {
+			this.storageService.saveDeltaInMonthsRange(this.newResults, this.connection, this.tableName,
+                    firstNewResultsMonth, lastNewResultsMonth);
+            return;
         }
-        else {
-            if (this.newResults.rowCount() == 0) {
-                // nothing to save, no new rows, only rows that were already loaded
-                return;
-            }
-
-            String[] joinColumns = {
-                    SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
-                    SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
-                    RuleEvaluationResult.RULE_HASH_COLUMN_NAME,
-                    SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME
-            };
-            Table mergedResults = TableMergeUtility.mergeNewResults(this.historicResults, this.newResults, joinColumns);
-
-			this.storageService.saveTableInMonthsRange(mergedResults, this.connection, this.tableName,
-                    LocalDateTimeTruncateUtility.truncateMonth(minDateNewResults.toLocalDate()),
-                    LocalDateTimeTruncateUtility.truncateMonth(maxDateNewResults.toLocalDate()));
+
+        ensureMonthsAreLoaded(firstNewResultsMonth, lastNewResultsMonth);
+
+        Table mergedResults = this.historicResults == null ? this.newResults.copy() : // no historic data present, save only the new rule results
+                TableMergeUtility.mergeNewResults(this.historicResults, this.newResults, RuleResultsFileStorageService.KEY_COLUMN_NAMES);
+		this.storageService.saveTableInMonthsRange(mergedResults, this.newResults, this.connection, this.tableName,
+                firstNewResultsMonth, lastNewResultsMonth, this.loadedMonthVersions);
+        unloadHistoricResults(); // the saved months are loaded again from the storage when they are needed, the memory is released after a flush
+    }
+
+    /**
+     * Releases the historic results that were loaded into the snapshot.
+     * The months are loaded again (with the saved rows) by the next call to {@link #ensureMonthsAreLoaded(LocalDate, LocalDate)}.
+     */
+    private void unloadHistoricResults() {
+        this.firstMonth = null;
+        this.lastMonth = null;
+        this.historicResults = null;
+        this.loadedMonthVersions.clear();
+    }
+
+    /**
+     * Saves the new rule results to a persistent storage and removes them from the in-memory new results table.
+     * Called when too many results were buffered in memory, more results may be appended to the new results table and flushed (or saved) again.
+     */
+    public void flush() {
+        save();
+        this.newResults.clear();
+        this.newResultsEstimatedRowCount = 0;
+        this.newResultsEstimatedSizeInBytes = 0L;
+    }
+
+    /**
+     * Estimates the memory used by the new rule results. Only the rows appended since the previous call are estimated and added
+     * to the running estimate, so the cost of a call does not grow with the number of buffered rows. The estimate is reset after a flush.
+     * @return Estimated size of the new results table in bytes.
+     */
+    public long estimateNewResultsSizeInBytes() {
+        int rowCount = this.newResults.rowCount();
+        if (rowCount < this.newResultsEstimatedRowCount) {
+            this.newResultsEstimatedRowCount = 0; // the new results were cleared
+            this.newResultsEstimatedSizeInBytes = 0L;
         }
+
+        this.newResultsEstimatedSizeInBytes += TableSizeEstimateUtility.estimateRowsSizeInBytes(
+                this.newResults, this.newResultsEstimatedRowCount, rowCount);
+        this.newResultsEstimatedRowCount = rowCount;
+        return this.newResultsEstimatedSizeInBytes;
     }
 
     /**
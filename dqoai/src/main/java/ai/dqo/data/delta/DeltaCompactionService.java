@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+/**
+ * Service that folds delta files into the base files of partitions on a background thread.
+ */
+public interface DeltaCompactionService {
+    /**
+     * Schedules a compaction of a partition on a background thread. The compaction is not scheduled again
+     * when a compaction of the same partition is already waiting in the queue.
+     * @param partitionKey Unique key of the partition, for example the partition folder path.
+     * @param compaction Compaction operation that merges the delta files into the base file.
+     * @return True when the compaction was scheduled, false when a compaction of the partition is already pending.
+     */
+    boolean scheduleCompaction(String partitionKey, Runnable compaction);
+
+    /**
+     * Waits until all compactions that were scheduled before this call finish.
+     * @param timeoutMillis Maximum wait time in milliseconds.
+     * @return True when all compactions finished, false when the timeout elapsed.
+     */
+    boolean awaitCompactions(long timeoutMillis);
+}
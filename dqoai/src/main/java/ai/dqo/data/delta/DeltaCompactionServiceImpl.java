@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service that folds delta files into the base files of partitions on a single background thread.
+ * Pending compactions are finished when the application is shutting down, so a short lived CLI process does not leave
+ * a growing number of delta files.
+ */
+@Component
+public class DeltaCompactionServiceImpl implements DeltaCompactionService {
+    private static final Logger LOG = LoggerFactory.getLogger(DeltaCompactionServiceImpl.class);
+
+    /**
+     * The maximum time to wait for pending compactions when the application is closed.
+     */
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 300L;
+
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("delta-compaction-%d").setDaemon(true).build());
+    private final Set<String> pendingPartitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Schedules a compaction of a partition on a background thread. The compaction is not scheduled again
+     * when a compaction of the same partition is already waiting in the queue.
+     * @param partitionKey Unique key of the partition, for example the partition folder path.
+     * @param compaction Compaction operation that merges the delta files into the base file.
+     * @return True when the compaction was scheduled, false when a compaction of the partition is already pending.
+     */
+    @Override
+    public boolean scheduleCompaction(String partitionKey, Runnable compaction) {
+        if (!this.pendingPartitions.add(partitionKey)) {
+            return false;
+        }
+
+        try {
+            this.compactionExecutor.execute(() -> {
+                this.pendingPartitions.remove(partitionKey); // delta files written from now on will schedule another compaction
+                try {
+                    compaction.run();
+                }
+                catch (Exception ex) {
+                    LOG.warn("Compaction of delta files in the partition " + partitionKey + " failed, the delta files will be compacted later", ex);
+                }
+            });
+        }
+        catch (Exception ex) {
+            this.pendingPartitions.remove(partitionKey);
+            LOG.debug("Compaction of the partition " + partitionKey + " was not scheduled", ex);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits until all compactions that were scheduled before this call finish.
+     * @param timeoutMillis Maximum wait time in milliseconds.
+     * @return True when all compactions finished, false when the timeout elapsed.
+     */
+    @Override
+    public boolean awaitCompactions(long timeoutMillis) {
+        try {
+            Future<?> marker = this.compactionExecutor.submit(() -> {}); // the executor has one thread, so all earlier compactions finish first
+            marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (TimeoutException ex) {
+            return false;
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        catch (Exception ex) {
+            return this.compactionExecutor.isTerminated();
+        }
+    }
+
+    /**
+     * Finishes pending compactions and stops the background thread when the application is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.compactionExecutor.shutdown();
+        try {
+            if (!this.compactionExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Pending compactions of delta files did not finish before the application was closed");
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
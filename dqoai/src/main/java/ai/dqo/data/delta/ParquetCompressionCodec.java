@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import net.tlabs.tablesaw.parquet.TablesawParquetWriteOptions;
+
+/**
+ * Compression codecs used to compress the column chunks of the parquet files with sensor readings and rule results.
+ */
+public enum ParquetCompressionCodec {
+    /**
+     * Parquet files are not compressed.
+     */
+    UNCOMPRESSED(TablesawParquetWriteOptions.CompressionCodec.UNCOMPRESSED),
+
+    /**
+     * Snappy compression, fast to read and write with a moderate compression ratio.
+     */
+    SNAPPY(TablesawParquetWriteOptions.CompressionCodec.SNAPPY),
+
+    /**
+     * Gzip compression, slow to write.
+     */
+    GZIP(TablesawParquetWriteOptions.CompressionCodec.GZIP),
+
+    /**
+     * Zstandard compression, the best compression ratio with a reading speed comparable to Snappy.
+     */
+    ZSTD(TablesawParquetWriteOptions.CompressionCodec.ZSTD);
+
+    private final TablesawParquetWriteOptions.CompressionCodec writerCodec;
+
+    ParquetCompressionCodec(TablesawParquetWriteOptions.CompressionCodec writerCodec) {
+        this.writerCodec = writerCodec;
+    }
+
+    /**
+     * Returns the codec of the parquet writer.
+     * @return Parquet writer codec.
+     */
+    public TablesawParquetWriteOptions.CompressionCodec getWriterCodec() {
+        return writerCodec;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import ai.dqo.data.DataStorageIOException;
+import ai.dqo.utils.tables.TableMergeUtility;
+import net.tlabs.tablesaw.parquet.TablesawParquetWriteOptions;
+import net.tlabs.tablesaw.parquet.TablesawParquetWriter;
+import tech.tablesaw.api.Table;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Support methods that write the parquet files of monthly partitions and manage the delta files stored next to the base parquet file of a partition.
+ * Delta files contain rows that were inserted or updated after the base file was written. Their names
+ * (<code>_&lt;base name&gt;.delta.&lt;timestamp&gt;.&lt;sequence&gt;.parquet</code>) sort in the order in which they were written.
+ * The names start with an underscore, so external hive readers (that skip files starting with _ or .) do not read the delta files
+ * a second time when they scan the partition folders with *.parquet globs.
+ */
+public class PartitionDeltaFileUtility {
+    /**
+     * Prefix of delta file names. Hive compatible readers treat files starting with an underscore as hidden.
+     */
+    public static final String DELTA_FILE_PREFIX = "_";
+
+    /**
+     * Infix that separates the base file name from the delta file timestamp.
+     */
+    public static final String DELTA_FILE_INFIX = ".delta.";
+
+    /**
+     * Extension of parquet files.
+     */
+    public static final String PARQUET_FILE_EXTENSION = ".parquet";
+
+    /**
+     * Prefix of temporary files that are written and then moved to their final names. Files with this prefix are ignored by readers.
+     */
+    public static final String TEMPORARY_FILE_PREFIX = "_tmp_";
+
+    /**
+     * The number of attempts to load a partition when delta files were removed by a concurrent compaction during the load.
+     */
+    public static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /**
+     * Partition version that never matches the version of a partition on the disk, used when the version of the loaded data is not known.
+     */
+    public static final long UNKNOWN_PARTITION_VERSION = -1L;
+
+    private static final AtomicLong deltaSequence = new AtomicLong();
+
+    /**
+     * Reader of a single parquet file of a partition (the base file or a delta file).
+     */
+    @FunctionalInterface
+    public interface PartitionFileReader {
+        /**
+         * Reads a parquet file.
+         * @param filePath File path.
+         * @return Table with the rows from the file or null when the file has no matching rows.
+         * @throws Exception When the file cannot be read.
+         */
+        Table read(Path filePath) throws Exception;
+    }
+
+    /**
+     * Creates a new, unique name of a delta file for a base file. Names of delta files created later sort after the names of older delta files.
+     * @param baseFileName Base file name, for example readings.0.parquet.
+     * @return Delta file name, for example _readings.0.delta.1650000000000.000001.parquet.
+     */
+    public static String makeDeltaFileName(String baseFileName) {
+        long sequence = deltaSequence.incrementAndGet() % 1000000L;
+        return String.format("%s%s%s%013d.%06d%s", DELTA_FILE_PREFIX, stripParquetExtension(baseFileName), DELTA_FILE_INFIX,
+                System.currentTimeMillis(), sequence, PARQUET_FILE_EXTENSION);
+    }
+
+    /**
+     * Creates a name of a temporary file that is written in the partition folder before it is moved to the target file name.
+     * @param targetFileName Target file name.
+     * @return Temporary file name.
+     */
+    public static String makeTemporaryFileName(String targetFileName) {
+        return TEMPORARY_FILE_PREFIX + UUID.randomUUID() + "_" + targetFileName;
+    }
+
+    /**
+     * Lists the delta files of a base file, sorted in the order in which they were written.
+     * @param partitionPath Partition folder path.
+     * @param baseFileName Base file name.
+     * @return List of delta file paths. An empty list is returned when the partition folder does not exist.
+     */
+    public static List<Path> listDeltaFiles(Path partitionPath, String baseFileName) {
+        List<Path> deltaFiles = new ArrayList<>();
+        if (!Files.isDirectory(partitionPath)) {
+            return deltaFiles;
+        }
+
+        String deltaFilePrefix = DELTA_FILE_PREFIX + stripParquetExtension(baseFileName) + DELTA_FILE_INFIX;
+        try (Stream<Path> folderFiles = Files.list(partitionPath)) {
+            folderFiles.filter(path -> {
+                        String fileName = path.getFileName().toString();
+                        return fileName.startsWith(deltaFilePrefix) && fileName.endsWith(PARQUET_FILE_EXTENSION);
+                    })
+                    .sorted()
+                    .forEach(deltaFiles::add);
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot list delta files in " + partitionPath, ex);
+        }
+
+        return deltaFiles;
+    }
+
+    /**
+     * Reads a version (a fingerprint) of a partition, calculated from the identity, modification time and size of the base file and the names
+     * of the delta files. Every write to the partition (a new base file or a new delta file) changes the version, so the version read before
+     * the partition is loaded identifies changes made by other writers since the load. The version should be compared while the partition is locked
+     * by {@link PartitionFileLock}.
+     * @param baseFilePath Base file path.
+     * @return Non negative partition version. A partition without any files has a constant version.
+     */
+    public static long readPartitionVersion(Path baseFilePath) {
+        long version = 17L;
+        try {
+            if (Files.exists(baseFilePath)) {
+                BasicFileAttributes attributes = Files.readAttributes(baseFilePath, BasicFileAttributes.class);
+                version = 31L * version + Objects.hashCode(attributes.fileKey());
+                version = 31L * version + attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+                version = 31L * version + attributes.size();
+            }
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot read the attributes of " + baseFilePath, ex);
+        }
+
+        for (Path deltaFile : listDeltaFiles(baseFilePath.getParent(), baseFilePath.getFileName().toString())) {
+            version = 31L * version + deltaFile.getFileName().toString().hashCode();
+        }
+
+        return version & Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves a parquet file (together with its checksum file written by the hadoop file system) to a target path, replacing the target file.
+     * @param sourcePath Source file path.
+     * @param targetPath Target file path.
+     */
+    public static void moveParquetFile(Path sourcePath, Path targetPath) {
+        try {
+            Path sourceChecksumPath = makeChecksumFilePath(sourcePath);
+            Path targetChecksumPath = makeChecksumFilePath(targetPath);
+            if (Files.exists(sourceChecksumPath)) {
+                Files.move(sourceChecksumPath, targetChecksumPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            else {
+                Files.deleteIfExists(targetChecksumPath);
+            }
+
+            Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot move " + sourcePath + " to " + targetPath, ex);
+        }
+    }
+
+    /**
+     * Deletes a parquet file together with its checksum file.
+     * @param filePath Parquet file path.
+     */
+    public static void deleteParquetFile(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+            Files.deleteIfExists(makeChecksumFilePath(filePath));
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot delete " + filePath, ex);
+        }
+    }
+
+    /**
+     * Deletes a list of parquet files together with their checksum files.
+     * @param filePaths Parquet file paths.
+     */
+    public static void deleteParquetFiles(List<Path> filePaths) {
+        for (Path filePath : filePaths) {
+            deleteParquetFile(filePath);
+        }
+    }
+
+    /**
+     * Deletes a whole partition: the base file, all delta files and the lock file are deleted while the partition is locked. Then
+     * the partition folder is removed, followed by the parent folders (up to the store root folder) that became empty.
+     * Partitions are deleted only by maintenance jobs when their month has expired, so no other writer is expected to write to them at the same time.
+     * @param baseFilePath Base file path.
+     * @param storeRootPath Root folder of the data store, it is never deleted.
+     */
+    public static void deletePartition(Path baseFilePath, Path storeRootPath) {
+        Path partitionPath = baseFilePath.getParent();
+        if (!Files.isDirectory(partitionPath)) {
+            return;
+        }
+
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(partitionPath)) {
+            deleteParquetFiles(listDeltaFiles(partitionPath, baseFilePath.getFileName().toString()));
+            deleteParquetFile(baseFilePath);
+            partitionLock.deleteLockFile();  // writers waiting for the lock will detect that the lock file was deleted
+        }
+
+        try {
+            for (Path folderPath = partitionPath; folderPath != null && folderPath.startsWith(storeRootPath) && !folderPath.equals(storeRootPath);
+                 folderPath = folderPath.getParent()) {
+                try (Stream<Path> folderEntries = Files.list(folderPath)) {
+                    if (folderEntries.findAny().isPresent()) {
+                        return;
+                    }
+                }
+                Files.delete(folderPath);
+            }
+        }
+        catch (NoSuchFileException | DirectoryNotEmptyException ex) {
+            // another process has deleted the folder or has started writing a new partition in it
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot delete the partition folder " + partitionPath, ex);
+        }
+    }
+
+    /**
+     * Writes a table to a parquet file. The table is written to a temporary file in the same folder first and then moved
+     * to the target path, so readers never see a partially written file.
+     * @param data Table to write.
+     * @param targetFilePath Target file path.
+     * @param compressionCodec Compression codec.
+     */
+    public static void writeParquetFile(Table data, Path targetFilePath, ParquetCompressionCodec compressionCodec) {
+        Path temporaryFilePath = targetFilePath.resolveSibling(makeTemporaryFileName(targetFilePath.getFileName().toString()));
+
+        try {
+            TablesawParquetWriteOptions writeOptions = TablesawParquetWriteOptions
+                    .builder(temporaryFilePath.toFile())
+                    .withOverwrite(true)
+                    .withCompressionCode(compressionCodec.getWriterCodec())
+                    .build();
+
+            new TablesawParquetWriter().write(data, writeOptions);
+            moveParquetFile(temporaryFilePath, targetFilePath);
+        }
+        catch (DataStorageIOException ex) {
+            deleteParquetFile(temporaryFilePath);
+            throw ex;
+        }
+        catch (Exception ex) {
+            deleteParquetFile(temporaryFilePath);
+            throw new DataStorageIOException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Loads a partition: the base file and all delta files. The rows from the delta files are merged (upserted) in the order in which the delta files
+     * were written, replacing the rows with the same values in the key columns. The load is repeated when a delta file was removed
+     * by a concurrent compaction, because its rows were moved to the base file that was already read.
+     * @param baseFilePath Base file path.
+     * @param keyColumns Names of columns that identify a row.
+     * @param fileReader Reader of a single parquet file that could also filter and project the columns (the key columns must be loaded).
+     * @return Table with the rows of the partition or null when neither the base file nor any delta file exists.
+     */
+    public static Table loadWithDeltaFiles(Path baseFilePath, String[] keyColumns, PartitionFileReader fileReader) {
+        for (int attempt = 1; ; attempt++) {
+            List<Path> deltaFiles = listDeltaFiles(baseFilePath.getParent(), baseFilePath.getFileName().toString());
+
+            try {
+                return mergeBaseAndDeltaFiles(baseFilePath, deltaFiles, keyColumns, fileReader);
+            }
+            catch (Exception ex) {
+                boolean deltaFileCompacted = deltaFiles.stream().anyMatch(deltaFile -> !Files.exists(deltaFile));
+                if (!deltaFileCompacted || attempt >= MAX_LOAD_ATTEMPTS) {
+                    if (ex instanceof DataStorageIOException) {
+                        throw (DataStorageIOException) ex;
+                    }
+                    throw new DataStorageIOException(ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the base file and a given list of delta files. The rows from the delta files are merged (upserted) in the order of the list,
+     * replacing the rows with the same values in the key columns.
+     * @param baseFilePath Base file path. The base file may not exist.
+     * @param deltaFiles List of delta files to merge.
+     * @param keyColumns Names of columns that identify a row.
+     * @param fileReader Reader of a single parquet file.
+     * @return Table with the merged rows or null when no file was present.
+     * @throws Exception When any file cannot be read.
+     */
+    public static Table mergeBaseAndDeltaFiles(Path baseFilePath, List<Path> deltaFiles, String[] keyColumns, PartitionFileReader fileReader)
+            throws Exception {
+        Table table = Files.exists(baseFilePath) ? fileReader.read(baseFilePath) : null;
+        for (Path deltaFile : deltaFiles) {
+            Table deltaRows = fileReader.read(deltaFile);
+            if (deltaRows == null || deltaRows.rowCount() == 0) {
+                continue;
+            }
+
+            table = (table == null || table.rowCount() == 0) ? deltaRows :
+                    TableMergeUtility.mergeNewResults(table, deltaRows, keyColumns);
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the path of the checksum file that the hadoop local file system writes next to a file.
+     * @param filePath File path.
+     * @return Checksum file path.
+     */
+    private static Path makeChecksumFilePath(Path filePath) {
+        return filePath.resolveSibling("." + filePath.getFileName() + ".crc");
+    }
+
+    /**
+     * Removes the .parquet extension from a file name.
+     * @param fileName File name.
+     * @return File name without the parquet extension.
+     */
+    private static String stripParquetExtension(String fileName) {
+        return fileName.endsWith(PARQUET_FILE_EXTENSION) ?
+                fileName.substring(0, fileName.length() - PARQUET_FILE_EXTENSION.length()) : fileName;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import ai.dqo.data.DataStorageIOException;
+import com.google.common.util.concurrent.Striped;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Exclusive lock of a monthly partition folder, held while the base file of the partition is replaced or the delta files are written or compacted.
+ * The lock is an operating system file lock on a sidecar lock file inside the partition folder, so writers in other processes that share
+ * the same user home (a scheduled check run and an interactive shell) are serialized. Threads of the same process are serialized by an additional
+ * in-process lock, because file locks are held on behalf of the whole process. The lock file may be deleted only by the holder of the lock
+ * (when the whole partition is deleted), see {@link #deleteLockFile()}. Every lock file stores a unique token, a writer that was waiting
+ * for a lock of a file that was deleted in the meantime detects that the token of the file on disk is different and locks the new file.
+ * Readers do not take the lock, the parquet files are always replaced by an atomic move.
+ * Locks of different partitions must not be nested.
+ */
+public class PartitionFileLock implements AutoCloseable {
+    /**
+     * Name of the lock file inside the partition folder. The name starts with a dot, so the file is hidden from hive partition readers.
+     */
+    public static final String LOCK_FILE_NAME = ".partition.lock";
+
+    /**
+     * Length of the unique token (a UUID) stored in the lock file.
+     */
+    private static final int LOCK_TOKEN_LENGTH = 36;
+
+    /**
+     * Position of the locked byte region. The region is after the token, so the token can be read from another file handle on operating systems
+     * with mandatory file locks.
+     */
+    private static final long LOCKED_REGION_POSITION = 1024L;
+
+    private static final Striped<Lock> inProcessLocks = Striped.lazyWeakLock(1024);
+
+    private final Path lockFilePath;
+    private final Lock inProcessLock;
+    private final FileChannel lockFileChannel;
+    private final FileLock fileLock;
+
+    /**
+     * Creates a lock holder.
+     * @param lockFilePath Lock file path.
+     * @param inProcessLock Acquired in-process lock.
+     * @param lockFileChannel Open channel of the lock file.
+     * @param fileLock Acquired file lock.
+     */
+    private PartitionFileLock(Path lockFilePath, Lock inProcessLock, FileChannel lockFileChannel, FileLock fileLock) {
+        this.lockFilePath = lockFilePath;
+        this.inProcessLock = inProcessLock;
+        this.lockFileChannel = lockFileChannel;
+        this.fileLock = fileLock;
+    }
+
+    /**
+     * Acquires an exclusive lock of a partition folder, waiting until other threads or processes release it.
+     * The partition folder is created when it does not exist.
+     * @param partitionPath Partition folder path.
+     * @return Acquired lock that must be closed to release the partition.
+     */
+    public static PartitionFileLock acquire(Path partitionPath) {
+        Lock inProcessLock = inProcessLocks.get(partitionPath.toAbsolutePath().normalize().toString());
+        inProcessLock.lock();
+
+        Path lockFilePath = partitionPath.resolve(LOCK_FILE_NAME);
+        FileChannel lockFileChannel = null;
+        try {
+            while (true) {
+                Files.createDirectories(partitionPath);
+                lockFileChannel = FileChannel.open(lockFilePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock fileLock = lockFileChannel.lock(LOCKED_REGION_POSITION, 1L, false);
+                if (isLockedFileCurrent(lockFilePath, lockFileChannel)) {
+                    return new PartitionFileLock(lockFilePath, inProcessLock, lockFileChannel, fileLock);
+                }
+
+                // the lock file was deleted (with the partition) by the previous holder of the lock, locking the new lock file
+                fileLock.release();
+                lockFileChannel.close();
+                lockFileChannel = null;
+            }
+        }
+        catch (IOException ex) {
+            closeQuietly(lockFileChannel);
+            inProcessLock.unlock();
+            throw new DataStorageIOException("Cannot lock the partition " + partitionPath, ex);
+        }
+        catch (RuntimeException ex) {
+            closeQuietly(lockFileChannel);
+            inProcessLock.unlock();
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks if the locked file is still the lock file on disk, comparing the token stored in the locked file with the token of the file on disk.
+     * A token is written to a new (empty) lock file. Called while the file is locked.
+     * @param lockFilePath Lock file path.
+     * @param lockFileChannel Locked channel.
+     * @return True when the locked file is the current lock file, false when the locked file was deleted.
+     * @throws IOException When the lock file cannot be read or written.
+     */
+    private static boolean isLockedFileCurrent(Path lockFilePath, FileChannel lockFileChannel) throws IOException {
+        ByteBuffer tokenBuffer = ByteBuffer.allocate(LOCK_TOKEN_LENGTH);
+        while (tokenBuffer.hasRemaining() && lockFileChannel.read(tokenBuffer, tokenBuffer.position()) > 0) {
+            // reading the whole token
+        }
+
+        byte[] lockedToken;
+        if (tokenBuffer.position() == 0) {
+            lockedToken = UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII);
+            lockFileChannel.write(ByteBuffer.wrap(lockedToken), 0L);
+            lockFileChannel.force(false);
+        }
+        else {
+            lockedToken = Arrays.copyOf(tokenBuffer.array(), tokenBuffer.position());
+        }
+
+        try {
+            byte[] currentFileContent = Files.readAllBytes(lockFilePath);
+            byte[] currentToken = Arrays.copyOf(currentFileContent, Math.min(currentFileContent.length, LOCK_TOKEN_LENGTH));
+            return Arrays.equals(lockedToken, currentToken);
+        }
+        catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the lock file. Must be called only when the whole partition is deleted, while the lock is held. Writers waiting for this lock
+     * will lock a new lock file.
+     */
+    public void deleteLockFile() {
+        try {
+            Files.deleteIfExists(this.lockFilePath);
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot delete the partition lock file " + this.lockFilePath, ex);
+        }
+    }
+
+    /**
+     * Releases the partition.
+     */
+    @Override
+    public void close() {
+        try {
+            this.fileLock.release();
+        }
+        catch (IOException ex) {
+            // the lock is released anyway when the channel is closed
+        }
+        finally {
+            closeQuietly(this.lockFileChannel);
+            this.inProcessLock.unlock();
+        }
+    }
+
+    /**
+     * Closes a lock file channel, ignoring errors.
+     * @param lockFileChannel Channel to close or null.
+     */
+    private static void closeQuietly(FileChannel lockFileChannel) {
+        if (lockFileChannel == null) {
+            return;
+        }
+
+        try {
+            lockFileChannel.close();
+        }
+        catch (IOException ex) {
+            // nothing to do, the lock file is not modified
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.lake;
+
+import ai.dqo.metadata.sources.PhysicalTableName;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * A single monthly partition of the hive partitioned parquet data lake (c=connection/t=schema.table/m=month) that was found on the disk.
+ */
+public class DataLakePartition {
+    private final String connectionName;
+    private final PhysicalTableName tableName;
+    private final LocalDate month;
+    private final Path baseFilePath;
+
+    /**
+     * Creates a partition descriptor.
+     * @param connectionName Connection name (decoded).
+     * @param tableName Physical table name (decoded).
+     * @param month The first day of the month.
+     * @param baseFilePath Path to the base parquet file of the partition. The file may be missing when the partition has only delta files.
+     */
+    public DataLakePartition(String connectionName, PhysicalTableName tableName, LocalDate month, Path baseFilePath) {
+        this.connectionName = connectionName;
+        this.tableName = tableName;
+        this.month = month;
+        this.baseFilePath = baseFilePath;
+    }
+
+    /**
+     * Returns the connection name.
+     * @return Connection name.
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Returns the physical table name.
+     * @return Table name.
+     */
+    public PhysicalTableName getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the month of the partition.
+     * @return The first day of the month.
+     */
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the path to the base parquet file of the partition.
+     * @return Base parquet file path.
+     */
+    public Path getBaseFilePath() {
+        return baseFilePath;
+    }
+}
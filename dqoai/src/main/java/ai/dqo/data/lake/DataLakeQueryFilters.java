@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.lake;
+
+import java.time.LocalDate;
+
+/**
+ * Filters that select the monthly partitions (and rows) of the local parquet data lake that are aggregated by {@link DataLakeQueryService}.
+ */
+public class DataLakeQueryFilters {
+    private String connectionName;
+    private String schemaTableName;
+    private String checkName;
+    private LocalDate startMonth;
+    private LocalDate endMonth;
+
+    /**
+     * Returns a connection name or a connection name pattern.
+     * @return Connection name filter.
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Sets a connection name or a connection name pattern like 'conn*'.
+     * @param connectionName Connection name filter.
+     */
+    public void setConnectionName(String connectionName) {
+        this.connectionName = connectionName;
+    }
+
+    /**
+     * Returns a schema.table name filter.
+     * @return Schema and table name filter.
+     */
+    public String getSchemaTableName() {
+        return schemaTableName;
+    }
+
+    /**
+     * Sets a schema.table name filter that supports patterns like 'sch*.tab*'.
+     * @param schemaTableName Schema and table name filter.
+     */
+    public void setSchemaTableName(String schemaTableName) {
+        this.schemaTableName = schemaTableName;
+    }
+
+    /**
+     * Returns a check name filter.
+     * @return Check name filter.
+     */
+    public String getCheckName() {
+        return checkName;
+    }
+
+    /**
+     * Sets a check name filter that supports patterns like '*_count'. The filter is applied to the rows, not to the partitions.
+     * @param checkName Check name filter.
+     */
+    public void setCheckName(String checkName) {
+        this.checkName = checkName;
+    }
+
+    /**
+     * Returns the first month (inclusive) that is queried.
+     * @return First month or null when the query is not limited.
+     */
+    public LocalDate getStartMonth() {
+        return startMonth;
+    }
+
+    /**
+     * Sets the first month (inclusive) that is queried. The date is truncated to the beginning of the month.
+     * @param startMonth First month or null to query all months.
+     */
+    public void setStartMonth(LocalDate startMonth) {
+        this.startMonth = startMonth;
+    }
+
+    /**
+     * Returns the last month (inclusive) that is queried.
+     * @return Last month or null when the query is not limited.
+     */
+    public LocalDate getEndMonth() {
+        return endMonth;
+    }
+
+    /**
+     * Sets the last month (inclusive) that is queried. The date is truncated to the beginning of the month.
+     * @param endMonth Last month or null to query all months.
+     */
+    public void setEndMonth(LocalDate endMonth) {
+        this.endMonth = endMonth;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.lake;
+
+import tech.tablesaw.api.Table;
+
+import java.util.List;
+
+/**
+ * Query service that runs aggregate queries over all sensor readings and rule results (alerts) stored in the local hive partitioned
+ * parquet data lake inside the user home. The queries scan all matching monthly partitions of all connections and tables.
+ */
+public interface DataLakeQueryService {
+    /**
+     * Lists the monthly partitions of the rule results (alerts) that match the filters.
+     * @param filters Partition filters.
+     * @return List of partitions.
+     */
+    List<DataLakePartition> listRuleResultsPartitions(DataLakeQueryFilters filters);
+
+    /**
+     * Lists the monthly partitions of the sensor readings that match the filters.
+     * @param filters Partition filters.
+     * @return List of partitions.
+     */
+    List<DataLakePartition> listSensorReadingsPartitions(DataLakeQueryFilters filters);
+
+    /**
+     * Counts the rule results and alerts (by severity) of every connection.
+     * @param filters Partition and check filters.
+     * @return Table with one row per connection, sorted by the connection name.
+     */
+    Table countAlertsPerConnection(DataLakeQueryFilters filters);
+
+    /**
+     * Finds the tables with the highest number of alerts. Tables are ordered by the count of high, medium and low severity alerts.
+     * @param filters Partition and check filters.
+     * @param limit The maximum number of returned tables.
+     * @return Table with one row per table (connection, schema, table).
+     */
+    Table findWorstTables(DataLakeQueryFilters filters, int limit);
+
+    /**
+     * Calculates the trends of sensor readings of all checks on all tables. The readings are aggregated (count, average, min and max)
+     * per check and per day or month.
+     * @param filters Partition and check filters.
+     * @param timeScale Time scale of the aggregated time periods.
+     * @return Table with one row per check and time period.
+     */
+    Table calculateSensorTrends(DataLakeQueryFilters filters, SensorTrendTimeScale timeScale);
+}
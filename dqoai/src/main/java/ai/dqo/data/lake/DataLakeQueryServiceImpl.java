@@ -0,0 +1,580 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.lake;
+
+import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
+import ai.dqo.data.DataStorageIOException;
+import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageService;
+import ai.dqo.data.alerts.filestorage.RuleResultsPartitioningKeys;
+import ai.dqo.data.delta.PartitionDeltaFileUtility;
+import ai.dqo.data.local.LocalDqoUserHomePathProvider;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageService;
+import ai.dqo.data.readings.filestorage.SensorReadingsPartitioningKeys;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.execution.checks.ruleeval.RuleEvaluationResult;
+import ai.dqo.metadata.search.StringPatternComparer;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
+import net.tlabs.tablesaw.parquet.TablesawParquetReadOptions;
+import net.tlabs.tablesaw.parquet.TablesawParquetReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tech.tablesaw.aggregate.AggregateFunctions;
+import tech.tablesaw.api.*;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Query service that runs aggregate queries over all sensor readings and rule results (alerts) stored in the local hive partitioned
+ * parquet data lake inside the user home. Monthly partitions are discovered from the folder names (c=connection/t=schema.table/m=month),
+ * so partitions of other connections, tables and months are pruned without opening any file. Only the columns used by a query are read
+ * from the parquet files and the partitions are scanned and pre-aggregated in parallel.
+ */
+@Service
+public class DataLakeQueryServiceImpl implements DataLakeQueryService {
+    /**
+     * Name of the aggregated time period column that is added to the sensor readings when the trends are calculated.
+     */
+    private static final String TREND_PERIOD_COLUMN_NAME = "trend_period";
+
+    private final DqoStorageConfigurationProperties storageConfigurationProperties;
+    private final LocalDqoUserHomePathProvider localDqoUserHomePathProvider;
+
+    /**
+     * Dependency injection constructor.
+     * @param storageConfigurationProperties Storage configuration.
+     * @param localDqoUserHomePathProvider DQO User home finder.
+     */
+    @Autowired
+    public DataLakeQueryServiceImpl(DqoStorageConfigurationProperties storageConfigurationProperties,
+                                    LocalDqoUserHomePathProvider localDqoUserHomePathProvider) {
+        this.storageConfigurationProperties = storageConfigurationProperties;
+        this.localDqoUserHomePathProvider = localDqoUserHomePathProvider;
+    }
+
+    /**
+     * Lists the monthly partitions of the rule results (alerts) that match the filters.
+     * @param filters Partition filters.
+     * @return List of partitions.
+     */
+    @Override
+    public List<DataLakePartition> listRuleResultsPartitions(DataLakeQueryFilters filters) {
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath()
+                .resolve(this.storageConfigurationProperties.getAlertsStoragePath());
+        return listPartitions(storeRootPath, RuleResultsFileStorageService.PARQUET_FILE_NAME, RuleResultsPartitioningKeys.CONNECTION,
+                RuleResultsPartitioningKeys.TARGET, RuleResultsPartitioningKeys.MONTH, filters);
+    }
+
+    /**
+     * Lists the monthly partitions of the sensor readings that match the filters.
+     * @param filters Partition filters.
+     * @return List of partitions.
+     */
+    @Override
+    public List<DataLakePartition> listSensorReadingsPartitions(DataLakeQueryFilters filters) {
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath()
+                .resolve(this.storageConfigurationProperties.getSensorReadingsStoragePath());
+        return listPartitions(storeRootPath, SensorReadingsFileStorageService.PARQUET_FILE_NAME, SensorReadingsPartitioningKeys.CONNECTION,
+                SensorReadingsPartitioningKeys.TARGET, SensorReadingsPartitioningKeys.MONTH, filters);
+    }
+
+    /**
+     * Walks the hive partitioned folders of a data store and returns the monthly partitions that match the filters.
+     * @param storeRootPath Root folder of the data store.
+     * @param baseFileName Base parquet file name inside a partition folder.
+     * @param connectionKey Partitioning key of the connection folders.
+     * @param targetKey Partitioning key of the table folders.
+     * @param monthKey Partitioning key of the month folders.
+     * @param filters Partition filters.
+     * @return List of partitions, sorted by the connection, table and month.
+     */
+    protected List<DataLakePartition> listPartitions(Path storeRootPath, String baseFileName, String connectionKey,
+                                                     String targetKey, String monthKey, DataLakeQueryFilters filters) {
+        List<DataLakePartition> partitions = new ArrayList<>();
+        if (!Files.isDirectory(storeRootPath)) {
+            return partitions;
+        }
+
+        PhysicalTableName tableNamePattern = filters.getSchemaTableName() != null ?
+                PhysicalTableName.fromSchemaTableFilter(filters.getSchemaTableName()) : null;
+        LocalDate startMonth = filters.getStartMonth() != null ? LocalDateTimeTruncateUtility.truncateMonth(filters.getStartMonth()) : null;
+        LocalDate endMonth = filters.getEndMonth() != null ? LocalDateTimeTruncateUtility.truncateMonth(filters.getEndMonth()) : null;
+
+        for (Path connectionFolder : listPartitionFolders(storeRootPath, connectionKey)) {
+            String connectionName = decodePartitionValue(connectionFolder, connectionKey);
+            if (!StringPatternComparer.matchSearchPattern(connectionName, filters.getConnectionName())) {
+                continue;
+            }
+
+            for (Path tableFolder : listPartitionFolders(connectionFolder, targetKey)) {
+                PhysicalTableName tableName = parseTableName(decodePartitionValue(tableFolder, targetKey));
+                if (tableNamePattern != null && !tableName.matchPattern(tableNamePattern)) {
+                    continue;
+                }
+
+                for (Path monthFolder : listPartitionFolders(tableFolder, monthKey)) {
+                    LocalDate month;
+                    try {
+                        month = LocalDate.parse(decodePartitionValue(monthFolder, monthKey));
+                    }
+                    catch (DateTimeParseException ex) {
+                        continue; // not a partition folder
+                    }
+
+                    if ((startMonth != null && month.isBefore(startMonth)) || (endMonth != null && month.isAfter(endMonth))) {
+                        continue;
+                    }
+
+                    Path baseFilePath = monthFolder.resolve(baseFileName);
+                    if (Files.exists(baseFilePath) || !PartitionDeltaFileUtility.listDeltaFiles(monthFolder, baseFileName).isEmpty()) {
+                        partitions.add(new DataLakePartition(connectionName, tableName, month, baseFilePath));
+                    }
+                }
+            }
+        }
+
+        partitions.sort(Comparator.comparing(DataLakePartition::getConnectionName)
+                .thenComparing(partition -> partition.getTableName().toString())
+                .thenComparing(DataLakePartition::getMonth));
+        return partitions;
+    }
+
+    /**
+     * Lists the sub folders of a folder that are hive partition folders of the given partitioning key (key=value).
+     * @param parentFolder Parent folder.
+     * @param partitioningKey Partitioning key.
+     * @return List of partition folders.
+     */
+    protected List<Path> listPartitionFolders(Path parentFolder, String partitioningKey) {
+        List<Path> folders = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(parentFolder,
+                path -> Files.isDirectory(path) && path.getFileName().toString().startsWith(partitioningKey + "="))) {
+            for (Path folder : directoryStream) {
+                folders.add(folder);
+            }
+        }
+        catch (IOException ex) {
+            throw new DataStorageIOException("Cannot list partitions in " + parentFolder, ex);
+        }
+
+        return folders;
+    }
+
+    /**
+     * Decodes the value of a hive partition folder name (key=value).
+     * @param partitionFolder Partition folder.
+     * @param partitioningKey Partitioning key.
+     * @return Decoded value.
+     */
+    private static String decodePartitionValue(Path partitionFolder, String partitioningKey) {
+        String folderName = partitionFolder.getFileName().toString();
+        return URLDecoder.decode(folderName.substring(partitioningKey.length() + 1), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a "schema.table" name that was stored in a partition folder name.
+     * @param schemaTableName Schema and table name.
+     * @return Physical table name.
+     */
+    private static PhysicalTableName parseTableName(String schemaTableName) {
+        int indexOfDot = schemaTableName.indexOf('.');
+        if (indexOfDot < 0) {
+            return new PhysicalTableName("", schemaTableName);
+        }
+
+        return new PhysicalTableName(schemaTableName.substring(0, indexOfDot), schemaTableName.substring(indexOfDot + 1));
+    }
+
+    /**
+     * Loads the given columns of a monthly partition, merging the rows from its delta files.
+     * @param partition Partition to load.
+     * @param keyColumns Key columns of the data store, they are always loaded because they are required to merge the delta files.
+     * @param columns Additional columns to load.
+     * @return Table with the partition data or null when the partition files were removed.
+     */
+    protected Table loadPartition(DataLakePartition partition, String[] keyColumns, String... columns) {
+        LinkedHashSet<String> projectedColumns = new LinkedHashSet<>(Arrays.asList(keyColumns));
+        projectedColumns.addAll(Arrays.asList(columns));
+        String[] projectedColumnNames = projectedColumns.toArray(String[]::new);
+
+        return PartitionDeltaFileUtility.loadWithDeltaFiles(partition.getBaseFilePath(), keyColumns,
+                parquetFilePath -> readProjectedParquetFile(parquetFilePath, projectedColumnNames));
+    }
+
+    /**
+     * Reads selected columns from a single parquet file.
+     * @param parquetFilePath Parquet file path.
+     * @param columns Column names to read.
+     * @return Table with the selected columns.
+     * @throws Exception When the file cannot be read.
+     */
+    protected Table readProjectedParquetFile(Path parquetFilePath, String[] columns) throws Exception {
+        TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
+                .builder(parquetFilePath.toFile())
+                .withOnlyTheseColumns(columns)
+                .build();
+        return new TablesawParquetReader().read(readOptions);
+    }
+
+    /**
+     * Selects the rows of a partition that match the check name filter.
+     * @param partitionData Partition data with the check name column.
+     * @param checkNamePattern Check name filter or null when all rows are selected.
+     * @return Partition data limited to the matching rows.
+     */
+    private static Table filterByCheckName(Table partitionData, String checkNamePattern) {
+        if (checkNamePattern == null) {
+            return partitionData;
+        }
+
+        StringColumn checkNameColumn = partitionData.stringColumn(SensorNormalizedResult.CHECK_NAME_COLUMN_NAME);
+        Selection selection = new BitmapBackedSelection();
+        int rowCount = partitionData.rowCount();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            if (StringPatternComparer.matchSearchPattern(checkNameColumn.get(rowIndex), checkNamePattern)) {
+                selection.add(rowIndex);
+            }
+        }
+
+        return partitionData.where(selection);
+    }
+
+    /**
+     * Counts the rule results and alerts of a single partition.
+     * @param partition Rule results partition.
+     * @param filters Query filters.
+     * @return Alert counts.
+     */
+    protected AlertCounts countPartitionAlerts(DataLakePartition partition, DataLakeQueryFilters filters) {
+        AlertCounts alertCounts = new AlertCounts(partition.getConnectionName(), partition.getTableName().toString());
+        Table partitionData = filters.getCheckName() != null ?
+                loadPartition(partition, RuleResultsFileStorageService.KEY_COLUMN_NAMES,
+                        RuleEvaluationResult.SEVERITY_COLUMN_NAME, SensorNormalizedResult.CHECK_NAME_COLUMN_NAME) :
+                loadPartition(partition, RuleResultsFileStorageService.KEY_COLUMN_NAMES, RuleEvaluationResult.SEVERITY_COLUMN_NAME);
+        if (partitionData == null) {
+            return alertCounts;
+        }
+
+        partitionData = filterByCheckName(partitionData, filters.getCheckName());
+        IntColumn severityColumn = partitionData.intColumn(RuleEvaluationResult.SEVERITY_COLUMN_NAME);
+        int rowCount = partitionData.rowCount();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            alertCounts.addRuleResult(severityColumn.isMissing(rowIndex) ? 0 : severityColumn.getInt(rowIndex));
+        }
+
+        return alertCounts;
+    }
+
+    /**
+     * Counts the alerts of all partitions that match the filters, in parallel.
+     * @param filters Query filters.
+     * @return List of alert counts, one per partition.
+     */
+    private List<AlertCounts> countAlertsPerPartition(DataLakeQueryFilters filters) {
+        List<DataLakePartition> partitions = listRuleResultsPartitions(filters);
+        return partitions.parallelStream()
+                .map(partition -> countPartitionAlerts(partition, filters))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the rule results and alerts (by severity) of every connection.
+     * @param filters Partition and check filters.
+     * @return Table with one row per connection, sorted by the connection name.
+     */
+    @Override
+    public Table countAlertsPerConnection(DataLakeQueryFilters filters) {
+        Map<String, AlertCounts> countsPerConnection = new TreeMap<>();
+        Map<String, Set<String>> tablesPerConnection = new HashMap<>();
+        for (AlertCounts partitionCounts : countAlertsPerPartition(filters)) {
+            countsPerConnection.computeIfAbsent(partitionCounts.getConnectionName(),
+                    connectionName -> new AlertCounts(connectionName, null)).add(partitionCounts);
+            tablesPerConnection.computeIfAbsent(partitionCounts.getConnectionName(), connectionName -> new HashSet<>())
+                    .add(partitionCounts.getTableName());
+        }
+
+        Table resultTable = Table.create("Alerts per connection");
+        StringColumn connectionColumn = StringColumn.create("Connection");
+        IntColumn tablesColumn = IntColumn.create("Tables");
+        resultTable.addColumns(connectionColumn, tablesColumn);
+        AlertCounts.addCountColumns(resultTable);
+
+        for (AlertCounts connectionCounts : countsPerConnection.values()) {
+            connectionColumn.append(connectionCounts.getConnectionName());
+            tablesColumn.append(tablesPerConnection.get(connectionCounts.getConnectionName()).size());
+            connectionCounts.appendCounts(resultTable);
+        }
+
+        return resultTable;
+    }
+
+    /**
+     * Finds the tables with the highest number of alerts. Tables are ordered by the count of high, medium and low severity alerts.
+     * @param filters Partition and check filters.
+     * @param limit The maximum number of returned tables.
+     * @return Table with one row per table (connection, schema, table).
+     */
+    @Override
+    public Table findWorstTables(DataLakeQueryFilters filters, int limit) {
+        Map<String, AlertCounts> countsPerTable = new LinkedHashMap<>();
+        for (AlertCounts partitionCounts : countAlertsPerPartition(filters)) {
+            if (partitionCounts.getAlertsCount() == 0L) {
+                continue;
+            }
+
+            String tableKey = partitionCounts.getConnectionName() + "/" + partitionCounts.getTableName();
+            countsPerTable.computeIfAbsent(tableKey,
+                    key -> new AlertCounts(partitionCounts.getConnectionName(), partitionCounts.getTableName())).add(partitionCounts);
+        }
+
+        Table resultTable = Table.create("Worst tables");
+        StringColumn connectionColumn = StringColumn.create("Connection");
+        StringColumn tableColumn = StringColumn.create("Table");
+        resultTable.addColumns(connectionColumn, tableColumn);
+        AlertCounts.addCountColumns(resultTable);
+
+        for (AlertCounts tableCounts : countsPerTable.values()) {
+            connectionColumn.append(tableCounts.getConnectionName());
+            tableColumn.append(tableCounts.getTableName());
+            tableCounts.appendCounts(resultTable);
+        }
+
+        Table sortedTable = resultTable.sortDescendingOn(AlertCounts.HIGH_ALERTS_COLUMN_NAME,
+                AlertCounts.MEDIUM_ALERTS_COLUMN_NAME, AlertCounts.LOW_ALERTS_COLUMN_NAME);
+        return sortedTable.rowCount() > limit ? sortedTable.first(limit) : sortedTable;
+    }
+
+    /**
+     * Calculates the trends of sensor readings of all checks on all tables. The readings are aggregated (count, average, min and max)
+     * per check and per day or month.
+     * @param filters Partition and check filters.
+     * @param timeScale Time scale of the aggregated time periods.
+     * @return Table with one row per check and time period.
+     */
+    @Override
+    public Table calculateSensorTrends(DataLakeQueryFilters filters, SensorTrendTimeScale timeScale) {
+        List<DataLakePartition> partitions = listSensorReadingsPartitions(filters);
+        List<Table> partitionTrends = partitions.parallelStream()
+                .map(partition -> calculatePartitionSensorTrends(partition, filters, timeScale))
+                .collect(Collectors.toList());
+
+        Table resultTable = createSensorTrendsTable();
+        for (Table partitionTrend : partitionTrends) {
+            resultTable.append(partitionTrend);
+        }
+
+        return resultTable.sortOn("Connection", "Table", "Column", "Check", "Period");
+    }
+
+    /**
+     * Creates an empty table for the sensor trends.
+     * @return Empty sensor trends table.
+     */
+    private static Table createSensorTrendsTable() {
+        Table table = Table.create("Sensor trends");
+        table.addColumns(
+                StringColumn.create("Connection"),
+                StringColumn.create("Table"),
+                StringColumn.create("Column"),
+                StringColumn.create("Check"),
+                DateColumn.create("Period"),
+                IntColumn.create("Readings"),
+                DoubleColumn.create("Average"),
+                DoubleColumn.create("Min"),
+                DoubleColumn.create("Max"));
+        return table;
+    }
+
+    /**
+     * Aggregates the sensor readings of a single partition. Partitions hold whole months, so the daily or monthly time periods
+     * of different partitions of the same table never overlap and the partition aggregates could be simply appended.
+     * @param partition Sensor readings partition.
+     * @param filters Query filters.
+     * @param timeScale Time scale of the aggregated time periods.
+     * @return Table with the sensor trends of the partition.
+     */
+    protected Table calculatePartitionSensorTrends(DataLakePartition partition, DataLakeQueryFilters filters, SensorTrendTimeScale timeScale) {
+        Table trendsTable = createSensorTrendsTable();
+        Table partitionData = loadPartition(partition, SensorReadingsFileStorageService.KEY_COLUMN_NAMES,
+                SensorNormalizedResult.CHECK_NAME_COLUMN_NAME,
+                SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME,
+                SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        if (partitionData == null) {
+            return trendsTable;
+        }
+
+        partitionData = filterByCheckName(partitionData, filters.getCheckName());
+        if (partitionData.rowCount() == 0) {
+            return trendsTable;
+        }
+
+        DateTimeColumn timePeriodColumn = partitionData.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        DateColumn trendPeriodColumn = DateColumn.create(TREND_PERIOD_COLUMN_NAME, partitionData.rowCount());
+        for (int rowIndex = 0; rowIndex < partitionData.rowCount(); rowIndex++) {
+            LocalDateTime timePeriod = timePeriodColumn.get(rowIndex);
+            if (timePeriod != null) {
+                LocalDate day = timePeriod.toLocalDate();
+                trendPeriodColumn.set(rowIndex, timeScale == SensorTrendTimeScale.month ? LocalDateTimeTruncateUtility.truncateMonth(day) : day);
+            }
+        }
+        partitionData.addColumns(trendPeriodColumn);
+
+        Table summary = partitionData.summarize(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME,
+                        AggregateFunctions.count, AggregateFunctions.mean, AggregateFunctions.min, AggregateFunctions.max)
+                .by(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME, SensorNormalizedResult.CHECK_NAME_COLUMN_NAME, TREND_PERIOD_COLUMN_NAME);
+
+        StringColumn summaryColumnNameColumn = summary.stringColumn(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME);
+        StringColumn summaryCheckNameColumn = summary.stringColumn(SensorNormalizedResult.CHECK_NAME_COLUMN_NAME);
+        DateColumn summaryPeriodColumn = summary.dateColumn(TREND_PERIOD_COLUMN_NAME);
+        NumericColumn<?> countColumn = summary.numberColumn(makeAggregateColumnName(AggregateFunctions.count.functionName()));
+        NumericColumn<?> meanColumn = summary.numberColumn(makeAggregateColumnName(AggregateFunctions.mean.functionName()));
+        NumericColumn<?> minColumn = summary.numberColumn(makeAggregateColumnName(AggregateFunctions.min.functionName()));
+        NumericColumn<?> maxColumn = summary.numberColumn(makeAggregateColumnName(AggregateFunctions.max.functionName()));
+
+        String tableName = partition.getTableName().toString();
+        for (int rowIndex = 0; rowIndex < summary.rowCount(); rowIndex++) {
+            if (summaryPeriodColumn.isMissing(rowIndex)) {
+                continue; // readings without a time period are not a part of any trend
+            }
+
+            Row trendRow = trendsTable.appendRow();
+            trendRow.setString("Connection", partition.getConnectionName());
+            trendRow.setString("Table", tableName);
+            trendRow.setString("Column", summaryColumnNameColumn.get(rowIndex));
+            trendRow.setString("Check", summaryCheckNameColumn.get(rowIndex));
+            trendRow.setDate("Period", summaryPeriodColumn.get(rowIndex));
+            trendRow.setInt("Readings", (int) countColumn.getDouble(rowIndex));
+            trendRow.setDouble("Average", meanColumn.getDouble(rowIndex));
+            trendRow.setDouble("Min", minColumn.getDouble(rowIndex));
+            trendRow.setDouble("Max", maxColumn.getDouble(rowIndex));
+        }
+
+        return trendsTable;
+    }
+
+    /**
+     * Returns the name of a column created by tablesaw when the actual value column is summarized.
+     * @param functionName Aggregate function name.
+     * @return Aggregated column name.
+     */
+    private static String makeAggregateColumnName(String functionName) {
+        return functionName + " [" + SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME + "]";
+    }
+
+    /**
+     * Counts of rule results and alerts of a table or a connection.
+     */
+    protected static class AlertCounts {
+        public static final String RULE_RESULTS_COLUMN_NAME = "Rule results";
+        public static final String VALID_RESULTS_COLUMN_NAME = "Valid results";
+        public static final String LOW_ALERTS_COLUMN_NAME = "Alerts (low)";
+        public static final String MEDIUM_ALERTS_COLUMN_NAME = "Alerts (medium)";
+        public static final String HIGH_ALERTS_COLUMN_NAME = "Alerts (high)";
+
+        private final String connectionName;
+        private final String tableName;
+        private final long[] countsBySeverity = new long[4];
+
+        /**
+         * Creates an empty counter.
+         * @param connectionName Connection name.
+         * @param tableName Table name (schema.table) or null when the counts are for the whole connection.
+         */
+        public AlertCounts(String connectionName, String tableName) {
+            this.connectionName = connectionName;
+            this.tableName = tableName;
+        }
+
+        /**
+         * Returns the connection name.
+         * @return Connection name.
+         */
+        public String getConnectionName() {
+            return connectionName;
+        }
+
+        /**
+         * Returns the table name.
+         * @return Table name (schema.table).
+         */
+        public String getTableName() {
+            return tableName;
+        }
+
+        /**
+         * Returns the number of alerts of any severity.
+         * @return Alerts count.
+         */
+        public long getAlertsCount() {
+            return this.countsBySeverity[1] + this.countsBySeverity[2] + this.countsBySeverity[3];
+        }
+
+        /**
+         * Counts one rule result.
+         * @param severity Rule result severity (0, 1, 2, 3).
+         */
+        public void addRuleResult(int severity) {
+            this.countsBySeverity[Math.max(0, Math.min(3, severity))]++;
+        }
+
+        /**
+         * Adds the counts from another counter.
+         * @param other Other counter.
+         */
+        public void add(AlertCounts other) {
+            for (int severity = 0; severity < this.countsBySeverity.length; severity++) {
+                this.countsBySeverity[severity] += other.countsBySeverity[severity];
+            }
+        }
+
+        /**
+         * Adds the count columns to a result table.
+         * @param resultTable Result table.
+         */
+        public static void addCountColumns(Table resultTable) {
+            resultTable.addColumns(
+                    LongColumn.create(RULE_RESULTS_COLUMN_NAME),
+                    LongColumn.create(VALID_RESULTS_COLUMN_NAME),
+                    LongColumn.create(LOW_ALERTS_COLUMN_NAME),
+                    LongColumn.create(MEDIUM_ALERTS_COLUMN_NAME),
+                    LongColumn.create(HIGH_ALERTS_COLUMN_NAME));
+        }
+
+        /**
+         * Appends the counts to the count columns of a result table.
+         * @param resultTable Result table with the count columns.
+         */
+        public void appendCounts(Table resultTable) {
+            resultTable.longColumn(RULE_RESULTS_COLUMN_NAME).append(this.countsBySeverity[0] + getAlertsCount());
+            resultTable.longColumn(VALID_RESULTS_COLUMN_NAME).append(this.countsBySeverity[0]);
+            resultTable.longColumn(LOW_ALERTS_COLUMN_NAME).append(this.countsBySeverity[1]);
+            resultTable.longColumn(MEDIUM_ALERTS_COLUMN_NAME).append(this.countsBySeverity[2]);
+            resultTable.longColumn(HIGH_ALERTS_COLUMN_NAME).append(this.countsBySeverity[3]);
+        }
+    }
+}
@@ -16,10 +16,12 @@
 package ai.dqo.data.readings.filestorage;
 
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Service that provides access to sensor results.
@@ -27,6 +29,25 @@ import java.time.LocalDate;
 public interface SensorReadingsFileStorageService {
     String PARQUET_FILE_NAME = "readings.0.parquet";
 
+    /**
+     * Columns that identify a sensor reading. Rows in delta files replace the rows with the same values of these columns.
+     */
+    String[] KEY_COLUMN_NAMES = {
+            SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
+            SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
+            SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME
+    };
+
+    /**
+     * Columns that are loaded for the historic time series that are analyzed by rules.
+     */
+    String[] TIME_SERIES_COLUMN_NAMES = {
+            SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
+            SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
+            SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME,
+            SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME
+    };
+
     /**
      * Returns a supported delta mode.
      * @return Delta mode that is supported.
@@ -43,7 +64,56 @@ public interface SensorReadingsFileStorageService {
     void saveTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month);
 
     /**
-     * Reads data for a single month.
+     * Saves new or updated sensor readings for a connection, table and month as a delta file next to the monthly partition file.
+     * A compaction of the partition is scheduled in the background when the partition has too many delta files.
+     * @param data New or updated readings for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Reads a version of the files of a monthly partition. The version changes whenever the partition file is replaced or a delta file is written,
+     * so a version read before the month is loaded identifies changes made by other writers since the load.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Partition version.
+     */
+    long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Replaces the sensor readings of a connection, table and month with a rewritten version of the month's data (for example downsampled readings),
+     * but only when the partition was not changed by other writers since it was loaded. The delta files of the month are deleted.
+     * @param data Rewritten data for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param loadedVersion Version of the partition read before the month was loaded.
+     * @return True when the partition was replaced, false when it was changed since the load and was left untouched.
+     */
+    boolean replaceTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month, long loadedVersion);
+
+    /**
+     * Deletes the sensor readings of a connection, table and month, together with the delta files of the month.
+     * The partition folder and the parent folders that became empty are also deleted.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month);
+
+    /**
+     * Reads data for a single month. The rows from the delta files of the month are merged with the rows from the partition file.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
@@ -62,6 +132,34 @@ public interface SensorReadingsFileStorageService {
      */
     Table loadForTableAndMonthsRange(String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end);
 
+    /**
+     * Reads the historic time series of selected checks (and optionally selected dimensions) for a single month.
+     * Only the {@link #TIME_SERIES_COLUMN_NAMES} columns are loaded and the filters are pushed down to the parquet reader,
+     * so row groups and pages of other checks are skipped.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param checkHashes Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Returns a dataset table with the time series columns. Returns null if the data is not present (missing file).
+     */
+    Table loadTimeSeriesForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month,
+                                         long[] checkHashes, long[] dimensionIds);
+
+    /**
+     * Loads the historic time series of selected checks (and optionally selected dimensions) that cover the time period between <code>start</code> and <code>end</code>.
+     * Only the {@link #TIME_SERIES_COLUMN_NAMES} columns are loaded. This method may read more readings than expected, because it operates on full months.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param start Start date, that is truncated to the beginning of the first loaded month.
+     * @param end End date, the whole month of the given date is loaded.
+     * @param checkHashes Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Table with the time series columns. Returns null when no data is present.
+     */
+    Table loadTimeSeriesForTableAndMonthsRange(String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                               long[] checkHashes, long[] dimensionIds);
+
     /**
      * Saves all months that cover the range between <code>start</code> and <code>end</code>.
      * @param table Table with full months for the given period.
@@ -71,4 +169,28 @@ public interface SensorReadingsFileStorageService {
      * @param end End date (the first day of the month is enough because the full month until the last day is saved).
      */
     void saveTableInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end);
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code> while each monthly partition is locked.
+     * A month whose partition was changed by another writer since it was loaded is loaded again and only the new rows are merged into it.
+     * @param table Table with full months for the given period (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     * @param partitionVersions Versions of the partitions (by month) when they were loaded, updated with the versions of the saved partitions.
+     */
+    void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                Map<LocalDate, Long> partitionVersions);
+
+    /**
+     * Saves new or updated readings as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     * @param table Table with new or updated readings for the given period.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end);
 }
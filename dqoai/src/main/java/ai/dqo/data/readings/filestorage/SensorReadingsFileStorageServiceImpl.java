@@ -18,48 +18,70 @@ package ai.dqo.data.readings.filestorage;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
 import ai.dqo.data.DataStorageIOException;
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.delta.DeltaCompactionService;
+import ai.dqo.data.delta.PartitionDeltaFileUtility;
+import ai.dqo.data.delta.PartitionFileLock;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
+import ai.dqo.utils.tables.TableMergeUtility;
 import net.tlabs.tablesaw.parquet.TablesawParquetReadOptions;
 import net.tlabs.tablesaw.parquet.TablesawParquetReader;
-import net.tlabs.tablesaw.parquet.TablesawParquetWriteOptions;
-import net.tlabs.tablesaw.parquet.TablesawParquetWriter;
+import net.tlabs.tablesaw.parquet.TablesawReadSupport;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.ParquetReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.index.LongIndex;
 import tech.tablesaw.selection.Selection;
 
-import java.io.File;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service that provides access to sensor results.
  */
 @Service
 public class SensorReadingsFileStorageServiceImpl implements SensorReadingsFileStorageService {
+    /**
+     * The maximum number of dimension ids that are pushed down to the parquet reader as a filter.
+     * Longer lists of dimensions are filtered only in memory, after the row groups and pages of other checks were skipped.
+     */
+    public static final int MAX_PUSHED_DOWN_DIMENSION_IDS = 64;
+
     private final DqoStorageConfigurationProperties storageConfigurationProperties;
     private LocalDqoUserHomePathProvider localDqoUserHomePathProvider;
+    private final DeltaCompactionService deltaCompactionService;
 
     /**
      * Dependency injection constructor.
      * @param storageConfigurationProperties Storage configuration.
      * @param localDqoUserHomePathProvider Local DQO User Home path finder.
+     * @param deltaCompactionService Background compaction service that merges delta files into the partition files.
      */
     @Autowired
     public SensorReadingsFileStorageServiceImpl(DqoStorageConfigurationProperties storageConfigurationProperties,
-                                                LocalDqoUserHomePathProvider localDqoUserHomePathProvider) {
+                                                LocalDqoUserHomePathProvider localDqoUserHomePathProvider,
+                                                DeltaCompactionService deltaCompactionService) {
         this.storageConfigurationProperties = storageConfigurationProperties;
         this.localDqoUserHomePathProvider = localDqoUserHomePathProvider;
+        this.deltaCompactionService = deltaCompactionService;
     }
 
     /**
@@ -69,7 +91,8 @@ public class SensorReadingsFileStorageServiceImpl implements SensorReadingsFileS
      */
     @Override
     public ChangeDeltaMode getDeltaMode() {
-        return ChangeDeltaMode.REPLACE_ALL;
+        ChangeDeltaMode deltaMode = this.storageConfigurationProperties.getDeltaMode();
+        return deltaMode != null ? deltaMode : ChangeDeltaMode.REPLACE_ALL;
     }
 
     /**
@@ -106,63 +129,244 @@ public class SensorReadingsFileStorageServiceImpl implements SensorReadingsFileS
     }
 
     /**
-     * Saves sensor reading results for a connection, table and month.
+     * Creates a path to the parquet file with the sensor readings for a connection, table and month.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param month Date of the month (the first day of the month).
+     * @return Path to the parquet file inside the user home.
+     */
+    public Path makeParquetFilePath(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getSensorReadingsStoragePath());
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
+        String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
+        Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
+        return partitionPath.resolve(SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+    }
+
+    /**
+     * Saves sensor reading results for a connection, table and month. The partition file is replaced and the delta files of the month are deleted.
+     * The rows are sorted by the check, dimension and time period, so the min/max statistics of row groups and pages
+     * identify the checks stored in them and allow skipping other checks when the time series are loaded.
      * @param data Data for the given month.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
      */
     public void saveTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
-        try {
-            Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getSensorReadingsStoragePath());
-            Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
-            String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
-            Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
-            Path targetParquetFilePath = partitionPath.resolve(SensorReadingsFileStorageService.PARQUET_FILE_NAME);
-            File targetParquetFile = targetParquetFilePath.toFile();
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            List<Path> replacedDeltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+
+            PartitionDeltaFileUtility.writeParquetFile(sortReadings(data), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(replacedDeltaFiles);
+        }
+    }
 
-            TablesawParquetWriteOptions writeOptions = TablesawParquetWriteOptions
-                    .builder(targetParquetFile)
-                    .withOverwrite(true)
-                    .withCompressionCode(TablesawParquetWriteOptions.CompressionCodec.UNCOMPRESSED)  // TODO: add configuration for the compression
-                    .build();
+    /**
+     * Saves sensor readings for a connection, table and month while the partition is locked, detecting changes made by other writers since the month was loaded.
+     * When the partition version is still the version of the loaded data, the merged data is written as is. Otherwise the partition is loaded again
+     * and only the new rows are merged into its current rows, so the rows written by the other writers are preserved.
+     * @param data Data for the given month (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param loadedVersion Version of the partition when it was loaded or {@link PartitionDeltaFileUtility#UNKNOWN_PARTITION_VERSION}.
+     * @return Version of the written partition or {@link PartitionDeltaFileUtility#UNKNOWN_PARTITION_VERSION} when the partition was merged again,
+     *         because the given data is not up to date anymore.
+     */
+    public long saveTableMonth(Table data, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate month, long loadedVersion) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            List<Path> replacedDeltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+            boolean changedSinceLoad = loadedVersion == PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION ||
+                    PartitionDeltaFileUtility.readPartitionVersion(targetParquetFilePath) != loadedVersion;
 
-            new TablesawParquetWriter().write(data, writeOptions);
+            Table monthData = data;
+            if (changedSinceLoad) {
+                Table currentData;
+                try {
+                    currentData = PartitionDeltaFileUtility.mergeBaseAndDeltaFiles(targetParquetFilePath, replacedDeltaFiles,
+                            SensorReadingsFileStorageService.KEY_COLUMN_NAMES, this::readParquetFile);
+                }
+                catch (Exception ex) {
+                    throw new DataStorageIOException(ex.getMessage(), ex);
+                }
+
+                monthData = (currentData == null || currentData.rowCount() == 0) ? newRows :
+                        TableMergeUtility.mergeNewResults(currentData, newRows, SensorReadingsFileStorageService.KEY_COLUMN_NAMES);
+            }
+
+            PartitionDeltaFileUtility.writeParquetFile(sortReadings(monthData), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(replacedDeltaFiles);
+
+            return changedSinceLoad ? PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION :
+                    PartitionDeltaFileUtility.readPartitionVersion(targetParquetFilePath);
         }
-        catch (Exception ex) {
-            throw new DataStorageIOException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Reads a version of the files of a monthly partition. The version changes whenever the partition file is replaced or a delta file is written.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Partition version.
+     */
+    @Override
+    public long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        return PartitionDeltaFileUtility.readPartitionVersion(makeParquetFilePath(connectionName, tableName, month));
+    }
+
+    /**
+     * Replaces the sensor readings of a connection, table and month with a rewritten version of the month's data (for example downsampled readings),
+     * but only when the partition was not changed by other writers since it was loaded. The delta files of the month are deleted.
+     * @param data Rewritten data for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param loadedVersion Version of the partition read before the month was loaded.
+     * @return True when the partition was replaced, false when it was changed since the load and was left untouched.
+     */
+    @Override
+    public boolean replaceTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month, long loadedVersion) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            if (PartitionDeltaFileUtility.readPartitionVersion(targetParquetFilePath) != loadedVersion) {
+                return false;
+            }
+
+            List<Path> replacedDeltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+            PartitionDeltaFileUtility.writeParquetFile(sortReadings(data), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(replacedDeltaFiles);
+            return true;
         }
     }
 
     /**
-     * Reads data for a single month.
+     * Deletes the sensor readings of a connection, table and month, together with the delta files of the month.
+     * The partition folder and the parent folders that became empty are also deleted.
      * @param connectionName Connection name.
      * @param tableName Table name (schema.table).
      * @param month The date of the first date of the month.
-     * @return Returns a dataset table with the results. Returns null if the data is not present (missing file).
      */
-    public Table loadForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
-        try {
-            Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getSensorReadingsStoragePath());
-            Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
-            String hivePartitionFolderName = makeHivePartitionPath(connectionName, tableName, month);
-            Path partitionPath = storeRootPath.resolve(hivePartitionFolderName);
-            Path targetParquetFilePath = partitionPath.resolve(SensorReadingsFileStorageService.PARQUET_FILE_NAME);
-            File targetParquetFile = targetParquetFilePath.toFile();
-
-            if (!targetParquetFile.exists()) {
-                return null;
+    @Override
+    public void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path configuredStoragePath = Path.of(this.storageConfigurationProperties.getSensorReadingsStoragePath());
+        Path storeRootPath = this.localDqoUserHomePathProvider.getLocalUserHomePath().resolve(configuredStoragePath);
+        PartitionDeltaFileUtility.deletePartition(makeParquetFilePath(connectionName, tableName, month), storeRootPath);
+    }
+
+    /**
+     * Saves new or updated sensor readings for a connection, table and month as a delta file next to the monthly partition file.
+     * A compaction of the partition is scheduled in the background when the partition has too many delta files.
+     * @param data New or updated readings for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
+        if (data.rowCount() == 0) {
+            return;
+        }
+
+        Path partitionPath = makeParquetFilePath(connectionName, tableName, month).getParent();
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(partitionPath)) {
+            Path deltaFilePath = partitionPath.resolve(PartitionDeltaFileUtility.makeDeltaFileName(SensorReadingsFileStorageService.PARQUET_FILE_NAME));
+            while (Files.exists(deltaFilePath)) {
+                // another process has written a delta file with the same timestamp and sequence
+                deltaFilePath = partitionPath.resolve(PartitionDeltaFileUtility.makeDeltaFileName(SensorReadingsFileStorageService.PARQUET_FILE_NAME));
             }
+            PartitionDeltaFileUtility.writeParquetFile(sortReadings(data), deltaFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+        }
 
-            TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
-                    .builder(targetParquetFile)
-                    .build();
-            Table table = new TablesawParquetReader().read(readOptions);
-            return table;
+        int maxDeltaFilesPerPartition = this.storageConfigurationProperties.getMaxDeltaFilesPerPartition();
+        if (maxDeltaFilesPerPartition > 0 &&
+                PartitionDeltaFileUtility.listDeltaFiles(partitionPath, SensorReadingsFileStorageService.PARQUET_FILE_NAME).size() >= maxDeltaFilesPerPartition) {
+            this.deltaCompactionService.scheduleCompaction(partitionPath.toString(),
+                    () -> compactTableMonth(connectionName, tableName, month));
         }
-        catch (Exception ex) {
-            throw new DataStorageIOException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     * The rows in delta files are idempotent upserts, so readers that still see the delta files together with the new partition file load the same rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        if (PartitionDeltaFileUtility.listDeltaFiles(targetParquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME).isEmpty()) {
+            return;
+        }
+
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(targetParquetFilePath.getParent())) {
+            // the delta files are listed again while the partition is locked, another process could have compacted them already
+            List<Path> deltaFiles = PartitionDeltaFileUtility.listDeltaFiles(
+                    targetParquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+            if (deltaFiles.isEmpty()) {
+                return;
+            }
+
+            Table mergedData;
+            try {
+                mergedData = PartitionDeltaFileUtility.mergeBaseAndDeltaFiles(targetParquetFilePath, deltaFiles,
+                        SensorReadingsFileStorageService.KEY_COLUMN_NAMES, this::readParquetFile);
+            }
+            catch (Exception ex) {
+                throw new DataStorageIOException(ex.getMessage(), ex);
+            }
+
+            PartitionDeltaFileUtility.writeParquetFile(sortReadings(mergedData), targetParquetFilePath, this.storageConfigurationProperties.getParquetCompressionCodec());
+            PartitionDeltaFileUtility.deleteParquetFiles(deltaFiles);
+        }
+    }
+
+    /**
+     * Sorts the readings by the check, dimension and time period before they are written, unless sorting is disabled in the storage configuration.
+     * @param data Readings to sort.
+     * @return Sorted readings.
+     */
+    protected Table sortReadings(Table data) {
+        if (!this.storageConfigurationProperties.isSortParquetRows()) {
+            return data;
         }
+
+        return data.sortAscendingOn(
+                SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
+                SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
+                SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+    }
+
+    /**
+     * Reads a whole parquet file.
+     * @param parquetFilePath Parquet file path.
+     * @return Table with all rows and columns.
+     * @throws Exception When the file cannot be read.
+     */
+    protected Table readParquetFile(Path parquetFilePath) throws Exception {
+        TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
+                .builder(parquetFilePath.toFile())
+                .build();
+        return new TablesawParquetReader().read(readOptions);
+    }
+
+    /**
+     * Reads data for a single month. The rows from the delta files of the month are merged with the rows from the partition file.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Returns a dataset table with the results. Returns null if the data is not present (missing file).
+     */
+    public Table loadForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        return PartitionDeltaFileUtility.loadWithDeltaFiles(targetParquetFilePath, SensorReadingsFileStorageService.KEY_COLUMN_NAMES,
+                this::readParquetFile);
     }
 
     /**
@@ -195,6 +399,145 @@ public class SensorReadingsFileStorageServiceImpl implements SensorReadingsFileS
         return resultTable;
     }
 
+    /**
+     * Reads the historic time series of selected checks (and optionally selected dimensions) for a single month.
+     * Only the {@link #TIME_SERIES_COLUMN_NAMES} columns are loaded and the filters are pushed down to the parquet reader,
+     * so row groups and pages of other checks are skipped. The rows from the delta files of the month are merged.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param checkHashes Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Returns a dataset table with the time series columns. Returns null if the data is not present (missing file).
+     */
+    @Override
+    public Table loadTimeSeriesForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month,
+                                                long[] checkHashes, long[] dimensionIds) {
+        if (checkHashes.length == 0 || (dimensionIds != null && dimensionIds.length == 0)) {
+            return null;
+        }
+
+        Path targetParquetFilePath = makeParquetFilePath(connectionName, tableName, month);
+        return PartitionDeltaFileUtility.loadWithDeltaFiles(targetParquetFilePath, SensorReadingsFileStorageService.KEY_COLUMN_NAMES,
+                parquetFilePath -> readTimeSeriesFile(parquetFilePath, checkHashes, dimensionIds));
+    }
+
+    /**
+     * Reads the time series columns of selected checks and dimensions from a single parquet file (a partition file or a delta file).
+     * @param parquetFilePath Parquet file path.
+     * @param checkHashes Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Table with the time series columns.
+     * @throws Exception When the file cannot be read.
+     */
+    protected Table readTimeSeriesFile(Path parquetFilePath, long[] checkHashes, long[] dimensionIds) throws Exception {
+        TablesawParquetReadOptions readOptions = TablesawParquetReadOptions
+                .builder(parquetFilePath.toFile())
+                .withOnlyTheseColumns(TIME_SERIES_COLUMN_NAMES)
+                .build();
+        TablesawReadSupport readSupport = new TablesawReadSupport(readOptions);
+        FilterPredicate filterPredicate = makeTimeSeriesFilterPredicate(checkHashes, dimensionIds);
+
+        // the record filter is disabled because tablesaw appends the values to the columns before the record filter could skip a row,
+        // only row groups and pages (using the column indexes) are skipped by the reader, the remaining rows are filtered below
+        try (ParquetReader<Row> parquetReader = ParquetReader.builder(readSupport, new org.apache.hadoop.fs.Path(readOptions.getInputPath()))
+                .withFilter(FilterCompat.get(filterPredicate))
+                .useStatsFilter(true)
+                .useDictionaryFilter(true)
+                .useColumnIndexFilter(true)
+                .useRecordFilter(false)
+                .build()) {
+            while (parquetReader.read() != null) {
+                // rows are appended to the table by the read support
+            }
+        }
+
+        Table table = readSupport.getTable();
+        if (table == null) {
+            return null;
+        }
+
+        LongColumn checkHashColumn = (LongColumn) table.column(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME);
+        Selection selection = checkHashColumn.isIn(checkHashes);
+        if (dimensionIds != null) {
+            LongColumn dimensionIdColumn = (LongColumn) table.column(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
+            selection = selection.and(dimensionIdColumn.isIn(dimensionIds));
+        }
+
+        if (selection.size() == table.rowCount()) {
+            return table;
+        }
+
+        return table.where(selection);
+    }
+
+    /**
+     * Creates a parquet filter predicate that selects rows of the given checks and dimensions.
+     * @param checkHashes Array of check hashes.
+     * @param dimensionIds Array of dimension ids or null when all dimensions are loaded.
+     * @return Filter predicate.
+     */
+    protected FilterPredicate makeTimeSeriesFilterPredicate(long[] checkHashes, long[] dimensionIds) {
+        FilterPredicate filterPredicate = makeAnyValuePredicate(
+                FilterApi.longColumn(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME), checkHashes);
+
+        if (dimensionIds != null && dimensionIds.length <= MAX_PUSHED_DOWN_DIMENSION_IDS) {
+            FilterPredicate dimensionPredicate = makeAnyValuePredicate(
+                    FilterApi.longColumn(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME), dimensionIds);
+            filterPredicate = FilterApi.and(filterPredicate, dimensionPredicate);
+        }
+
+        return filterPredicate;
+    }
+
+    /**
+     * Creates a parquet filter predicate that matches any of the given values in a column.
+     * @param column Parquet column.
+     * @param values Non empty array of values.
+     * @return Filter predicate (equality or an alternative of equality predicates).
+     */
+    private static FilterPredicate makeAnyValuePredicate(Operators.LongColumn column, long[] values) {
+        FilterPredicate predicate = FilterApi.eq(column, values[0]);
+        for (int i = 1; i < values.length; i++) {
+            predicate = FilterApi.or(predicate, FilterApi.eq(column, values[i]));
+        }
+        return predicate;
+    }
+
+    /**
+     * Loads the historic time series of selected checks (and optionally selected dimensions) that cover the time period between <code>start</code> and <code>end</code>.
+     * Only the {@link #TIME_SERIES_COLUMN_NAMES} columns are loaded. This method may read more readings than expected, because it operates on full months.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param start Start date, that is truncated to the beginning of the first loaded month.
+     * @param end End date, the whole month of the given date is loaded.
+     * @param checkHashes Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Table with the time series columns. Returns null when no data is present.
+     */
+    @Override
+    public Table loadTimeSeriesForTableAndMonthsRange(String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                                      long[] checkHashes, long[] dimensionIds) {
+        LocalDate startMonth = LocalDateTimeTruncateUtility.truncateMonth(start);
+        LocalDate endMonth = LocalDateTimeTruncateUtility.truncateMonth(end);
+
+        Table resultTable = null;
+
+        for( LocalDate currentMonth = startMonth; !currentMonth.isAfter(endMonth); currentMonth = currentMonth.plus(1L, ChronoUnit.MONTHS)) {
+            Table currentMonthData = loadTimeSeriesForTableAndMonth(connectionName, tableName, currentMonth, checkHashes, dimensionIds);
+            if (resultTable == null) {
+                resultTable = currentMonthData;
+            }
+            else {
+                if (currentMonthData != null) {
+                    resultTable.append(currentMonthData);
+                }
+            }
+        }
+
+        return resultTable;
+    }
+
     /**
      * Saves all months that cover the range between <code>start</code> and <code>end</code>.
      * @param table Table with full months for the given period.
@@ -220,4 +563,83 @@ public class SensorReadingsFileStorageServiceImpl implements SensorReadingsFileS
 			this.saveTableMonth(dataInMonth, connectionName, tableName, currentMonth);
         }
     }
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code> while each monthly partition is locked.
+     * A month whose partition was changed by another writer since it was loaded is loaded again and only the new rows are merged into it.
+     * Months without new rows are not written.
+     * @param table Table with full months for the given period (the loaded rows merged with the new rows).
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     * @param partitionVersions Versions of the partitions (by month) when they were loaded. The versions of the saved months are updated,
+     *                          the version of a month that was merged again is removed, because the month in the table is not up to date.
+     */
+    @Override
+    public void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                       Map<LocalDate, Long> partitionVersions) {
+        LocalDate startMonth = LocalDateTimeTruncateUtility.truncateMonth(start);
+        LocalDate endMonth = LocalDateTimeTruncateUtility.truncateMonth(end);
+        LongIndex timePeriodIndex = new LongIndex((DateTimeColumn) table.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME));
+        LongIndex newRowsTimePeriodIndex = new LongIndex((DateTimeColumn) newRows.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME));
+
+        for( LocalDate currentMonth = startMonth; !currentMonth.isAfter(endMonth); currentMonth = currentMonth.plus(1L, ChronoUnit.MONTHS)) {
+            Table newRowsInMonth = newRows.where(selectMonth(newRowsTimePeriodIndex, currentMonth));
+            if (newRowsInMonth.rowCount() == 0) {
+                continue;
+            }
+
+            Table dataInMonth = table.where(selectMonth(timePeriodIndex, currentMonth));
+            Long loadedVersion = partitionVersions.get(currentMonth);
+            long savedVersion = this.saveTableMonth(dataInMonth, newRowsInMonth, connectionName, tableName, currentMonth,
+                    loadedVersion != null ? loadedVersion : PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION);
+            if (savedVersion == PartitionDeltaFileUtility.UNKNOWN_PARTITION_VERSION) {
+                partitionVersions.remove(currentMonth);
+            }
+            else {
+                partitionVersions.put(currentMonth, savedVersion);
+            }
+        }
+    }
+
+    /**
+     * Selects the rows within a month.
+     * @param timePeriodIndex Index on the time period column.
+     * @param month The date of the first date of the month.
+     * @return Selection of rows in the month.
+     */
+    private static Selection selectMonth(LongIndex timePeriodIndex, LocalDate month) {
+        Selection selectionStart = timePeriodIndex.atLeast(LocalDateTime.of(month, LocalTime.MIDNIGHT));
+        Selection selectionEnd = timePeriodIndex.lessThan(LocalDateTime.of(month.plus(1L, ChronoUnit.MONTHS), LocalTime.MIDNIGHT));
+        return selectionStart.and(selectionEnd);
+    }
+
+    /**
+     * Saves new or updated readings as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     * @param table Table with new or updated readings for the given period.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date (a first day of the month is best).
+     * @param end End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    @Override
+    public void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
+        LocalDate startMonth = LocalDateTimeTruncateUtility.truncateMonth(start);
+        LocalDate endMonth = LocalDateTimeTruncateUtility.truncateMonth(end);
+        DateTimeColumn timePeriodColumn = (DateTimeColumn) table.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        LongIndex timePeriodIndex = new LongIndex(timePeriodColumn);
+
+        for( LocalDate currentMonth = startMonth; !currentMonth.isAfter(endMonth); currentMonth = currentMonth.plus(1L, ChronoUnit.MONTHS)) {
+            LocalDateTime startDateTime = LocalDateTime.of(currentMonth, LocalTime.MIDNIGHT);
+            Selection selectionStart = timePeriodIndex.atLeast(startDateTime);
+            LocalDateTime endDateTime = LocalDateTime.of(currentMonth.plus(1L, ChronoUnit.MONTHS), LocalTime.MIDNIGHT);
+            Selection selectionEnd = timePeriodIndex.lessThan(endDateTime);
+            Selection selectionInMonth = selectionStart.and(selectionEnd);
+            Table dataInMonth = table.where(selectionInMonth);
+
+            this.saveTableMonthDelta(dataInMonth, connectionName, tableName, currentMonth);
+        }
+    }
 }
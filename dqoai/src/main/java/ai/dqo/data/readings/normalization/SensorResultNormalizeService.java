@@ -36,4 +36,21 @@ public interface SensorResultNormalizeService {
     SensorNormalizedResult normalizeResults(SensorExecutionResult sensorExecutionResult,
                                             TimeSeriesGradient timeSeriesGradient,
                                             SensorExecutionRunParameters sensorRunParameters);
+
+    /**
+     * Extracts the results of one sensor from a result table returned by a batched sensor query that calculated multiple sensors at once.
+     * The actual value of the sensor is returned in an actual_value_N column, where N is the sensor's index in the batch (1-based).
+     * The actual_value_N column is renamed to actual_value, the actual values of the other sensors are dropped
+     * and the result is normalized like a result of a standalone sensor query.
+     *
+     * @param batchedSensorExecutionResult Sensor execution result with the wide table that contains the results of all sensors in the batch.
+     * @param actualValueIndex             Index of the sensor in the batch (1-based) that identifies the actual_value_N column.
+     * @param timeSeriesGradient           Time series gradient.
+     * @param sensorRunParameters          Sensor run parameters of the sensor that is extracted.
+     * @return Metadata object that describes the sensor result table. Contains also a normalized results table.
+     */
+    SensorNormalizedResult normalizeBatchedResults(SensorExecutionResult batchedSensorExecutionResult,
+                                                   int actualValueIndex,
+                                                   TimeSeriesGradient timeSeriesGradient,
+                                                   SensorExecutionRunParameters sensorRunParameters);
 }
@@ -91,38 +91,36 @@ public class SensorResultNormalizeServiceImpl implements SensorResultNormalizeSe
         sortableColumnNames[sortableColumnNames.length - 1] = timePeriodColumn.name();
         Table sortedNormalizedTable = normalizedResults.sortAscendingOn(sortableColumnNames);
 
-        StringColumn timeGradientColumn = StringColumn.create(SensorNormalizedResult.TIME_GRADIENT_COLUMN_NAME, resultsTable.rowCount());
-        timeGradientColumn.setMissingTo(timeSeriesGradient.name().toLowerCase(Locale.ENGLISH));
+        StringColumn timeGradientColumn = createConstantStringColumn(SensorNormalizedResult.TIME_GRADIENT_COLUMN_NAME, resultsTable.rowCount(),
+                timeSeriesGradient.name().toLowerCase(Locale.ENGLISH));
         sortedNormalizedTable.insertColumn(3, timeGradientColumn);
 
         LongColumn connectionHashColumn = LongColumn.create(SensorNormalizedResult.CONNECTION_HASH_COLUMN_NAME, resultsTable.rowCount());
         connectionHashColumn.setMissingTo(sensorRunParameters.getConnection().getHierarchyId().hashCode64());
         sortedNormalizedTable.addColumns(connectionHashColumn);
 
-        StringColumn connectionNameColumn = StringColumn.create(SensorNormalizedResult.CONNECTION_NAME_COLUMN_NAME, resultsTable.rowCount());
-        connectionNameColumn.setMissingTo(sensorRunParameters.getConnection().getConnectionName());
+        StringColumn connectionNameColumn = createConstantStringColumn(SensorNormalizedResult.CONNECTION_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getConnection().getConnectionName());
         sortedNormalizedTable.addColumns(connectionNameColumn);
 
-        StringColumn providerColumn = StringColumn.create(SensorNormalizedResult.PROVIDER_COLUMN_NAME, resultsTable.rowCount());
-        providerColumn.setMissingTo(sensorRunParameters.getConnection().getProviderType().name());
+        StringColumn providerColumn = createConstantStringColumn(SensorNormalizedResult.PROVIDER_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getConnection().getProviderType().name());
         sortedNormalizedTable.addColumns(providerColumn);
 
         LongColumn tableHashColumn = LongColumn.create(SensorNormalizedResult.TABLE_HASH_COLUMN_NAME, resultsTable.rowCount());
         tableHashColumn.setMissingTo(sensorRunParameters.getTable().getHierarchyId().hashCode64());
         sortedNormalizedTable.addColumns(tableHashColumn);
 
-        StringColumn schemaNameColumn = StringColumn.create(SensorNormalizedResult.SCHEMA_NAME_COLUMN_NAME, resultsTable.rowCount());
-        schemaNameColumn.setMissingTo(sensorRunParameters.getTable().getTarget().getSchemaName());
+        StringColumn schemaNameColumn = createConstantStringColumn(SensorNormalizedResult.SCHEMA_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getTable().getTarget().getSchemaName());
         sortedNormalizedTable.addColumns(schemaNameColumn);
 
-        StringColumn tableNameColumn = StringColumn.create(SensorNormalizedResult.TABLE_NAME_COLUMN_NAME, resultsTable.rowCount());
-        tableNameColumn.setMissingTo(sensorRunParameters.getTable().getTarget().getTableName());
+        StringColumn tableNameColumn = createConstantStringColumn(SensorNormalizedResult.TABLE_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getTable().getTarget().getTableName());
         sortedNormalizedTable.addColumns(tableNameColumn);
 
-        StringColumn tableStageColumn = StringColumn.create(SensorNormalizedResult.TABLE_STAGE_COLUMN_NAME, resultsTable.rowCount());
-        if (sensorRunParameters.getTable().getStage() != null) {
-            tableStageColumn.setMissingTo(sensorRunParameters.getTable().getStage());
-        }
+        StringColumn tableStageColumn = createConstantStringColumn(SensorNormalizedResult.TABLE_STAGE_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getTable().getStage());
         sortedNormalizedTable.addColumns(tableStageColumn);
 
 
@@ -132,27 +130,25 @@ public class SensorResultNormalizeServiceImpl implements SensorResultNormalizeSe
         }
         sortedNormalizedTable.addColumns(columnHashColumn);
 
-        StringColumn columnNameColumn = StringColumn.create(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME, resultsTable.rowCount());
-        if (sensorRunParameters.getColumn() != null) {
-            columnNameColumn.setMissingTo(sensorRunParameters.getColumn().getColumnName());
-        }
+        StringColumn columnNameColumn = createConstantStringColumn(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getColumn() != null ? sensorRunParameters.getColumn().getColumnName() : null);
         sortedNormalizedTable.addColumns(columnNameColumn);
 
         LongColumn checkHashColumn = LongColumn.create(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, resultsTable.rowCount());
         checkHashColumn.setMissingTo(sensorRunParameters.getCheckHierarchyId().hashCode64());
         sortedNormalizedTable.addColumns(checkHashColumn);
 
-        StringColumn checkNameColumn = StringColumn.create(SensorNormalizedResult.CHECK_NAME_COLUMN_NAME, resultsTable.rowCount());
-        checkNameColumn.setMissingTo(sensorRunParameters.getCheckHierarchyId().get(sensorRunParameters.getCheckHierarchyId().size() - 1).toString());
+        StringColumn checkNameColumn = createConstantStringColumn(SensorNormalizedResult.CHECK_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getCheckHierarchyId().get(sensorRunParameters.getCheckHierarchyId().size() - 1).toString());
         sortedNormalizedTable.addColumns(checkNameColumn);
 
-        StringColumn qualityDimensionColumn = StringColumn.create(SensorNormalizedResult.QUALITY_DIMENSION_COLUMN_NAME, resultsTable.rowCount());
         // TODO: this will return a "custom" quality dimension for custom checks, we should get the quality dimension from the custom check configuration
-        qualityDimensionColumn.setMissingTo(sensorRunParameters.getCheckHierarchyId().get(sensorRunParameters.getCheckHierarchyId().size() - 2).toString());
+        StringColumn qualityDimensionColumn = createConstantStringColumn(SensorNormalizedResult.QUALITY_DIMENSION_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getCheckHierarchyId().get(sensorRunParameters.getCheckHierarchyId().size() - 2).toString());
         sortedNormalizedTable.addColumns(qualityDimensionColumn);
 
-        StringColumn sensorNameColumn = StringColumn.create(SensorNormalizedResult.SENSOR_NAME_COLUMN_NAME, resultsTable.rowCount());
-        sensorNameColumn.setMissingTo(sensorRunParameters.getSensorParameters().getSensorDefinitionName());
+        StringColumn sensorNameColumn = createConstantStringColumn(SensorNormalizedResult.SENSOR_NAME_COLUMN_NAME, resultsTable.rowCount(),
+                sensorRunParameters.getSensorParameters().getSensorDefinitionName());
         sortedNormalizedTable.addColumns(sensorNameColumn);
 
         InstantColumn executedAtColumn = InstantColumn.create(SensorNormalizedResult.EXECUTED_AT_COLUMN_NAME, resultsTable.rowCount());
@@ -167,6 +163,67 @@ public class SensorResultNormalizeServiceImpl implements SensorResultNormalizeSe
         return datasetMetadata;
     }
 
+    /**
+     * Extracts the results of one sensor from a result table returned by a batched sensor query that calculated multiple sensors at once.
+     * The actual value of the sensor is returned in an actual_value_N column, where N is the sensor's index in the batch (1-based).
+     * The actual_value_N column is renamed to actual_value, the actual values of the other sensors are dropped
+     * and the result is normalized like a result of a standalone sensor query.
+     * @param batchedSensorExecutionResult Sensor execution result with the wide table that contains the results of all sensors in the batch.
+     * @param actualValueIndex Index of the sensor in the batch (1-based) that identifies the actual_value_N column.
+     * @param timeSeriesGradient Time series gradient.
+     * @param sensorRunParameters Sensor run parameters of the sensor that is extracted.
+     * @return Metadata object that describes the sensor result table. Contains also a normalized results table.
+     */
+    public SensorNormalizedResult normalizeBatchedResults(SensorExecutionResult batchedSensorExecutionResult,
+                                                          int actualValueIndex,
+                                                          TimeSeriesGradient timeSeriesGradient,
+                                                          SensorExecutionRunParameters sensorRunParameters) {
+        Table batchedResultsTable = batchedSensorExecutionResult.getResultTable();
+        String batchedActualValueColumnName = SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME + "_" + actualValueIndex;
+        Column<?> batchedActualValueColumn = findColumn(batchedResultsTable, batchedActualValueColumnName);
+        if (batchedActualValueColumn == null) {
+            throw new SensorResultNormalizeException(batchedResultsTable,
+                    "Missing '" + batchedActualValueColumnName + "' column, the batched sensor query must return this column");
+        }
+
+        Table sensorResultsTable = Table.create(batchedResultsTable.name());
+        for (Column<?> column : batchedResultsTable.columns()) {
+            if (column == batchedActualValueColumn) {
+                sensorResultsTable.addColumns(column.copy().setName(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
+            }
+            else if (!StringUtils.startsWithIgnoreCase(column.name(), SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME + "_")) {
+                sensorResultsTable.addColumns(column); // dimensions and the time_period are shared by all sensors in the batch
+            }
+        }
+
+        SensorExecutionResult sensorExecutionResult = new SensorExecutionResult();
+        sensorExecutionResult.setParameters(sensorRunParameters);
+        sensorExecutionResult.setResultTable(sensorResultsTable);
+        sensorExecutionResult.setFinishedAt(batchedSensorExecutionResult.getFinishedAt());
+        sensorExecutionResult.setSensorDurationMs(batchedSensorExecutionResult.getSensorDurationMs());
+
+        return normalizeResults(sensorExecutionResult, timeSeriesGradient, sensorRunParameters);
+    }
+
+    /**
+     * Creates a string column with the same value in every row, used for the low cardinality columns that identify the connection, table, column and check.
+     * Tablesaw string columns are dictionary encoded: every distinct value is stored once in the dictionary of the column and the rows store only
+     * byte codes (short or int codes for columns with more distinct values), so a constant column takes one byte per row. The dictionary
+     * encoding is preserved when the tables are copied and merged, and the parquet writer applies its own dictionary encoding to these columns.
+     * @param columnName Column name.
+     * @param rowCount Number of rows.
+     * @param value Value stored in all rows or null when all values are missing.
+     * @return String column with a single dictionary entry.
+     */
+    public StringColumn createConstantStringColumn(String columnName, int rowCount, String value) {
+        StringColumn constantColumn = StringColumn.create(columnName, rowCount);
+        if (value != null) {
+            constantColumn.setMissingTo(value);
+        }
+
+        return constantColumn;
+    }
+
     /**
      * Finds a named column in the table. Performs a case-insensitive search, so the columns may be named in upper or lower case.
      * @param resultsTable Table to analyze.
@@ -21,15 +21,14 @@ import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
 import ai.dqo.utils.tables.TableMergeUtility;
+import ai.dqo.utils.tables.TableSizeEstimateUtility;
 import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.LongColumn;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.table.TableSlice;
-import tech.tablesaw.table.TableSliceGroup;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Sensor readings snapshot that contains an in-memory sensor reading snapshot
@@ -43,7 +42,11 @@ public class SensorReadingsSnapshot {
     private final SensorReadingsFileStorageService storageService;
     private Table historicResults;
     private final Table newResults;
-    private SensorReadingsTimeSeriesMap timeSeriesMap;
+    private int newResultsEstimatedRowCount;
+    private long newResultsEstimatedSizeInBytes;
+    private SensorReadingsTimeSeriesIndex historicResultsIndex;
+    private final Map<Long, SensorReadingsTimeSeriesMap> checkTimeSeriesMaps = new HashMap<>();
+    private final Map<LocalDate, Long> loadedMonthVersions = new HashMap<>();
 
     /**
      * Default constructor.
@@ -130,24 +133,20 @@ public class SensorReadingsSnapshot {
 
 			this.firstMonth = LocalDateTimeTruncateUtility.truncateMonth(startMonth);
 			this.lastMonth = LocalDateTimeTruncateUtility.truncateMonth(endMonth);
-			this.timeSeriesMap = null;
-			this.historicResults = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, this.firstMonth, this.lastMonth);
+			this.historicResultsIndex = null;
+            this.checkTimeSeriesMaps.clear();
+			this.historicResults = loadMonthsRange(this.firstMonth, this.lastMonth);
 
             return;
         }
 
-        assert this.historicResults != null;
-
         if (startMonth.isBefore(this.firstMonth)) {
             // we need to load a few months before
             LocalDate lastMonthToLoad = this.firstMonth.minus(1, ChronoUnit.MONTHS);
 			this.firstMonth = LocalDateTimeTruncateUtility.truncateMonth(startMonth);
 
-            Table loadedRows = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, this.firstMonth, lastMonthToLoad);
-            if (loadedRows != null) {
-				this.historicResults.append(loadedRows);
-				this.timeSeriesMap = null;
-            }
+            Table loadedRows = loadMonthsRange(this.firstMonth, lastMonthToLoad);
+            appendLoadedRows(loadedRows);
         }
 
         LocalDate truncatedEndMonth = LocalDateTimeTruncateUtility.truncateMonth(endMonth);
@@ -156,52 +155,141 @@ public class SensorReadingsSnapshot {
             LocalDate firstMonthToLoad = this.lastMonth.plus(1, ChronoUnit.MONTHS);
 			this.lastMonth = truncatedEndMonth;
 
-            Table loadedRows = this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, firstMonthToLoad, this.lastMonth);
-            if (loadedRows != null) {
-				this.historicResults.append(loadedRows);
-				this.timeSeriesMap = null;
+            Table loadedRows = loadMonthsRange(firstMonthToLoad, this.lastMonth);
+            appendLoadedRows(loadedRows);
+        }
+    }
+
+    /**
+     * Loads the sensor readings of a range of months. The versions of the monthly partitions are read before the months are loaded,
+     * so the partitions changed by other writers in the meantime are merged again when the snapshot is saved.
+     * @param startMonth The first month to load.
+     * @param endMonth The last month to load.
+     * @return Loaded rows or null when no data was found.
+     */
+    private Table loadMonthsRange(LocalDate startMonth, LocalDate endMonth) {
+        for (LocalDate month = startMonth; !month.isAfter(endMonth); month = month.plus(1L, ChronoUnit.MONTHS)) {
+            this.loadedMonthVersions.put(month, this.storageService.readTableMonthVersion(this.connection, this.tableName, month));
+        }
+
+        return this.storageService.loadForTableAndMonthsRange(this.connection, this.tableName, startMonth, endMonth);
+    }
+
+    /**
+     * Appends rows loaded for additional months to the historic results.
+     * @param loadedRows Loaded rows or null when no data was found.
+     */
+    private void appendLoadedRows(Table loadedRows) {
+        if (loadedRows == null) {
+            return;
+        }
+
+        if (this.historicResults == null) {
+			this.historicResults = loadedRows;
+        }
+        else {
+			this.historicResults.append(loadedRows);
+            if (this.historicResultsIndex != null) {
+                this.historicResultsIndex.appendNewRows(); // rows are appended at the end, the offsets of the indexed rows are not changed
             }
         }
+        this.checkTimeSeriesMaps.clear();
+    }
+
+    /**
+     * Ensures that the historic time series of a single check are loaded for the time range between <code>startMonth</code> and <code>endMonth</code>.
+     * When the whole months are not loaded yet (by {@link #ensureMonthsAreLoaded(LocalDate, LocalDate)}), only the readings of the given check
+     * (and dimensions) are loaded from the storage. The time series are returned by {@link #getHistoricReadingsTimeSeries(long)}.
+     * @param checkHashId Check hash id.
+     * @param dimensionIds Array of dimension ids whose time series are required or null to load all dimensions of the check.
+     * @param startMonth The date of the start month. It could be any date within the month, because the whole month is always loaded.
+     * @param endMonth The date fo the end month. It could be any date within the month, because the whole month is always loaded.
+     */
+    public void ensureTimeSeriesAreLoaded(long checkHashId, long[] dimensionIds, LocalDate startMonth, LocalDate endMonth) {
+        LocalDate truncatedStartMonth = LocalDateTimeTruncateUtility.truncateMonth(startMonth);
+        LocalDate truncatedEndMonth = LocalDateTimeTruncateUtility.truncateMonth(endMonth);
+        this.checkTimeSeriesMaps.remove(checkHashId);
+
+        if (this.firstMonth != null && !truncatedStartMonth.isBefore(this.firstMonth) && !truncatedEndMonth.isAfter(this.lastMonth)) {
+            return; // whole months already loaded, the time series will be split from the historic results
+        }
+
+        Table timeSeriesRows = this.storageService.loadTimeSeriesForTableAndMonthsRange(this.connection, this.tableName,
+                truncatedStartMonth, truncatedEndMonth, new long[] { checkHashId }, dimensionIds);
+        this.checkTimeSeriesMaps.put(checkHashId, createTimeSeriesMap(checkHashId, timeSeriesRows));
     }
 
     /**
      * Saves all results to a persistent storage (like files).
+     * In the {@link ChangeDeltaMode#INSERT_UPDATE_DELETE} mode, only the new readings are written as delta files of the monthly partitions.
+     * In the {@link ChangeDeltaMode#REPLACE_ALL} mode, the months with new readings are rewritten, so they are loaded in whole before the new readings are merged.
+     * Months that were changed by another writer since they were loaded are loaded again by the storage service and only the new rows are merged into them.
      */
     public void save() {
-        assert this.storageService.getDeltaMode() == ChangeDeltaMode.REPLACE_ALL : "only replace mode supported right now";
+        if (this.newResults.rowCount() == 0) {
+            return; // nothing to write
+        }
 
         DateTimeColumn newResultsTimePeriodColumn = (DateTimeColumn) this.newResults.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
-        LocalDateTime minDateNewResults = newResultsTimePeriodColumn.min();
-        LocalDateTime maxDateNewResults = newResultsTimePeriodColumn.max();
-
-        if (this.historicResults == null) {
-            // no historic data was loaded (or not present)
-            if (this.newResults.rowCount() == 0) {
-                return; // nothing to write
-            }
+        LocalDate firstNewResultsMonth = LocalDateTimeTruncateUtility.truncateMonth(newResultsTimePeriodColumn.min().toLocalDate());
+        LocalDate lastNewResultsMonth = LocalDateTimeTruncateUtility.truncateMonth(newResultsTimePeriodColumn.max().toLocalDate());
 
-            // save only the new readings
-			this.storageService.saveTableInMonthsRange(this.newResults, this.connection, this.tableName,
-                    LocalDateTimeTruncateUtility.truncateMonth(minDateNewResults.toLocalDate()),
-                    LocalDateTimeTruncateUtility.truncateMonth(maxDateNewResults.toLocalDate()));
+        if (this.storageService.getDeltaMode() == ChangeDeltaMode.INSERT_UPDATE_DELETE) {
+			this.storageService.saveDeltaInMonthsRange(this.newResults, this.connection, this.tableName,
+                    firstNewResultsMonth, lastNewResultsMonth);
+            return;
         }
-        else {
-            if (this.newResults.rowCount() == 0) {
-                // nothing to save, no new rows, only rows that were already loaded
-                return;
-            }
 
-            String[] joinColumns = {
-                    SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
-                    SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
-                    SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME
-            };
-            Table mergedResults = TableMergeUtility.mergeNewResults(this.historicResults, this.newResults, joinColumns);
+        ensureMonthsAreLoaded(firstNewResultsMonth, lastNewResultsMonth);
+
+        Table mergedResults = this.historicResults == null ? this.newResults.copy() : // no historic data present, save only the new sensor readings
+                TableMergeUtility.mergeNewResults(this.historicResults, this.newResults, SensorReadingsFileStorageService.KEY_COLUMN_NAMES);
+		this.storageService.saveTableInMonthsRange(mergedResults, this.newResults, this.connection, this.tableName,
+                firstNewResultsMonth, lastNewResultsMonth, this.loadedMonthVersions);
+        unloadHistoricResults(); // the saved months are loaded again from the storage when they are needed, the memory is released after a flush
+    }
+
+    /**
+     * Releases the historic results, the index and the time series that were loaded into the snapshot.
+     * The months are loaded again (with the saved rows) by the next call to {@link #ensureMonthsAreLoaded(LocalDate, LocalDate)}
+     * and the time series of the checks are loaded directly from the storage.
+     */
+    private void unloadHistoricResults() {
+        this.firstMonth = null;
+        this.lastMonth = null;
+        this.historicResults = null;
+        this.historicResultsIndex = null;
+        this.loadedMonthVersions.clear();
+        this.checkTimeSeriesMaps.clear();
+    }
+
+    /**
+     * Saves the new sensor readings to a persistent storage and removes them from the in-memory new results table.
+     * Called when too many results were buffered in memory, more results may be appended to the new results table and flushed (or saved) again.
+     */
+    public void flush() {
+        save();
+        this.newResults.clear();
+        this.newResultsEstimatedRowCount = 0;
+        this.newResultsEstimatedSizeInBytes = 0L;
+    }
 
-			this.storageService.saveTableInMonthsRange(mergedResults, this.connection, this.tableName,
-                    LocalDateTimeTruncateUtility.truncateMonth(minDateNewResults.toLocalDate()),
-                    LocalDateTimeTruncateUtility.truncateMonth(maxDateNewResults.toLocalDate()));
+    /**
+     * Estimates the memory used by the new sensor readings. Only the rows appended since the previous call are estimated and added
+     * to the running estimate, so the cost of a call does not grow with the number of buffered rows. The estimate is reset after a flush.
+     * @return Estimated size of the new results table in bytes.
+     */
+    public long estimateNewResultsSizeInBytes() {
+        int rowCount = this.newResults.rowCount();
+        if (rowCount < this.newResultsEstimatedRowCount) {
+            this.newResultsEstimatedRowCount = 0; // the new results were cleared
+            this.newResultsEstimatedSizeInBytes = 0L;
         }
+
+        this.newResultsEstimatedSizeInBytes += TableSizeEstimateUtility.estimateRowsSizeInBytes(
+                this.newResults, this.newResultsEstimatedRowCount, rowCount);
+        this.newResultsEstimatedRowCount = rowCount;
+        return this.newResultsEstimatedSizeInBytes;
     }
 
     /**
@@ -213,32 +301,54 @@ public class SensorReadingsSnapshot {
     }
 
     /**
-     * Creates or returns a cached split of historic sensor results, divided by time series.
+     * Returns a dictionary of historic sensor results, divided by time series.
      * A single time series is a subset of sensor readings for a single check (which maps 1-to-1 to a sensor) and a dimension combination id.
+     * The time series are looked up in an index over the whole months loaded by {@link #ensureMonthsAreLoaded(LocalDate, LocalDate)}.
+     * The index is extended (not rebuilt) when more months are loaded.
      */
     public SensorReadingsTimeSeriesMap getHistoricReadingsTimeSeries() {
-        if (this.timeSeriesMap != null) {
-            return this.timeSeriesMap;
+        return new SensorReadingsTimeSeriesMap(getHistoricResultsIndex(), null);
+    }
+
+    /**
+     * Returns a dictionary of historic sensor results of a single check, divided by time series (dimensions).
+     * Returns the time series loaded by {@link #ensureTimeSeriesAreLoaded(long, long[], LocalDate, LocalDate)} or looks up the time series
+     * of the given check in the index over the whole months that are already loaded.
+     * @param checkHashId Check hash id.
+     * @return Time series of the check.
+     */
+    public SensorReadingsTimeSeriesMap getHistoricReadingsTimeSeries(long checkHashId) {
+        SensorReadingsTimeSeriesMap checkTimeSeriesMap = this.checkTimeSeriesMaps.get(checkHashId);
+        if (checkTimeSeriesMap != null) {
+            return checkTimeSeriesMap;
         }
 
-		this.timeSeriesMap = new SensorReadingsTimeSeriesMap();
-
-        if (this.historicResults != null) {
-            TableSliceGroup tableSlices = this.historicResults.splitOn(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
-            for (TableSlice tableSlice : tableSlices) {
-                Table timeSeriesTable = tableSlice.asTable();
-                LongColumn checkHashColumn = (LongColumn) timeSeriesTable.column(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME);
-                LongColumn dimensionIdColumn = (LongColumn) timeSeriesTable.column(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
-                long checkHashId = checkHashColumn.get(0); // the first row has the value
-                long dimensionId = dimensionIdColumn.get(0);
-
-                SensorReadingsTimeSeriesKey timeSeriesKey = new SensorReadingsTimeSeriesKey(checkHashId, dimensionId);
-                Table sortedTimeSeriesTable = timeSeriesTable.sortOn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
-                SensorReadingsTimeSeriesData timeSeriesData = new SensorReadingsTimeSeriesData(timeSeriesKey, sortedTimeSeriesTable);
-				this.timeSeriesMap.add(timeSeriesData);
-            }
+        return new SensorReadingsTimeSeriesMap(getHistoricResultsIndex(), checkHashId);
+    }
+
+    /**
+     * Returns the time series index over the historic results. The index is created on the first call.
+     * @return Time series index or null when no historic results are loaded.
+     */
+    private SensorReadingsTimeSeriesIndex getHistoricResultsIndex() {
+        if (this.historicResultsIndex == null && this.historicResults != null) {
+            this.historicResultsIndex = new SensorReadingsTimeSeriesIndex(this.historicResults);
+        }
+
+        return this.historicResultsIndex;
+    }
+
+    /**
+     * Creates a dictionary of time series of a single check for a table with sensor readings of that check.
+     * @param checkHashId Check hash id.
+     * @param readings Table with sensor readings (may be null).
+     * @return Time series map.
+     */
+    private static SensorReadingsTimeSeriesMap createTimeSeriesMap(long checkHashId, Table readings) {
+        if (readings == null || readings.rowCount() == 0) {
+            return new SensorReadingsTimeSeriesMap();
         }
 
-        return this.timeSeriesMap;
+        return new SensorReadingsTimeSeriesMap(new SensorReadingsTimeSeriesIndex(readings), checkHashId);
     }
 }
@@ -20,19 +20,25 @@ import tech.tablesaw.api.Table;
 /**
  * Time series data extracted from historic sensor readings for a single time series.
  * A single time series is a subset of sensor readings for a single check (which maps 1-to-1 to a sensor) and a dimension combination id.
+ * The readings are identified by row offsets in the table with all historic readings, a table with only the readings of the time series
+ * is created on the first call to {@link #getTable()}.
  */
 public class SensorReadingsTimeSeriesData {
     private final SensorReadingsTimeSeriesKey key;
-    private final Table table;
+    private final Table sourceTable;
+    private final int[] rowOffsets;
+    private Table table;
 
     /**
      * Creates a sensor readings time series data object.
      * @param key Time series key to identify a single time series.
-     * @param table Table with the results for the time series.
+     * @param sourceTable Table with historic sensor readings of all time series.
+     * @param rowOffsets Row offsets of the readings of this time series in the <code>sourceTable</code>, sorted by the time period.
      */
-    public SensorReadingsTimeSeriesData(SensorReadingsTimeSeriesKey key, Table table) {
+    public SensorReadingsTimeSeriesData(SensorReadingsTimeSeriesKey key, Table sourceTable, int[] rowOffsets) {
         this.key = key;
-        this.table = table;
+        this.sourceTable = sourceTable;
+        this.rowOffsets = rowOffsets;
     }
 
     /**
@@ -44,10 +50,36 @@ public class SensorReadingsTimeSeriesData {
     }
 
     /**
-     * Returns the table with historic sensor results only for that time series.
+     * Returns the table with historic sensor readings of all time series. The rows of this time series are returned by {@link #getRowOffsets()}.
+     * @return Source table.
+     */
+    public Table getSourceTable() {
+        return sourceTable;
+    }
+
+    /**
+     * Returns the row offsets of the readings of this time series in the source table, sorted by the time period.
+     * @return Row offsets. The array must not be modified.
+     */
+    public int[] getRowOffsets() {
+        return rowOffsets;
+    }
+
+    /**
+     * Returns the table with historic sensor results only for that time series, sorted by the time period.
      * @return Table with historic results.
      */
     public Table getTable() {
-        return table;
+        if (this.table != null) {
+            return this.table;
+        }
+
+        Table timeSeriesTable = this.sourceTable.emptyCopy();
+        for (int rowOffset : this.rowOffsets) {
+            timeSeriesTable.addRow(rowOffset, this.sourceTable);
+        }
+
+        this.table = timeSeriesTable;
+        return timeSeriesTable;
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.readings.snapshot;
+
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.Arrays;
+
+/**
+ * Index of time series in a table with sensor readings. Maps a time series key (check hash and dimension id) to an array of row offsets
+ * of the readings of that time series, sorted by the time period. The index is maintained incrementally, rows appended to the indexed table
+ * are added to the index by {@link #appendNewRows()}, so the index is never rebuilt when more months are loaded.
+ */
+public class SensorReadingsTimeSeriesIndex {
+    private static final int INITIAL_SERIES_CAPACITY = 16;
+    private static final int INITIAL_ROWS_CAPACITY = 4;
+
+    private final Table table;
+    private final LongColumn checkHashColumn;
+    private final LongColumn dimensionIdColumn;
+    private final DateTimeColumn timePeriodColumn;
+    private final Long2IntOpenHashMap firstSeriesByKeyHash = new Long2IntOpenHashMap();
+    private long[] seriesCheckHashIds = new long[INITIAL_SERIES_CAPACITY];
+    private long[] seriesDimensionIds = new long[INITIAL_SERIES_CAPACITY];
+    private int[] nextSeriesWithSameHash = new int[INITIAL_SERIES_CAPACITY]; // chains of time series whose key hashes collide
+    private int[][] seriesRowOffsets = new int[INITIAL_SERIES_CAPACITY][];
+    private int[] seriesRowCounts = new int[INITIAL_SERIES_CAPACITY];
+    private boolean[] seriesSorted = new boolean[INITIAL_SERIES_CAPACITY];
+    private int seriesCount;
+    private int indexedRowCount;
+
+    /**
+     * Creates an index of all rows in a table with sensor readings.
+     * @param table Table with sensor readings. Rows may be appended to the table later, the index is extended by {@link #appendNewRows()}.
+     */
+    public SensorReadingsTimeSeriesIndex(Table table) {
+        this.table = table;
+        this.checkHashColumn = (LongColumn) table.column(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME);
+        this.dimensionIdColumn = (LongColumn) table.column(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
+        this.timePeriodColumn = (DateTimeColumn) table.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        this.firstSeriesByKeyHash.defaultReturnValue(-1);
+        appendNewRows();
+    }
+
+    /**
+     * Returns the indexed table.
+     * @return Indexed table.
+     */
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of rows (from the beginning of the table) that are already indexed.
+     * @return Indexed row count.
+     */
+    public int getIndexedRowCount() {
+        return indexedRowCount;
+    }
+
+    /**
+     * Adds the rows that were appended to the indexed table since the last call to the index.
+     */
+    public void appendNewRows() {
+        int rowCount = this.table.rowCount();
+        for (int rowIndex = this.indexedRowCount; rowIndex < rowCount; rowIndex++) {
+            long checkHashId = this.checkHashColumn.getLong(rowIndex);
+            long dimensionId = this.dimensionIdColumn.getLong(rowIndex);
+            int seriesIndex = findSeries(checkHashId, dimensionId);
+            if (seriesIndex < 0) {
+                seriesIndex = addSeries(checkHashId, dimensionId);
+            }
+
+            int seriesRowCount = this.seriesRowCounts[seriesIndex];
+            int[] rowOffsets = this.seriesRowOffsets[seriesIndex];
+            if (seriesRowCount == rowOffsets.length) {
+                rowOffsets = Arrays.copyOf(rowOffsets, Math.max(INITIAL_ROWS_CAPACITY, seriesRowCount * 2));
+                this.seriesRowOffsets[seriesIndex] = rowOffsets;
+            }
+
+            if (seriesRowCount > 0 && this.seriesSorted[seriesIndex] &&
+                    this.timePeriodColumn.getLongInternal(rowOffsets[seriesRowCount - 1]) > this.timePeriodColumn.getLongInternal(rowIndex)) {
+                this.seriesSorted[seriesIndex] = false;
+            }
+
+            rowOffsets[seriesRowCount] = rowIndex;
+            this.seriesRowCounts[seriesIndex] = seriesRowCount + 1;
+        }
+
+        this.indexedRowCount = rowCount;
+    }
+
+    /**
+     * Returns the row offsets of all readings of a single time series, sorted by the time period. The returned array is owned by the index
+     * and must not be modified. Repeated lookups of the same time series return the same array instance.
+     * @param checkHashId Check hash id.
+     * @param dimensionId Dimension id.
+     * @return Sorted row offsets or null when the table has no readings of that time series.
+     */
+    public int[] findRowOffsets(long checkHashId, long dimensionId) {
+        int seriesIndex = findSeries(checkHashId, dimensionId);
+        if (seriesIndex < 0) {
+            return null;
+        }
+
+        int seriesRowCount = this.seriesRowCounts[seriesIndex];
+        int[] rowOffsets = this.seriesRowOffsets[seriesIndex];
+        if (rowOffsets.length != seriesRowCount) {
+            rowOffsets = Arrays.copyOf(rowOffsets, seriesRowCount);
+            this.seriesRowOffsets[seriesIndex] = rowOffsets;
+        }
+
+        if (!this.seriesSorted[seriesIndex]) {
+            IntArrays.mergeSort(rowOffsets, (leftRow, rightRow) -> Long.compare(
+                    this.timePeriodColumn.getLongInternal(leftRow), this.timePeriodColumn.getLongInternal(rightRow)));
+            this.seriesSorted[seriesIndex] = true;
+        }
+
+        return rowOffsets;
+    }
+
+    /**
+     * Finds the index of a time series.
+     * @param checkHashId Check hash id.
+     * @param dimensionId Dimension id.
+     * @return Time series index or -1 when the time series is not known.
+     */
+    private int findSeries(long checkHashId, long dimensionId) {
+        for (int seriesIndex = this.firstSeriesByKeyHash.get(hashKey(checkHashId, dimensionId)); seriesIndex >= 0;
+             seriesIndex = this.nextSeriesWithSameHash[seriesIndex]) {
+            if (this.seriesCheckHashIds[seriesIndex] == checkHashId && this.seriesDimensionIds[seriesIndex] == dimensionId) {
+                return seriesIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Registers a new time series.
+     * @param checkHashId Check hash id.
+     * @param dimensionId Dimension id.
+     * @return Index of the new time series.
+     */
+    private int addSeries(long checkHashId, long dimensionId) {
+        int seriesIndex = this.seriesCount;
+        if (seriesIndex == this.seriesCheckHashIds.length) {
+            int newCapacity = seriesIndex * 2;
+            this.seriesCheckHashIds = Arrays.copyOf(this.seriesCheckHashIds, newCapacity);
+            this.seriesDimensionIds = Arrays.copyOf(this.seriesDimensionIds, newCapacity);
+            this.nextSeriesWithSameHash = Arrays.copyOf(this.nextSeriesWithSameHash, newCapacity);
+            this.seriesRowOffsets = Arrays.copyOf(this.seriesRowOffsets, newCapacity);
+            this.seriesRowCounts = Arrays.copyOf(this.seriesRowCounts, newCapacity);
+            this.seriesSorted = Arrays.copyOf(this.seriesSorted, newCapacity);
+        }
+
+        this.seriesCheckHashIds[seriesIndex] = checkHashId;
+        this.seriesDimensionIds[seriesIndex] = dimensionId;
+        this.seriesRowOffsets[seriesIndex] = new int[INITIAL_ROWS_CAPACITY];
+        this.seriesSorted[seriesIndex] = true;
+        this.nextSeriesWithSameHash[seriesIndex] = this.firstSeriesByKeyHash.put(hashKey(checkHashId, dimensionId), seriesIndex);
+        this.seriesCount = seriesIndex + 1;
+        return seriesIndex;
+    }
+
+    /**
+     * Calculates a hash of the time series key.
+     * @param checkHashId Check hash id.
+     * @param dimensionId Dimension id.
+     * @return Hash of the key.
+     */
+    private static long hashKey(long checkHashId, long dimensionId) {
+        return HashCommon.mix(HashCommon.mix(checkHashId) * 31L + dimensionId);
+    }
+}
@@ -15,14 +15,32 @@
  */
 package ai.dqo.data.readings.snapshot;
 
-import java.util.HashMap;
-import java.util.Map;
+import tech.tablesaw.api.Table;
 
 /**
- * Dictionary of identified time series in the historic results.
+ * Dictionary of identified time series in the historic results. The time series are looked up in a {@link SensorReadingsTimeSeriesIndex}
+ * over the table with historic readings, the dictionary may be limited to the time series of a single check.
  */
 public class SensorReadingsTimeSeriesMap {
-    private final Map<SensorReadingsTimeSeriesKey, SensorReadingsTimeSeriesData> entries = new HashMap<>();
+    private final SensorReadingsTimeSeriesIndex index;
+    private final Long checkHashId;
+
+    /**
+     * Creates an empty dictionary without any time series.
+     */
+    public SensorReadingsTimeSeriesMap() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a dictionary of time series.
+     * @param index Time series index over the historic readings or null when there are no historic readings.
+     * @param checkHashId Check hash id to limit the dictionary only to the time series of one check or null to return all time series.
+     */
+    public SensorReadingsTimeSeriesMap(SensorReadingsTimeSeriesIndex index, Long checkHashId) {
+        this.index = index;
+        this.checkHashId = checkHashId;
+    }
 
     /**
      * Returns a known time series for the given key or null when no historic data for this time series is present.
@@ -30,7 +48,7 @@ public class SensorReadingsTimeSeriesMap {
      * @return Time series data or null.
      */
     public SensorReadingsTimeSeriesData findTimeSeriesData(SensorReadingsTimeSeriesKey key) {
-        return this.entries.get(key);
+        return findTimeSeriesData(key.getCheckHashId(), key.getDimensionId());
     }
 
     /**
@@ -40,14 +58,34 @@ public class SensorReadingsTimeSeriesMap {
      * @return Time series data or null.
      */
     public SensorReadingsTimeSeriesData findTimeSeriesData(long checkHashId, long dimensionId) {
-        return this.entries.get(new SensorReadingsTimeSeriesKey(checkHashId, dimensionId));
+        int[] rowOffsets = findRowOffsets(checkHashId, dimensionId);
+        if (rowOffsets == null) {
+            return null;
+        }
+
+        return new SensorReadingsTimeSeriesData(new SensorReadingsTimeSeriesKey(checkHashId, dimensionId), this.index.getTable(), rowOffsets);
+    }
+
+    /**
+     * Returns the row offsets of the readings of a known time series (check and dimension) in the table returned by {@link #getSourceTable()},
+     * sorted by the time period. Does not allocate any objects, the returned array is owned by the index and must not be modified.
+     * @param checkHashId Check hash code id.
+     * @param dimensionId Dimension hash code id.
+     * @return Row offsets or null when no historic data for this time series is present.
+     */
+    public int[] findRowOffsets(long checkHashId, long dimensionId) {
+        if (this.index == null || (this.checkHashId != null && this.checkHashId != checkHashId)) {
+            return null;
+        }
+
+        return this.index.findRowOffsets(checkHashId, dimensionId);
     }
 
     /**
-     * Adds a time series object to the dictionary.
-     * @param timeSeries Time series object.
+     * Returns the table with historic sensor readings of all time series that are identified by {@link #findRowOffsets(long, long)}.
+     * @return Table with historic readings or null when there are no historic readings.
      */
-    public void add(SensorReadingsTimeSeriesData timeSeries) {
-		this.entries.put(timeSeries.getKey(), timeSeries);
+    public Table getSourceTable() {
+        return this.index != null ? this.index.getTable() : null;
     }
 }
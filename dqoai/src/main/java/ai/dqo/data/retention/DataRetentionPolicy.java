@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.retention;
+
+/**
+ * Data retention policy applied by {@link DataRetentionService} to the sensor readings and rule results of the selected connections and tables.
+ * The retention periods are counted in full months before the current month, because the data is stored in monthly partitions.
+ */
+public class DataRetentionPolicy {
+    private String connectionName;
+    private String schemaTableName;
+    private int retentionMonths;
+    private int hourlyReadingsRetentionMonths;
+
+    /**
+     * Creates an empty policy that does not delete or downsample any data.
+     */
+    public DataRetentionPolicy() {
+    }
+
+    /**
+     * Creates a policy that is applied to all connections and tables.
+     * @param retentionMonths Number of past months whose sensor readings and rule results are kept, 0 keeps the data forever.
+     * @param hourlyReadingsRetentionMonths Number of past months with hourly sensor readings, 0 never downsamples the readings.
+     */
+    public DataRetentionPolicy(int retentionMonths, int hourlyReadingsRetentionMonths) {
+        this.retentionMonths = retentionMonths;
+        this.hourlyReadingsRetentionMonths = hourlyReadingsRetentionMonths;
+    }
+
+    /**
+     * Returns a connection name or a connection name pattern of the connections whose data is cleaned up.
+     * @return Connection name filter.
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Sets a connection name or a connection name pattern like 'conn*'. A null value selects all connections.
+     * @param connectionName Connection name filter.
+     */
+    public void setConnectionName(String connectionName) {
+        this.connectionName = connectionName;
+    }
+
+    /**
+     * Returns a schema.table name filter of the tables whose data is cleaned up.
+     * @return Schema and table name filter.
+     */
+    public String getSchemaTableName() {
+        return schemaTableName;
+    }
+
+    /**
+     * Sets a schema.table name filter that supports patterns like 'sch*.tab*'. A null value selects all tables.
+     * @param schemaTableName Schema and table name filter.
+     */
+    public void setSchemaTableName(String schemaTableName) {
+        this.schemaTableName = schemaTableName;
+    }
+
+    /**
+     * Returns the number of past months (before the current month) whose sensor readings and rule results are kept.
+     * Older monthly partitions are deleted. The value 0 keeps the data forever.
+     * @return Number of past months that are kept.
+     */
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose sensor readings and rule results are kept.
+     * @param retentionMonths Number of past months that are kept, 0 keeps the data forever.
+     */
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Returns the number of past months (before the current month) whose hourly sensor readings are kept. The hourly readings
+     * in older months are downsampled to daily readings. The value 0 never downsamples the readings.
+     * @return Number of past months with hourly readings.
+     */
+    public int getHourlyReadingsRetentionMonths() {
+        return hourlyReadingsRetentionMonths;
+    }
+
+    /**
+     * Sets the number of past months whose hourly sensor readings are kept before they are downsampled to daily readings.
+     * @param hourlyReadingsRetentionMonths Number of past months with hourly readings, 0 never downsamples the readings.
+     */
+    public void setHourlyReadingsRetentionMonths(int hourlyReadingsRetentionMonths) {
+        this.hourlyReadingsRetentionMonths = hourlyReadingsRetentionMonths;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.retention;
+
+import tech.tablesaw.api.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Maintenance service that applies a data retention policy to the local sensor readings and rule results. Expired monthly partitions are deleted
+ * and the hourly sensor readings in old partitions are downsampled to daily readings.
+ */
+public interface DataRetentionService {
+    /**
+     * Deletes the expired monthly partitions of sensor readings and rule results and downsamples the hourly sensor readings in old partitions.
+     * @param policy Retention policy with the connection and table filters.
+     * @param today Current date, the retention periods are counted in months before the month of this date.
+     * @return Summary table with one row per deleted or downsampled partition.
+     */
+    Table applyRetention(DataRetentionPolicy policy, LocalDate today);
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.retention;
+
+import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageService;
+import ai.dqo.data.lake.DataLakePartition;
+import ai.dqo.data.lake.DataLakeQueryFilters;
+import ai.dqo.data.lake.DataLakeQueryService;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageService;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.data.readings.snapshot.SensorReadingsTimeSeriesIndex;
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tech.tablesaw.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Maintenance service that applies a data retention policy to the local sensor readings and rule results. Expired monthly partitions are deleted
+ * (together with their folders, so the local file index and the synchronization with DQO Cloud propagate the deletion and do not scan empty folders)
+ * and the hourly sensor readings in old partitions are replaced by daily readings, that store the average of the hourly values of each day.
+ */
+@Service
+public class DataRetentionServiceImpl implements DataRetentionService {
+    /**
+     * Value of the time_gradient column of hourly sensor readings.
+     */
+    public static final String HOURLY_TIME_GRADIENT = TimeSeriesGradient.HOUR.name().toLowerCase(Locale.ENGLISH);
+
+    /**
+     * Value of the time_gradient column of daily sensor readings.
+     */
+    public static final String DAILY_TIME_GRADIENT = TimeSeriesGradient.DAY.name().toLowerCase(Locale.ENGLISH);
+
+    private final DataLakeQueryService dataLakeQueryService;
+    private final SensorReadingsFileStorageService sensorReadingsFileStorageService;
+    private final RuleResultsFileStorageService ruleResultsFileStorageService;
+
+    /**
+     * Dependency injection constructor.
+     * @param dataLakeQueryService Data lake query service used to find the partitions.
+     * @param sensorReadingsFileStorageService Sensor readings storage service.
+     * @param ruleResultsFileStorageService Rule results storage service.
+     */
+    @Autowired
+    public DataRetentionServiceImpl(DataLakeQueryService dataLakeQueryService,
+                                    SensorReadingsFileStorageService sensorReadingsFileStorageService,
+                                    RuleResultsFileStorageService ruleResultsFileStorageService) {
+        this.dataLakeQueryService = dataLakeQueryService;
+        this.sensorReadingsFileStorageService = sensorReadingsFileStorageService;
+        this.ruleResultsFileStorageService = ruleResultsFileStorageService;
+    }
+
+    /**
+     * Deletes the expired monthly partitions of sensor readings and rule results and downsamples the hourly sensor readings in old partitions.
+     * @param policy Retention policy with the connection and table filters.
+     * @param today Current date, the retention periods are counted in months before the month of this date.
+     * @return Summary table with one row per deleted or downsampled partition.
+     */
+    @Override
+    public Table applyRetention(DataRetentionPolicy policy, LocalDate today) {
+        Table summaryTable = createSummaryTable();
+        LocalDate currentMonth = LocalDateTimeTruncateUtility.truncateMonth(today);
+        LocalDate firstRetainedMonth = null;
+
+        if (policy.getRetentionMonths() > 0) {
+            firstRetainedMonth = currentMonth.minusMonths(policy.getRetentionMonths());
+            DataLakeQueryFilters expiredPartitionsFilters = createFilters(policy, null, firstRetainedMonth.minusMonths(1));
+
+            for (DataLakePartition partition : this.dataLakeQueryService.listSensorReadingsPartitions(expiredPartitionsFilters)) {
+                this.sensorReadingsFileStorageService.deleteTableMonth(partition.getConnectionName(), partition.getTableName(), partition.getMonth());
+                addSummaryRow(summaryTable, partition, "readings", "deleted", null, null);
+            }
+
+            for (DataLakePartition partition : this.dataLakeQueryService.listRuleResultsPartitions(expiredPartitionsFilters)) {
+                this.ruleResultsFileStorageService.deleteTableMonth(partition.getConnectionName(), partition.getTableName(), partition.getMonth());
+                addSummaryRow(summaryTable, partition, "alerts", "deleted", null, null);
+            }
+        }
+
+        if (policy.getHourlyReadingsRetentionMonths() > 0) {
+            LocalDate firstHourlyMonth = currentMonth.minusMonths(policy.getHourlyReadingsRetentionMonths());
+            DataLakeQueryFilters downsampledPartitionsFilters = createFilters(policy, firstRetainedMonth, firstHourlyMonth.minusMonths(1));
+
+            for (DataLakePartition partition : this.dataLakeQueryService.listSensorReadingsPartitions(downsampledPartitionsFilters)) {
+                downsamplePartition(partition, summaryTable);
+            }
+        }
+
+        return summaryTable;
+    }
+
+    /**
+     * Replaces the hourly sensor readings in a monthly partition with daily readings. The partition is written only when it contains
+     * hourly readings and it was not changed by another writer since it was loaded.
+     * @param partition Sensor readings partition.
+     * @param summaryTable Summary table to add a row when the partition was downsampled.
+     */
+    protected void downsamplePartition(DataLakePartition partition, Table summaryTable) {
+        long loadedVersion = this.sensorReadingsFileStorageService.readTableMonthVersion(
+                partition.getConnectionName(), partition.getTableName(), partition.getMonth());
+        Table readings = this.sensorReadingsFileStorageService.loadForTableAndMonth(
+                partition.getConnectionName(), partition.getTableName(), partition.getMonth());
+        if (readings == null) {
+            return;
+        }
+
+        Table downsampledReadings = downsampleHourlyReadings(readings);
+        if (downsampledReadings == null) {
+            return;
+        }
+
+        boolean replaced = this.sensorReadingsFileStorageService.replaceTableMonth(downsampledReadings,
+                partition.getConnectionName(), partition.getTableName(), partition.getMonth(), loadedVersion);
+        addSummaryRow(summaryTable, partition, "readings", replaced ? "downsampled" : "skipped (changed)",
+                readings.rowCount(), downsampledReadings.rowCount());
+    }
+
+    /**
+     * Downsamples hourly sensor readings to daily readings. The hourly readings of every time series (a check and a dimension) are grouped by day
+     * and replaced by one daily reading (at midnight) with the average actual and expected values. Other columns are copied from the last hourly reading of the day.
+     * Readings of other time gradients are preserved. When a daily reading of the same time series and day already exists, the hourly readings of that day are dropped.
+     * @param readings Sensor readings of a monthly partition.
+     * @return Downsampled readings or null when the table has no hourly readings.
+     */
+    public static Table downsampleHourlyReadings(Table readings) {
+        StringColumn timeGradientColumn = readings.stringColumn(SensorNormalizedResult.TIME_GRADIENT_COLUMN_NAME);
+        Table hourlyReadings = readings.where(timeGradientColumn.isEqualTo(HOURLY_TIME_GRADIENT));
+        if (hourlyReadings.rowCount() == 0) {
+            return null;
+        }
+
+        hourlyReadings = hourlyReadings.sortAscendingOn(
+                SensorNormalizedResult.CHECK_HASH_COLUMN_NAME,
+                SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME,
+                SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        LongColumn hourlyCheckHashColumn = hourlyReadings.longColumn(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME);
+        LongColumn hourlyDimensionIdColumn = hourlyReadings.longColumn(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
+        DateTimeColumn hourlyTimePeriodColumn = hourlyReadings.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        DoubleColumn hourlyActualValueColumn = hourlyReadings.doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        DoubleColumn hourlyExpectedValueColumn = hourlyReadings.doubleColumn(SensorNormalizedResult.EXPECTED_VALUE_COLUMN_NAME);
+
+        Table downsampledReadings = readings.where(timeGradientColumn.isNotEqualTo(HOURLY_TIME_GRADIENT));
+        SensorReadingsTimeSeriesIndex preservedReadingsIndex = new SensorReadingsTimeSeriesIndex(downsampledReadings);
+        DateTimeColumn timePeriodColumn = downsampledReadings.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        StringColumn downsampledTimeGradientColumn = downsampledReadings.stringColumn(SensorNormalizedResult.TIME_GRADIENT_COLUMN_NAME);
+        DoubleColumn actualValueColumn = downsampledReadings.doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        DoubleColumn expectedValueColumn = downsampledReadings.doubleColumn(SensorNormalizedResult.EXPECTED_VALUE_COLUMN_NAME);
+
+        int hourlyRowCount = hourlyReadings.rowCount();
+        int dayStartRow = 0;
+        while (dayStartRow < hourlyRowCount) {
+            long checkHashId = hourlyCheckHashColumn.getLong(dayStartRow);
+            long dimensionId = hourlyDimensionIdColumn.getLong(dayStartRow);
+            LocalDate day = hourlyTimePeriodColumn.get(dayStartRow).toLocalDate();
+
+            int dayEndRow = dayStartRow + 1;
+            while (dayEndRow < hourlyRowCount && hourlyCheckHashColumn.getLong(dayEndRow) == checkHashId &&
+                    hourlyDimensionIdColumn.getLong(dayEndRow) == dimensionId && hourlyTimePeriodColumn.get(dayEndRow).toLocalDate().equals(day)) {
+                dayEndRow++;
+            }
+
+            LocalDateTime dailyTimePeriod = day.atStartOfDay();
+            if (!containsReading(preservedReadingsIndex, timePeriodColumn, checkHashId, dimensionId, dailyTimePeriod)) {
+                downsampledReadings.addRow(dayEndRow - 1, hourlyReadings);
+                int dailyRowIndex = downsampledReadings.rowCount() - 1;
+                timePeriodColumn.set(dailyRowIndex, dailyTimePeriod);
+                downsampledTimeGradientColumn.set(dailyRowIndex, DAILY_TIME_GRADIENT);
+                setAverage(actualValueColumn, dailyRowIndex, hourlyActualValueColumn, dayStartRow, dayEndRow);
+                setAverage(expectedValueColumn, dailyRowIndex, hourlyExpectedValueColumn, dayStartRow, dayEndRow);
+            }
+
+            dayStartRow = dayEndRow;
+        }
+
+        return downsampledReadings;
+    }
+
+    /**
+     * Checks if a time series already has a reading for the given time period.
+     * @param timeSeriesIndex Index of the preserved (not hourly) readings.
+     * @param timePeriodColumn Time period column of the indexed table.
+     * @param checkHashId Check hash.
+     * @param dimensionId Dimension id.
+     * @param timePeriod Time period.
+     * @return True when a reading for the time period exists.
+     */
+    private static boolean containsReading(SensorReadingsTimeSeriesIndex timeSeriesIndex, DateTimeColumn timePeriodColumn,
+                                           long checkHashId, long dimensionId, LocalDateTime timePeriod) {
+        int[] rowOffsets = timeSeriesIndex.findRowOffsets(checkHashId, dimensionId);
+        if (rowOffsets == null) {
+            return false;
+        }
+
+        for (int rowOffset : rowOffsets) {
+            if (timePeriod.equals(timePeriodColumn.get(rowOffset))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores the average of the non missing values from a range of rows of a source column. The target value is missing when all source values are missing.
+     * @param targetColumn Target column.
+     * @param targetRowIndex Target row index.
+     * @param sourceColumn Source column.
+     * @param startRow First source row (inclusive).
+     * @param endRow Last source row (exclusive).
+     */
+    private static void setAverage(DoubleColumn targetColumn, int targetRowIndex, DoubleColumn sourceColumn, int startRow, int endRow) {
+        double sum = 0.0;
+        int count = 0;
+        for (int rowIndex = startRow; rowIndex < endRow; rowIndex++) {
+            if (!sourceColumn.isMissing(rowIndex)) {
+                sum += sourceColumn.getDouble(rowIndex);
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            targetColumn.set(targetRowIndex, sum / count);
+        }
+        else {
+            targetColumn.setMissing(targetRowIndex);
+        }
+    }
+
+    /**
+     * Creates partition filters for the connections and tables of a retention policy.
+     * @param policy Retention policy.
+     * @param startMonth The first month, or null to start from the oldest partition.
+     * @param endMonth The last month (inclusive).
+     * @return Partition filters.
+     */
+    private static DataLakeQueryFilters createFilters(DataRetentionPolicy policy, LocalDate startMonth, LocalDate endMonth) {
+        DataLakeQueryFilters filters = new DataLakeQueryFilters();
+        filters.setConnectionName(policy.getConnectionName());
+        filters.setSchemaTableName(policy.getSchemaTableName());
+        filters.setStartMonth(startMonth);
+        filters.setEndMonth(endMonth);
+        return filters;
+    }
+
+    /**
+     * Creates an empty summary table of the retention job.
+     * @return Empty summary table.
+     */
+    private static Table createSummaryTable() {
+        return Table.create("Data retention",
+                StringColumn.create("Connection"),
+                StringColumn.create("Table"),
+                DateColumn.create("Month"),
+                StringColumn.create("Data"),
+                StringColumn.create("Action"),
+                IntColumn.create("Rows before"),
+                IntColumn.create("Rows after"));
+    }
+
+    /**
+     * Adds a row to the summary table.
+     * @param summaryTable Summary table.
+     * @param partition Processed partition.
+     * @param data Type of the data (readings or alerts).
+     * @param action Applied action.
+     * @param rowsBefore Number of rows before the partition was downsampled or null when the rows were not counted.
+     * @param rowsAfter Number of rows after the partition was downsampled or null when the rows were not counted.
+     */
+    private static void addSummaryRow(Table summaryTable, DataLakePartition partition, String data, String action,
+                                      Integer rowsBefore, Integer rowsAfter) {
+        summaryTable.stringColumn("Connection").append(partition.getConnectionName());
+        summaryTable.stringColumn("Table").append(partition.getTableName().toString());
+        summaryTable.dateColumn("Month").append(partition.getMonth());
+        summaryTable.stringColumn("Data").append(data);
+        summaryTable.stringColumn("Action").append(action);
+        summaryTable.intColumn("Rows before").append(rowsBefore);
+        summaryTable.intColumn("Rows after").append(rowsAfter);
+    }
+}
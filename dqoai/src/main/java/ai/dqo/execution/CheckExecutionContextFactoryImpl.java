@@ -15,36 +15,37 @@
  */
 package ai.dqo.execution;
 
-import ai.dqo.metadata.storage.localfiles.dqohome.DqoHomeContextFactory;
+import ai.dqo.metadata.storage.localfiles.dqohome.DqoHomeContextCache;
 import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * Check execution context factory. Opens the dqo home context and the user home context.
+ * Check execution context factory. Opens the user home context and uses the shared, preloaded dqo home context.
  */
 @Component
 public class CheckExecutionContextFactoryImpl implements CheckExecutionContextFactory {
     private final UserHomeContextFactory userHomeContextFactory;
-    private final DqoHomeContextFactory dqoHomeContextFactory;
+    private final DqoHomeContextCache dqoHomeContextCache;
 
     /**
      * Dependency injection constructor.
      * @param userHomeContextFactory User home context factory.
-     * @param dqoHomeContextFactory Dqo home context factory.
+     * @param dqoHomeContextCache Dqo home context cache that provides a shared dqo home context.
      */
     @Autowired
     public CheckExecutionContextFactoryImpl(UserHomeContextFactory userHomeContextFactory,
-											DqoHomeContextFactory dqoHomeContextFactory) {
+											DqoHomeContextCache dqoHomeContextCache) {
         this.userHomeContextFactory = userHomeContextFactory;
-        this.dqoHomeContextFactory = dqoHomeContextFactory;
+        this.dqoHomeContextCache = dqoHomeContextCache;
     }
 
     /**
-     * Creates a new check execution context by opening the user home context and the dqo system home context.
+     * Creates a new check execution context by opening the user home context. The dqo system home context is shared between check runs
+     * and is not parsed again until a file in the DQO_HOME folder is changed.
      * @return Check execution context.
      */
     public CheckExecutionContext create() {
-        return new CheckExecutionContext(this.userHomeContextFactory.openLocalUserHome(), this.dqoHomeContextFactory.openLocalDqoHome());
+        return new CheckExecutionContext(this.userHomeContextFactory.openLocalUserHome(), this.dqoHomeContextCache.getCachedLocalDqoHome());
     }
 }
@@ -19,6 +19,7 @@ import ai.dqo.checks.AbstractCheckSpec;
 import ai.dqo.connectors.ConnectionProvider;
 import ai.dqo.connectors.ConnectionProviderRegistry;
 import ai.dqo.connectors.ProviderDialectSettings;
+import ai.dqo.core.configuration.DqoExecutionConfigurationProperties;
 import ai.dqo.data.alerts.snapshot.RuleResultsSnapshot;
 import ai.dqo.data.alerts.snapshot.RuleResultsSnapshotFactory;
 import ai.dqo.data.readings.snapshot.SensorReadingsSnapshotFactory;
@@ -30,23 +31,34 @@ import ai.dqo.execution.checks.progress.*;
 import ai.dqo.execution.checks.ruleeval.RuleEvaluationResult;
 import ai.dqo.execution.checks.ruleeval.RuleEvaluationService;
 import ai.dqo.execution.sensors.DataQualitySensorRunner;
+import ai.dqo.execution.sensors.ExpandedSpecCache;
 import ai.dqo.execution.sensors.SensorExecutionResult;
 import ai.dqo.execution.sensors.SensorExecutionRunParameters;
 import ai.dqo.execution.sensors.SensorExecutionRunParametersFactory;
+import ai.dqo.execution.sqltemplates.BatchedSensorExecutionResult;
+import ai.dqo.execution.sqltemplates.BatchedSensorQueryRunner;
 import ai.dqo.metadata.groupings.TimeSeriesConfigurationSpec;
 import ai.dqo.metadata.id.HierarchyId;
 import ai.dqo.metadata.search.CheckSearchFilters;
 import ai.dqo.metadata.search.HierarchyNodeTreeSearcher;
 import ai.dqo.metadata.sources.*;
+import ai.dqo.metadata.definitions.rules.RuleDefinitionList;
+import ai.dqo.metadata.definitions.rules.RuleDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.ProviderSensorDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.SensorDefinitionList;
+import ai.dqo.metadata.definitions.sensors.SensorDefinitionWrapper;
+import ai.dqo.metadata.dqohome.DqoHome;
 import ai.dqo.metadata.userhome.UserHome;
 import ai.dqo.rules.AbstractRuleThresholdsSpec;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
 
 /**
  * Service that executes data quality checks.
@@ -61,6 +73,8 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
     private final RuleEvaluationService ruleEvaluationService;
     private final SensorReadingsSnapshotFactory sensorReadingsSnapshotFactory;
     private final RuleResultsSnapshotFactory ruleResultsSnapshotFactory;
+    private final DqoExecutionConfigurationProperties executionConfigurationProperties;
+    private final BatchedSensorQueryRunner batchedSensorQueryRunner;
 
     /**
      * Creates a data quality check execution service.
@@ -72,6 +86,8 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
      * @param ruleEvaluationService  Rule evaluation service.
      * @param sensorReadingsSnapshotFactory Sensor reading storage service.
      * @param ruleResultsSnapshotFactory Rule evaluation result (alerts) snapshot factory.
+     * @param executionConfigurationProperties Check execution configuration with the degree of parallelism.
+     * @param batchedSensorQueryRunner Sensor runner that merges compatible sensor queries on the same table.
      */
     @Autowired
     public CheckExecutionServiceImpl(HierarchyNodeTreeSearcher hierarchyNodeTreeSearcher,
@@ -81,7 +97,9 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
 									 SensorResultNormalizeService sensorResultNormalizeService,
 									 RuleEvaluationService ruleEvaluationService,
 									 SensorReadingsSnapshotFactory sensorReadingsSnapshotFactory,
-									 RuleResultsSnapshotFactory ruleResultsSnapshotFactory) {
+									 RuleResultsSnapshotFactory ruleResultsSnapshotFactory,
+									 DqoExecutionConfigurationProperties executionConfigurationProperties,
+									 BatchedSensorQueryRunner batchedSensorQueryRunner) {
         this.hierarchyNodeTreeSearcher = hierarchyNodeTreeSearcher;
         this.sensorExecutionRunParametersFactory = sensorExecutionRunParametersFactory;
         this.dataQualitySensorRunner = dataQualitySensorRunner;
@@ -90,6 +108,8 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
         this.ruleEvaluationService = ruleEvaluationService;
         this.sensorReadingsSnapshotFactory = sensorReadingsSnapshotFactory;
         this.ruleResultsSnapshotFactory = ruleResultsSnapshotFactory;
+        this.executionConfigurationProperties = executionConfigurationProperties;
+        this.batchedSensorQueryRunner = batchedSensorQueryRunner;
     }
 
     /**
@@ -108,16 +128,174 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
         Collection<TableWrapper> targetTables = listTargetTables(userHome, checkSearchFilters);
         CheckExecutionSummary checkExecutionSummary = new CheckExecutionSummary();
 
-        for (TableWrapper targetTable :  targetTables) {
-            // TODO: we can increase DOP here by turning each call (running sensors on a single table) into a multi step pipeline, we will start up to DOP pipelines, we will start new when a pipeline has finished...
-            ConnectionWrapper connectionWrapper = userHome.findConnectionFor(targetTable.getHierarchyId());
-			executeChecksOnTable(checkExecutionContext, userHome, connectionWrapper, targetTable, checkSearchFilters, progressListener,
-                    dummySensorExecution, checkExecutionSummary);
+        int maxParallelTables = Math.min(Math.max(this.executionConfigurationProperties.getMaxParallelTables(), 1), targetTables.size());
+        if (maxParallelTables <= 1) {
+            for (TableWrapper targetTable :  targetTables) {
+                ConnectionWrapper connectionWrapper = userHome.findConnectionFor(targetTable.getHierarchyId());
+                executeChecksOnTable(checkExecutionContext, userHome, connectionWrapper, targetTable, checkSearchFilters, progressListener,
+                        dummySensorExecution, checkExecutionSummary);
+            }
+        }
+        else {
+            executeChecksOnTablesInParallel(checkExecutionContext, userHome, targetTables, checkSearchFilters, progressListener,
+                    dummySensorExecution, checkExecutionSummary, maxParallelTables);
         }
 
         return checkExecutionSummary;
     }
 
+    /**
+     * Executes checks on multiple tables in parallel. Each table is processed by a single worker thread as a pipeline
+     * (sensors, normalization, rule evaluation and saving the results). Up to <code>maxParallelTables</code> tables are processed at once,
+     * but no more than the configured limit of tables from the same connection. The next table is started when a running table has finished.
+     * @param checkExecutionContext Check execution context with access to the user home and dqo home.
+     * @param userHome User home with all metadata and checks.
+     * @param targetTables Target tables to process.
+     * @param checkSearchFilters Check search filters.
+     * @param progressListener Progress listener, must be thread safe.
+     * @param dummySensorExecution When true, the sensor is not executed and dummy results are returned.
+     * @param checkExecutionSummary Target object to gather the check execution summary information for all tables.
+     * @param maxParallelTables Maximum number of tables processed at the same time.
+     */
+    protected void executeChecksOnTablesInParallel(CheckExecutionContext checkExecutionContext,
+                                                   UserHome userHome,
+                                                   Collection<TableWrapper> targetTables,
+                                                   CheckSearchFilters checkSearchFilters,
+                                                   CheckExecutionProgressListener progressListener,
+                                                   boolean dummySensorExecution,
+                                                   CheckExecutionSummary checkExecutionSummary,
+                                                   int maxParallelTables) {
+        preloadDefinitions(checkExecutionContext); // sensor and rule definitions are lazy loaded, we load them once before worker threads start to look them up
+
+        int maxParallelTablesPerConnection = Math.max(this.executionConfigurationProperties.getMaxParallelTablesPerConnection(), 1);
+        // tables are grouped by the connection name, the wrappers inherit equals and hashCode from the spec and are not unique map keys
+        LinkedHashMap<String, Deque<TableWrapper>> pendingTablesPerConnection = new LinkedHashMap<>();
+        Map<String, ConnectionWrapper> connectionsByName = new HashMap<>();
+        for (TableWrapper targetTable : targetTables) {
+            ConnectionWrapper connectionWrapper = userHome.findConnectionFor(targetTable.getHierarchyId());
+            connectionWrapper.getSpec(); // connection and table specs are also lazy loaded, the worker threads will only read them
+            targetTable.getSpec();
+            connectionsByName.put(connectionWrapper.getName(), connectionWrapper);
+            pendingTablesPerConnection.computeIfAbsent(connectionWrapper.getName(), c -> new ArrayDeque<>()).add(targetTable);
+        }
+        Map<String, Integer> runningTablesPerConnection = new HashMap<>();
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("dqo-check-execution-%d")
+                .setDaemon(true)
+                .build();
+        ExecutorService executorService = Executors.newFixedThreadPool(maxParallelTables, threadFactory);
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executorService);
+        int runningTablesCount = 0;
+        Throwable firstFailure = null;
+
+        try {
+            while (runningTablesCount > 0 || (firstFailure == null && !pendingTablesPerConnection.isEmpty())) {
+                // starting new tables (round-robin over connections) until all workers are busy or all connections reached their limits
+                boolean tableStarted = true;
+                while (firstFailure == null && runningTablesCount < maxParallelTables && tableStarted) {
+                    tableStarted = false;
+                    Iterator<Map.Entry<String, Deque<TableWrapper>>> connectionIterator = pendingTablesPerConnection.entrySet().iterator();
+                    while (connectionIterator.hasNext() && runningTablesCount < maxParallelTables) {
+                        Map.Entry<String, Deque<TableWrapper>> connectionTables = connectionIterator.next();
+                        String connectionName = connectionTables.getKey();
+                        ConnectionWrapper connectionWrapper = connectionsByName.get(connectionName);
+                        int runningOnConnection = runningTablesPerConnection.getOrDefault(connectionName, 0);
+                        if (runningOnConnection >= maxParallelTablesPerConnection) {
+                            continue;
+                        }
+
+                        TableWrapper targetTable = connectionTables.getValue().poll();
+                        if (connectionTables.getValue().isEmpty()) {
+                            connectionIterator.remove();
+                        }
+
+                        completionService.submit(() -> {
+                            executeChecksOnTable(checkExecutionContext, userHome, connectionWrapper, targetTable, checkSearchFilters, progressListener,
+                                    dummySensorExecution, checkExecutionSummary);
+                            return connectionName;
+                        });
+                        runningTablesPerConnection.put(connectionName, runningOnConnection + 1);
+                        runningTablesCount++;
+                        tableStarted = true;
+                    }
+                }
+
+                if (runningTablesCount == 0) {
+                    break;
+                }
+
+                // waiting for any table to finish, releasing a slot for the next table
+                Future<String> finishedTableFuture = completionService.take();
+                runningTablesCount--;
+                try {
+                    String finishedConnection = finishedTableFuture.get();
+                    runningTablesPerConnection.merge(finishedConnection, -1, Integer::sum);
+                }
+                catch (ExecutionException ex) {
+                    if (firstFailure == null) {
+                        firstFailure = ex.getCause(); // we stop starting new tables, but let the running tables finish and save their results
+                    }
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Check execution was interrupted", ex);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        if (firstFailure instanceof RuntimeException) {
+            throw (RuntimeException) firstFailure;
+        }
+        if (firstFailure != null) {
+            throw new RuntimeException("Check failed to execute", firstFailure);
+        }
+    }
+
+    /**
+     * Loads all sensor and rule definitions from the user home and the dqo home. Definitions are loaded lazily on first access
+     * and the lazy loading is not thread safe, so they are loaded once before the checks are executed on multiple threads.
+     * @param checkExecutionContext Check execution context with access to the user home and dqo home.
+     */
+    protected void preloadDefinitions(CheckExecutionContext checkExecutionContext) {
+        UserHome userHome = checkExecutionContext.getUserHomeContext().getUserHome();
+        DqoHome dqoHome = checkExecutionContext.getDqoHomeContext().getDqoHome();
+
+        preloadSensorDefinitions(userHome.getSensors());
+        preloadRuleDefinitions(userHome.getRules());
+        if (!checkExecutionContext.getDqoHomeContext().isReadOnly()) {
+            // the shared dqo home context is already fully loaded
+            preloadSensorDefinitions(dqoHome.getSensors());
+            preloadRuleDefinitions(dqoHome.getRules());
+        }
+    }
+
+    /**
+     * Loads all sensor definitions and their provider specific definitions.
+     * @param sensorDefinitions Sensor definition list.
+     */
+    private static void preloadSensorDefinitions(SensorDefinitionList sensorDefinitions) {
+        for (SensorDefinitionWrapper sensorDefinitionWrapper : sensorDefinitions) {
+            sensorDefinitionWrapper.getSpec();
+            for (ProviderSensorDefinitionWrapper providerSensorDefinitionWrapper : sensorDefinitionWrapper.getProviderSensors()) {
+                providerSensorDefinitionWrapper.getSpec();
+            }
+        }
+    }
+
+    /**
+     * Loads all rule definitions.
+     * @param ruleDefinitions Rule definition list.
+     */
+    private static void preloadRuleDefinitions(RuleDefinitionList ruleDefinitions) {
+        for (RuleDefinitionWrapper ruleDefinitionWrapper : ruleDefinitions) {
+            ruleDefinitionWrapper.getSpec();
+        }
+    }
+
     /**
      * Execute checks on a single table.
      * @param checkExecutionContext Check execution context with access to the user home and dqo home.
@@ -157,6 +335,12 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
         int lowSeverityAlerts = 0;
         int mediumSeverityAlerts = 0;
         int highSeverityAlerts = 0;
+        ExpandedSpecCache expandedSpecCache = new ExpandedSpecCache(); // the connection, table and column specs are expanded once for all checks
+
+        Map<AbstractCheckSpec, BatchedSensorExecutionResult> batchedSensorResults =
+                this.executionConfigurationProperties.isBatchSensorQueries() && !dummySensorExecution ?
+                        executeSensorsInBatches(checkExecutionContext, userHome, checks, expandedSpecCache, progressListener) :
+                        Collections.emptyMap();
 
         for (AbstractCheckSpec checkSpec : checks) {
             List<AbstractRuleThresholdsSpec<?>> enabledRules = checkSpec.getRuleSet().getEnabledRules();
@@ -170,11 +354,15 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
             checksCount++;
 
             try {
-                SensorExecutionRunParameters sensorRunParameters = prepareSensorRunParameters(userHome, checkSpec);
+                BatchedSensorExecutionResult batchedSensorResult = batchedSensorResults.get(checkSpec); // null when the sensor was not executed in a batch
+                SensorExecutionRunParameters sensorRunParameters = batchedSensorResult != null ?
+                        batchedSensorResult.getSensorExecutionResult().getParameters() :
+                        prepareSensorRunParameters(userHome, checkSpec, expandedSpecCache);
                 progressListener.onExecutingSensor(new ExecutingSensorEvent(tableSpec, sensorRunParameters));
 
-                SensorExecutionResult sensorResult = this.dataQualitySensorRunner.executeSensor(checkExecutionContext,
-                        sensorRunParameters, progressListener, dummySensorExecution);
+                SensorExecutionResult sensorResult = batchedSensorResult != null ?
+                        batchedSensorResult.getSensorExecutionResult() :
+                        this.dataQualitySensorRunner.executeSensor(checkExecutionContext, sensorRunParameters, progressListener, dummySensorExecution);
                 progressListener.onSensorExecuted(new SensorExecutedEvent(tableSpec, sensorRunParameters, sensorResult));
                 if (sensorResult.getResultTable().rowCount() == 0) {
                     continue; // no results captured, moving to the next sensor, probably an incremental time window too small
@@ -183,8 +371,10 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
 
                 TimeSeriesConfigurationSpec effectiveTimeSeries = sensorRunParameters.getEffectiveTimeSeries();
 
-                SensorNormalizedResult normalizedSensorResults = this.sensorResultNormalizeService.normalizeResults(
-                        sensorResult, effectiveTimeSeries.getTimeGradient(), sensorRunParameters);
+                SensorNormalizedResult normalizedSensorResults = batchedSensorResult != null && batchedSensorResult.isBatched() ?
+                        this.sensorResultNormalizeService.normalizeBatchedResults(sensorResult, batchedSensorResult.getActualValueIndex(),
+                                effectiveTimeSeries.getTimeGradient(), sensorRunParameters) :
+                        this.sensorResultNormalizeService.normalizeResults(sensorResult, effectiveTimeSeries.getTimeGradient(), sensorRunParameters);
                 progressListener.onSensorResultsNormalized(new SensorResultsNormalizedEvent(
                         tableSpec, sensorRunParameters, sensorResult, normalizedSensorResults));
                 allNormalizedSensorResultsTable.append(normalizedSensorResults.getTable()); // TODO: move to the bottom, we will append an error...
@@ -192,7 +382,10 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
                 LocalDateTime maxTimePeriod = normalizedSensorResults.getTimePeriodColumn().max(); // most recent time period that was captured
                 LocalDateTime minTimePeriod = normalizedSensorResults.getTimePeriodColumn().min(); // oldest time period tha was captured
                 LocalDateTime earliestRequiredReading = checkSpec.findEarliestRequiredHistoricReadingDate(effectiveTimeSeries.getTimeGradient(), minTimePeriod);
-                sensorReadingsSnapshot.ensureMonthsAreLoaded(earliestRequiredReading.toLocalDate(), maxTimePeriod.toLocalDate()); // preload required historic results
+                long checkHashId = checkSpec.getHierarchyId().hashCode64();
+                long[] dimensionIds = normalizedSensorResults.getDimensionIdColumn().unique().asLongArray();
+                sensorReadingsSnapshot.ensureTimeSeriesAreLoaded(checkHashId, dimensionIds,
+                        earliestRequiredReading.toLocalDate(), maxTimePeriod.toLocalDate()); // preload required historic time series of the check
 
                 RuleEvaluationResult ruleEvaluationResult = this.ruleEvaluationService.evaluateRules(
                         checkExecutionContext, checkSpec, sensorRunParameters, normalizedSensorResults, sensorReadingsSnapshot, progressListener);
@@ -211,7 +404,9 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
                 throw new RuntimeException("Check failed to execute", ex);
             }
 
-            // TODO: we can consider flushing results here if we run out of memory (too many results)
+            if (!dummySensorExecution) {
+                flushResultsWhenThresholdExceeded(tableSpec, sensorReadingsSnapshot, ruleResultsSnapshot, progressListener);
+            }
         }
 
         progressListener.onSavingSensorResults(new SavingSensorResultsEvent(tableSpec, sensorReadingsSnapshot));
@@ -224,12 +419,94 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
             ruleResultsSnapshot.save();
         }
         progressListener.onTableChecksProcessingFinished(new TableChecksProcessingFinished(connectionWrapper, tableSpec, checks,
-                checksCount, sensorResultsCount, passedRules, lowSeverityAlerts, mediumSeverityAlerts, highSeverityAlerts));
+                checksCount, sensorResultsCount, passedRules, lowSeverityAlerts, mediumSeverityAlerts, highSeverityAlerts, expandedSpecCache));
 
         checkExecutionSummary.reportTableStats(connectionWrapper, tableSpec, checksCount, sensorResultsCount,
                 passedRules, lowSeverityAlerts, mediumSeverityAlerts, highSeverityAlerts);
     }
 
+    /**
+     * Saves the new sensor readings and rule results that are buffered in memory when their number of rows or the estimated size exceeds
+     * the configured thresholds. The affected monthly partitions are updated and the buffered rows are released, so the memory used
+     * to execute checks on a table with many checks and dimensions stays bounded.
+     * @param tableSpec Target table specification.
+     * @param sensorReadingsSnapshot Sensor readings snapshot with the new sensor readings.
+     * @param ruleResultsSnapshot Rule results snapshot with the new rule results.
+     * @param progressListener Progress listener.
+     */
+    protected void flushResultsWhenThresholdExceeded(TableSpec tableSpec,
+                                                     SensorReadingsSnapshot sensorReadingsSnapshot,
+                                                     RuleResultsSnapshot ruleResultsSnapshot,
+                                                     CheckExecutionProgressListener progressListener) {
+        if (isFlushThresholdExceeded(sensorReadingsSnapshot.getNewResults().rowCount(), sensorReadingsSnapshot::estimateNewResultsSizeInBytes)) {
+            progressListener.onSavingSensorResults(new SavingSensorResultsEvent(tableSpec, sensorReadingsSnapshot));
+            sensorReadingsSnapshot.flush();
+        }
+
+        if (isFlushThresholdExceeded(ruleResultsSnapshot.getNewResults().rowCount(), ruleResultsSnapshot::estimateNewResultsSizeInBytes)) {
+            progressListener.onSavingRuleEvaluationResults(new SavingRuleEvaluationResults(tableSpec, ruleResultsSnapshot));
+            ruleResultsSnapshot.flush();
+        }
+    }
+
+    /**
+     * Checks if a table with buffered results should be flushed to the storage. The number of rows is checked first,
+     * the size estimate (which is tracked incrementally by the snapshot) is requested only when the rows threshold is not exceeded.
+     * @param newResultsRowCount Number of buffered rows.
+     * @param newResultsSizeEstimate Supplier of the estimated size of the buffered rows in bytes.
+     * @return True when the number of rows or the estimated size of the table exceeds the configured threshold.
+     */
+    private boolean isFlushThresholdExceeded(int newResultsRowCount, LongSupplier newResultsSizeEstimate) {
+        int flushResultsRowsThreshold = this.executionConfigurationProperties.getFlushResultsRowsThreshold();
+        if (flushResultsRowsThreshold > 0 && newResultsRowCount >= flushResultsRowsThreshold) {
+            return true;
+        }
+
+        long flushResultsBytesThreshold = this.executionConfigurationProperties.getFlushResultsBytesThreshold();
+        return flushResultsBytesThreshold > 0 && newResultsRowCount > 0 &&
+                newResultsSizeEstimate.getAsLong() >= flushResultsBytesThreshold;
+    }
+
+    /**
+     * Executes the sensors of all checks on a table in batches. Compatible sql template sensors (with the same filters, time series
+     * and dimensions configuration) are merged into a single query, so the table is scanned once for all of them.
+     * Sensors that are not sql template sensors are not executed and are missing in the result map.
+     * @param checkExecutionContext Check execution context with access to the user home and dqo home.
+     * @param userHome User home with all metadata and checks.
+     * @param checks Checks on the table.
+     * @param expandedSpecCache Cache of the expanded connection, table and column specifications shared by all checks on the table.
+     * @param progressListener Progress listener.
+     * @return Dictionary of sensor results for checks whose sensors were executed, keyed by the check specification instance.
+     */
+    protected Map<AbstractCheckSpec, BatchedSensorExecutionResult> executeSensorsInBatches(CheckExecutionContext checkExecutionContext,
+                                                                                         UserHome userHome,
+                                                                                         Collection<AbstractCheckSpec> checks,
+                                                                                         ExpandedSpecCache expandedSpecCache,
+                                                                                         CheckExecutionProgressListener progressListener) {
+        List<AbstractCheckSpec> checksWithRules = new ArrayList<>();
+        List<SensorExecutionRunParameters> sensorRunParametersList = new ArrayList<>();
+        for (AbstractCheckSpec checkSpec : checks) {
+            if (checkSpec.getRuleSet().getEnabledRules().size() == 0) {
+                continue; // the check will be skipped
+            }
+
+            checksWithRules.add(checkSpec);
+            sensorRunParametersList.add(prepareSensorRunParameters(userHome, checkSpec, expandedSpecCache));
+        }
+
+        List<BatchedSensorExecutionResult> sensorResults = this.batchedSensorQueryRunner.executeSensors(checkExecutionContext,
+                sensorRunParametersList, this.executionConfigurationProperties.getMaxSensorsPerBatchedQuery(), progressListener);
+
+        Map<AbstractCheckSpec, BatchedSensorExecutionResult> sensorResultsPerCheck = new IdentityHashMap<>();
+        for (int i = 0; i < checksWithRules.size(); i++) {
+            if (sensorResults.get(i) != null) {
+                sensorResultsPerCheck.put(checksWithRules.get(i), sensorResults.get(i));
+            }
+        }
+
+        return sensorResultsPerCheck;
+    }
+
     /**
      * Lists all target tables that were not excluded from the filter and may have checks to be executed.
      * @param userHome User home.
@@ -237,6 +514,7 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
      * @return Collection of table wrappers.
      */
     public Collection<TableWrapper> listTargetTables(UserHome userHome, CheckSearchFilters checkSearchFilters) {
+        this.hierarchyNodeTreeSearcher.preloadTables(userHome.getConnections(), checkSearchFilters);
         Collection<TableWrapper> tables = this.hierarchyNodeTreeSearcher.findTables(userHome.getConnections(), checkSearchFilters);
         return tables;
     }
@@ -248,6 +526,18 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
      * @return Sensor run parameters.
      */
     public SensorExecutionRunParameters prepareSensorRunParameters(UserHome userHome, AbstractCheckSpec checkSpec) {
+        return prepareSensorRunParameters(userHome, checkSpec, new ExpandedSpecCache());
+    }
+
+    /**
+     * Creates a sensor run parameters from the check specification, reusing the connection, table and column specifications
+     * that were already expanded for other checks on the same table.
+     * @param userHome User home with the metadata.
+     * @param checkSpec Check specification.
+     * @param expandedSpecCache Cache of the expanded connection, table and column specifications shared by all checks on the table.
+     * @return Sensor run parameters.
+     */
+    public SensorExecutionRunParameters prepareSensorRunParameters(UserHome userHome, AbstractCheckSpec checkSpec, ExpandedSpecCache expandedSpecCache) {
         HierarchyId checkHierarchyId = checkSpec.getHierarchyId();
         ConnectionWrapper connectionWrapper = userHome.findConnectionFor(checkHierarchyId);
         TableWrapper tableWrapper = userHome.findTableFor(checkHierarchyId);
@@ -258,7 +548,7 @@ public class CheckExecutionServiceImpl implements CheckExecutionService {
         TableSpec tableSpec = tableWrapper.getSpec();
 
         SensorExecutionRunParameters sensorRunParameters = this.sensorExecutionRunParametersFactory.createSensorParameters(
-                connectionSpec, tableSpec, columnSpec, checkSpec, dialectSettings);
+                connectionSpec, tableSpec, columnSpec, checkSpec, dialectSettings, expandedSpecCache);
         return sensorRunParameters;
     }
 }
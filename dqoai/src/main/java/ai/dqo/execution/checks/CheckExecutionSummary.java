@@ -24,6 +24,7 @@ import tech.tablesaw.api.Table;
 
 /**
  * Tabular object returned from {@link CheckExecutionService} with a summary of sensors that were executed.
+ * Table statistics may be reported from multiple threads when the checks are executed on several tables in parallel.
  */
 public class CheckExecutionSummary {
     private final StringColumn connectionColumn;
@@ -153,7 +154,7 @@ public class CheckExecutionSummary {
      * @param mediumSeverityAlerts Count of medium severity alerts.
      * @param highSeverityAlerts Count of high severity alerts.
      */
-    public void reportTableStats(ConnectionWrapper connection, TableSpec tableSpec, int checksExecuted, int sensorResults, int validResults,
+    public synchronized void reportTableStats(ConnectionWrapper connection, TableSpec tableSpec, int checksExecuted, int sensorResults, int validResults,
 								 int lowSeverityAlerts, int mediumSeverityAlerts, int highSeverityAlerts) {
         Row row = this.summaryTable.appendRow();
 		this.connectionColumn.set(row.getRowNumber(), connection.getName());
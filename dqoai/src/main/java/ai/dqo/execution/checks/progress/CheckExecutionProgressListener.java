@@ -17,6 +17,8 @@ package ai.dqo.execution.checks.progress;
 
 /**
  * Interface implemented by a check execution progress listener that shows the progress of the sensor execution.
+ * Implementations must be thread safe. Checks on multiple tables are executed in parallel and the events for different tables
+ * are raised from different threads. Events for the same table are always raised from the same thread, in order.
  */
 public interface CheckExecutionProgressListener {
     /**
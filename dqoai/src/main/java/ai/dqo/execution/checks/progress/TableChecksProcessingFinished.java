@@ -16,6 +16,7 @@
 package ai.dqo.execution.checks.progress;
 
 import ai.dqo.checks.AbstractCheckSpec;
+import ai.dqo.execution.sensors.ExpandedSpecCache;
 import ai.dqo.metadata.sources.ConnectionWrapper;
 import ai.dqo.metadata.sources.TableSpec;
 
@@ -34,6 +35,7 @@ public class TableChecksProcessingFinished extends CheckExecutionProgressEvent {
     private final int lowSeverityAlerts;
     private final int mediumSeverityAlerts;
     private final int highSeverityAlerts;
+    private final ExpandedSpecCache expandedSpecCache;
 
     /**
      * Creates a progress event.
@@ -41,10 +43,12 @@ public class TableChecksProcessingFinished extends CheckExecutionProgressEvent {
      * @param connectionWrapper Target connection wrapper.
      * @param tableSpec Target table.
      * @param checks    Collection of checks that were executed.
+     * @param expandedSpecCache Cache of the expanded connection, table and column specifications that were shared by the checks.
      */
     public TableChecksProcessingFinished(ConnectionWrapper connectionWrapper, TableSpec tableSpec, Collection<AbstractCheckSpec> checks,
 										 int checksCount, int sensorResultsCount, int passedRules,
-										 int lowSeverityAlerts, int mediumSeverityAlerts, int highSeverityAlerts) {
+										 int lowSeverityAlerts, int mediumSeverityAlerts, int highSeverityAlerts,
+										 ExpandedSpecCache expandedSpecCache) {
         this.connectionWrapper = connectionWrapper;
         this.tableSpec = tableSpec;
         this.checks = checks;
@@ -54,6 +58,7 @@ public class TableChecksProcessingFinished extends CheckExecutionProgressEvent {
         this.lowSeverityAlerts = lowSeverityAlerts;
         this.mediumSeverityAlerts = mediumSeverityAlerts;
         this.highSeverityAlerts = highSeverityAlerts;
+        this.expandedSpecCache = expandedSpecCache;
     }
 
     /**
@@ -129,4 +134,13 @@ public class TableChecksProcessingFinished extends CheckExecutionProgressEvent {
     public int getHighSeverityAlerts() {
         return highSeverityAlerts;
     }
+
+    /**
+     * Cache of the expanded connection, table and column specifications that were shared by all checks on the table.
+     * Provides the number of reused specifications and the allocation metrics of the expansion.
+     * @return Expanded specification cache.
+     */
+    public ExpandedSpecCache getExpandedSpecCache() {
+        return expandedSpecCache;
+    }
 }
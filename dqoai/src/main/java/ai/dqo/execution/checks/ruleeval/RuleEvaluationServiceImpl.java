@@ -18,7 +18,6 @@ package ai.dqo.execution.checks.ruleeval;
 import ai.dqo.checks.AbstractCheckSpec;
 import ai.dqo.checks.AbstractRuleSetSpec;
 import ai.dqo.data.readings.snapshot.SensorReadingsSnapshot;
-import ai.dqo.data.readings.snapshot.SensorReadingsTimeSeriesData;
 import ai.dqo.data.readings.snapshot.SensorReadingsTimeSeriesMap;
 import ai.dqo.execution.CheckExecutionContext;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
@@ -37,6 +36,7 @@ import tech.tablesaw.table.TableSliceGroup;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -75,8 +75,8 @@ public class RuleEvaluationServiceImpl implements RuleEvaluationService {
         List<AbstractRuleThresholdsSpec<?>> enabledRules = ruleSet.getEnabledRules();
         Table sensorResultsTable = normalizedSensorResults.getTable();
         TableSliceGroup dimensionTimeSeriesSlices = sensorResultsTable.splitOn(normalizedSensorResults.getDimensionIdColumn());
-        SensorReadingsTimeSeriesMap historicReadingsTimeSeries = sensorReadingsSnapshot.getHistoricReadingsTimeSeries();
         long checkHashId = checkSpec.getHierarchyId().hashCode64();
+        SensorReadingsTimeSeriesMap historicReadingsTimeSeries = sensorReadingsSnapshot.getHistoricReadingsTimeSeries(checkHashId);
 
         DoubleColumn actualValueColumn = normalizedSensorResults.getActualValueColumn();
         DateTimeColumn timePeriodColumn = normalizedSensorResults.getTimePeriodColumn();
@@ -85,143 +85,169 @@ public class RuleEvaluationServiceImpl implements RuleEvaluationService {
         for (TableSlice dimensionTableSlice : dimensionTimeSeriesSlices) {
             Table dimensionSensorResults = dimensionTableSlice.asTable();  // results for a single dimension, the rows should be already sorted by the time period, ascending
             LongColumn dimensionColumn = (LongColumn) dimensionSensorResults.column(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
-            Long timeSeriesDimensionId = dimensionColumn.get(0);
-            SensorReadingsTimeSeriesData historicTimeSeriesData = historicReadingsTimeSeries.findTimeSeriesData(checkHashId, timeSeriesDimensionId);
+            long timeSeriesDimensionId = dimensionColumn.getLong(0);
+            int[] historicRowOffsets = historicReadingsTimeSeries.findRowOffsets(checkHashId, timeSeriesDimensionId); // historic readings are read in place, without copying
             TimeSeriesGradient timeGradient = sensorRunParameters.getEffectiveTimeSeries().getTimeGradient();
             ZoneId connectionTimeZoneId = sensorRunParameters.getConnectionTimeZoneId();
-            HistoricDataPointTimeSeriesCollector previousDataPointTimeSeriesCollectorCurrent = new HistoricDataPointTimeSeriesCollector(
+            HistoricDataPointTimeSeriesCollector previousDataPointTimeSeriesCollector = new HistoricDataPointTimeSeriesCollector(
                     dimensionSensorResults,
+                    historicRowOffsets != null ? historicReadingsTimeSeries.getSourceTable() : null, // current readings have the priority over the old readings
+                    historicRowOffsets,
                     timeGradient,
                     connectionTimeZoneId);
-            HistoricDataPointTimeSeriesCollector previousDataPointTimeSeriesCollectorOld = (historicTimeSeriesData != null) ?
-                    new HistoricDataPointTimeSeriesCollector(
-                            historicTimeSeriesData.getTable(),
-                            timeGradient,
-                            connectionTimeZoneId)
-                    : null;
+
+            List<RuleExecutionRunParameters> ruleRunParametersBatch = new ArrayList<>();
+            List<PendingRuleEvaluation> pendingRuleEvaluations = new ArrayList<>();
 
             for (int sliceRowIndex = 0; sliceRowIndex < dimensionTableSlice.rowCount() ; sliceRowIndex++) {
                 int allSensorResultsRowIndex = dimensionTableSlice.mappedRowNumber(sliceRowIndex);
                 Double actualValue = actualValueColumn.get(allSensorResultsRowIndex);
                 LocalDateTime timePeriodLocal = timePeriodColumn.get(allSensorResultsRowIndex);
+                HistoricDataPointWindow lastPreviousDataPoints = null; // rules with the same time window share the view over the previous readings
 
                 for (AbstractRuleThresholdsSpec<?> ruleThresholds : enabledRules) {
                     RuleTimeWindowSettingsSpec ruleTimeWindow = ruleThresholds.getTimeWindow();
-                    HistoricDataPoint[] previousDataPoints = null; // combined data points from current readings and historic sensor results
-                    HistoricDataPoint[] oldDataPoints = null; // old data points retrieved from the last copy (snapshot) of previous readings
+                    HistoricDataPointWindow previousDataPoints = null; // combined data points from current readings and historic sensor results
                     if (ruleTimeWindow != null) {
-                        previousDataPoints = previousDataPointTimeSeriesCollectorCurrent.getHistoricDataPointsBefore(
-                                timePeriodLocal, ruleTimeWindow.getPredictionTimeWindow());
-
-                        if (previousDataPointTimeSeriesCollectorOld != null) {
-                            oldDataPoints = previousDataPointTimeSeriesCollectorOld.getHistoricDataPointsBefore(
-                                    timePeriodLocal, ruleTimeWindow.getPredictionTimeWindow());
+                        int predictionTimeWindow = ruleTimeWindow.getPredictionTimeWindow();
+                        if (lastPreviousDataPoints != null && lastPreviousDataPoints.getTimePeriodsCount() == predictionTimeWindow) {
+                            previousDataPoints = lastPreviousDataPoints;
                         }
-                    }
-
-                    if (previousDataPoints != null) {
-                        int countNotNull = 0;
-                        for (int hIdx = 0; hIdx < previousDataPoints.length; hIdx++) {
-                            if (previousDataPoints[hIdx] == null) {
-                                // check if we have historic data from previous sensor runs
-                                if (oldDataPoints != null) {
-                                    previousDataPoints[hIdx] = oldDataPoints[hIdx];
-                                }
-                            }
-
-                            if (previousDataPoints[hIdx] != null) {
-                                countNotNull++;
-                            }
+                        else {
+                            previousDataPoints = previousDataPointTimeSeriesCollector.getWindowBefore(timePeriodLocal, predictionTimeWindow);
+                            lastPreviousDataPoints = previousDataPoints;
                         }
 
-                        if (countNotNull < ruleTimeWindow.getMinPeriodsWithReading()) {
+                        if (previousDataPoints.getDataPointsCount() < ruleTimeWindow.getMinPeriodsWithReading()) {
                             continue; // we will skip this reading, we cannot calculate a value because there is not enough sensor readings
                         }
                     }
 
-                    Integer highestSeverity = null;
-                    Row targetRuleResultRow = result.appendRow();
-                    int targetRowIndex = targetRuleResultRow.getRowNumber();
-                    result.copyRowFrom(targetRowIndex, sensorResultsTable, allSensorResultsRowIndex);
-                    long ruleHash = ruleThresholds.getHierarchyId().hashCode64();
-                    result.getRuleHashColumn().set(targetRowIndex, ruleHash);
-                    result.getRuleNameColumn().set(targetRowIndex, ruleThresholds.getRuleName());
+                    PendingRuleEvaluation pendingRuleEvaluation = new PendingRuleEvaluation(allSensorResultsRowIndex, ruleThresholds);
+                    pendingRuleEvaluations.add(pendingRuleEvaluation);
 
                     AbstractRuleParametersSpec highRule = ruleThresholds.getHigh();
-                    AbstractRuleParametersSpec mediumRule = ruleThresholds.getMedium();
-                    AbstractRuleParametersSpec lowRule = ruleThresholds.getLow();
-                    Double expectedValue = null;
-
                     if (highRule != null) {
-                        RuleExecutionRunParameters ruleRunParametersHigh = new RuleExecutionRunParameters(actualValue, highRule, timePeriodLocal, previousDataPoints, ruleTimeWindow);
-                        RuleExecutionResult ruleExecutionResultHigh = this.ruleRunner.executeRule(checkExecutionContext, ruleRunParametersHigh);
+                        pendingRuleEvaluation.highBatchIndex = ruleRunParametersBatch.size();
+                        ruleRunParametersBatch.add(new RuleExecutionRunParameters(actualValue, highRule, timePeriodLocal, previousDataPoints, ruleTimeWindow));
+                    }
 
-                        if (!ruleExecutionResultHigh.isPassed()) {
-                            highestSeverity = 3;
-                        }
+                    AbstractRuleParametersSpec mediumRule = ruleThresholds.getMedium();
+                    if (mediumRule != null) {
+                        pendingRuleEvaluation.mediumBatchIndex = ruleRunParametersBatch.size();
+                        ruleRunParametersBatch.add(new RuleExecutionRunParameters(actualValue, mediumRule, timePeriodLocal, previousDataPoints, ruleTimeWindow));
+                    }
 
-                        if (ruleExecutionResultHigh.getExpectedValue() != null) {
-                            expectedValue = ruleExecutionResultHigh.getExpectedValue();
-                        }
+                    AbstractRuleParametersSpec lowRule = ruleThresholds.getLow();
+                    if (lowRule != null) {
+                        pendingRuleEvaluation.lowBatchIndex = ruleRunParametersBatch.size();
+                        ruleRunParametersBatch.add(new RuleExecutionRunParameters(actualValue, lowRule, timePeriodLocal, previousDataPoints, ruleTimeWindow));
+                    }
+                }
+            }
 
-                        if (ruleExecutionResultHigh.getLowerBound() != null) {
-                            result.getHighLowerBoundColumn().set(targetRowIndex, ruleExecutionResultHigh.getLowerBound());
-                        }
-                        if (ruleExecutionResultHigh.getUpperBound() != null) {
-                            result.getHighUpperBoundColumn().set(targetRowIndex, ruleExecutionResultHigh.getUpperBound());
-                        }
+            // all readings of the dimension time series, with all severity levels, are evaluated in one batch
+            List<RuleExecutionResult> ruleExecutionResults = ruleRunParametersBatch.isEmpty() ? List.of() :
+                    this.ruleRunner.executeRules(checkExecutionContext, ruleRunParametersBatch);
+
+            for (PendingRuleEvaluation pendingRuleEvaluation : pendingRuleEvaluations) {
+                Integer highestSeverity = null;
+                Row targetRuleResultRow = result.appendRow();
+                int targetRowIndex = targetRuleResultRow.getRowNumber();
+                result.copyRowFrom(targetRowIndex, sensorResultsTable, pendingRuleEvaluation.allSensorResultsRowIndex);
+                AbstractRuleThresholdsSpec<?> ruleThresholds = pendingRuleEvaluation.ruleThresholds;
+                long ruleHash = ruleThresholds.getHierarchyId().hashCode64();
+                result.getRuleHashColumn().set(targetRowIndex, ruleHash);
+                result.getRuleNameColumn().set(targetRowIndex, ruleThresholds.getRuleName());
+                Double expectedValue = null;
+
+                if (pendingRuleEvaluation.highBatchIndex >= 0) {
+                    RuleExecutionResult ruleExecutionResultHigh = ruleExecutionResults.get(pendingRuleEvaluation.highBatchIndex);
+
+                    if (!ruleExecutionResultHigh.isPassed()) {
+                        highestSeverity = 3;
                     }
 
-                    if (mediumRule != null) {
-                        RuleExecutionRunParameters ruleRunParametersMedium = new RuleExecutionRunParameters(actualValue, mediumRule, timePeriodLocal, previousDataPoints, ruleTimeWindow);
-                        RuleExecutionResult ruleExecutionResultMedium = this.ruleRunner.executeRule(checkExecutionContext, ruleRunParametersMedium);
+                    if (ruleExecutionResultHigh.getExpectedValue() != null) {
+                        expectedValue = ruleExecutionResultHigh.getExpectedValue();
+                    }
 
-                        if (highestSeverity == null && !ruleExecutionResultMedium.isPassed()) {
-                            highestSeverity = 2;
-                        }
+                    if (ruleExecutionResultHigh.getLowerBound() != null) {
+                        result.getHighLowerBoundColumn().set(targetRowIndex, ruleExecutionResultHigh.getLowerBound());
+                    }
+                    if (ruleExecutionResultHigh.getUpperBound() != null) {
+                        result.getHighUpperBoundColumn().set(targetRowIndex, ruleExecutionResultHigh.getUpperBound());
+                    }
+                }
 
-                        if (expectedValue == null && ruleExecutionResultMedium.getExpectedValue() != null) {
-                            expectedValue = ruleExecutionResultMedium.getExpectedValue();
-                        }
+                if (pendingRuleEvaluation.mediumBatchIndex >= 0) {
+                    RuleExecutionResult ruleExecutionResultMedium = ruleExecutionResults.get(pendingRuleEvaluation.mediumBatchIndex);
 
-                        if (ruleExecutionResultMedium.getLowerBound() != null) {
-                            result.getMediumLowerBoundColumn().set(targetRowIndex, ruleExecutionResultMedium.getLowerBound());
-                        }
-                        if (ruleExecutionResultMedium.getUpperBound() != null) {
-                            result.getMediumUpperBoundColumn().set(targetRowIndex, ruleExecutionResultMedium.getUpperBound());
-                        }
+                    if (highestSeverity == null && !ruleExecutionResultMedium.isPassed()) {
+                        highestSeverity = 2;
                     }
 
-                    if (lowRule != null) {
-                        RuleExecutionRunParameters ruleRunParametersLow = new RuleExecutionRunParameters(actualValue, lowRule, timePeriodLocal, previousDataPoints, ruleTimeWindow);
-                        RuleExecutionResult ruleExecutionResultLow = this.ruleRunner.executeRule(checkExecutionContext, ruleRunParametersLow);
+                    if (expectedValue == null && ruleExecutionResultMedium.getExpectedValue() != null) {
+                        expectedValue = ruleExecutionResultMedium.getExpectedValue();
+                    }
 
-                        if (highestSeverity == null && !ruleExecutionResultLow.isPassed()) {
-                            highestSeverity = 1;
-                        }
+                    if (ruleExecutionResultMedium.getLowerBound() != null) {
+                        result.getMediumLowerBoundColumn().set(targetRowIndex, ruleExecutionResultMedium.getLowerBound());
+                    }
+                    if (ruleExecutionResultMedium.getUpperBound() != null) {
+                        result.getMediumUpperBoundColumn().set(targetRowIndex, ruleExecutionResultMedium.getUpperBound());
+                    }
+                }
 
-                        if (expectedValue == null && ruleExecutionResultLow.getExpectedValue() != null) {
-                            expectedValue = ruleExecutionResultLow.getExpectedValue();
-                        }
+                if (pendingRuleEvaluation.lowBatchIndex >= 0) {
+                    RuleExecutionResult ruleExecutionResultLow = ruleExecutionResults.get(pendingRuleEvaluation.lowBatchIndex);
 
-                        if (ruleExecutionResultLow.getLowerBound() != null) {
-                            result.getLowLowerBoundColumn().set(targetRowIndex, ruleExecutionResultLow.getLowerBound());
-                        }
-                        if (ruleExecutionResultLow.getUpperBound() != null) {
-                            result.getLowUpperBoundColumn().set(targetRowIndex, ruleExecutionResultLow.getUpperBound());
-                        }
+                    if (highestSeverity == null && !ruleExecutionResultLow.isPassed()) {
+                        highestSeverity = 1;
+                    }
+
+                    if (expectedValue == null && ruleExecutionResultLow.getExpectedValue() != null) {
+                        expectedValue = ruleExecutionResultLow.getExpectedValue();
                     }
 
-                    if (highestSeverity == null) {
-                        highestSeverity = 0; // no alert
+                    if (ruleExecutionResultLow.getLowerBound() != null) {
+                        result.getLowLowerBoundColumn().set(targetRowIndex, ruleExecutionResultLow.getLowerBound());
+                    }
+                    if (ruleExecutionResultLow.getUpperBound() != null) {
+                        result.getLowUpperBoundColumn().set(targetRowIndex, ruleExecutionResultLow.getUpperBound());
                     }
+                }
 
-                    result.getSeverityColumn().set(targetRowIndex, highestSeverity);
-                    result.getExpectedValueColumn().set(targetRowIndex, expectedValue);
+                if (highestSeverity == null) {
+                    highestSeverity = 0; // no alert
                 }
+
+                result.getSeverityColumn().set(targetRowIndex, highestSeverity);
+                result.getExpectedValueColumn().set(targetRowIndex, expectedValue);
             }
         }
 
         return result;
     }
+
+    /**
+     * Rule evaluation for one sensor reading and one rule, whose rule parameters (for each severity level) were added to the batch.
+     */
+    private static class PendingRuleEvaluation {
+        private final int allSensorResultsRowIndex;
+        private final AbstractRuleThresholdsSpec<?> ruleThresholds;
+        private int highBatchIndex = -1;
+        private int mediumBatchIndex = -1;
+        private int lowBatchIndex = -1;
+
+        /**
+         * Creates a pending rule evaluation.
+         * @param allSensorResultsRowIndex Row index in the sensor results table.
+         * @param ruleThresholds Rule thresholds that are evaluated.
+         */
+        public PendingRuleEvaluation(int allSensorResultsRowIndex, AbstractRuleThresholdsSpec<?> ruleThresholds) {
+            this.allSensorResultsRowIndex = allSensorResultsRowIndex;
+            this.ruleThresholds = ruleThresholds;
+        }
+    }
 }
@@ -17,6 +17,8 @@ package ai.dqo.execution.rules;
 
 import ai.dqo.execution.CheckExecutionContext;
 
+import java.util.List;
+
 /**
  * Data quality rule runner that picks the right rule implementation and executes a rule.
  */
@@ -28,4 +30,13 @@ public interface DataQualityRuleRunner {
      * @return Rule execution result with the severity status.
      */
     RuleExecutionResult executeRule(CheckExecutionContext checkExecutionContext, RuleExecutionRunParameters ruleRunParameters);
+
+    /**
+     * Executes rules for a batch of rule run parameters and returns the rule evaluation results. Rule parameters for the same rule
+     * are evaluated by one call to the rule runner, which allows python rules to evaluate the whole batch in one round-trip.
+     * @param checkExecutionContext Check execution context that provides access to the user home and dqo home.
+     * @param ruleRunParametersBatch List of rule run parameters (rule parameters, additional data that the rule requires).
+     * @return List of rule execution results with the severity status, in the same order as the rule run parameters.
+     */
+    List<RuleExecutionResult> executeRules(CheckExecutionContext checkExecutionContext, List<RuleExecutionRunParameters> ruleRunParametersBatch);
 }
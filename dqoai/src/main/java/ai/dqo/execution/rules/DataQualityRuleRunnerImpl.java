@@ -24,6 +24,8 @@ import ai.dqo.metadata.definitions.rules.RuleDefinitionSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+
 /**
  * Data quality rule runner that picks the right rule implementation and executes a rule.
  */
@@ -60,4 +62,40 @@ public class DataQualityRuleRunnerImpl implements DataQualityRuleRunner {
         RuleExecutionResult result = ruleRunner.executeRule(checkExecutionContext, ruleRunParameters, ruleFindResult);
         return result;
     }
+
+    /**
+     * Executes rules for a batch of rule run parameters and returns the rule evaluation results. Rule parameters for the same rule
+     * are evaluated by one call to the rule runner, which allows python rules to evaluate the whole batch in one round-trip.
+     * @param checkExecutionContext Check execution context that provides access to the user home and dqo home.
+     * @param ruleRunParametersBatch List of rule run parameters (rule parameters, additional data that the rule requires).
+     * @return List of rule execution results with the severity status, in the same order as the rule run parameters.
+     */
+    public List<RuleExecutionResult> executeRules(CheckExecutionContext checkExecutionContext, List<RuleExecutionRunParameters> ruleRunParametersBatch) {
+        Map<String, List<Integer>> batchIndexesByRuleName = new LinkedHashMap<>();
+        for (int i = 0; i < ruleRunParametersBatch.size(); i++) {
+            String ruleName = ruleRunParametersBatch.get(i).getParameters().getRuleDefinitionName();
+            batchIndexesByRuleName.computeIfAbsent(ruleName, key -> new ArrayList<>()).add(i);
+        }
+
+        RuleExecutionResult[] results = new RuleExecutionResult[ruleRunParametersBatch.size()];
+        for (Map.Entry<String, List<Integer>> ruleBatchIndexes : batchIndexesByRuleName.entrySet()) {
+            RuleDefinitionFindResult ruleFindResult = this.ruleDefinitionFindService.findRule(checkExecutionContext, ruleBatchIndexes.getKey());
+            RuleDefinitionSpec ruleDefinitionSpec = ruleFindResult.getRuleDefinitionSpec();
+            AbstractRuleRunner ruleRunner = this.ruleRunnerFactory.getRuleRunner(ruleDefinitionSpec.getType(),
+                    ruleDefinitionSpec.getJavaClassName());
+
+            List<Integer> batchIndexes = ruleBatchIndexes.getValue();
+            List<RuleExecutionRunParameters> ruleParametersForRule = new ArrayList<>(batchIndexes.size());
+            for (Integer batchIndex : batchIndexes) {
+                ruleParametersForRule.add(ruleRunParametersBatch.get(batchIndex));
+            }
+
+            List<RuleExecutionResult> ruleResults = ruleRunner.executeRules(checkExecutionContext, ruleParametersForRule, ruleFindResult);
+            for (int i = 0; i < batchIndexes.size(); i++) {
+                results[batchIndexes.get(i)] = ruleResults.get(i);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
 }
@@ -19,27 +19,30 @@ import ai.dqo.utils.datetime.LocalDateTimePeriodUtility;
 import ai.dqo.utils.datetime.LocalDateTimeTruncateUtility;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import tech.tablesaw.api.DateTimeColumn;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.index.LongIndex;
-import tech.tablesaw.selection.Selection;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 
 /**
  * Helper class that is wrapping a normalized sensor result dataset for a single time series dataset.
+ * The time periods and the sensor readings are copied once to primitive arrays. The time windows before the sensor readings are found by a cursor
+ * that advances monotonically when the sensor readings are evaluated in the order of their time periods.
  */
 public class HistoricDataPointTimeSeriesCollector {
-    private final Table timeSeriesData;
-    private final DateTimeColumn timePeriodColumn;
-    private final DoubleColumn actualValueColumn;
     private final TimeSeriesGradient gradient;
     private final ZoneId timeZoneId;
-    private LongIndex timePeriodIndex;
+    private final long[] timePeriodEpochSeconds;
+    private final double[] sensorReadings;
+    private int rowCount;
+    private int windowEndRow;
+    private long windowEndEpochSecond = Long.MIN_VALUE;
+    private boolean lastReadingIsCurrent;
 
     /**
      * Creates a time series historic data point collector, given a table with normalized sensor results for a single time series.
@@ -51,49 +54,187 @@ public class HistoricDataPointTimeSeriesCollector {
     public HistoricDataPointTimeSeriesCollector(Table timeSeriesData,
 												TimeSeriesGradient gradient,
 												ZoneId timeZoneId) {
-        this.timeSeriesData = timeSeriesData;
-		this.timePeriodColumn = (DateTimeColumn) timeSeriesData.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
-		this.actualValueColumn = (DoubleColumn) timeSeriesData.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        this(timeSeriesData, null, gradient, timeZoneId);
+    }
+
+    /**
+     * Creates a time series historic data point collector that combines the current sensor results (captured by the current sensor run)
+     * with the sensor results of the same time series from the past sensor runs. When both tables have a reading for the same time period,
+     * the current reading is used.
+     * @param currentTimeSeriesData Current time series data, sorted ascending by the time period.
+     * @param previousTimeSeriesData Time series data from the past sensor runs, sorted ascending by the time period. May be null.
+     * @param gradient Time series gradient.
+     * @param timeZoneId Time zone of the data source to convert the local time to the absolute instants.
+     */
+    public HistoricDataPointTimeSeriesCollector(Table currentTimeSeriesData,
+                                                Table previousTimeSeriesData,
+                                                TimeSeriesGradient gradient,
+                                                ZoneId timeZoneId) {
+        this(currentTimeSeriesData, previousTimeSeriesData, null, gradient, timeZoneId);
+    }
+
+    /**
+     * Creates a time series historic data point collector that combines the current sensor results (captured by the current sensor run)
+     * with the sensor results of the same time series from the past sensor runs, identified by row offsets in a table with the historic
+     * readings of all time series. The historic readings are read directly from that table, without copying them to a separate table.
+     * When both tables have a reading for the same time period, the current reading is used.
+     * @param currentTimeSeriesData Current time series data, sorted ascending by the time period.
+     * @param previousReadings Table with the sensor results from the past sensor runs. May be null.
+     * @param previousRowOffsets Row offsets of the readings of the time series in the <code>previousReadings</code> table
+     *                           or null to use all rows of the table.
+     * @param gradient Time series gradient.
+     * @param timeZoneId Time zone of the data source to convert the local time to the absolute instants.
+     */
+    public HistoricDataPointTimeSeriesCollector(Table currentTimeSeriesData,
+                                                Table previousReadings,
+                                                int[] previousRowOffsets,
+                                                TimeSeriesGradient gradient,
+                                                ZoneId timeZoneId) {
         this.gradient = gradient;
         this.timeZoneId = timeZoneId;
+        int previousRowCount = previousReadings == null ? 0 :
+                (previousRowOffsets != null ? previousRowOffsets.length : previousReadings.rowCount());
+        int capacity = currentTimeSeriesData.rowCount() + previousRowCount;
+        this.timePeriodEpochSeconds = new long[capacity];
+        this.sensorReadings = new double[capacity];
+
+        DateTimeColumn currentTimePeriodColumn = (DateTimeColumn) currentTimeSeriesData.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        DoubleColumn currentActualValueColumn = (DoubleColumn) currentTimeSeriesData.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        long[] currentEpochSeconds = truncateTimePeriods(currentTimePeriodColumn, null);
+        int[] currentRows = sortRowsByTimePeriod(currentEpochSeconds);
+        if (previousReadings == null) {
+            for (int currentRow : currentRows) {
+                appendReading(currentEpochSeconds[currentRow], currentActualValueColumn.getDouble(currentRow), true);
+            }
+            return;
+        }
+
+        DateTimeColumn previousTimePeriodColumn = (DateTimeColumn) previousReadings.column(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        DoubleColumn previousActualValueColumn = (DoubleColumn) previousReadings.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+        long[] previousEpochSeconds = truncateTimePeriods(previousTimePeriodColumn, previousRowOffsets);
+        int[] previousRows = sortRowsByTimePeriod(previousEpochSeconds);
+        int currentIndex = 0;
+        int previousIndex = 0;
+        while (currentIndex < currentRows.length || previousIndex < previousRows.length) {
+            if (previousIndex == previousRows.length || (currentIndex < currentRows.length &&
+                    currentEpochSeconds[currentRows[currentIndex]] <= previousEpochSeconds[previousRows[previousIndex]])) {
+                int currentRow = currentRows[currentIndex++];
+                appendReading(currentEpochSeconds[currentRow], currentActualValueColumn.getDouble(currentRow), true);
+            }
+            else {
+                int previousRow = previousRows[previousIndex++];
+                int previousTableRow = previousRowOffsets != null ? previousRowOffsets[previousRow] : previousRow;
+                appendReading(previousEpochSeconds[previousRow], previousActualValueColumn.getDouble(previousTableRow), false);
+            }
+        }
     }
 
     /**
-     * Returns an array of historic data points. Data points are ordered by the time period timestamp and are before
-     * the <code>readingTimestamp</code>. The array may contain null entries if there is no value for a past data point.
+     * Returns the row indexes of a time series, sorted by the time period. The order of rows for the same time period is preserved.
+     * @param epochSeconds Truncated time periods of the rows.
+     * @return Sorted row indexes.
+     */
+    private static int[] sortRowsByTimePeriod(long[] epochSeconds) {
+        int[] rowIndexes = new int[epochSeconds.length];
+        boolean sorted = true;
+        for (int rowIndex = 0; rowIndex < epochSeconds.length; rowIndex++) {
+            rowIndexes[rowIndex] = rowIndex;
+            if (rowIndex > 0 && epochSeconds[rowIndex - 1] > epochSeconds[rowIndex]) {
+                sorted = false;
+            }
+        }
+
+        if (!sorted) {
+            IntArrays.mergeSort(rowIndexes, (leftRow, rightRow) -> Long.compare(epochSeconds[leftRow], epochSeconds[rightRow]));
+        }
+
+        return rowIndexes;
+    }
+
+    /**
+     * Appends a sensor reading to the primitive arrays. A reading for the same time period as the last appended reading replaces it,
+     * unless the last reading is a current reading and the new reading is from the past sensor runs.
+     * @param epochSecond Truncated time period as epoch seconds, {@link Long#MIN_VALUE} when the time period is missing.
+     * @param sensorReading Sensor reading.
+     * @param isCurrentReading True when the reading was captured by the current sensor run.
+     */
+    private void appendReading(long epochSecond, double sensorReading, boolean isCurrentReading) {
+        if (epochSecond == Long.MIN_VALUE) {
+            return; // rows without the time period are not part of the time series
+        }
+
+        if (this.rowCount > 0 && this.timePeriodEpochSeconds[this.rowCount - 1] == epochSecond) {
+            if (this.lastReadingIsCurrent && !isCurrentReading) {
+                return;
+            }
+
+            this.sensorReadings[this.rowCount - 1] = sensorReading;
+            this.lastReadingIsCurrent = isCurrentReading;
+            return;
+        }
+
+        this.timePeriodEpochSeconds[this.rowCount] = epochSecond;
+        this.sensorReadings[this.rowCount] = sensorReading;
+        this.lastReadingIsCurrent = isCurrentReading;
+        this.rowCount++;
+    }
+
+    /**
+     * Truncates the time periods to the time series gradient and converts them to the epoch seconds (using the local date time as UTC).
+     * @param timePeriodColumn Time period column.
+     * @param rowOffsets Row offsets of the rows to convert or null to convert all rows of the column.
+     * @return Epoch seconds of the truncated time periods (in the order of the row offsets), {@link Long#MIN_VALUE} for missing time periods.
+     */
+    private long[] truncateTimePeriods(DateTimeColumn timePeriodColumn, int[] rowOffsets) {
+        long[] epochSeconds = new long[rowOffsets != null ? rowOffsets.length : timePeriodColumn.size()];
+        for (int rowIndex = 0; rowIndex < epochSeconds.length; rowIndex++) {
+            LocalDateTime timePeriod = timePeriodColumn.get(rowOffsets != null ? rowOffsets[rowIndex] : rowIndex);
+            epochSeconds[rowIndex] = timePeriod == null ? Long.MIN_VALUE :
+                    LocalDateTimeTruncateUtility.truncateTimePeriod(timePeriod, this.gradient).toEpochSecond(ZoneOffset.UTC);
+        }
+
+        return epochSeconds;
+    }
+
+    /**
+     * Returns a view over the historic data points within <code>timePeriodsCount</code> time periods before the <code>readingTimestamp</code>.
+     * The end of the window is found by a cursor that only moves forward when the reading timestamps are increasing, so evaluating
+     * the readings of a time series in order costs a single pass over the historic readings.
      * @param readingTimestamp Sensor reading data point.
      * @param timePeriodsCount Time periods count to return.
-     * @return An array of time periods within the given range.
+     * @return Historic data points window.
      */
-    public HistoricDataPoint[] getHistoricDataPointsBefore(LocalDateTime readingTimestamp, int timePeriodsCount) {
+    public HistoricDataPointWindow getWindowBefore(LocalDateTime readingTimestamp, int timePeriodsCount) {
         assert timePeriodsCount >= 0;
-        HistoricDataPoint[] historicDataPoints = new HistoricDataPoint[timePeriodsCount];
-        if (timePeriodsCount == 0) {
-            return historicDataPoints;
+        long readingEpochSecond = readingTimestamp.toEpochSecond(ZoneOffset.UTC);
+        if (readingEpochSecond < this.windowEndEpochSecond) {
+            this.windowEndRow = 0; // readings are not evaluated in order, restarting the cursor
         }
-
-        if (this.timePeriodIndex == null) {
-			this.timePeriodIndex = new LongIndex(this.timePeriodColumn);
+        while (this.windowEndRow < this.rowCount && this.timePeriodEpochSeconds[this.windowEndRow] < readingEpochSecond) {
+            this.windowEndRow++;
         }
+        this.windowEndEpochSecond = readingEpochSecond;
 
-        LocalDateTime startTimePeriod = LocalDateTimePeriodUtility.calculateLocalDateTimeMinusTimePeriods(readingTimestamp, timePeriodsCount, this.gradient);
-        Selection readingsSinceStartTime = this.timePeriodIndex.atLeast(startTimePeriod);  // inclusive
-        Selection readingsBeforeReadingTimestamp = this.timePeriodIndex.lessThan(readingTimestamp); // exclusive
-        Selection readingsInRange = readingsSinceStartTime.and(readingsBeforeReadingTimestamp);
-        int[] rowIndexes = readingsInRange.toArray();
-        Arrays.sort(rowIndexes); // just in case...
-
-        for (int rowIndex : rowIndexes) {
-            LocalDateTime rowTimePeriod = this.timePeriodColumn.get(rowIndex);
-            LocalDateTime rowTruncatedTimePeriod = LocalDateTimeTruncateUtility.truncateTimePeriod(rowTimePeriod, this.gradient);
-            Double rowActualValue = this.actualValueColumn.get(rowIndex);
-            int timePeriodsDifference = (int)LocalDateTimePeriodUtility.calculateDifferenceInPeriodsCount(rowTruncatedTimePeriod, readingTimestamp, this.gradient);
-            Instant rowTimePeriodInstant = rowTruncatedTimePeriod.toInstant(this.timeZoneId.getRules().getOffset(rowTruncatedTimePeriod));
-
-            HistoricDataPoint historicDataPoint = new HistoricDataPoint(rowTimePeriodInstant, rowTruncatedTimePeriod, -timePeriodsDifference, rowActualValue);
-            historicDataPoints[timePeriodsCount - timePeriodsDifference] = historicDataPoint;
+        int windowStartRow = this.windowEndRow;
+        if (timePeriodsCount > 0) {
+            long startEpochSecond = LocalDateTimePeriodUtility.calculateLocalDateTimeMinusTimePeriods(readingTimestamp, timePeriodsCount, this.gradient)
+                    .toEpochSecond(ZoneOffset.UTC);
+            int insertionPoint = Arrays.binarySearch(this.timePeriodEpochSeconds, 0, this.windowEndRow, startEpochSecond);
+            windowStartRow = insertionPoint >= 0 ? insertionPoint : -(insertionPoint + 1);
         }
 
-        return historicDataPoints;
+        return new HistoricDataPointWindow(this.timePeriodEpochSeconds, this.sensorReadings, windowStartRow, this.windowEndRow,
+                readingTimestamp, timePeriodsCount, this.gradient, this.timeZoneId);
+    }
+
+    /**
+     * Returns an array of historic data points. Data points are ordered by the time period timestamp and are before
+     * the <code>readingTimestamp</code>. The array may contain null entries if there is no value for a past data point.
+     * @param readingTimestamp Sensor reading data point.
+     * @param timePeriodsCount Time periods count to return.
+     * @return An array of time periods within the given range.
+     */
+    public HistoricDataPoint[] getHistoricDataPointsBefore(LocalDateTime readingTimestamp, int timePeriodsCount) {
+        return getWindowBefore(readingTimestamp, timePeriodsCount).toHistoricDataPoints();
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules;
+
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.utils.datetime.LocalDateTimePeriodUtility;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Read-only view over the historic sensor readings within a time window of a given number of time periods before a sensor reading.
+ * The view references a range of rows in the primitive arrays of a {@link HistoricDataPointTimeSeriesCollector}, the readings are not copied.
+ * {@link HistoricDataPoint} objects are created only when {@link #toHistoricDataPoints()} is called (for rules that are executed in python).
+ */
+public class HistoricDataPointWindow {
+    private final long[] timePeriodEpochSeconds;
+    private final double[] sensorReadings;
+    private final int fromRow;
+    private final int toRow;
+    private final LocalDateTime readingTimestamp;
+    private final int timePeriodsCount;
+    private final TimeSeriesGradient gradient;
+    private final ZoneId timeZoneId;
+
+    /**
+     * Creates a window view.
+     * @param timePeriodEpochSeconds Truncated time periods of the readings (as epoch seconds of the local date time), sorted ascending.
+     * @param sensorReadings Sensor readings, NaN for missing values.
+     * @param fromRow First row in the window (inclusive).
+     * @param toRow Last row in the window (exclusive).
+     * @param readingTimestamp Time period of the sensor reading that is evaluated.
+     * @param timePeriodsCount Number of time periods in the window.
+     * @param gradient Time series gradient.
+     * @param timeZoneId Time zone of the data source to convert the local time to the absolute instants.
+     */
+    public HistoricDataPointWindow(long[] timePeriodEpochSeconds,
+                                   double[] sensorReadings,
+                                   int fromRow,
+                                   int toRow,
+                                   LocalDateTime readingTimestamp,
+                                   int timePeriodsCount,
+                                   TimeSeriesGradient gradient,
+                                   ZoneId timeZoneId) {
+        this.timePeriodEpochSeconds = timePeriodEpochSeconds;
+        this.sensorReadings = sensorReadings;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+        this.readingTimestamp = readingTimestamp;
+        this.timePeriodsCount = timePeriodsCount;
+        this.gradient = gradient;
+        this.timeZoneId = timeZoneId;
+    }
+
+    /**
+     * Returns the number of time periods in the window (the length of the array returned by {@link #toHistoricDataPoints()}).
+     * @return Number of time periods.
+     */
+    public int getTimePeriodsCount() {
+        return timePeriodsCount;
+    }
+
+    /**
+     * Returns the number of time periods within the window that have a historic data point.
+     * @return Number of historic data points.
+     */
+    public int getDataPointsCount() {
+        return this.toRow - this.fromRow;
+    }
+
+    /**
+     * Returns the sensor reading of a historic data point.
+     * @param dataPointIndex Index of the data point, from 0 to {@link #getDataPointsCount()} (exclusive), ordered by the time period.
+     * @return Sensor reading or NaN when the data point has no value.
+     */
+    public double getSensorReading(int dataPointIndex) {
+        assert dataPointIndex >= 0 && dataPointIndex < getDataPointsCount();
+        return this.sensorReadings[this.fromRow + dataPointIndex];
+    }
+
+    /**
+     * Creates an array of historic data points. Data points are ordered by the time period timestamp.
+     * The array contains null entries for the time periods without a historic data point.
+     * @return An array of historic data points with {@link #getTimePeriodsCount()} elements.
+     */
+    public HistoricDataPoint[] toHistoricDataPoints() {
+        HistoricDataPoint[] historicDataPoints = new HistoricDataPoint[this.timePeriodsCount];
+
+        for (int rowIndex = this.fromRow; rowIndex < this.toRow; rowIndex++) {
+            LocalDateTime rowTruncatedTimePeriod = LocalDateTime.ofEpochSecond(this.timePeriodEpochSeconds[rowIndex], 0, ZoneOffset.UTC);
+            double sensorReading = this.sensorReadings[rowIndex];
+            Double rowActualValue = Double.isNaN(sensorReading) ? null : sensorReading;
+            int timePeriodsDifference = (int)LocalDateTimePeriodUtility.calculateDifferenceInPeriodsCount(rowTruncatedTimePeriod, this.readingTimestamp, this.gradient);
+            if (timePeriodsDifference <= 0 || timePeriodsDifference > this.timePeriodsCount) {
+                continue; // the reading timestamp was not truncated, the row is within the same time period
+            }
+            Instant rowTimePeriodInstant = rowTruncatedTimePeriod.toInstant(this.timeZoneId.getRules().getOffset(rowTruncatedTimePeriod));
+
+            HistoricDataPoint historicDataPoint = new HistoricDataPoint(rowTimePeriodInstant, rowTruncatedTimePeriod, -timePeriodsDifference, rowActualValue);
+            historicDataPoints[this.timePeriodsCount - timePeriodsDifference] = historicDataPoint;
+        }
+
+        return historicDataPoints;
+    }
+}
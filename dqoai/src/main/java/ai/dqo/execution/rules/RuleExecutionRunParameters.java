@@ -17,6 +17,7 @@ package ai.dqo.execution.rules;
 
 import ai.dqo.rules.AbstractRuleParametersSpec;
 import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -36,6 +37,9 @@ public class RuleExecutionRunParameters {
     private LocalDateTime timePeriodLocal;
     private HistoricDataPoint[] previousReadings;
     private RuleTimeWindowSettingsSpec timeWindow;
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private HistoricDataPointWindow previousReadingsWindow;
 
     /**
      * Default empty constructor.
@@ -63,6 +67,27 @@ public class RuleExecutionRunParameters {
         this.timeWindow = timeWindow;
     }
 
+    /**
+     * Constructor that fills the actual sensor value and the rule parameters. The previous readings are passed as a view over the historic readings,
+     * the array of {@link HistoricDataPoint} objects is created only when it is requested by {@link #getPreviousReadings()}.
+     * @param actualValue Sensor actual value.
+     * @param parameters Rule parameters.
+     * @param timePeriodLocal Time period of the reading as a local date time.
+     * @param previousReadingsWindow View over the previous sensor readings (could be null).
+     * @param timeWindow Rule threshold time window configuration.
+     */
+    public RuleExecutionRunParameters(Double actualValue,
+                                      AbstractRuleParametersSpec parameters,
+                                      LocalDateTime timePeriodLocal,
+                                      HistoricDataPointWindow previousReadingsWindow,
+                                      RuleTimeWindowSettingsSpec timeWindow) {
+        this.actualValue = actualValue;
+        this.parameters = parameters;
+        this.timePeriodLocal = timePeriodLocal;
+        this.previousReadingsWindow = previousReadingsWindow;
+        this.timeWindow = timeWindow;
+    }
+
     /**
      * Actual sensor value that was returned by a sensor.
      * @return Sensor value.
@@ -116,6 +141,10 @@ public class RuleExecutionRunParameters {
      * @return Previous readings.
      */
     public HistoricDataPoint[] getPreviousReadings() {
+        if (this.previousReadings == null && this.previousReadingsWindow != null) {
+            this.previousReadings = this.previousReadingsWindow.toHistoricDataPoints();
+        }
+
         return previousReadings;
     }
 
@@ -125,6 +154,16 @@ public class RuleExecutionRunParameters {
      */
     public void setPreviousReadings(HistoricDataPoint[] previousReadings) {
         this.previousReadings = previousReadings;
+        this.previousReadingsWindow = null;
+    }
+
+    /**
+     * Returns the view over the historic sensor readings that rules implemented in Java may read without creating the {@link HistoricDataPoint} objects.
+     * @return View over the previous readings or null when the previous readings were given as an array.
+     */
+    @JsonIgnore
+    public HistoricDataPointWindow getPreviousReadingsWindow() {
+        return previousReadingsWindow;
     }
 
     /**
@@ -20,6 +20,9 @@ import ai.dqo.execution.rules.RuleExecutionResult;
 import ai.dqo.execution.rules.RuleExecutionRunParameters;
 import ai.dqo.execution.rules.finder.RuleDefinitionFindResult;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstract base class for rule runners that are evaluating rules to detect if a sensor value is valid or an alert should be raised.
  */
@@ -34,4 +37,22 @@ public abstract class AbstractRuleRunner {
     public abstract RuleExecutionResult executeRule(CheckExecutionContext checkExecutionContext,
                                            RuleExecutionRunParameters ruleRunParameters,
                                            RuleDefinitionFindResult ruleDefinitionFindResult);
+
+    /**
+     * Executes a rule for a batch of values (all readings of a time series, with all severity levels) and checks if they are valid.
+     * The default implementation evaluates the values one by one, rule runners that have a high per call overhead should override it.
+     * @param checkExecutionContext Check execution context with access to the DQO_HOME and user home.
+     * @param ruleRunParametersBatch List of rule run parameters, all for the same rule.
+     * @param ruleDefinitionFindResult Rule definition find result to identity a rule (like a python module) that will be executed.
+     * @return List of rule evaluation results, in the same order as the rule run parameters.
+     */
+    public List<RuleExecutionResult> executeRules(CheckExecutionContext checkExecutionContext,
+                                                  List<RuleExecutionRunParameters> ruleRunParametersBatch,
+                                                  RuleDefinitionFindResult ruleDefinitionFindResult) {
+        List<RuleExecutionResult> results = new ArrayList<>(ruleRunParametersBatch.size());
+        for (RuleExecutionRunParameters ruleRunParameters : ruleRunParametersBatch) {
+            results.add(executeRule(checkExecutionContext, ruleRunParameters, ruleDefinitionFindResult));
+        }
+        return results;
+    }
 }
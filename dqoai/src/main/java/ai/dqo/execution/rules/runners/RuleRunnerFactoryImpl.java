@@ -21,6 +21,9 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Rule runner factory.
  */
@@ -28,6 +31,7 @@ import org.springframework.stereotype.Component;
 public class RuleRunnerFactoryImpl implements RuleRunnerFactory {
     private final BeanFactory beanFactory;
     private final PythonRuleRunner pythonRuleRunner;
+    private final Map<String, AbstractRuleRunner> customRuleRunners = new ConcurrentHashMap<>();
 
     /**
      * Creates a sensor runner factory.
@@ -51,7 +55,7 @@ public class RuleRunnerFactoryImpl implements RuleRunnerFactory {
             case python:
                 return this.pythonRuleRunner;
             case custom_class:
-                return createCustomRuleRunnerByJavaClass(ruleRunnerClassName);
+                return this.customRuleRunners.computeIfAbsent(ruleRunnerClassName, this::createCustomRuleRunnerByJavaClass);
             default:
                 throw new IllegalArgumentException("Unsupported rule runner type: " + ruleRunnerType);
         }
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+/**
+ * Helper methods shared by the native implementations of built-in rules.
+ */
+public final class BuiltInRuleParameters {
+    /**
+     * Marker value used by the rule parameter specifications for optional thresholds that were not configured.
+     */
+    public static final double NOT_CONFIGURED = -123456.0;
+
+    private BuiltInRuleParameters() {
+    }
+
+    /**
+     * Checks if an optional rule parameter was configured.
+     * @param parameterValue Parameter value.
+     * @return True when the parameter has a value that is not the {@link #NOT_CONFIGURED} marker.
+     */
+    public static boolean isConfigured(Double parameterValue) {
+        return parameterValue != null && parameterValue != NOT_CONFIGURED;
+    }
+
+    /**
+     * Checks if the actual value is within the optional bounds (inclusive). A comparison with a NaN bound fails, like in the python rules.
+     * @param actualValue Actual value returned by a sensor.
+     * @param lowerBound Optional lower bound, null when not configured.
+     * @param upperBound Optional upper bound, null when not configured.
+     * @return True when the value is within the bounds.
+     */
+    public static boolean isWithinBounds(Double actualValue, Double lowerBound, Double upperBound) {
+        if (actualValue == null) {
+            return false;
+        }
+
+        if (lowerBound != null && !(lowerBound <= actualValue)) {
+            return false;
+        }
+
+        return upperBound == null || upperBound >= actualValue;
+    }
+}
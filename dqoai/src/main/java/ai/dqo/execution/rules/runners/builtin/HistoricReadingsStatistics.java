@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.HistoricDataPointWindow;
+import ai.dqo.execution.rules.RuleExecutionRunParameters;
+
+/**
+ * Statistics (count, mean, sample standard deviation) of the previous sensor readings passed to a rule. Missing readings (time periods
+ * without a sensor reading) are skipped. The statistics are calculated in a single pass using the Welford's online algorithm.
+ */
+public final class HistoricReadingsStatistics {
+    private final int count;
+    private final double mean;
+    private final double sampleStandardDeviation;
+
+    /**
+     * Creates a statistics object.
+     * @param count Number of readings.
+     * @param mean Mean of readings.
+     * @param sampleStandardDeviation Sample standard deviation (with one degree of freedom).
+     */
+    public HistoricReadingsStatistics(int count, double mean, double sampleStandardDeviation) {
+        this.count = count;
+        this.mean = mean;
+        this.sampleStandardDeviation = sampleStandardDeviation;
+    }
+
+    /**
+     * Calculates the statistics of the previous readings passed to a rule. Reads the view over the previous readings when it is present,
+     * without creating the array of historic data points.
+     * @param ruleRunParameters Rule run parameters.
+     * @return Statistics of the previous readings.
+     */
+    public static HistoricReadingsStatistics calculate(RuleExecutionRunParameters ruleRunParameters) {
+        HistoricDataPointWindow previousReadingsWindow = ruleRunParameters.getPreviousReadingsWindow();
+        if (previousReadingsWindow == null) {
+            return calculate(ruleRunParameters.getPreviousReadings());
+        }
+
+        int count = 0;
+        double mean = 0.0;
+        double sumOfSquaredDifferences = 0.0;
+        int dataPointsCount = previousReadingsWindow.getDataPointsCount();
+        for (int i = 0; i < dataPointsCount; i++) {
+            double value = previousReadingsWindow.getSensorReading(i);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            sumOfSquaredDifferences += delta * (value - mean);
+        }
+
+        return fromSums(count, mean, sumOfSquaredDifferences);
+    }
+
+    /**
+     * Calculates the statistics of the previous readings.
+     * @param previousReadings Array of previous readings, may contain nulls for time periods without readings. The array may be null.
+     * @return Statistics of the previous readings. The mean is NaN when there are no readings, the standard deviation is NaN when there are less than two readings.
+     */
+    public static HistoricReadingsStatistics calculate(HistoricDataPoint[] previousReadings) {
+        int count = 0;
+        double mean = 0.0;
+        double sumOfSquaredDifferences = 0.0;
+
+        if (previousReadings != null) {
+            for (HistoricDataPoint dataPoint : previousReadings) {
+                if (dataPoint == null || dataPoint.getSensorReading() == null) {
+                    continue;
+                }
+
+                double value = dataPoint.getSensorReading();
+                count++;
+                double delta = value - mean;
+                mean += delta / count;
+                sumOfSquaredDifferences += delta * (value - mean);
+            }
+        }
+
+        return fromSums(count, mean, sumOfSquaredDifferences);
+    }
+
+    /**
+     * Creates the statistics object from the results of the Welford's algorithm.
+     * @param count Number of readings.
+     * @param mean Mean of readings.
+     * @param sumOfSquaredDifferences Sum of squared differences from the mean.
+     * @return Statistics of the readings.
+     */
+    private static HistoricReadingsStatistics fromSums(int count, double mean, double sumOfSquaredDifferences) {
+        if (count == 0) {
+            return new HistoricReadingsStatistics(0, Double.NaN, Double.NaN);
+        }
+
+        double sampleStandardDeviation = count > 1 ? Math.sqrt(sumOfSquaredDifferences / (count - 1)) : Double.NaN;
+        return new HistoricReadingsStatistics(count, mean, sampleStandardDeviation);
+    }
+
+    /**
+     * Returns the number of previous readings that were present.
+     * @return Count of readings.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean (average) of the previous readings.
+     * @return Mean of readings or NaN when there were no readings.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the sample standard deviation of the previous readings (with one degree of freedom, like scipy.stats.tstd).
+     * @return Sample standard deviation or NaN when there were less than two readings.
+     */
+    public double getSampleStandardDeviation() {
+        return sampleStandardDeviation;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.RuleExecutionRunParameters;
+import ai.dqo.execution.rules.finder.RuleDefinitionFindResult;
+import ai.dqo.execution.rules.runners.AbstractRuleRunner;
+import ai.dqo.rules.comparison.MinValueRuleParametersSpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Native Java implementation of the built-in comparison/min_value rule. The actual value must be greater or equal to the min_value.
+ * Evaluates the rule in process, without calling the python rule module.
+ */
+@Component
+public class MinValueRuleRunner extends AbstractRuleRunner {
+    /**
+     * Rule runner class name.
+     */
+    public static final String CLASS_NAME = MinValueRuleRunner.class.getName();
+
+    /**
+     * Executes a rule that evaluates a value and checks if it is valid.
+     * @param checkExecutionContext Check execution context with access to the DQO_HOME and user home.
+     * @param ruleRunParameters Rule run parameters with the values to be sent to the rule as parameters.
+     * @param ruleDefinitionFindResult Rule definition find result to identity a rule (like a python module) that will be executed.
+     * @return Rule evaluation result.
+     */
+    @Override
+    public RuleExecutionResult executeRule(CheckExecutionContext checkExecutionContext,
+                                           RuleExecutionRunParameters ruleRunParameters,
+                                           RuleDefinitionFindResult ruleDefinitionFindResult) {
+        MinValueRuleParametersSpec parameters = (MinValueRuleParametersSpec) ruleRunParameters.getParameters();
+        Double actualValue = ruleRunParameters.getActualValue();
+
+        RuleExecutionResult result = new RuleExecutionResult();
+        result.setPassed(actualValue != null && actualValue >= parameters.getMinValue());
+        result.setExpectedValue(parameters.getMinValue());
+        result.setLowerBound(parameters.getMinValue());
+        return result;
+    }
+}
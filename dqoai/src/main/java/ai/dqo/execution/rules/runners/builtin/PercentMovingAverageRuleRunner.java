@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.RuleExecutionRunParameters;
+import ai.dqo.execution.rules.finder.RuleDefinitionFindResult;
+import ai.dqo.execution.rules.runners.AbstractRuleRunner;
+import ai.dqo.rules.averages.PercentMovingAverageRuleParametersSpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Native Java implementation of the built-in averages/percent_moving_average rule. The actual value must be within a percentage
+ * range (max_percent_above, max_percent_below) around the average of the previous readings in the time window.
+ * Evaluates the rule in process, without calling the python rule module.
+ */
+@Component
+public class PercentMovingAverageRuleRunner extends AbstractRuleRunner {
+    /**
+     * Rule runner class name.
+     */
+    public static final String CLASS_NAME = PercentMovingAverageRuleRunner.class.getName();
+
+    /**
+     * Executes a rule that evaluates a value and checks if it is valid.
+     * @param checkExecutionContext Check execution context with access to the DQO_HOME and user home.
+     * @param ruleRunParameters Rule run parameters with the values to be sent to the rule as parameters.
+     * @param ruleDefinitionFindResult Rule definition find result to identity a rule (like a python module) that will be executed.
+     * @return Rule evaluation result.
+     */
+    @Override
+    public RuleExecutionResult executeRule(CheckExecutionContext checkExecutionContext,
+                                           RuleExecutionRunParameters ruleRunParameters,
+                                           RuleDefinitionFindResult ruleDefinitionFindResult) {
+        PercentMovingAverageRuleParametersSpec parameters = (PercentMovingAverageRuleParametersSpec) ruleRunParameters.getParameters();
+        HistoricReadingsStatistics statistics = HistoricReadingsStatistics.calculate(ruleRunParameters);
+        double mean = statistics.getMean();
+
+        Double maxPercentAbove = parameters.getMaxPercentAbove();
+        Double upperBound = BuiltInRuleParameters.isConfigured(maxPercentAbove) ? mean * (1.0 + maxPercentAbove / 100.0) : null;
+        Double maxPercentBelow = parameters.getMaxPercentBelow();
+        Double lowerBound = BuiltInRuleParameters.isConfigured(maxPercentBelow) ? mean * (1.0 - maxPercentBelow / 100.0) : null;
+
+        RuleExecutionResult result = new RuleExecutionResult();
+        result.setPassed(BuiltInRuleParameters.isWithinBounds(ruleRunParameters.getActualValue(), lowerBound, upperBound));
+        result.setExpectedValue(mean);
+        result.setLowerBound(lowerBound);
+        result.setUpperBound(upperBound);
+        return result;
+    }
+}
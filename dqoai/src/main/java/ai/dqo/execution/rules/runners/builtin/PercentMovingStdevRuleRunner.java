@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.RuleExecutionRunParameters;
+import ai.dqo.execution.rules.finder.RuleDefinitionFindResult;
+import ai.dqo.execution.rules.runners.AbstractRuleRunner;
+import ai.dqo.rules.stdev.PercentMovingStdevRuleParametersSpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Native Java implementation of the built-in stdev/percent_moving_stdev rule. The actual value must be within a range
+ * of multiples of the sample standard deviation (multiple_stdev_above, multiple_stdev_below) around the average of the previous readings in the time window.
+ * Evaluates the rule in process, without calling the python rule module.
+ */
+@Component
+public class PercentMovingStdevRuleRunner extends AbstractRuleRunner {
+    /**
+     * Rule runner class name.
+     */
+    public static final String CLASS_NAME = PercentMovingStdevRuleRunner.class.getName();
+
+    /**
+     * Executes a rule that evaluates a value and checks if it is valid.
+     * @param checkExecutionContext Check execution context with access to the DQO_HOME and user home.
+     * @param ruleRunParameters Rule run parameters with the values to be sent to the rule as parameters.
+     * @param ruleDefinitionFindResult Rule definition find result to identity a rule (like a python module) that will be executed.
+     * @return Rule evaluation result.
+     */
+    @Override
+    public RuleExecutionResult executeRule(CheckExecutionContext checkExecutionContext,
+                                           RuleExecutionRunParameters ruleRunParameters,
+                                           RuleDefinitionFindResult ruleDefinitionFindResult) {
+        PercentMovingStdevRuleParametersSpec parameters = (PercentMovingStdevRuleParametersSpec) ruleRunParameters.getParameters();
+        HistoricReadingsStatistics statistics = HistoricReadingsStatistics.calculate(ruleRunParameters);
+        double mean = statistics.getMean();
+        double standardDeviation = statistics.getSampleStandardDeviation();
+
+        Double multipleStdevAbove = parameters.getMultipleStdevAbove();
+        Double upperBound = BuiltInRuleParameters.isConfigured(multipleStdevAbove) ? mean + multipleStdevAbove * standardDeviation : null;
+        Double multipleStdevBelow = parameters.getMultipleStdevBelow();
+        Double lowerBound = BuiltInRuleParameters.isConfigured(multipleStdevBelow) ? mean - multipleStdevBelow * standardDeviation : null;
+
+        RuleExecutionResult result = new RuleExecutionResult();
+        result.setPassed(BuiltInRuleParameters.isWithinBounds(ruleRunParameters.getActualValue(), lowerBound, upperBound));
+        result.setExpectedValue(mean);
+        result.setLowerBound(lowerBound);
+        result.setUpperBound(upperBound);
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.python;
+
+import ai.dqo.execution.rules.RuleExecutionResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Schema for the json object that is returned from the python rule evaluation module for a batch of rule parameters
+ * that were evaluated in one call.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@EqualsAndHashCode(callSuper = false)
+public class PythonRuleBatchCallOutput {
+    private List<RuleExecutionResult> results;
+    private String error;
+
+    /**
+     * Result objects returned from the python rule, in the same order as the rule parameters in the batch.
+     * @return List of rule execution results.
+     */
+    public List<RuleExecutionResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Sets the list of rule execution results.
+     * @param results Rule execution results.
+     */
+    public void setResults(List<RuleExecutionResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Returns the error (and the call stack) from the python rule if the rule evaluation failed and an exception was raised.
+     * The error is null when the rules were evaluated correctly.
+     * @return Error text or null when the rules were evaluated successfully.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Sets the error message.
+     * @param error Error message.
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.EqualsAndHashCode;
 
+import java.util.List;
+
 /**
  * Object passed to the python rule evaluation module. Specifies the path to the python file with the rule implementation and the parameters.
  */
@@ -30,6 +32,7 @@ import lombok.EqualsAndHashCode;
 public class PythonRuleCallInput {
     private String ruleModulePath;
     private RuleExecutionRunParameters ruleParameters;
+    private List<RuleExecutionRunParameters> ruleParametersBatch;
 
     /**
      * Returns the path to a rule module (python file).
@@ -62,4 +65,20 @@ public class PythonRuleCallInput {
     public void setRuleParameters(RuleExecutionRunParameters ruleParameters) {
         this.ruleParameters = ruleParameters;
     }
+
+    /**
+     * Returns a batch of rule parameters that are evaluated in one call. The batch is used instead of {@link #getRuleParameters()}.
+     * @return List of rule parameters to evaluate.
+     */
+    public List<RuleExecutionRunParameters> getRuleParametersBatch() {
+        return ruleParametersBatch;
+    }
+
+    /**
+     * Sets a batch of rule parameters that are evaluated in one call.
+     * @param ruleParametersBatch List of rule parameters to evaluate.
+     */
+    public void setRuleParametersBatch(List<RuleExecutionRunParameters> ruleParametersBatch) {
+        this.ruleParametersBatch = ruleParametersBatch;
+    }
 }
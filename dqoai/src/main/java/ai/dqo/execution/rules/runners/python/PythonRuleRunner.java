@@ -28,6 +28,8 @@ import ai.dqo.utils.python.PythonExecutionException;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Rule evaluation runner that calls a python function.
@@ -69,12 +71,10 @@ public class PythonRuleRunner extends AbstractRuleRunner {
 										   RuleExecutionRunParameters ruleRunParameters,
 										   RuleDefinitionFindResult ruleDefinitionFindResult) {
         String evaluateRulesModule = this.configurationProperties.getPython().getEvaluateRulesModule();
-        HomeFilePath ruleHomeRelativePath = ruleDefinitionFindResult.getRulePythonFilePath();
+        String absolutePathToPythonRule = getAbsolutePathToPythonRule(ruleDefinitionFindResult);
 
         PythonRuleCallInput ruleInput = new PythonRuleCallInput();
         ruleInput.setRuleParameters(ruleRunParameters);
-        String pathToHome = this.homeLocationFindService.getHomePath(ruleDefinitionFindResult.getHome());
-        String absolutePathToPythonRule = Path.of(pathToHome).resolve(ruleHomeRelativePath.toRelativePath()).toAbsolutePath().toString();
         ruleInput.setRuleModulePath(absolutePathToPythonRule);
 
         PythonRuleCallOutput output = this.pythonCallerService.executePythonHomeScript(ruleInput, evaluateRulesModule, PythonRuleCallOutput.class);
@@ -84,4 +84,53 @@ public class PythonRuleRunner extends AbstractRuleRunner {
         }
         return output.getResult();
     }
+
+    /**
+     * Executes a rule for a batch of values. All rule parameters are sent to the python rule evaluation module in one message.
+     * The rule module can implement a vectorized <code>evaluate_rules(batch)</code> function, otherwise <code>evaluate_rule</code> is called for each element.
+     *
+     * @param checkExecutionContext    Check execution context with access to the DQO_HOME and user home.
+     * @param ruleRunParametersBatch   List of rule run parameters, all for the same rule.
+     * @param ruleDefinitionFindResult Rule definition find result to identity a rule (like a python module) that will be executed.
+     * @return List of rule evaluation results, in the same order as the rule run parameters.
+     */
+    @Override
+    public List<RuleExecutionResult> executeRules(CheckExecutionContext checkExecutionContext,
+                                                  List<RuleExecutionRunParameters> ruleRunParametersBatch,
+                                                  RuleDefinitionFindResult ruleDefinitionFindResult) {
+        if (ruleRunParametersBatch.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String evaluateRulesModule = this.configurationProperties.getPython().getEvaluateRulesModule();
+        String absolutePathToPythonRule = getAbsolutePathToPythonRule(ruleDefinitionFindResult);
+
+        PythonRuleCallInput ruleInput = new PythonRuleCallInput();
+        ruleInput.setRuleParametersBatch(ruleRunParametersBatch);
+        ruleInput.setRuleModulePath(absolutePathToPythonRule);
+
+        PythonRuleBatchCallOutput output = this.pythonCallerService.executePythonHomeScript(ruleInput, evaluateRulesModule, PythonRuleBatchCallOutput.class);
+
+        if (output.getError() != null) {
+            throw new PythonExecutionException("Data quality rule " + absolutePathToPythonRule + " failed to execute, error: " + output.getError());
+        }
+
+        if (output.getResults() == null || output.getResults().size() != ruleRunParametersBatch.size()) {
+            throw new PythonExecutionException("Data quality rule " + absolutePathToPythonRule + " returned " +
+                    (output.getResults() != null ? output.getResults().size() : 0) + " results for " + ruleRunParametersBatch.size() + " rule parameters");
+        }
+
+        return output.getResults();
+    }
+
+    /**
+     * Returns an absolute path to the python module of the rule.
+     * @param ruleDefinitionFindResult Rule definition find result.
+     * @return Absolute path to the rule module.
+     */
+    protected String getAbsolutePathToPythonRule(RuleDefinitionFindResult ruleDefinitionFindResult) {
+        HomeFilePath ruleHomeRelativePath = ruleDefinitionFindResult.getRulePythonFilePath();
+        String pathToHome = this.homeLocationFindService.getHomePath(ruleDefinitionFindResult.getHome());
+        return Path.of(pathToHome).resolve(ruleHomeRelativePath.toRelativePath()).toAbsolutePath().toString();
+    }
 }
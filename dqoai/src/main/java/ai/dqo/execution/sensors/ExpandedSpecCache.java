@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sensors;
+
+import ai.dqo.core.secrets.SecretValueProvider;
+import ai.dqo.metadata.sources.ColumnSpec;
+import ai.dqo.metadata.sources.ConnectionSpec;
+import ai.dqo.metadata.sources.TableSpec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the expanded and trimmed connection, table and column specifications, used while the checks on one table are executed.
+ * Every specification is expanded (cloned with parameters expanded) once and the expanded copy is shared by the sensor run parameters
+ * of all checks, so a table with many columns is not cloned again for every check. The expanded columns of the table are reused for column checks.
+ * The shared specifications must not be modified. The cache is not thread safe, it is used by the thread that executes the checks on the table.
+ * The cache also gathers allocation metrics: the number of expanded and reused specifications and the bytes allocated by the expansions.
+ */
+public class ExpandedSpecCache {
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private ConnectionSpec sourceConnection;
+    private ConnectionSpec expandedConnection;
+    private TableSpec sourceTable;
+    private TableSpec expandedTable;
+    private final Map<ColumnSpec, ColumnSpec> expandedColumns = new IdentityHashMap<>();
+    private int expandedSpecsCount;
+    private int reusedSpecsCount;
+    private long expansionAllocatedBytes;
+    private long estimatedSavedBytes;
+    private long connectionExpansionAllocatedBytes;
+    private long tableExpansionAllocatedBytes;
+
+    /**
+     * Returns an expanded and trimmed copy of a connection specification. The connection is expanded only once.
+     * @param connection Source connection specification.
+     * @param secretValueProvider Secret value provider used to expand the parameters.
+     * @return Expanded connection specification shared by all checks.
+     */
+    public ConnectionSpec expandConnection(ConnectionSpec connection, SecretValueProvider secretValueProvider) {
+        if (connection == this.sourceConnection) {
+            this.reusedSpecsCount++;
+            this.estimatedSavedBytes += this.connectionExpansionAllocatedBytes;
+            return this.expandedConnection;
+        }
+
+        long allocatedBytesBefore = readCurrentThreadAllocatedBytes();
+        this.expandedConnection = connection.expandAndTrim(secretValueProvider);
+        this.sourceConnection = connection;
+        this.connectionExpansionAllocatedBytes = recordExpansion(allocatedBytesBefore);
+        return this.expandedConnection;
+    }
+
+    /**
+     * Returns an expanded and trimmed copy of a table specification. The table (with all its columns) is expanded only once.
+     * @param table Source table specification.
+     * @param secretValueProvider Secret value provider used to expand the parameters.
+     * @return Expanded table specification shared by all checks.
+     */
+    public TableSpec expandTable(TableSpec table, SecretValueProvider secretValueProvider) {
+        if (table == this.sourceTable) {
+            this.reusedSpecsCount++;
+            this.estimatedSavedBytes += this.tableExpansionAllocatedBytes;
+            return this.expandedTable;
+        }
+
+        long allocatedBytesBefore = readCurrentThreadAllocatedBytes();
+        this.expandedTable = table.expandAndTrim(secretValueProvider);
+        this.sourceTable = table;
+        this.expandedColumns.clear();
+        for (Map.Entry<String, ColumnSpec> columnEntry : table.getColumns().entrySet()) {
+            ColumnSpec expandedColumn = this.expandedTable.getColumns().get(columnEntry.getKey());
+            if (expandedColumn != null) {
+                this.expandedColumns.put(columnEntry.getValue(), expandedColumn);
+            }
+        }
+        this.tableExpansionAllocatedBytes = recordExpansion(allocatedBytesBefore);
+        return this.expandedTable;
+    }
+
+    /**
+     * Returns an expanded and trimmed copy of a column specification. Columns of the last expanded table are not expanded again,
+     * the copy from the expanded table is returned. Other columns are expanded once.
+     * @param column Source column specification.
+     * @param secretValueProvider Secret value provider used to expand the parameters.
+     * @return Expanded column specification shared by all checks.
+     */
+    public ColumnSpec expandColumn(ColumnSpec column, SecretValueProvider secretValueProvider) {
+        ColumnSpec expandedColumn = this.expandedColumns.get(column);
+        if (expandedColumn != null) {
+            this.reusedSpecsCount++;
+            return expandedColumn;
+        }
+
+        long allocatedBytesBefore = readCurrentThreadAllocatedBytes();
+        expandedColumn = column.expandAndTrim(secretValueProvider);
+        this.expandedColumns.put(column, expandedColumn);
+        recordExpansion(allocatedBytesBefore);
+        return expandedColumn;
+    }
+
+    /**
+     * Returns the number of specifications (connection, table, column) that were expanded.
+     * @return Number of expanded specifications.
+     */
+    public int getExpandedSpecsCount() {
+        return expandedSpecsCount;
+    }
+
+    /**
+     * Returns the number of times when an already expanded specification was reused instead of expanding it again.
+     * @return Number of reused specifications.
+     */
+    public int getReusedSpecsCount() {
+        return reusedSpecsCount;
+    }
+
+    /**
+     * Returns the number of bytes allocated on the heap by the expansions of specifications. The value is 0 when the JVM does not support
+     * measuring the memory allocated by a thread.
+     * @return Bytes allocated by the expansions.
+     */
+    public long getExpansionAllocatedBytes() {
+        return expansionAllocatedBytes;
+    }
+
+    /**
+     * Returns an estimate of the bytes that were not allocated because the expanded connection and table specifications were reused.
+     * Each reuse is counted with the allocation of the last expansion of the same connection or table. Reused columns of the expanded table
+     * are not included, because they were allocated when the table was expanded.
+     * @return Estimated bytes saved by reusing the expanded specifications.
+     */
+    public long getEstimatedSavedBytes() {
+        return estimatedSavedBytes;
+    }
+
+    /**
+     * Records an expansion in the allocation metrics.
+     * @param allocatedBytesBefore Bytes allocated by the current thread before the expansion, negative when not supported.
+     * @return Bytes allocated by the expansion or 0 when not supported.
+     */
+    private long recordExpansion(long allocatedBytesBefore) {
+        this.expandedSpecsCount++;
+        if (allocatedBytesBefore < 0L) {
+            return 0L;
+        }
+
+        long allocatedBytes = Math.max(readCurrentThreadAllocatedBytes() - allocatedBytesBefore, 0L);
+        this.expansionAllocatedBytes += allocatedBytes;
+        return allocatedBytes;
+    }
+
+    /**
+     * Reads the total number of bytes allocated on the heap by the current thread.
+     * @return Allocated bytes or -1 when the JVM does not support measuring the allocated memory.
+     */
+    private static long readCurrentThreadAllocatedBytes() {
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (hotspotThreadMXBean.isThreadAllocatedMemorySupported() && hotspotThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return hotspotThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+
+        return -1L;
+    }
+}
@@ -40,4 +40,22 @@ public interface SensorExecutionRunParametersFactory {
                                                         ColumnSpec column,
                                                         AbstractCheckSpec check,
                                                         ProviderDialectSettings dialectSettings);
+
+    /**
+     * Creates a sensor parameters object, reusing the connection, table and column specifications that were already expanded
+     * for other checks on the same table. The expanded specifications are shared and must not be modified.
+     * @param connection Connection specification.
+     * @param table Table specification.
+     * @param column Optional column specification for column sensors.
+     * @param check Check specification.
+     * @param dialectSettings Dialect settings.
+     * @param expandedSpecCache Cache of expanded specifications, shared by all checks executed on the table.
+     * @return Sensor execution run parameters.
+     */
+    SensorExecutionRunParameters createSensorParameters(ConnectionSpec connection,
+                                                        TableSpec table,
+                                                        ColumnSpec column,
+                                                        AbstractCheckSpec check,
+                                                        ProviderDialectSettings dialectSettings,
+                                                        ExpandedSpecCache expandedSpecCache);
 }
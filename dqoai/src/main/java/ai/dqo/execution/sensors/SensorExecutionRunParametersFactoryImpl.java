@@ -60,9 +60,30 @@ public class SensorExecutionRunParametersFactoryImpl implements SensorExecutionR
 															   ColumnSpec column,
 															   AbstractCheckSpec check,
 															   ProviderDialectSettings dialectSettings) {
-        ConnectionSpec expandedConnection = connection.expandAndTrim(this.secretValueProvider);
-        TableSpec expandedTable = table.expandAndTrim(this.secretValueProvider);
-        ColumnSpec expandedColumn = column != null ? column.expandAndTrim(this.secretValueProvider) : null;
+        return createSensorParameters(connection, table, column, check, dialectSettings, new ExpandedSpecCache());
+    }
+
+    /**
+     * Creates a sensor parameters object, reusing the connection, table and column specifications that were already expanded
+     * for other checks on the same table. The expanded specifications are shared and must not be modified.
+     * @param connection Connection specification.
+     * @param table Table specification.
+     * @param column Optional column specification for column sensors.
+     * @param check Check specification.
+     * @param dialectSettings Dialect settings.
+     * @param expandedSpecCache Cache of expanded specifications, shared by all checks executed on the table.
+     * @return Sensor execution run parameters.
+     */
+    @Override
+    public SensorExecutionRunParameters createSensorParameters(ConnectionSpec connection,
+                                                               TableSpec table,
+                                                               ColumnSpec column,
+                                                               AbstractCheckSpec check,
+                                                               ProviderDialectSettings dialectSettings,
+                                                               ExpandedSpecCache expandedSpecCache) {
+        ConnectionSpec expandedConnection = expandedSpecCache.expandConnection(connection, this.secretValueProvider);
+        TableSpec expandedTable = expandedSpecCache.expandTable(table, this.secretValueProvider);
+        ColumnSpec expandedColumn = column != null ? expandedSpecCache.expandColumn(column, this.secretValueProvider) : null;
         HierarchyId checkHierarchyId = check.getHierarchyId();
         AbstractSensorParametersSpec sensorParameters = check.getSensorParameters().expandAndTrim(this.secretValueProvider);
         AbstractCheckSpec expandedCheck = check.expandAndTrim(this.secretValueProvider);
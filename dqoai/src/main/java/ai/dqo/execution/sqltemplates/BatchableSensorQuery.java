@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates;
+
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+/**
+ * Rendered sensor query that could be merged with other sensor queries on the same table. A batchable query has the form
+ * <code>SELECT &lt;value expression&gt; AS actual_value &lt;query tail&gt;</code>, where the query tail contains the dimension
+ * and time period projections, the FROM clause, the filters and the grouping. Sensor queries with an identical query tail
+ * scan the same rows with the same grouping, so their value expressions are calculated in one query, each as an actual_value_N column.
+ */
+public final class BatchableSensorQuery {
+    private final String valueExpression;
+    private final String queryTail;
+
+    /**
+     * Creates a batchable sensor query.
+     * @param valueExpression Expression that calculates the actual value.
+     * @param queryTail The remaining part of the query after the actual_value alias.
+     */
+    public BatchableSensorQuery(String valueExpression, String queryTail) {
+        this.valueExpression = valueExpression;
+        this.queryTail = queryTail;
+    }
+
+    /**
+     * Returns the expression that calculates the actual value (the first projection of the query).
+     * @return Actual value expression.
+     */
+    public String getValueExpression() {
+        return valueExpression;
+    }
+
+    /**
+     * Returns the remaining part of the query after the actual_value alias: the dimension and time period projections,
+     * the FROM clause, filters, grouping and ordering. Only queries with identical query tails are merged.
+     * @return Query tail.
+     */
+    public String getQueryTail() {
+        return queryTail;
+    }
+
+    /**
+     * Parses a rendered sensor query. Returns null when the query does not follow the simple
+     * <code>SELECT &lt;expression&gt; AS actual_value ...</code> pattern (CTEs, DISTINCT queries, unions,
+     * queries with an expected_value column or comments) and must be executed as a standalone query.
+     * @param renderedSql Rendered sensor query.
+     * @return Parsed query or null when the query cannot be merged with other queries.
+     */
+    public static BatchableSensorQuery parse(String renderedSql) {
+        if (renderedSql == null) {
+            return null;
+        }
+
+        String sql = renderedSql.trim();
+        if (!isKeywordAt(sql, 0, "SELECT") ||
+                StringUtils.containsIgnoreCase(sql, SensorNormalizedResult.EXPECTED_VALUE_COLUMN_NAME)) {
+            return null;
+        }
+
+        int valueExpressionStart = "SELECT".length();
+        int aliasStart = -1;
+        int aliasEnd = -1;
+        int depth = 0;
+
+        for (int i = valueExpressionStart; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = findClosingQuote(sql, i);
+                if (i < 0) {
+                    return null; // unterminated literal
+                }
+                continue;
+            }
+
+            if ((c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') ||
+                    (c == '/' && i + 1 < sql.length() && sql.charAt(i + 1) == '*')) {
+                return null; // comments could hide the parts of the query, we do not batch them
+            }
+
+            if (c == '(') {
+                depth++;
+                continue;
+            }
+
+            if (c == ')') {
+                depth--;
+                if (depth < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (depth > 0) {
+                continue;
+            }
+
+            if (aliasStart < 0) {
+                if (c == ',') {
+                    return null; // more projections before the actual_value
+                }
+
+                int aliasLength = matchActualValueAlias(sql, i);
+                if (aliasLength > 0) {
+                    aliasStart = i;
+                    aliasEnd = i + aliasLength;
+                    i = aliasEnd - 1;
+                }
+            }
+            else if (isKeywordAt(sql, i, "SELECT")) {
+                return null; // unions or other top level queries
+            }
+        }
+
+        if (aliasStart < 0 || depth != 0) {
+            return null;
+        }
+
+        String valueExpression = sql.substring(valueExpressionStart, aliasStart).trim();
+        String queryTail = sql.substring(aliasEnd);
+        if (valueExpression.isEmpty() ||
+                isKeywordAt(valueExpression, 0, "DISTINCT") ||
+                isKeywordAt(valueExpression, 0, "ALL") ||
+                isKeywordAt(valueExpression, 0, "TOP") ||
+                StringUtils.containsIgnoreCase(queryTail, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME)) {
+            return null;
+        }
+
+        return new BatchableSensorQuery(valueExpression, queryTail);
+    }
+
+    /**
+     * Renders a single query that calculates the actual values of all given queries. The queries must have identical query tails.
+     * The actual value of the query at the index i in the list is returned as an actual_value_{i+1} column.
+     * @param queries List of queries to merge.
+     * @return Merged (batched) query.
+     */
+    public static String renderBatchedQuery(List<BatchableSensorQuery> queries) {
+        StringBuilder sqlBuilder = new StringBuilder();
+        sqlBuilder.append("SELECT");
+        for (int i = 0; i < queries.size(); i++) {
+            BatchableSensorQuery query = queries.get(i);
+            assert query.getQueryTail().equals(queries.get(0).getQueryTail());
+
+            sqlBuilder.append(i == 0 ? "\n    " : ",\n    ");
+            sqlBuilder.append(query.getValueExpression());
+            sqlBuilder.append(" AS ");
+            sqlBuilder.append(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME);
+            sqlBuilder.append('_');
+            sqlBuilder.append(i + 1);
+        }
+        sqlBuilder.append(queries.get(0).getQueryTail());
+
+        return sqlBuilder.toString();
+    }
+
+    /**
+     * Checks if the text at the given position is a "AS actual_value" alias, separated from the expression by a whitespace or a closing parenthesis.
+     * @param sql Sql query.
+     * @param index Position to check.
+     * @return Length of the alias text (including whitespaces between AS and actual_value) or 0 when it is not the actual_value alias.
+     */
+    private static int matchActualValueAlias(String sql, int index) {
+        if (!isKeywordAt(sql, index, "AS")) {
+            return 0;
+        }
+
+        char previousChar = sql.charAt(index - 1);
+        if (!Character.isWhitespace(previousChar) && previousChar != ')') {
+            return 0;
+        }
+
+        int aliasIndex = index + 2;
+        while (aliasIndex < sql.length() && Character.isWhitespace(sql.charAt(aliasIndex))) {
+            aliasIndex++;
+        }
+
+        if (aliasIndex == index + 2 || !isKeywordAt(sql, aliasIndex, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME)) {
+            return 0;
+        }
+
+        return aliasIndex + SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME.length() - index;
+    }
+
+    /**
+     * Checks if a given keyword (or identifier) is present at the index, as a whole word, using a case-insensitive comparison.
+     * @param text Text to analyze.
+     * @param index Position to check.
+     * @param keyword Keyword to find.
+     * @return True when the keyword is present as a whole word.
+     */
+    private static boolean isKeywordAt(String text, int index, String keyword) {
+        if (!text.regionMatches(true, index, keyword, 0, keyword.length())) {
+            return false;
+        }
+
+        if (index > 0 && isIdentifierChar(text.charAt(index - 1))) {
+            return false;
+        }
+
+        int endIndex = index + keyword.length();
+        return endIndex >= text.length() || !isIdentifierChar(text.charAt(endIndex));
+    }
+
+    /**
+     * Checks if the character could be a part of an identifier.
+     * @param c Character to check.
+     * @return True when it is a letter, digit or an underscore.
+     */
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Finds the closing quote of a text literal or a quoted identifier. Doubled quotes and backslash escaped quotes are skipped.
+     * @param sql Sql query.
+     * @param openingQuoteIndex Index of the opening quote.
+     * @return Index of the closing quote or -1 when the literal is not terminated.
+     */
+    private static int findClosingQuote(String sql, int openingQuoteIndex) {
+        char quote = sql.charAt(openingQuoteIndex);
+        for (int i = openingQuoteIndex + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i++;
+                continue;
+            }
+
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i++;
+                    continue;
+                }
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
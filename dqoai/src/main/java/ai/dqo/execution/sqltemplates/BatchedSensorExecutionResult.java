@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates;
+
+import ai.dqo.execution.sensors.SensorExecutionResult;
+
+/**
+ * Result of a sensor that was executed together with other sensors on the same table by {@link BatchedSensorQueryRunner}.
+ * When the sensor query was merged with other sensor queries, the result table is shared by all sensors in the batch
+ * and the actual value of this sensor is stored in an actual_value_N column, where N is the {@link #getActualValueIndex()}.
+ */
+public class BatchedSensorExecutionResult {
+    private final SensorExecutionResult sensorExecutionResult;
+    private final int actualValueIndex;
+
+    /**
+     * Creates a batched sensor execution result.
+     * @param sensorExecutionResult Sensor execution result with the result table (a wide table for batched queries).
+     * @param actualValueIndex Index of the sensor in the batch (1-based) or 0 when the sensor query was executed alone.
+     */
+    public BatchedSensorExecutionResult(SensorExecutionResult sensorExecutionResult, int actualValueIndex) {
+        this.sensorExecutionResult = sensorExecutionResult;
+        this.actualValueIndex = actualValueIndex;
+    }
+
+    /**
+     * Returns the sensor execution result. The result table is shared by all sensors in the batch.
+     * @return Sensor execution result.
+     */
+    public SensorExecutionResult getSensorExecutionResult() {
+        return sensorExecutionResult;
+    }
+
+    /**
+     * Returns the index of the sensor in the batch (1-based) that identifies the actual_value_N column.
+     * @return Index of the sensor in the batch or 0 when the sensor query was not merged with other queries.
+     */
+    public int getActualValueIndex() {
+        return actualValueIndex;
+    }
+
+    /**
+     * Returns true when the sensor query was merged with other sensor queries and the actual value is in an actual_value_N column.
+     * @return True when the result table is a wide table returned by a batched query.
+     */
+    public boolean isBatched() {
+        return actualValueIndex > 0;
+    }
+}
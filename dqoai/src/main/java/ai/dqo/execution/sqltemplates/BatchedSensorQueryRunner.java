@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.checks.progress.CheckExecutionProgressListener;
+import ai.dqo.execution.sensors.SensorExecutionRunParameters;
+
+import java.util.List;
+
+/**
+ * Sensor runner that executes sql template sensors on the same table in batches. Compatible sensor queries (with the same
+ * table, filters, time series and dimensions configuration) are merged into one query that calculates the actual values of all sensors in a single table scan.
+ */
+public interface BatchedSensorQueryRunner {
+    /**
+     * Renders the sql templates of all sensors, merges compatible queries and executes them.
+     * @param checkExecutionContext Check execution context with access to the dqo home and user home.
+     * @param sensorRunParametersList Sensor run parameters of all sensors on the same table.
+     * @param maxSensorsPerQuery Maximum number of sensors that are merged into one query.
+     * @param progressListener Progress listener that receives events when the sensors are executed.
+     * @return List of sensor results, in the same order as the sensor run parameters. The list contains nulls for sensors
+     *         that are not sql template sensors and must be executed by the {@link ai.dqo.execution.sensors.DataQualitySensorRunner}.
+     */
+    List<BatchedSensorExecutionResult> executeSensors(CheckExecutionContext checkExecutionContext,
+                                                      List<SensorExecutionRunParameters> sensorRunParametersList,
+                                                      int maxSensorsPerQuery,
+                                                      CheckExecutionProgressListener progressListener);
+}
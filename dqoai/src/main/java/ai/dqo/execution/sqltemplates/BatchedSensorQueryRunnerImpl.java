@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates;
+
+import ai.dqo.connectors.ConnectionProvider;
+import ai.dqo.connectors.ConnectionProviderRegistry;
+import ai.dqo.connectors.QueryExecutionLimits;
+import ai.dqo.connectors.ProviderType;
+import ai.dqo.connectors.SourceConnection;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.checks.progress.CheckExecutionProgressListener;
+import ai.dqo.execution.checks.progress.ExecutingSqlOnConnectionEvent;
+import ai.dqo.execution.sensors.SensorExecutionResult;
+import ai.dqo.execution.sensors.SensorExecutionRunParameters;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindResult;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindService;
+import ai.dqo.metadata.definitions.sensors.ProviderSensorRunnerType;
+import ai.dqo.metadata.sources.ConnectionSpec;
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tech.tablesaw.api.Table;
+
+import java.util.*;
+
+/**
+ * Sensor runner that executes sql template sensors on the same table in batches. Compatible sensor queries (with the same
+ * table, filters, time series and dimensions configuration) are merged into one query that calculates the actual values of all sensors in a single table scan.
+ */
+@Component
+public class BatchedSensorQueryRunnerImpl implements BatchedSensorQueryRunner {
+    private final SensorDefinitionFindService sensorDefinitionFindService;
+    private final JinjaTemplateRenderService jinjaTemplateRenderService;
+    private final ConnectionProviderRegistry connectionProviderRegistry;
+    private final DqoConfigurationProperties configurationProperties;
+
+    /**
+     * Creates a batched sensor query runner.
+     * @param sensorDefinitionFindService Sensor definition finder that finds the correct sensor definition.
+     * @param jinjaTemplateRenderService Jinja template rendering service.
+     * @param connectionProviderRegistry Connection provider registry.
+     * @param configurationProperties Configuration properties with the sensor query timeout and the row limit.
+     */
+    @Autowired
+    public BatchedSensorQueryRunnerImpl(SensorDefinitionFindService sensorDefinitionFindService,
+                                        JinjaTemplateRenderService jinjaTemplateRenderService,
+                                        ConnectionProviderRegistry connectionProviderRegistry,
+                                        DqoConfigurationProperties configurationProperties) {
+        this.sensorDefinitionFindService = sensorDefinitionFindService;
+        this.jinjaTemplateRenderService = jinjaTemplateRenderService;
+        this.connectionProviderRegistry = connectionProviderRegistry;
+        this.configurationProperties = configurationProperties;
+    }
+
+    /**
+     * Renders the sql templates of all sensors, merges compatible queries and executes them.
+     * @param checkExecutionContext Check execution context with access to the dqo home and user home.
+     * @param sensorRunParametersList Sensor run parameters of all sensors on the same table.
+     * @param maxSensorsPerQuery Maximum number of sensors that are merged into one query.
+     * @param progressListener Progress listener that receives events when the sensors are executed.
+     * @return List of sensor results, in the same order as the sensor run parameters. The list contains nulls for sensors
+     *         that are not sql template sensors and must be executed by the {@link ai.dqo.execution.sensors.DataQualitySensorRunner}.
+     */
+    @Override
+    public List<BatchedSensorExecutionResult> executeSensors(CheckExecutionContext checkExecutionContext,
+                                                             List<SensorExecutionRunParameters> sensorRunParametersList,
+                                                             int maxSensorsPerQuery,
+                                                             CheckExecutionProgressListener progressListener) {
+        int sensorCount = sensorRunParametersList.size();
+        BatchedSensorExecutionResult[] sensorResults = new BatchedSensorExecutionResult[sensorCount];
+        SensorDefinitionFindResult[] sensorDefinitions = new SensorDefinitionFindResult[sensorCount];
+        String[] renderedQueries = new String[sensorCount];
+        BatchableSensorQuery[] batchableQueries = new BatchableSensorQuery[sensorCount];
+        LinkedHashMap<String, List<Integer>> sensorIndexesByQueryTail = new LinkedHashMap<>();
+
+        for (int i = 0; i < sensorCount; i++) {
+            SensorExecutionRunParameters sensorRunParameters = sensorRunParametersList.get(i);
+            String sensorName = sensorRunParameters.getSensorParameters().getSensorDefinitionName();
+            ProviderType providerType = sensorRunParameters.getConnection().getProviderType();
+            SensorDefinitionFindResult sensorDefinition = this.sensorDefinitionFindService.findProviderSensorDefinition(
+                    checkExecutionContext, sensorName, providerType);
+            if (sensorDefinition.getProviderSensorDefinitionSpec().getType() != ProviderSensorRunnerType.sql_template) {
+                continue; // custom sensors are executed one by one
+            }
+
+            JinjaTemplateRenderParameters templateRenderParameters = JinjaTemplateRenderParameters.createFromTrimmedObjects(
+                    sensorRunParameters, sensorDefinition);
+            String renderedSql = this.jinjaTemplateRenderService.renderTemplate(checkExecutionContext, sensorDefinition,
+                    templateRenderParameters, progressListener);
+            sensorDefinitions[i] = sensorDefinition;
+            renderedQueries[i] = renderedSql;
+            batchableQueries[i] = BatchableSensorQuery.parse(renderedSql);
+
+            if (batchableQueries[i] == null) {
+                sensorResults[i] = new BatchedSensorExecutionResult(
+                        executeQuery(sensorRunParameters, sensorDefinition, renderedSql, progressListener), 0);
+            }
+            else {
+                sensorIndexesByQueryTail.computeIfAbsent(batchableQueries[i].getQueryTail(), tail -> new ArrayList<>()).add(i);
+            }
+        }
+
+        for (List<Integer> compatibleSensorIndexes : sensorIndexesByQueryTail.values()) {
+            for (List<Integer> batchSensorIndexes : Lists.partition(compatibleSensorIndexes, Math.max(maxSensorsPerQuery, 1))) {
+                int firstSensorIndex = batchSensorIndexes.get(0);
+                if (batchSensorIndexes.size() == 1) {
+                    SensorExecutionResult sensorResult = executeQuery(sensorRunParametersList.get(firstSensorIndex),
+                            sensorDefinitions[firstSensorIndex], renderedQueries[firstSensorIndex], progressListener);
+                    sensorResults[firstSensorIndex] = new BatchedSensorExecutionResult(sensorResult, 0);
+                    continue;
+                }
+
+                List<BatchableSensorQuery> queriesInBatch = new ArrayList<>();
+                for (int sensorIndex : batchSensorIndexes) {
+                    queriesInBatch.add(batchableQueries[sensorIndex]);
+                }
+                String batchedSql = BatchableSensorQuery.renderBatchedQuery(queriesInBatch);
+                SensorExecutionResult batchedResult = executeQuery(sensorRunParametersList.get(firstSensorIndex),
+                        sensorDefinitions[firstSensorIndex], batchedSql, progressListener);
+
+                for (int batchIndex = 0; batchIndex < batchSensorIndexes.size(); batchIndex++) {
+                    int sensorIndex = batchSensorIndexes.get(batchIndex);
+                    SensorExecutionResult sensorResult = new SensorExecutionResult(sensorRunParametersList.get(sensorIndex),
+                            batchedResult.getResultTable());
+                    sensorResults[sensorIndex] = new BatchedSensorExecutionResult(sensorResult, batchIndex + 1);
+                }
+            }
+        }
+
+        return Arrays.asList(sensorResults);
+    }
+
+    /**
+     * Executes a query on the connection of the sensor.
+     * @param sensorRunParameters Sensor run parameters (of the first sensor in the batch for batched queries).
+     * @param sensorDefinition Sensor definition.
+     * @param sql Sql query to execute.
+     * @param progressListener Progress listener.
+     * @return Sensor execution result.
+     */
+    protected SensorExecutionResult executeQuery(SensorExecutionRunParameters sensorRunParameters,
+                                                 SensorDefinitionFindResult sensorDefinition,
+                                                 String sql,
+                                                 CheckExecutionProgressListener progressListener) {
+        ConnectionSpec connectionSpec = sensorRunParameters.getConnection();
+        progressListener.onExecutingSqlOnConnection(new ExecutingSqlOnConnectionEvent(sensorRunParameters,
+                sensorDefinition, connectionSpec, sql));
+
+        ConnectionProvider connectionProvider = this.connectionProviderRegistry.getConnectionProvider(connectionSpec.getProviderType());
+        try (SourceConnection sourceConnection = connectionProvider.createConnection(connectionSpec, true)) {
+            QueryExecutionLimits queryExecutionLimits = QueryExecutionLimits.createForSensorQueries(this.configurationProperties.getExecution());
+            Table sensorResultRows = sourceConnection.executeQuery(sql, queryExecutionLimits);
+            return new SensorExecutionResult(sensorRunParameters, sensorResultRows);
+        }
+    }
+}
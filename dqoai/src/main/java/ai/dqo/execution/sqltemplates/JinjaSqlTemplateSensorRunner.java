@@ -17,7 +17,9 @@ package ai.dqo.execution.sqltemplates;
 
 import ai.dqo.connectors.ConnectionProvider;
 import ai.dqo.connectors.ConnectionProviderRegistry;
+import ai.dqo.connectors.QueryExecutionLimits;
 import ai.dqo.connectors.SourceConnection;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.execution.CheckExecutionContext;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.execution.checks.progress.CheckExecutionProgressListener;
@@ -48,17 +50,21 @@ public class JinjaSqlTemplateSensorRunner extends AbstractSensorRunner {
     public static final String CLASS_NAME = JinjaSqlTemplateSensorRunner.class.getName();
     private final JinjaTemplateRenderService jinjaTemplateRenderService;
     private final ConnectionProviderRegistry connectionProviderRegistry;
+    private final DqoConfigurationProperties configurationProperties;
 
     /**
      * Creates a sql template runner.
      * @param jinjaTemplateRenderService Jinja template rendering service.
      * @param connectionProviderRegistry Connection provider registry.
+     * @param configurationProperties Configuration properties with the sensor query timeout and the row limit.
      */
     @Autowired
     public JinjaSqlTemplateSensorRunner(JinjaTemplateRenderService jinjaTemplateRenderService,
-										ConnectionProviderRegistry connectionProviderRegistry) {
+										ConnectionProviderRegistry connectionProviderRegistry,
+										DqoConfigurationProperties configurationProperties) {
         this.jinjaTemplateRenderService = jinjaTemplateRenderService;
         this.connectionProviderRegistry = connectionProviderRegistry;
+        this.configurationProperties = configurationProperties;
     }
 
     /**
@@ -89,7 +95,8 @@ public class JinjaSqlTemplateSensorRunner extends AbstractSensorRunner {
 
             ConnectionProvider connectionProvider = this.connectionProviderRegistry.getConnectionProvider(connectionSpec.getProviderType());
             try (SourceConnection sourceConnection = connectionProvider.createConnection(connectionSpec, true)) {
-                Table sensorResultRows = sourceConnection.executeQuery(renderedSql);
+                QueryExecutionLimits queryExecutionLimits = QueryExecutionLimits.createForSensorQueries(this.configurationProperties.getExecution());
+                Table sensorResultRows = sourceConnection.executeQuery(renderedSql, queryExecutionLimits);
                 return new SensorExecutionResult(sensorRunParameters, sensorResultRows);
             }
         }
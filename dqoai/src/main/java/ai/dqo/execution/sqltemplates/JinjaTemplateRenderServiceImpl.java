@@ -21,6 +21,7 @@ import ai.dqo.execution.checks.progress.BeforeSqlTemplateRenderEvent;
 import ai.dqo.execution.checks.progress.CheckExecutionProgressListener;
 import ai.dqo.execution.checks.progress.SqlTemplateRenderedRendered;
 import ai.dqo.execution.sensors.finder.SensorDefinitionFindResult;
+import ai.dqo.execution.sqltemplates.cache.RenderedSqlCache;
 import ai.dqo.utils.python.PythonCallerService;
 import ai.dqo.utils.python.PythonExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,22 +31,27 @@ import java.nio.file.Path;
 
 /**
  * SQL template rendering service that will populate the template with the parameters.
+ * Rendered queries are cached, identified by a fingerprint of the parameters and the template content.
  */
 @Component
 public class JinjaTemplateRenderServiceImpl implements JinjaTemplateRenderService {
     private final PythonCallerService pythonCallerService;
     private final DqoConfigurationProperties configurationProperties;
+    private final RenderedSqlCache renderedSqlCache;
 
     /**
      * Creates a jinja template rendering service.
      * @param pythonCallerService Python call service.
      * @param configurationProperties Configuration properties. We need to find the python file that will run jinja2.
+     * @param renderedSqlCache Cache of rendered SQL queries.
      */
     @Autowired
     public JinjaTemplateRenderServiceImpl(PythonCallerService pythonCallerService,
-										  DqoConfigurationProperties configurationProperties) {
+										  DqoConfigurationProperties configurationProperties,
+										  RenderedSqlCache renderedSqlCache) {
         this.pythonCallerService = pythonCallerService;
         this.configurationProperties = configurationProperties;
+        this.renderedSqlCache = renderedSqlCache;
     }
 
     /**
@@ -103,6 +109,17 @@ public class JinjaTemplateRenderServiceImpl implements JinjaTemplateRenderServic
         String evaluateTemplatesModule = this.configurationProperties.getPython().getEvaluateTemplatesModule();
 
         progressListener.onBeforeSqlTemplateRender(new BeforeSqlTemplateRenderEvent(inputDto));
+
+        String cacheKey = this.renderedSqlCache.calculateCacheKey(checkExecutionContext, sensorFindResult, templateRenderParameters);
+        String cachedRenderedSql = this.renderedSqlCache.getRenderedSql(checkExecutionContext, cacheKey);
+        if (cachedRenderedSql != null) {
+            JinjaTemplateRenderOutput cachedOutput = new JinjaTemplateRenderOutput();
+            cachedOutput.setTemplate(relativePathToTemplate != null ? relativePathToTemplate : inputDto.getTemplateText());
+            cachedOutput.setResult(cachedRenderedSql);
+            progressListener.onSqlTemplateRendered(new SqlTemplateRenderedRendered(inputDto, cachedOutput));
+            return cachedRenderedSql;
+        }
+
         JinjaTemplateRenderOutput output =
 				this.pythonCallerService.executePythonHomeScript(inputDto, evaluateTemplatesModule, JinjaTemplateRenderOutput.class);
 
@@ -112,6 +129,7 @@ public class JinjaTemplateRenderServiceImpl implements JinjaTemplateRenderServic
         }
 
         progressListener.onSqlTemplateRendered(new SqlTemplateRenderedRendered(inputDto, output));
+        this.renderedSqlCache.putRenderedSql(checkExecutionContext, cacheKey, output.getResult());
         return output.getResult();
     }
 }
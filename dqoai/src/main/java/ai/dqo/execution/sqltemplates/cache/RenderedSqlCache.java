@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates.cache;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindResult;
+import ai.dqo.execution.sqltemplates.JinjaTemplateRenderParameters;
+
+/**
+ * Cache of rendered sensor SQL queries. Rendered queries are identified by a fingerprint of the template rendering parameters,
+ * the template file content and the content of the dialect macro files, so a changed template invalidates the cached queries.
+ */
+public interface RenderedSqlCache {
+    /**
+     * Calculates a cache key (a fingerprint) of a sensor SQL template rendering request.
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param sensorFindResult Sensor definition (template) find result.
+     * @param templateRenderParameters Template rendering parameters.
+     * @return Cache key or null when the cache is disabled or the template cannot be cached (its content hash is unknown).
+     */
+    String calculateCacheKey(CheckExecutionContext checkExecutionContext,
+                             SensorDefinitionFindResult sensorFindResult,
+                             JinjaTemplateRenderParameters templateRenderParameters);
+
+    /**
+     * Returns a cached rendered SQL query. The in-memory cache is checked first, then the persistent cache in the user home (when enabled).
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param cacheKey Cache key returned by {@link #calculateCacheKey}.
+     * @return Rendered SQL query or null when the query is not cached.
+     */
+    String getRenderedSql(CheckExecutionContext checkExecutionContext, String cacheKey);
+
+    /**
+     * Stores a rendered SQL query in the cache.
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param cacheKey Cache key returned by {@link #calculateCacheKey}.
+     * @param renderedSql Rendered SQL query.
+     */
+    void putRenderedSql(CheckExecutionContext checkExecutionContext, String cacheKey, String renderedSql);
+
+    /**
+     * Removes all rendered SQL queries from the in-memory cache.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates.cache;
+
+import ai.dqo.core.configuration.DqoCacheConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.filesystem.BuiltInFolderNames;
+import ai.dqo.core.filesystem.filesystemservice.contract.AbstractFileSystemRoot;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.DqoHomeFileSystemRoot;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemService;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.UserHomeFileSystemRoot;
+import ai.dqo.core.filesystem.localfiles.HomeLocationFindService;
+import ai.dqo.core.filesystem.metadata.FileMetadata;
+import ai.dqo.core.filesystem.metadata.FolderMetadata;
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindResult;
+import ai.dqo.execution.sqltemplates.JinjaTemplateRenderParameters;
+import ai.dqo.metadata.basespecs.AbstractSpec;
+import ai.dqo.metadata.id.HierarchyId;
+import ai.dqo.metadata.storage.localfiles.HomeType;
+import ai.dqo.utils.serialization.JsonSerializer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of rendered sensor SQL queries. The cache key is a SHA-256 fingerprint of the template rendering parameters (serialized to json),
+ * the content hash of the template file and the hash of all dialect macro files in the DQO_HOME/sensors/dialects folder.
+ * File hashes are read by the local file system service that reuses the last known hash when the file modification time has not changed,
+ * so an edited .sql.jinja2 template or a dialect macro file produces a new key and the outdated queries are no longer returned.
+ * Rendered queries are stored in a bounded in-memory cache and optionally in the .cache/rendered_sql folder in the user home.
+ * The folder is bounded by the number of files and the age of unused files, it is cleaned once per check run.
+ * The hash of the dialects folder and the hashes of the connection, table and column specifications are calculated once per check run
+ * (identified by the check execution context) and reused for all rendered templates.
+ */
+@Component
+public class RenderedSqlCacheImpl implements RenderedSqlCache {
+    private static final Logger LOG = LoggerFactory.getLogger(RenderedSqlCacheImpl.class);
+
+    /**
+     * Version of the cache key format. Increase the version when the rendering parameters or the key calculation changes in an incompatible way.
+     */
+    private static final int CACHE_KEY_FORMAT_VERSION = 3;
+
+    /**
+     * Name of the folder inside the user home .cache folder that stores rendered SQL queries.
+     */
+    public static final String RENDERED_SQL_CACHE_FOLDER_NAME = "rendered_sql";
+
+    /**
+     * Name of the folder inside the DQO_HOME sensors folder with the dialect macro files that are imported by the sensor templates.
+     */
+    private static final String DIALECTS_FOLDER_NAME = "dialects";
+
+    private final DqoCacheConfigurationProperties cacheConfigurationProperties;
+    private final LocalFileSystemService localFileSystemService;
+    private final HomeLocationFindService homeLocationFindService;
+    private final JsonSerializer jsonSerializer;
+    private final Cache<String, String> renderedSqlCache;
+    private final Map<Path, FileMetadata> lastKnownTemplateFiles = new ConcurrentHashMap<>();
+    private volatile FolderMetadata lastKnownDialectsFolder;
+    private final Cache<CheckExecutionContext, CheckRunState> checkRunStates = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Creates a rendered SQL cache.
+     * @param configurationProperties Configuration properties with the cache size and the persistent cache configuration.
+     * @param localFileSystemService Local file system service used to read the hashes of the template files.
+     * @param homeLocationFindService Home location finder, used to find the DQO_HOME sensors folder.
+     * @param jsonSerializer Json serializer used to serialize the template rendering parameters to a stable text.
+     */
+    @Autowired
+    public RenderedSqlCacheImpl(DqoConfigurationProperties configurationProperties,
+                                LocalFileSystemService localFileSystemService,
+                                HomeLocationFindService homeLocationFindService,
+                                JsonSerializer jsonSerializer) {
+        this.cacheConfigurationProperties = configurationProperties.getCache();
+        this.localFileSystemService = localFileSystemService;
+        this.homeLocationFindService = homeLocationFindService;
+        this.jsonSerializer = jsonSerializer;
+        int maxEntries = this.cacheConfigurationProperties.getRenderedSqlMaxEntries();
+        this.renderedSqlCache = maxEntries > 0 ? CacheBuilder.newBuilder().maximumSize(maxEntries).build() : null;
+    }
+
+    /**
+     * Calculates a cache key (a fingerprint) of a sensor SQL template rendering request.
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param sensorFindResult Sensor definition (template) find result.
+     * @param templateRenderParameters Template rendering parameters.
+     * @return Cache key or null when the cache is disabled or the template cannot be cached (its content hash is unknown).
+     */
+    @Override
+    public String calculateCacheKey(CheckExecutionContext checkExecutionContext,
+                                    SensorDefinitionFindResult sensorFindResult,
+                                    JinjaTemplateRenderParameters templateRenderParameters) {
+        if (this.renderedSqlCache == null) {
+            return null;
+        }
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(CACHE_KEY_FORMAT_VERSION);
+        putString(hasher, sensorFindResult.getHome() != null ? sensorFindResult.getHome().name() : null);
+
+        byte[] templateFileHash = sensorFindResult.getTemplateFilePath() != null ?
+                readTemplateFileHash(checkExecutionContext, sensorFindResult) : null;
+        if (templateFileHash != null) {
+            putString(hasher, sensorFindResult.getTemplateFilePath().toString());
+            hasher.putBytes(templateFileHash);
+        }
+        else if (sensorFindResult.getSqlTemplateText() != null) {
+            putString(hasher, sensorFindResult.getSqlTemplateText());
+        }
+        else {
+            return null; // the template content is unknown, we cannot detect changes
+        }
+
+        CheckRunState checkRunState = getCheckRunState(checkExecutionContext);
+        hasher.putLong(checkRunState.getDialectsFolderHash());
+        putTemplateRenderParameters(hasher, templateRenderParameters, checkRunState);
+
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Adds the template rendering parameters to the hash. The connection, table and column specifications are the same for all checks
+     * on a table, so their json hashes are calculated once per check run. The remaining parameters are small and are serialized every time.
+     * @param hasher Target hasher.
+     * @param templateRenderParameters Template rendering parameters, may be null.
+     * @param checkRunState State of the current check run with the known hashes of the specifications.
+     */
+    protected void putTemplateRenderParameters(Hasher hasher, JinjaTemplateRenderParameters templateRenderParameters, CheckRunState checkRunState) {
+        if (templateRenderParameters == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        putSpecHash(hasher, templateRenderParameters.getConnection(), checkRunState);
+        putSpecHash(hasher, templateRenderParameters.getTable(), checkRunState);
+        putSpecHash(hasher, templateRenderParameters.getColumn(), checkRunState);
+        putString(hasher, templateRenderParameters.getColumnName());
+        putJson(hasher, templateRenderParameters.getParameters());
+        putJson(hasher, templateRenderParameters.getEffectiveTimeSeries());
+        putJson(hasher, templateRenderParameters.getEffectiveDimensions());
+        putJson(hasher, templateRenderParameters.getSensorDefinition());
+        putJson(hasher, templateRenderParameters.getProviderSensorDefinition());
+        putJson(hasher, templateRenderParameters.getDialectSettings());
+    }
+
+    /**
+     * Adds the hash of a specification (serialized to json) to the hash. Specifications attached to the user home hierarchy
+     * are identified by their hierarchy id and serialized only once per check run.
+     * @param hasher Target hasher.
+     * @param spec Specification, may be null.
+     * @param checkRunState State of the current check run with the known hashes of the specifications.
+     */
+    private void putSpecHash(Hasher hasher, AbstractSpec spec, CheckRunState checkRunState) {
+        if (spec == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        HierarchyId hierarchyId = spec.getHierarchyId();
+        HashCode specHash = hierarchyId != null ?
+                checkRunState.getSpecHashes().computeIfAbsent(hierarchyId, id -> hashJson(spec)) :
+                hashJson(spec);
+        hasher.putBytes(specHash.asBytes());
+    }
+
+    /**
+     * Adds an object serialized to json to the hash.
+     * @param hasher Target hasher.
+     * @param value Object to serialize, may be null.
+     */
+    private void putJson(Hasher hasher, Object value) {
+        putString(hasher, value != null ? this.jsonSerializer.serialize(value) : null);
+    }
+
+    /**
+     * Serializes an object to json and calculates the hash of the json text.
+     * @param value Object to serialize.
+     * @return Hash of the json.
+     */
+    private HashCode hashJson(Object value) {
+        return Hashing.sha256().hashString(this.jsonSerializer.serialize(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the state of the current check run, creating it on the first call for a new check execution context.
+     * The hash of the dialects folder is read once, when the state is created.
+     * @param checkExecutionContext Check execution context of the current check run.
+     * @return Check run state.
+     */
+    protected CheckRunState getCheckRunState(CheckExecutionContext checkExecutionContext) {
+        return this.checkRunStates.asMap().computeIfAbsent(checkExecutionContext, context -> {
+            Long dialectsFolderHash = readDialectsFolderHash();
+            return new CheckRunState(dialectsFolderHash != null ? dialectsFolderHash : 0L);
+        });
+    }
+
+    /**
+     * Returns a cached rendered SQL query. The in-memory cache is checked first, then the persistent cache in the user home (when enabled).
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param cacheKey Cache key returned by {@link #calculateCacheKey}.
+     * @return Rendered SQL query or null when the query is not cached.
+     */
+    @Override
+    public String getRenderedSql(CheckExecutionContext checkExecutionContext, String cacheKey) {
+        if (this.renderedSqlCache == null || cacheKey == null) {
+            return null;
+        }
+
+        String renderedSql = this.renderedSqlCache.getIfPresent(cacheKey);
+        if (renderedSql != null) {
+            return renderedSql;
+        }
+
+        Path cacheFilePath = getPersistentCacheFilePath(checkExecutionContext, cacheKey);
+        if (cacheFilePath == null || !Files.exists(cacheFilePath)) {
+            return null;
+        }
+
+        try {
+            renderedSql = Files.readString(cacheFilePath, StandardCharsets.UTF_8);
+            this.renderedSqlCache.put(cacheKey, renderedSql);
+        }
+        catch (IOException ex) {
+            LOG.warn("Cannot read a cached rendered SQL query from " + cacheFilePath + ", error: " + ex.getMessage(), ex);
+            return null;
+        }
+
+        try {
+            Files.setLastModifiedTime(cacheFilePath, FileTime.fromMillis(System.currentTimeMillis())); // the file was used, it is evicted later
+        }
+        catch (IOException ex) {
+            LOG.debug("Cannot update the modification time of the cached rendered SQL query " + cacheFilePath + ", error: " + ex.getMessage(), ex);
+        }
+
+        return renderedSql;
+    }
+
+    /**
+     * Stores a rendered SQL query in the cache.
+     * @param checkExecutionContext Check execution context with paths to the user home and dqo home.
+     * @param cacheKey Cache key returned by {@link #calculateCacheKey}.
+     * @param renderedSql Rendered SQL query.
+     */
+    @Override
+    public void putRenderedSql(CheckExecutionContext checkExecutionContext, String cacheKey, String renderedSql) {
+        if (this.renderedSqlCache == null || cacheKey == null || renderedSql == null) {
+            return;
+        }
+
+        this.renderedSqlCache.put(cacheKey, renderedSql);
+
+        Path cacheFilePath = getPersistentCacheFilePath(checkExecutionContext, cacheKey);
+        if (cacheFilePath == null || Files.exists(cacheFilePath)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(cacheFilePath.getParent());
+            Path temporaryFilePath = Files.createTempFile(cacheFilePath.getParent(), cacheKey, ".tmp");
+            try {
+                Files.writeString(temporaryFilePath, renderedSql, StandardCharsets.UTF_8);
+                Files.move(temporaryFilePath, cacheFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally {
+                Files.deleteIfExists(temporaryFilePath);
+            }
+        }
+        catch (IOException ex) {
+            LOG.warn("Cannot store a rendered SQL query in the cache file " + cacheFilePath + ", error: " + ex.getMessage(), ex);
+            return;
+        }
+
+        if (getCheckRunState(checkExecutionContext).getPersistentCacheEvicted().compareAndSet(false, true)) {
+            evictPersistentCache(getPersistentCacheFolderPath(checkExecutionContext)); // the folder is cleaned once per check run
+        }
+    }
+
+    /**
+     * Removes the files from the persistent cache folder that were not used for longer than the configured number of days
+     * and the least recently used files above the configured maximum number of files.
+     * @param cacheFolderPath Path to the persistent cache folder.
+     */
+    protected void evictPersistentCache(Path cacheFolderPath) {
+        int maxEntries = this.cacheConfigurationProperties.getRenderedSqlPersistentMaxEntries();
+        int maxAgeDays = this.cacheConfigurationProperties.getRenderedSqlPersistentMaxAgeDays();
+        if ((maxEntries <= 0 && maxAgeDays <= 0) || cacheFolderPath == null || !Files.isDirectory(cacheFolderPath)) {
+            return;
+        }
+
+        List<Path> cacheFiles;
+        try (Stream<Path> files = Files.walk(cacheFolderPath, 2)) {
+            cacheFiles = files.filter(path -> path.getFileName().toString().endsWith(".sql")).collect(Collectors.toList());
+        }
+        catch (IOException ex) {
+            LOG.warn("Cannot list the rendered SQL cache folder " + cacheFolderPath + ", error: " + ex.getMessage(), ex);
+            return;
+        }
+
+        long minLastModifiedMillis = maxAgeDays > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays) : Long.MIN_VALUE;
+        Map<Path, Long> retainedFiles = new HashMap<>();
+        for (Path cacheFile : cacheFiles) {
+            try {
+                long lastModifiedMillis = Files.getLastModifiedTime(cacheFile).toMillis();
+                if (lastModifiedMillis < minLastModifiedMillis) {
+                    Files.deleteIfExists(cacheFile);
+                }
+                else {
+                    retainedFiles.put(cacheFile, lastModifiedMillis);
+                }
+            }
+            catch (IOException ex) {
+                LOG.debug("Cannot evict the cached rendered SQL query " + cacheFile + ", error: " + ex.getMessage(), ex);
+            }
+        }
+
+        if (maxEntries <= 0 || retainedFiles.size() <= maxEntries) {
+            return;
+        }
+
+        List<Path> filesToEvict = new ArrayList<>(retainedFiles.keySet());
+        filesToEvict.sort(Comparator.comparingLong(retainedFiles::get));
+        for (Path cacheFile : filesToEvict.subList(0, filesToEvict.size() - maxEntries)) {
+            try {
+                Files.deleteIfExists(cacheFile);
+            }
+            catch (IOException ex) {
+                LOG.debug("Cannot evict the cached rendered SQL query " + cacheFile + ", error: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Removes all rendered SQL queries from the in-memory cache.
+     */
+    @Override
+    public void invalidateAll() {
+        if (this.renderedSqlCache != null) {
+            this.renderedSqlCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the path to a file in the persistent cache that stores a rendered SQL query.
+     * @param checkExecutionContext Check execution context with the user home.
+     * @param cacheKey Cache key.
+     * @return Path to the cache file or null when the persistent cache is disabled or the user home is not stored on a local file system.
+     */
+    protected Path getPersistentCacheFilePath(CheckExecutionContext checkExecutionContext, String cacheKey) {
+        Path cacheFolderPath = getPersistentCacheFolderPath(checkExecutionContext);
+        if (cacheFolderPath == null) {
+            return null;
+        }
+
+        return cacheFolderPath
+                .resolve(cacheKey.substring(0, 2))
+                .resolve(cacheKey + ".sql");
+    }
+
+    /**
+     * Returns the path to the persistent cache folder with rendered SQL queries.
+     * @param checkExecutionContext Check execution context with the user home.
+     * @return Path to the cache folder or null when the persistent cache is disabled or the user home is not stored on a local file system.
+     */
+    protected Path getPersistentCacheFolderPath(CheckExecutionContext checkExecutionContext) {
+        if (!this.cacheConfigurationProperties.isRenderedSqlPersistent()) {
+            return null;
+        }
+
+        Path userHomePhysicalPath = checkExecutionContext.getUserHomeContext().getHomeRoot().getPhysicalAbsolutePath();
+        if (userHomePhysicalPath == null) {
+            return null;
+        }
+
+        return userHomePhysicalPath
+                .resolve(BuiltInFolderNames.CACHE)
+                .resolve(RENDERED_SQL_CACHE_FOLDER_NAME);
+    }
+
+    /**
+     * Reads the content hash of the template file, reusing the last known hash when the file was not modified.
+     * @param checkExecutionContext Check execution context with the user home.
+     * @param sensorFindResult Sensor definition (template) find result.
+     * @return SHA-256 hash of the template file or null when the template file is not stored on a local file system.
+     */
+    protected byte[] readTemplateFileHash(CheckExecutionContext checkExecutionContext, SensorDefinitionFindResult sensorFindResult) {
+        AbstractFileSystemRoot homeRoot;
+        if (sensorFindResult.getHome() == HomeType.DQO_HOME) {
+            homeRoot = new DqoHomeFileSystemRoot(getDqoHomeAbsolutePath());
+        }
+        else {
+            Path userHomePhysicalPath = checkExecutionContext.getUserHomeContext().getHomeRoot().getPhysicalAbsolutePath();
+            if (userHomePhysicalPath == null) {
+                return null;
+            }
+            homeRoot = new UserHomeFileSystemRoot(userHomePhysicalPath);
+        }
+
+        Path relativeTemplatePath = Path.of(BuiltInFolderNames.SENSORS).resolve(sensorFindResult.getTemplateFilePath().toRelativePath());
+        Path absoluteTemplatePath = homeRoot.getRootPath().resolve(relativeTemplatePath);
+        FileMetadata lastKnownFileMetadata = this.lastKnownTemplateFiles.get(absoluteTemplatePath);
+        FileMetadata fileMetadata = this.localFileSystemService.readFileMetadata(homeRoot, relativeTemplatePath, lastKnownFileMetadata);
+        if (fileMetadata == null) {
+            this.lastKnownTemplateFiles.remove(absoluteTemplatePath);
+            return null;
+        }
+
+        this.lastKnownTemplateFiles.put(absoluteTemplatePath, fileMetadata);
+        return fileMetadata.getFileHash();
+    }
+
+    /**
+     * Calculates a hash of all dialect macro files in the DQO_HOME/sensors/dialects folder. Sensor templates import the dialect macros,
+     * so a change to any dialect file must invalidate the rendered queries.
+     * @return Hash of the dialects folder or null when the folder does not exist.
+     */
+    protected Long readDialectsFolderHash() {
+        DqoHomeFileSystemRoot dqoHomeRoot = new DqoHomeFileSystemRoot(getDqoHomeAbsolutePath());
+        Path relativeDialectsPath = Path.of(BuiltInFolderNames.SENSORS).resolve(DIALECTS_FOLDER_NAME);
+        if (!Files.isDirectory(dqoHomeRoot.getRootPath().resolve(relativeDialectsPath))) {
+            return null;
+        }
+
+        FolderMetadata dialectsFolder = this.localFileSystemService.listFilesInFolder(dqoHomeRoot, relativeDialectsPath, this.lastKnownDialectsFolder);
+        this.lastKnownDialectsFolder = dialectsFolder;
+        return dialectsFolder.getHash();
+    }
+
+    /**
+     * Returns the absolute path to the DQO_HOME folder.
+     * @return Absolute path to the DQO_HOME.
+     */
+    private Path getDqoHomeAbsolutePath() {
+        return Path.of(this.homeLocationFindService.getDqoHomePath()).toAbsolutePath();
+    }
+
+    /**
+     * Adds a string to the hash, prefixed with its length, so the boundaries between the hashed values are unambiguous.
+     * @param hasher Target hasher.
+     * @param value String value to add, may be null.
+     */
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(value.length());
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * State of a single check run, shared by all templates rendered during the run.
+     */
+    protected static class CheckRunState {
+        private final long dialectsFolderHash;
+        private final ConcurrentMap<HierarchyId, HashCode> specHashes = new ConcurrentHashMap<>();
+        private final AtomicBoolean persistentCacheEvicted = new AtomicBoolean();
+
+        /**
+         * Creates a check run state.
+         * @param dialectsFolderHash Hash of the dialects folder, read at the beginning of the check run.
+         */
+        public CheckRunState(long dialectsFolderHash) {
+            this.dialectsFolderHash = dialectsFolderHash;
+        }
+
+        /**
+         * Returns the hash of the dialects folder, read at the beginning of the check run.
+         * @return Hash of the dialects folder.
+         */
+        public long getDialectsFolderHash() {
+            return dialectsFolderHash;
+        }
+
+        /**
+         * Returns the hashes of the specifications (serialized to json) that were already calculated during the check run.
+         * @return Dictionary of specification hashes, keyed by the hierarchy id of the specification.
+         */
+        public ConcurrentMap<HierarchyId, HashCode> getSpecHashes() {
+            return specHashes;
+        }
+
+        /**
+         * Returns a flag that is set when the persistent cache folder was already cleaned during the check run.
+         * @return Flag that the persistent cache was evicted.
+         */
+        public AtomicBoolean getPersistentCacheEvicted() {
+            return persistentCacheEvicted;
+        }
+    }
+}
@@ -15,10 +15,14 @@
  */
 package ai.dqo.metadata.basespecs;
 
+import ai.dqo.metadata.id.ChildFieldEntry;
 import ai.dqo.metadata.id.ChildHierarchyNodeFieldMapImpl;
+import ai.dqo.metadata.id.HierarchyId;
 import ai.dqo.metadata.id.HierarchyNode;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.util.Objects;
+
 /**
  * Wrapper class that holds a model instance. Delays the loading until the actual model is retrieved. Also tracks
  * the change status (added, removed, modified).
@@ -80,6 +84,44 @@ public abstract class AbstractElementWrapper<K, V extends DirtyStatus & Hierarch
         }
     }
 
+    /**
+     * Assigns the new hierarchy ID on child nodes. A model that is not loaded yet is not loaded only to receive the hierarchy id,
+     * {@link #setSpec} assigns the hierarchy id when the model is loaded. Otherwise adding a wrapper to a list would parse its file.
+     * @param hierarchyId New hierarchy id of the current node that should be propagated to the field getter map.
+     */
+    @Override
+    protected void propagateHierarchyIdToFields(HierarchyId hierarchyId) {
+        for (ChildFieldEntry childFieldEntry : this.getChildMap().getChildEntries()) {
+            HierarchyNode childNode = Objects.equals(childFieldEntry.getChildName(), "spec") ?
+                    this.spec : childFieldEntry.getGetChildFunc().apply(this);
+            if (childNode != null) {
+                childNode.setHierarchyId(new HierarchyId(hierarchyId, childFieldEntry.getChildName()));
+            }
+        }
+    }
+
+    /**
+     * Attaches a model object that is shared with a read only copy of the same wrapper (a previous snapshot of a cached model).
+     * The shared model is not modified: its dirty flag is not cleared and the hierarchy id is not propagated again,
+     * so the readers of the other copy are not affected. The status of the wrapper is also not changed.
+     * The model is attached only when the wrapper has no model yet and the model already has the hierarchy id that this wrapper would assign.
+     * @param spec Shared model.
+     * @return True when the model was attached, false when the model cannot be shared and should be loaded again.
+     */
+    public boolean attachSharedSpec(V spec) {
+        if (this.spec != null || spec == null) {
+            return false;
+        }
+
+        HierarchyId expectedHierarchyId = this.getHierarchyId() != null ? new HierarchyId(this.getHierarchyId(), "spec") : null;
+        if (!Objects.equals(expectedHierarchyId, spec.getHierarchyId())) {
+            return false;
+        }
+
+        this.spec = spec;
+        return true;
+    }
+
     /**
      * Returns the status of the node.
      * @return Object status (added, modified, deleted, etc).
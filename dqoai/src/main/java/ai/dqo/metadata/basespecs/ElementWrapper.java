@@ -35,6 +35,14 @@ public interface ElementWrapper<V> extends Flushable, InstanceStatusTracking, Hi
      */
     void setSpec(V spec);
 
+    /**
+     * Attaches a model object that is shared with a read only copy of the same wrapper (a previous snapshot of a cached model)
+     * without modifying the model.
+     * @param spec Shared object specification.
+     * @return True when the specification was attached, false when it cannot be shared and should be loaded again.
+     */
+    boolean attachSharedSpec(V spec);
+
     /**
      * Returns the status of the node.
      * @return Object status (added, modified, deleted, etc).
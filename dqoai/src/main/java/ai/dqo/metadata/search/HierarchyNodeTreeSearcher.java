@@ -62,6 +62,15 @@ public interface HierarchyNodeTreeSearcher {
      */
     Collection<ColumnSpec> findColumns(HierarchyNode startNode, ColumnSearchFilters columnSearchFilters);
 
+    /**
+     * Loads the specifications of the connections and tables that match the connection and table filters in bulk (reading and parsing the files
+     * in parallel), before the tables are searched or checks are executed on them.
+     * @param startNode Start node to begin search. It could be the user home root, the connection list, a connection wrapper or a table list.
+     *                  Other nodes are ignored.
+     * @param tableSearchFilters Search filters, only the connection name and the schema.table name filters are used.
+     */
+    void preloadTables(HierarchyNode startNode, TableSearchFilters tableSearchFilters);
+
     /**
      * Search for table specs in the tree.
      * @param startNode Start node to begin search. It could be the user home root or any other nested node (ConnectionSpec, TableSpec, etc.)
@@ -20,16 +20,23 @@ import ai.dqo.metadata.definitions.rules.RuleDefinitionSpec;
 import ai.dqo.metadata.definitions.sensors.SensorDefinitionSpec;
 import ai.dqo.metadata.id.HierarchyNode;
 import ai.dqo.metadata.sources.ColumnSpec;
+import ai.dqo.metadata.sources.ConnectionList;
 import ai.dqo.metadata.sources.ConnectionSpec;
+import ai.dqo.metadata.sources.ConnectionWrapper;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.metadata.sources.TableList;
 import ai.dqo.metadata.sources.TableSpec;
 import ai.dqo.metadata.sources.TableWrapper;
 import ai.dqo.metadata.traversal.HierarchyNodeTreeWalker;
+import ai.dqo.metadata.userhome.UserHome;
+import com.google.common.base.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Finder service that traverses the hierarchy node tree and finds requested type of nodes.
@@ -54,6 +61,7 @@ public class HierarchyNodeTreeSearcherImpl implements HierarchyNodeTreeSearcher
      * @return Collection of check nodes that passed the filter.
      */
     public Collection<AbstractCheckSpec> findChecks(HierarchyNode startNode, CheckSearchFilters checkSearchFilters) {
+        preloadTables(startNode, checkSearchFilters.getConnectionName(), checkSearchFilters.getSchemaTableName());
         CheckSearchFiltersVisitor searchFilterVisitor = checkSearchFilters.createCheckSearchFilterVisitor();
         ArrayList<HierarchyNode> matchingNodes = new ArrayList<>();
 		this.hierarchyNodeTreeWalker.traverseHierarchyNodeTree(startNode, node -> node.visit(searchFilterVisitor, matchingNodes));
@@ -82,6 +90,10 @@ public class HierarchyNodeTreeSearcherImpl implements HierarchyNodeTreeSearcher
      * @return Collection of table specs nodes that passed the filter.
      */
     public Collection<TableWrapper> findTables(HierarchyNode startNode, TableSearchFilters tableSearchFilters) {
+        if (!Strings.isNullOrEmpty(tableSearchFilters.getSchemaTableName())) {
+            // the table specs are loaded only when the table name must be matched, otherwise the table wrappers are returned without loading
+            preloadTables(startNode, tableSearchFilters.getConnectionName(), tableSearchFilters.getSchemaTableName());
+        }
         TableSearchFiltersVisitor searchFilterVisitor = tableSearchFilters.createTableSearchFilterVisitor();
         ArrayList<HierarchyNode> matchingNodes = new ArrayList<>();
 		this.hierarchyNodeTreeWalker.traverseHierarchyNodeTree(startNode, node -> node.visit(searchFilterVisitor, matchingNodes));
@@ -96,6 +108,7 @@ public class HierarchyNodeTreeSearcherImpl implements HierarchyNodeTreeSearcher
      * @return Collection of table specs nodes that passed the filter.
      */
     public Collection<ColumnSpec> findColumns(HierarchyNode startNode, ColumnSearchFilters columnSearchFilters) {
+        preloadTables(startNode, columnSearchFilters.getConnectionName(), columnSearchFilters.getSchemaTableName());
         ColumnSearchFiltersVisitor searchFilterVisitor = columnSearchFilters.createSearchFilterVisitor();
         ArrayList<HierarchyNode> matchingNodes = new ArrayList<>();
 		this.hierarchyNodeTreeWalker.traverseHierarchyNodeTree(startNode, node -> node.visit(searchFilterVisitor, matchingNodes));
@@ -103,6 +116,45 @@ public class HierarchyNodeTreeSearcherImpl implements HierarchyNodeTreeSearcher
         return (List<ColumnSpec>)(ArrayList<?>)matchingNodes;
     }
 
+    /**
+     * Loads the specifications of the connections and tables that match the connection and table filters in bulk (reading and parsing the files
+     * in parallel), before the tables are searched or checks are executed on them.
+     * @param startNode Start node to begin search. It could be the user home root, the connection list, a connection wrapper or a table list.
+     *                  Other nodes are ignored.
+     * @param tableSearchFilters Search filters, only the connection name and the schema.table name filters are used.
+     */
+    public void preloadTables(HierarchyNode startNode, TableSearchFilters tableSearchFilters) {
+        preloadTables(startNode, tableSearchFilters.getConnectionName(), tableSearchFilters.getSchemaTableName());
+    }
+
+    /**
+     * Loads the specifications of the connections and tables that match the filters in bulk.
+     * @param startNode Start node.
+     * @param connectionNameFilter Connection name filter (may be a search pattern), null or empty accepts all connections.
+     * @param schemaTableNameFilter Schema and table name filter (may be a search pattern), null or empty accepts all tables.
+     */
+    protected void preloadTables(HierarchyNode startNode, String connectionNameFilter, String schemaTableNameFilter) {
+        Predicate<String> connectionNamePredicate = Strings.isNullOrEmpty(connectionNameFilter) ? connectionName -> true :
+                connectionName -> StringPatternComparer.matchSearchPattern(connectionName, connectionNameFilter);
+        PhysicalTableName tableNamePattern = Strings.isNullOrEmpty(schemaTableNameFilter) ? null :
+                PhysicalTableName.fromSchemaTableFilter(schemaTableNameFilter);
+        Predicate<PhysicalTableName> tableNamePredicate = tableNamePattern == null ? tableName -> true :
+                tableName -> tableName.matchPattern(tableNamePattern);
+
+        if (startNode instanceof UserHome) {
+            ((UserHome) startNode).getConnections().preloadSpecs(connectionNamePredicate, tableNamePredicate);
+        }
+        else if (startNode instanceof ConnectionList) {
+            ((ConnectionList) startNode).preloadSpecs(connectionNamePredicate, tableNamePredicate);
+        }
+        else if (startNode instanceof ConnectionWrapper) {
+            ((ConnectionWrapper) startNode).getTables().preloadSpecs(tableNamePredicate);
+        }
+        else if (startNode instanceof TableList) {
+            ((TableList) startNode).preloadSpecs(tableNamePredicate);
+        }
+    }
+
     /**
      * Search for table specs in the tree.
      * @param startNode Start node to begin search. It could be the user home root or any other nested node (ConnectionSpec, TableSpec, etc.)
@@ -18,6 +18,7 @@ package ai.dqo.metadata.sources;
 import ai.dqo.metadata.id.HierarchyNode;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * List of connections to databases.
@@ -58,6 +59,14 @@ public interface ConnectionList extends Iterable<ConnectionWrapper>, HierarchyNo
      */
     List<ConnectionWrapper> toList();
 
+    /**
+     * Loads the specifications of the connections and their tables in bulk, before the tables are searched or checks are executed.
+     * File based implementations read and parse the connection and table files in parallel.
+     * @param connectionNameFilter Connection name filter, connections whose names are not accepted are not loaded (with their tables).
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    void preloadSpecs(Predicate<String> connectionNameFilter, Predicate<PhysicalTableName> tableNameFilter);
+
     /**
      * Flushes changes to the persistent storage. Derived classes (that are based on a real persistence store) should override
      * this method and perform a store specific serialization.
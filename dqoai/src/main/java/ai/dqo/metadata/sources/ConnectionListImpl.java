@@ -19,6 +19,7 @@ import ai.dqo.metadata.basespecs.AbstractIndexingList;
 import ai.dqo.metadata.id.HierarchyNodeResultVisitor;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Data source collection. Tracks the status of the child elements (addition, removal).
@@ -63,6 +64,22 @@ public class ConnectionListImpl extends AbstractIndexingList<String, ConnectionW
         return List.copyOf(this);
     }
 
+    /**
+     * Loads the specifications of the connections and their tables in bulk, before the tables are searched or checks are executed.
+     *
+     * @param connectionNameFilter Connection name filter, connections whose names are not accepted are not loaded (with their tables).
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    @Override
+    public void preloadSpecs(Predicate<String> connectionNameFilter, Predicate<PhysicalTableName> tableNameFilter) {
+        for (ConnectionWrapper connectionWrapper : this) {
+            if (connectionNameFilter.test(connectionWrapper.getName())) {
+                connectionWrapper.getSpec();
+                connectionWrapper.getTables().preloadSpecs(tableNameFilter);
+            }
+        }
+    }
+
     /**
      * Calls a visitor (using a visitor design pattern) that returns a result.
      *
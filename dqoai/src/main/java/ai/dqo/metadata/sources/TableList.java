@@ -18,6 +18,7 @@ package ai.dqo.metadata.sources;
 import ai.dqo.metadata.id.HierarchyNode;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * List of tables in a database.
@@ -58,6 +59,13 @@ public interface TableList extends Iterable<TableWrapper>, HierarchyNode {
      */
     List<TableWrapper> toList();
 
+    /**
+     * Loads the specifications of the tables that match a table name filter in bulk, before the tables are searched or checks are executed.
+     * File based implementations read and parse the table files in parallel.
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    void preloadSpecs(Predicate<PhysicalTableName> tableNameFilter);
+
     /**
      * Flushes changes to the persistent storage. Derived classes (that are based on a real persistence store) should override
      * this method and perform a store specific serialization.
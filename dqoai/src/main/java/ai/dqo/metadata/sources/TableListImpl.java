@@ -20,6 +20,7 @@ import ai.dqo.metadata.id.HierarchyNodeResultVisitor;
 import ai.dqo.metadata.search.StringPatternComparer;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Table collection. Tracks the status of the child elements (addition, removal).
@@ -77,6 +78,20 @@ public class TableListImpl extends AbstractIndexingList<PhysicalTableName, Table
         return List.copyOf(this);
     }
 
+    /**
+     * Loads the specifications of the tables that match a table name filter in bulk, before the tables are searched or checks are executed.
+     *
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    @Override
+    public void preloadSpecs(Predicate<PhysicalTableName> tableNameFilter) {
+        for (TableWrapper tableWrapper : this) {
+            if (tableNameFilter.test(tableWrapper.getPhysicalTableName())) {
+                tableWrapper.getSpec();
+            }
+        }
+    }
+
     /**
      * Adds missing tables or missing columns from the source. Overwrites also the last known column data type.
      *
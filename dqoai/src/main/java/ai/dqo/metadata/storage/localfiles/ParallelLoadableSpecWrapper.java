@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles;
+
+import ai.dqo.core.filesystem.virtual.FileTreeNode;
+
+/**
+ * File based specification wrapper whose specification file can be read and parsed on a worker thread by {@link SpecFileParallelLoader}.
+ * Only {@link #deserializeSpec(FileTreeNode, String)} is called on a worker thread, all other methods are called on the thread that started the bulk load.
+ * @param <S> Specification type.
+ */
+public interface ParallelLoadableSpecWrapper<S> {
+    /**
+     * Checks if the specification is already loaded (or was assigned) and does not need to be loaded.
+     * @return True when the specification is already loaded.
+     */
+    boolean isSpecLoaded();
+
+    /**
+     * Returns the class of the specification, used to decode the specification from a binary snapshot.
+     * @return Specification class.
+     */
+    Class<S> getSpecClass();
+
+    /**
+     * Finds the file node of the specification file.
+     * @return Specification file node or null when the file is missing.
+     */
+    FileTreeNode findSpecFileNode();
+
+    /**
+     * Deserializes and validates the specification from the file content. This method is called on a worker thread and must not modify the wrapper.
+     * @param fileNode Specification file node, used for error messages.
+     * @param textContent Text content of the file.
+     * @return Deserialized specification.
+     */
+    S deserializeSpec(FileTreeNode fileNode, String textContent);
+
+    /**
+     * Stores a specification that was deserialized by {@link #deserializeSpec(FileTreeNode, String)} as a loaded (unmodified) specification.
+     * @param spec Deserialized specification.
+     */
+    void attachLoadedSpec(S spec);
+}
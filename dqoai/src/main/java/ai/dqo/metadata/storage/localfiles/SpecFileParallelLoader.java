@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles;
+
+import ai.dqo.core.filesystem.virtual.FileContent;
+import ai.dqo.core.filesystem.virtual.FileTreeNode;
+import ai.dqo.core.filesystem.virtual.FileTreeNodeStatus;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loader of specification files. Files stored on a local disk are read (with NIO) and parsed in parallel on the common fork join pool,
+ * the parsed specifications are attached to their wrappers on the calling thread, because the wrappers and the virtual file system are not thread safe.
+ * Files that fail to parse are not attached, the error is reported when the specification is loaded by the wrapper.
+ * When a binary snapshot of the parsed files is given, the specifications of files that were not changed since the snapshot was written
+ * are decoded from the snapshot without reading the yaml files, the parsed yaml files are added to the snapshot.
+ */
+public final class SpecFileParallelLoader {
+    /**
+     * The minimum number of files that are parsed in parallel. Fewer files are parsed on the calling thread.
+     */
+    public static final int MIN_FILES_TO_LOAD_IN_PARALLEL = 4;
+
+    private SpecFileParallelLoader() {
+    }
+
+    /**
+     * Loads the specifications of all wrappers that are not loaded yet.
+     * @param specWrappers Specification wrappers to load.
+     * @return The number of specification files that were parsed.
+     */
+    public static int loadSpecs(Collection<? extends ParallelLoadableSpecWrapper<?>> specWrappers) {
+        return loadSpecs(specWrappers, null);
+    }
+
+    /**
+     * Loads the specifications of all wrappers that are not loaded yet, using a binary snapshot of parsed files.
+     * The snapshot file is written after loading when new files were parsed.
+     * @param specWrappers Specification wrappers to load.
+     * @param specFileSnapshot Binary snapshot of parsed specification files, may be null.
+     * @return The number of specifications that were loaded (parsed or decoded from the snapshot).
+     */
+    public static int loadSpecs(Collection<? extends ParallelLoadableSpecWrapper<?>> specWrappers, SpecFileSnapshot specFileSnapshot) {
+        List<SpecLoadTask<?>> loadTasks = new ArrayList<>();
+        for (ParallelLoadableSpecWrapper<?> specWrapper : specWrappers) {
+            if (specWrapper.isSpecLoaded()) {
+                continue;
+            }
+
+            FileTreeNode fileNode = specWrapper.findSpecFileNode();
+            if (fileNode == null) {
+                continue;
+            }
+
+            loadTasks.add(new SpecLoadTask<>(specWrapper, fileNode, specFileSnapshot));
+        }
+
+        Stream<SpecLoadTask<?>> taskStream = loadTasks.size() >= MIN_FILES_TO_LOAD_IN_PARALLEL ? loadTasks.parallelStream() : loadTasks.stream();
+        taskStream.forEach(SpecLoadTask::readAndDeserialize);
+
+        int loadedCount = 0;
+        for (SpecLoadTask<?> loadTask : loadTasks) {
+            if (loadTask.attach()) {
+                loadedCount++;
+            }
+        }
+
+        if (specFileSnapshot != null) {
+            specFileSnapshot.saveIfModified();
+        }
+
+        return loadedCount;
+    }
+
+    /**
+     * Loading task of a single specification file.
+     * @param <S> Specification type.
+     */
+    private static class SpecLoadTask<S> {
+        private final ParallelLoadableSpecWrapper<S> specWrapper;
+        private final FileTreeNode fileNode;
+        private final Path physicalPath;
+        private final SpecFileSnapshot specFileSnapshot;
+        private String textContent;
+        private S deserializedSpec;
+        private boolean decodedFromSnapshot;
+
+        /**
+         * Creates a load task. A file that was already loaded to the virtual file system or is not stored on a local disk is read on the calling thread.
+         * @param specWrapper Specification wrapper.
+         * @param fileNode Specification file node.
+         * @param specFileSnapshot Binary snapshot of parsed specification files, may be null.
+         */
+        SpecLoadTask(ParallelLoadableSpecWrapper<S> specWrapper, FileTreeNode fileNode, SpecFileSnapshot specFileSnapshot) {
+            this.specWrapper = specWrapper;
+            this.fileNode = fileNode;
+            this.specFileSnapshot = specFileSnapshot;
+            this.physicalPath = fileNode.getStatus() == FileTreeNodeStatus.NOT_LOADED ? fileNode.getPhysicalAbsolutePath() : null;
+            if (this.physicalPath == null) {
+                FileContent fileContent = fileNode.getContent();
+                this.textContent = fileContent != null ? fileContent.getTextContent() : null;
+            }
+        }
+
+        /**
+         * Reads the file (when it was not read yet) and deserializes the specification. Called on a worker thread.
+         * Files that were not changed since they were stored in the snapshot are decoded from the snapshot and are not read.
+         */
+        void readAndDeserialize() {
+            try {
+                if (this.physicalPath != null) {
+                    if (this.specFileSnapshot != null) {
+                        this.deserializedSpec = this.specFileSnapshot.readSpec(this.physicalPath, this.specWrapper.getSpecClass());
+                        if (this.deserializedSpec != null) {
+                            this.decodedFromSnapshot = true;
+                            return;
+                        }
+                    }
+
+                    // the timestamp is read before the content, a file changed while it is read will be parsed again from the next snapshot
+                    long lastModifiedAt = this.physicalPath.toFile().lastModified();
+                    byte[] fileBytes = Files.readAllBytes(this.physicalPath);
+                    this.textContent = new String(fileBytes, StandardCharsets.UTF_8);
+                    this.deserializedSpec = this.specWrapper.deserializeSpec(this.fileNode, this.textContent);
+
+                    if (this.specFileSnapshot != null) {
+                        this.specFileSnapshot.storeSpec(this.physicalPath, lastModifiedAt, Hashing.sha256().hashBytes(fileBytes).asBytes(), this.deserializedSpec);
+                    }
+                }
+                else if (this.textContent != null) {
+                    this.deserializedSpec = this.specWrapper.deserializeSpec(this.fileNode, this.textContent);
+                }
+            }
+            catch (Exception ex) {
+                this.deserializedSpec = null; // the wrapper will load the file again and report the error when the specification is requested
+            }
+        }
+
+        /**
+         * Attaches the file content to the file node and the deserialized specification to the wrapper. Called on the calling thread.
+         * @return True when the specification was attached.
+         */
+        boolean attach() {
+            if (this.deserializedSpec == null) {
+                return false;
+            }
+
+            if (this.physicalPath != null && !this.decodedFromSnapshot) {
+                this.fileNode.setContent(new FileContent(this.textContent), FileTreeNodeStatus.LOADED_NOT_MODIFIED);
+            }
+            this.specWrapper.attachLoadedSpec(this.deserializedSpec);
+            return true;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import ai.dqo.metadata.dqohome.DqoHome;
  */
 public class DqoHomeContext {
     private final FolderTreeNode homeRoot;
+    private final boolean readOnly;
     private DqoHome dqoHome;
 
     /**
@@ -30,7 +31,17 @@ public class DqoHomeContext {
      * @param homeRoot User home root folder.
      */
     public DqoHomeContext(FolderTreeNode homeRoot) {
+        this(homeRoot, false);
+    }
+
+    /**
+     * Creates a dqo home context given a virtual folder with the dqo home.
+     * @param homeRoot Dqo home root folder.
+     * @param readOnly True when the dqo home model is shared between threads and must not be modified or flushed.
+     */
+    public DqoHomeContext(FolderTreeNode homeRoot, boolean readOnly) {
         this.homeRoot = homeRoot;
+        this.readOnly = readOnly;
     }
 
     /**
@@ -41,6 +52,14 @@ public class DqoHomeContext {
         return homeRoot;
     }
 
+    /**
+     * Returns true when the dqo home model is a shared, preloaded snapshot that must not be modified.
+     * @return True when the dqo home context is read only.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     /**
      * Returns a dqo home model that is used by this instance.
      * @return Dqo home model connected to the file system.
@@ -62,6 +81,10 @@ public class DqoHomeContext {
      * Flushes changes to disk.
      */
     public void flush() {
+        if (this.readOnly) {
+            throw new IllegalStateException("The shared DQO_HOME model is read only and cannot be flushed");
+        }
+
 		this.dqoHome.flush(); // flushes changes to the virtual file system
 		this.homeRoot.flush(); // flushes changes to disk
     }
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles.dqohome;
+
+/**
+ * Cache of a shared, fully loaded DQO_HOME model. The built-in sensor and rule definitions are parsed once and reused by all check runs
+ * and cli command completers until a file in the DQO_HOME folder is changed.
+ */
+public interface DqoHomeContextCache {
+    /**
+     * Returns a shared, read only dqo home context with all sensor and rule definitions already loaded.
+     * The returned model is safe to be read by multiple threads, but it must not be modified.
+     * @return Shared dqo home context.
+     */
+    DqoHomeContext getCachedLocalDqoHome();
+
+    /**
+     * Invalidates the cached dqo home context. The next call to {@link #getCachedLocalDqoHome()} will load the DQO_HOME again.
+     */
+    void invalidateCache();
+}
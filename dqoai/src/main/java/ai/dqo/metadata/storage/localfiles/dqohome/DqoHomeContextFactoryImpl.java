@@ -15,24 +15,62 @@
  */
 package ai.dqo.metadata.storage.localfiles.dqohome;
 
+import ai.dqo.cli.completion.completers.cache.CliCompletionCache;
+import ai.dqo.core.configuration.DqoCacheConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.filesystem.localfiles.HomeLocationFindService;
+import ai.dqo.core.filesystem.localfiles.LocalFileSystemException;
 import ai.dqo.core.filesystem.localfiles.LocalFileSystemFactory;
 import ai.dqo.core.filesystem.localfiles.LocalFolderTreeNode;
+import ai.dqo.core.filesystem.localfiles.LocalFolderWatcher;
+import ai.dqo.metadata.definitions.rules.RuleDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.ProviderSensorDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.SensorDefinitionWrapper;
 import ai.dqo.utils.serialization.YamlSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Creates a DQO_HOME come context and loads the home model from the file system.
+ * Also maintains a shared, read only DQO_HOME model with all sensor and rule definitions loaded, that is reused by check runs and completers.
+ * The shared model is loaded in the background when the application starts and is reloaded after a change in the DQO_HOME folder was detected.
  */
 @Component
-public class DqoHomeContextFactoryImpl implements DqoHomeContextFactory {
+public class DqoHomeContextFactoryImpl implements DqoHomeContextFactory, DqoHomeContextCache, InitializingBean, DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(DqoHomeContextFactoryImpl.class);
+
     private final YamlSerializer yamlSerializer;
     private final LocalFileSystemFactory localFileSystemFactory;
+    private final HomeLocationFindService homeLocationFindService;
+    private final DqoCacheConfigurationProperties cacheConfigurationProperties;
+    private final Object loadLock = new Object();
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private volatile DqoHomeContext cachedDqoHomeContext;
+    private LocalFolderWatcher dqoHomeWatcher;
 
+    /**
+     * Default injection constructor.
+     * @param yamlSerializer Configured yaml serializer.
+     * @param localFileSystemFactory Local file system factory to manage local files.
+     * @param homeLocationFindService Home location finder, used to find the DQO_HOME folder that is watched for changes.
+     * @param configurationProperties Configuration properties with the DQO_HOME cache configuration.
+     */
     @Autowired
-    public DqoHomeContextFactoryImpl(YamlSerializer yamlSerializer, LocalFileSystemFactory localFileSystemFactory) {
+    public DqoHomeContextFactoryImpl(YamlSerializer yamlSerializer,
+                                     LocalFileSystemFactory localFileSystemFactory,
+                                     HomeLocationFindService homeLocationFindService,
+                                     DqoConfigurationProperties configurationProperties) {
         this.yamlSerializer = yamlSerializer;
         this.localFileSystemFactory = localFileSystemFactory;
+        this.homeLocationFindService = homeLocationFindService;
+        this.cacheConfigurationProperties = configurationProperties.getCache();
     }
 
     /**
@@ -41,13 +79,119 @@ public class DqoHomeContextFactoryImpl implements DqoHomeContextFactory {
      */
     @Override
     public DqoHomeContext openLocalDqoHome() {
-        // TODO: consider caching a home context instance and returning a shared instance, we will need to preload it to avoid race conditions if multiple threads are loading definitions
-        // it is probably enough to preload a list of rules and a list of sensor definitions + their list of provider sensors, we can load specs later (on demand)
+        return openLocalDqoHome(false);
+    }
 
+    /**
+     * Opens a local home context.
+     * @param readOnly True when the home context will be shared and must not be modified.
+     * @return Dqo home context.
+     */
+    protected DqoHomeContext openLocalDqoHome(boolean readOnly) {
         LocalFolderTreeNode homeRoot = this.localFileSystemFactory.openLocalDqoHome();
-        DqoHomeContext dqoHomeContext = new DqoHomeContext(homeRoot);
+        DqoHomeContext dqoHomeContext = new DqoHomeContext(homeRoot, readOnly);
         FileDqoHomeImpl fileDqoHomeModel = FileDqoHomeImpl.create(dqoHomeContext, this.yamlSerializer);
         dqoHomeContext.setDqoHome(fileDqoHomeModel);
         return dqoHomeContext;
     }
+
+    /**
+     * Returns a shared, read only dqo home context with all sensor and rule definitions already loaded.
+     * The returned model is safe to be read by multiple threads, but it must not be modified.
+     * @return Shared dqo home context.
+     */
+    @Override
+    public DqoHomeContext getCachedLocalDqoHome() {
+        DqoHomeContext dqoHomeContext = this.cachedDqoHomeContext;
+        if (dqoHomeContext != null) {
+            return dqoHomeContext;
+        }
+
+        synchronized (this.loadLock) {
+            dqoHomeContext = this.cachedDqoHomeContext;
+            if (dqoHomeContext != null) {
+                return dqoHomeContext;
+            }
+
+            long generationBeforeLoading = this.cacheGeneration.get();
+            dqoHomeContext = openLocalDqoHome(true);
+            preloadDefinitions(dqoHomeContext);
+            if (this.cacheGeneration.get() == generationBeforeLoading) {
+                this.cachedDqoHomeContext = dqoHomeContext; // not cached when a file was changed while loading, the next call will load it again
+            }
+
+            return dqoHomeContext;
+        }
+    }
+
+    /**
+     * Invalidates the cached dqo home context. The next call to {@link #getCachedLocalDqoHome()} will load the DQO_HOME again.
+     */
+    @Override
+    public void invalidateCache() {
+        this.cacheGeneration.incrementAndGet();
+        this.cachedDqoHomeContext = null;
+        CliCompletionCache.invalidateCache();
+    }
+
+    /**
+     * Loads all sensor definitions (with the provider specific definitions) and all rule definitions, so the model is not lazy loaded
+     * later by multiple threads.
+     * @param dqoHomeContext Dqo home context to load.
+     */
+    protected void preloadDefinitions(DqoHomeContext dqoHomeContext) {
+        for (SensorDefinitionWrapper sensorDefinitionWrapper : dqoHomeContext.getDqoHome().getSensors()) {
+            sensorDefinitionWrapper.getSpec();
+            for (ProviderSensorDefinitionWrapper providerSensorDefinitionWrapper : sensorDefinitionWrapper.getProviderSensors()) {
+                providerSensorDefinitionWrapper.getSpec();
+            }
+        }
+
+        for (RuleDefinitionWrapper ruleDefinitionWrapper : dqoHomeContext.getDqoHome().getRules()) {
+            ruleDefinitionWrapper.getSpec();
+        }
+    }
+
+    /**
+     * Starts watching the DQO_HOME folder for changes and starts loading the shared model in the background.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (this.cacheConfigurationProperties.isDqoHomeWatch()) {
+            try {
+                Path dqoHomePath = Path.of(this.homeLocationFindService.getDqoHomePath());
+                LocalFolderWatcher folderWatcher = new LocalFolderWatcher(dqoHomePath, changedPaths -> invalidateCache());
+                if (folderWatcher.start()) {
+                    this.dqoHomeWatcher = folderWatcher;
+                }
+            }
+            catch (LocalFileSystemException ex) {
+                LOG.debug("DQO_HOME is not available, changes will not be detected: " + ex.getMessage());
+            }
+        }
+
+        if (this.cacheConfigurationProperties.isDqoHomePreload()) {
+            Thread preloadThread = new Thread(() -> {
+                try {
+                    getCachedLocalDqoHome();
+                }
+                catch (Exception ex) {
+                    LOG.debug("Cannot preload DQO_HOME: " + ex.getMessage(), ex);
+                }
+            }, "dqo-home-preload");
+            preloadThread.setDaemon(true);
+            preloadThread.start();
+        }
+    }
+
+    /**
+     * Stops watching the DQO_HOME folder.
+     */
+    @Override
+    public void destroy() {
+        if (this.dqoHomeWatcher != null) {
+            this.dqoHomeWatcher.close();
+            this.dqoHomeWatcher = null;
+        }
+    }
 }
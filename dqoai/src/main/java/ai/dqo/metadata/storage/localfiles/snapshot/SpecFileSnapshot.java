@@ -0,0 +1,288 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles.snapshot;
+
+import ai.dqo.core.filesystem.ApiVersion;
+import ai.dqo.core.filesystem.BuiltInFolderNames;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemService;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.UserHomeFileSystemRoot;
+import ai.dqo.core.filesystem.metadata.FileMetadata;
+import ai.dqo.utils.serialization.SmileSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary snapshot of parsed specification files in the user home, stored as a Smile encoded file in the .cache folder.
+ * Every entry is keyed by the path of the yaml file and stores the file's last modified timestamp and the content hash (as tracked in {@link FileMetadata})
+ * when the file was parsed. A specification is returned from the snapshot only when the hash of the current file matches, the file is hashed again
+ * only when its last modified timestamp has changed. Changed files are parsed from yaml and their entries are replaced.
+ * The snapshot is thread safe, specifications are read and stored by the worker threads of the parallel specification loader.
+ */
+public class SpecFileSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(SpecFileSnapshot.class);
+
+    /**
+     * Version of the snapshot file format. Increase the version when the format or the way the specifications are encoded changes in an incompatible way.
+     */
+    public static final int SNAPSHOT_FORMAT_VERSION = 1;
+
+    /**
+     * Name of the snapshot file inside the user home .cache folder.
+     */
+    public static final String SNAPSHOT_FILE_NAME = "user_home_specs.smile";
+
+    private final Path homePath;
+    private final Path snapshotFilePath;
+    private final UserHomeFileSystemRoot homeFileSystemRoot;
+    private final SmileSerializer smileSerializer;
+    private final LocalFileSystemService localFileSystemService;
+    private final Map<String, SpecFileSnapshotEntry> entries = new ConcurrentHashMap<>();
+    private final Object saveLock = new Object();
+    private volatile boolean modified;
+
+    /**
+     * Creates an empty snapshot of a user home.
+     * @param homePath Absolute path to the user home folder.
+     * @param smileSerializer Smile serializer used to encode the specifications and the snapshot file.
+     * @param localFileSystemService Local file system service used to read the metadata (with the hash) of the yaml files.
+     */
+    public SpecFileSnapshot(Path homePath, SmileSerializer smileSerializer, LocalFileSystemService localFileSystemService) {
+        this.homePath = homePath;
+        this.snapshotFilePath = homePath.resolve(BuiltInFolderNames.CACHE).resolve(SNAPSHOT_FILE_NAME);
+        this.homeFileSystemRoot = new UserHomeFileSystemRoot(homePath);
+        this.smileSerializer = smileSerializer;
+        this.localFileSystemService = localFileSystemService;
+    }
+
+    /**
+     * Opens a snapshot of a user home, loading the entries from the snapshot file when it exists.
+     * @param homePath Absolute path to the user home folder.
+     * @param smileSerializer Smile serializer.
+     * @param localFileSystemService Local file system service.
+     * @return Snapshot of the user home.
+     */
+    public static SpecFileSnapshot open(Path homePath, SmileSerializer smileSerializer, LocalFileSystemService localFileSystemService) {
+        SpecFileSnapshot specFileSnapshot = new SpecFileSnapshot(homePath, smileSerializer, localFileSystemService);
+        specFileSnapshot.load();
+        return specFileSnapshot;
+    }
+
+    /**
+     * Returns the absolute path to the user home folder.
+     * @return User home path.
+     */
+    public Path getHomePath() {
+        return homePath;
+    }
+
+    /**
+     * Returns the path to the snapshot file.
+     * @return Snapshot file path.
+     */
+    public Path getSnapshotFilePath() {
+        return snapshotFilePath;
+    }
+
+    /**
+     * Returns the number of specifications in the snapshot.
+     * @return Number of entries.
+     */
+    public int getEntryCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Checks if the snapshot was changed since it was loaded or saved.
+     * @return True when the snapshot must be saved.
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Loads the entries from the snapshot file. A missing, corrupted or outdated snapshot file is ignored and the snapshot stays empty.
+     */
+    public void load() {
+        if (!Files.exists(this.snapshotFilePath)) {
+            return;
+        }
+
+        try {
+            byte[] snapshotData = Files.readAllBytes(this.snapshotFilePath);
+            SpecFileSnapshotContent snapshotContent = this.smileSerializer.deserialize(snapshotData, SpecFileSnapshotContent.class);
+            if (snapshotContent.getFormatVersion() != SNAPSHOT_FORMAT_VERSION ||
+                    !ApiVersion.CURRENT_API_VERSION.equals(snapshotContent.getApiVersion())) {
+                return;
+            }
+
+            for (SpecFileSnapshotEntry entry : snapshotContent.getEntries()) {
+                this.entries.put(toEntryKey(entry.getFileMetadata().getRelativePath()), entry);
+            }
+        }
+        catch (Exception ex) {
+            LOG.warn("Cannot read the user home snapshot file " + this.snapshotFilePath + ", all files will be parsed again, error: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns a specification from the snapshot when the yaml file was not changed since it was parsed.
+     * @param physicalFilePath Absolute path to the yaml file.
+     * @param specClass Specification class.
+     * @param <S> Specification type.
+     * @return Specification decoded from the snapshot or null when the snapshot has no current entry for the file.
+     */
+    public <S> S readSpec(Path physicalFilePath, Class<S> specClass) {
+        Path relativePath = toRelativePath(physicalFilePath);
+        if (relativePath == null) {
+            return null;
+        }
+
+        String entryKey = toEntryKey(relativePath);
+        SpecFileSnapshotEntry entry = this.entries.get(entryKey);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            FileMetadata snapshotFileMetadata = entry.getFileMetadata();
+            FileMetadata currentFileMetadata = this.localFileSystemService.readFileMetadata(
+                    this.homeFileSystemRoot, relativePath, snapshotFileMetadata);
+            if (currentFileMetadata == null || !Arrays.equals(currentFileMetadata.getFileHash(), snapshotFileMetadata.getFileHash())) {
+                removeEntry(entryKey, entry);
+                return null;
+            }
+
+            S spec = this.smileSerializer.deserialize(entry.getSpecData(), specClass);
+            if (currentFileMetadata.getLastModifiedAt() != snapshotFileMetadata.getLastModifiedAt()) {
+                // the file was touched, but the content is the same, the new timestamp is stored to avoid hashing the file again
+                this.entries.put(entryKey, new SpecFileSnapshotEntry(currentFileMetadata, entry.getSpecData()));
+                this.modified = true;
+            }
+
+            return spec;
+        }
+        catch (Exception ex) {
+            LOG.debug("Cannot read the specification of " + physicalFilePath + " from the user home snapshot: " + ex.getMessage(), ex);
+            removeEntry(entryKey, entry);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a specification that was parsed from a yaml file.
+     * @param physicalFilePath Absolute path to the yaml file.
+     * @param lastModifiedAt The last modified timestamp of the file, read before the file was read.
+     * @param fileHash SHA-256 hash of the file content that was parsed.
+     * @param spec Parsed and validated specification.
+     */
+    public void storeSpec(Path physicalFilePath, long lastModifiedAt, byte[] fileHash, Object spec) {
+        Path relativePath = toRelativePath(physicalFilePath);
+        if (relativePath == null) {
+            return;
+        }
+
+        try {
+            byte[] specData = this.smileSerializer.serialize(spec);
+            FileMetadata fileMetadata = new FileMetadata(relativePath, lastModifiedAt, fileHash, Instant.now().toEpochMilli());
+            this.entries.put(toEntryKey(relativePath), new SpecFileSnapshotEntry(fileMetadata, specData));
+            this.modified = true;
+        }
+        catch (Exception ex) {
+            LOG.debug("Cannot store the specification of " + physicalFilePath + " in the user home snapshot: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Writes the snapshot file when the snapshot was changed. Entries of files that no longer exist are removed.
+     * The file is written to a temporary file first and moved over the previous snapshot file.
+     */
+    public void saveIfModified() {
+        if (!this.modified) {
+            return;
+        }
+
+        synchronized (this.saveLock) {
+            if (!this.modified) {
+                return;
+            }
+            this.modified = false;
+
+            this.entries.entrySet().removeIf(keyEntry -> !Files.exists(this.homePath.resolve(keyEntry.getKey())));
+            List<SpecFileSnapshotEntry> entriesToSave = new ArrayList<>(this.entries.values());
+            SpecFileSnapshotContent snapshotContent = new SpecFileSnapshotContent(SNAPSHOT_FORMAT_VERSION, ApiVersion.CURRENT_API_VERSION, entriesToSave);
+
+            try {
+                byte[] snapshotData = this.smileSerializer.serialize(snapshotContent);
+                Files.createDirectories(this.snapshotFilePath.getParent());
+                Path temporaryFilePath = Files.createTempFile(this.snapshotFilePath.getParent(), SNAPSHOT_FILE_NAME, ".tmp");
+                try {
+                    Files.write(temporaryFilePath, snapshotData);
+                    Files.move(temporaryFilePath, this.snapshotFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                finally {
+                    Files.deleteIfExists(temporaryFilePath);
+                }
+            }
+            catch (Exception ex) {
+                LOG.warn("Cannot write the user home snapshot file " + this.snapshotFilePath + ", error: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Removes an outdated entry, unless it was already replaced by another thread.
+     * @param entryKey Entry key.
+     * @param entry Outdated entry.
+     */
+    private void removeEntry(String entryKey, SpecFileSnapshotEntry entry) {
+        if (this.entries.remove(entryKey, entry)) {
+            this.modified = true;
+        }
+    }
+
+    /**
+     * Converts an absolute path of a file to a path relative to the user home.
+     * @param physicalFilePath Absolute path to a file.
+     * @return Relative path or null when the file is not inside the user home.
+     */
+    private Path toRelativePath(Path physicalFilePath) {
+        if (physicalFilePath == null || !physicalFilePath.startsWith(this.homePath)) {
+            return null;
+        }
+
+        return this.homePath.relativize(physicalFilePath);
+    }
+
+    /**
+     * Converts a relative file path to an entry key, using a linux folder notation.
+     * @param relativePath Relative file path.
+     * @return Entry key.
+     */
+    private static String toEntryKey(Path relativePath) {
+        return relativePath.toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Content of the binary snapshot file with parsed specification files, stored in the .cache folder.
+ */
+public class SpecFileSnapshotContent {
+    @JsonProperty("v")
+    private int formatVersion;
+
+    @JsonProperty("a")
+    private String apiVersion;
+
+    @JsonProperty("e")
+    private List<SpecFileSnapshotEntry> entries = new ArrayList<>();
+
+    /**
+     * Default constructor - to be used by the deserializer.
+     */
+    public SpecFileSnapshotContent() {
+    }
+
+    /**
+     * Creates a snapshot content.
+     * @param formatVersion Snapshot format version.
+     * @param apiVersion Api version of the specification files.
+     * @param entries Snapshot entries.
+     */
+    public SpecFileSnapshotContent(int formatVersion, String apiVersion, List<SpecFileSnapshotEntry> entries) {
+        this.formatVersion = formatVersion;
+        this.apiVersion = apiVersion;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the version of the snapshot format. Snapshots written in a different format are ignored.
+     * @return Snapshot format version.
+     */
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    /**
+     * Private setter - to be used by the deserializer.
+     * @param formatVersion Snapshot format version.
+     */
+    private void setFormatVersion(int formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+
+    /**
+     * Returns the api version of the specification files. Snapshots of files with a different api version are ignored.
+     * @return Api version.
+     */
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    /**
+     * Private setter - to be used by the deserializer.
+     * @param apiVersion Api version.
+     */
+    private void setApiVersion(String apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+
+    /**
+     * Returns the snapshot entries, one entry for each parsed specification file.
+     * @return List of snapshot entries.
+     */
+    public List<SpecFileSnapshotEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Private setter - to be used by the deserializer.
+     * @param entries Snapshot entries.
+     */
+    private void setEntries(List<SpecFileSnapshotEntry> entries) {
+        this.entries = entries;
+    }
+}
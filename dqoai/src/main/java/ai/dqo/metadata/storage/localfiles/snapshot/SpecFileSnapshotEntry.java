@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles.snapshot;
+
+import ai.dqo.core.filesystem.metadata.FileMetadata;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Single entry in the binary snapshot of parsed specification files. Stores the metadata of the yaml file (the last modified timestamp
+ * and the content hash) when it was parsed and the parsed specification encoded as Smile.
+ */
+public class SpecFileSnapshotEntry {
+    @JsonProperty("f")
+    private FileMetadata fileMetadata;
+
+    @JsonProperty("d")
+    private byte[] specData;
+
+    /**
+     * Default constructor - to be used by the deserializer.
+     */
+    public SpecFileSnapshotEntry() {
+    }
+
+    /**
+     * Creates a snapshot entry.
+     * @param fileMetadata Metadata of the yaml file (relative to the home root) that was parsed.
+     * @param specData Parsed specification encoded as Smile.
+     */
+    public SpecFileSnapshotEntry(FileMetadata fileMetadata, byte[] specData) {
+        this.fileMetadata = fileMetadata;
+        this.specData = specData;
+    }
+
+    /**
+     * Returns the metadata of the yaml file when it was parsed.
+     * @return File metadata with the relative path, the last modified timestamp and the content hash.
+     */
+    public FileMetadata getFileMetadata() {
+        return fileMetadata;
+    }
+
+    /**
+     * Private setter - to be used by the deserializer.
+     * @param fileMetadata File metadata.
+     */
+    private void setFileMetadata(FileMetadata fileMetadata) {
+        this.fileMetadata = fileMetadata;
+    }
+
+    /**
+     * Returns the parsed specification encoded as Smile.
+     * @return Encoded specification.
+     */
+    public byte[] getSpecData() {
+        return specData;
+    }
+
+    /**
+     * Private setter - to be used by the deserializer.
+     * @param specData Encoded specification.
+     */
+    private void setSpecData(byte[] specData) {
+        this.specData = specData;
+    }
+}
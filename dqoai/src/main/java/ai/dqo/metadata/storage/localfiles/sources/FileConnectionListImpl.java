@@ -18,11 +18,20 @@ package ai.dqo.metadata.storage.localfiles.sources;
 import ai.dqo.core.filesystem.virtual.FolderTreeNode;
 import ai.dqo.metadata.sources.ConnectionListImpl;
 import ai.dqo.metadata.sources.ConnectionSpec;
+import ai.dqo.metadata.sources.ConnectionWrapper;
 import ai.dqo.metadata.sources.ConnectionWrapperImpl;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.metadata.storage.localfiles.ParallelLoadableSpecWrapper;
 import ai.dqo.metadata.storage.localfiles.SpecFileNames;
+import ai.dqo.metadata.storage.localfiles.SpecFileParallelLoader;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
 import ai.dqo.utils.serialization.YamlSerializer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Data sources collection that uses a local file system (the user's home folder) to read yaml files.
  */
@@ -31,6 +40,8 @@ public class FileConnectionListImpl extends ConnectionListImpl {
     private final FolderTreeNode sourcesFolder;
     @JsonIgnore
     private final YamlSerializer yamlSerializer;
+    @JsonIgnore
+    private final SpecFileSnapshot specFileSnapshot;
 
     /**
      * Creates a data source collection using a given sources folder.
@@ -38,8 +49,19 @@ public class FileConnectionListImpl extends ConnectionListImpl {
      * @param yamlSerializer  Yaml serializer.
      */
     public FileConnectionListImpl(FolderTreeNode sourcesFolder, YamlSerializer yamlSerializer) {
+        this(sourcesFolder, yamlSerializer, null);
+    }
+
+    /**
+     * Creates a data source collection using a given sources folder and a binary snapshot of parsed specification files.
+     * @param sourcesFolder Sources folder node.
+     * @param yamlSerializer  Yaml serializer.
+     * @param specFileSnapshot Binary snapshot of parsed specification files used by the bulk load, may be null.
+     */
+    public FileConnectionListImpl(FolderTreeNode sourcesFolder, YamlSerializer yamlSerializer, SpecFileSnapshot specFileSnapshot) {
         this.sourcesFolder = sourcesFolder;
         this.yamlSerializer = yamlSerializer;
+        this.specFileSnapshot = specFileSnapshot;
     }
 
     /**
@@ -60,8 +82,38 @@ public class FileConnectionListImpl extends ConnectionListImpl {
             if (this.getByObjectName(connectionName, false) != null) {
                 continue; // was already added
             }
-			this.addWithoutFullLoad(new FileConnectionWrapperImpl(sourceFolderNode, this.yamlSerializer));
+			this.addWithoutFullLoad(new FileConnectionWrapperImpl(sourceFolderNode, this.yamlSerializer, this.specFileSnapshot));
+        }
+    }
+
+    /**
+     * Loads the specifications of the connections and their tables in bulk. The connection and table files of all connections are read and parsed
+     * in parallel as one batch. Files that were not changed since they were stored in the binary snapshot are decoded from the snapshot.
+     *
+     * @param connectionNameFilter Connection name filter, connections whose names are not accepted are not loaded (with their tables).
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    @Override
+    public void preloadSpecs(Predicate<String> connectionNameFilter, Predicate<PhysicalTableName> tableNameFilter) {
+        List<ParallelLoadableSpecWrapper<?>> wrappersToLoad = new ArrayList<>();
+        for (ConnectionWrapper connectionWrapper : this) {
+            if (!connectionNameFilter.test(connectionWrapper.getName())) {
+                continue;
+            }
+
+            if (connectionWrapper instanceof FileConnectionWrapperImpl) {
+                wrappersToLoad.add((FileConnectionWrapperImpl) connectionWrapper);
+            }
+
+            if (connectionWrapper.getTables() instanceof FileTableListImpl) {
+                wrappersToLoad.addAll(((FileTableListImpl) connectionWrapper.getTables()).collectTablesToPreload(tableNameFilter));
+            }
+            else {
+                connectionWrapper.getTables().preloadSpecs(tableNameFilter);
+            }
         }
+
+        SpecFileParallelLoader.loadSpecs(wrappersToLoad, this.specFileSnapshot);
     }
 
     /**
@@ -73,7 +125,7 @@ public class FileConnectionListImpl extends ConnectionListImpl {
     @Override
     protected ConnectionWrapperImpl createNewElement(String objectName) {
         FolderTreeNode newSourceFolderNode = this.sourcesFolder.getOrAddFolderPath(objectName);
-        FileConnectionWrapperImpl dataSourceModelWrapper = new FileConnectionWrapperImpl(newSourceFolderNode, this.yamlSerializer);
+        FileConnectionWrapperImpl dataSourceModelWrapper = new FileConnectionWrapperImpl(newSourceFolderNode, this.yamlSerializer, this.specFileSnapshot);
         dataSourceModelWrapper.setName(objectName);
         dataSourceModelWrapper.setSpec(new ConnectionSpec());
         return dataSourceModelWrapper;
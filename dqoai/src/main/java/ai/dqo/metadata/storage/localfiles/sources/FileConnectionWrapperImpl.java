@@ -23,8 +23,10 @@ import ai.dqo.core.filesystem.localfiles.LocalFileSystemException;
 import ai.dqo.metadata.basespecs.InstanceStatus;
 import ai.dqo.metadata.sources.ConnectionSpec;
 import ai.dqo.metadata.sources.ConnectionWrapperImpl;
+import ai.dqo.metadata.storage.localfiles.ParallelLoadableSpecWrapper;
 import ai.dqo.metadata.storage.localfiles.SpecFileNames;
 import ai.dqo.metadata.storage.localfiles.SpecificationKind;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
 import ai.dqo.utils.serialization.YamlSerializer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -33,7 +35,7 @@ import java.util.Objects;
 /**
  * File based data source wrapper. Loads and writes the data source to a yaml file in the user's home folder.
  */
-public class FileConnectionWrapperImpl extends ConnectionWrapperImpl {
+public class FileConnectionWrapperImpl extends ConnectionWrapperImpl implements ParallelLoadableSpecWrapper<ConnectionSpec> {
     @JsonIgnore
     private final FolderTreeNode connectionFolderNode;
     @JsonIgnore
@@ -45,10 +47,20 @@ public class FileConnectionWrapperImpl extends ConnectionWrapperImpl {
      * @param yamlSerializer Yaml serializer.
      */
     public FileConnectionWrapperImpl(FolderTreeNode connectionFolderNode, YamlSerializer yamlSerializer) {
+        this(connectionFolderNode, yamlSerializer, null);
+    }
+
+    /**
+     * Creates a connection spec wrapper that is file based, whose tables are loaded in bulk using a binary snapshot of parsed specification files.
+     * @param connectionFolderNode Connection folder with yaml files.
+     * @param yamlSerializer Yaml serializer.
+     * @param specFileSnapshot Binary snapshot of parsed specification files, may be null.
+     */
+    public FileConnectionWrapperImpl(FolderTreeNode connectionFolderNode, YamlSerializer yamlSerializer, SpecFileSnapshot specFileSnapshot) {
         super(connectionFolderNode.getFolderPath().extractSubFolderAt(1).getFullObjectName());
         this.connectionFolderNode = connectionFolderNode;
         this.yamlSerializer = yamlSerializer;
-		this.setTables(new FileTableListImpl(connectionFolderNode, yamlSerializer));
+		this.setTables(new FileTableListImpl(connectionFolderNode, yamlSerializer, specFileSnapshot));
     }
 
     /**
@@ -68,27 +80,76 @@ public class FileConnectionWrapperImpl extends ConnectionWrapperImpl {
     public ConnectionSpec getSpec() {
         ConnectionSpec spec = super.getSpec();
         if (spec == null) {
-            FileTreeNode fileNode = this.connectionFolderNode.getChildFileByFileName(SpecFileNames.CONNECTION_SPEC_FILE_NAME_YAML);
+            FileTreeNode fileNode = findSpecFileNode();
             if (fileNode != null) {
                 FileContent fileContent = fileNode.getContent();
                 String textContent = fileContent.getTextContent();
-                ConnectionYaml deserialized = this.yamlSerializer.deserialize(textContent, ConnectionYaml.class, fileNode.getPhysicalAbsolutePath());
-                ConnectionSpec deserializedSpec = deserialized.getSpec();
-                if (!Objects.equals(deserialized.getApiVersion(), ApiVersion.CURRENT_API_VERSION)) {
-                    throw new LocalFileSystemException("apiVersion not supported in file " + fileNode.getFilePath().toString());
-                }
-                if (deserialized.getKind() != SpecificationKind.SOURCE) {
-                    throw new LocalFileSystemException("Invalid kind in file " + fileNode.getFilePath().toString());
-                }
-				this.setSpec(deserializedSpec);
-                deserializedSpec.clearDirty(true);
-				this.clearDirty(false);
+                ConnectionSpec deserializedSpec = deserializeSpec(fileNode, textContent);
+                attachLoadedSpec(deserializedSpec);
                 return deserializedSpec;
             }
         }
         return spec;
     }
 
+    /**
+     * Checks if the specification is already loaded (or was assigned) and does not need to be loaded.
+     * @return True when the specification is already loaded.
+     */
+    @Override
+    public boolean isSpecLoaded() {
+        return super.getSpec() != null;
+    }
+
+    /**
+     * Returns the class of the specification, used to decode the specification from a binary snapshot.
+     * @return Connection specification class.
+     */
+    @Override
+    public Class<ConnectionSpec> getSpecClass() {
+        return ConnectionSpec.class;
+    }
+
+    /**
+     * Finds the file node of the connection specification file.
+     * @return Specification file node or null when the file is missing.
+     */
+    @Override
+    public FileTreeNode findSpecFileNode() {
+        return this.connectionFolderNode.getChildFileByFileName(SpecFileNames.CONNECTION_SPEC_FILE_NAME_YAML);
+    }
+
+    /**
+     * Deserializes and validates the connection specification from the file content. The method does not modify the wrapper and may be called on a worker thread.
+     * @param fileNode Specification file node, used for error messages.
+     * @param textContent Text content of the file.
+     * @return Deserialized connection specification.
+     */
+    @Override
+    public ConnectionSpec deserializeSpec(FileTreeNode fileNode, String textContent) {
+        ConnectionYaml deserialized = this.yamlSerializer.deserialize(textContent, ConnectionYaml.class, fileNode.getPhysicalAbsolutePath());
+        ConnectionSpec deserializedSpec = deserialized.getSpec();
+        if (!Objects.equals(deserialized.getApiVersion(), ApiVersion.CURRENT_API_VERSION)) {
+            throw new LocalFileSystemException("apiVersion not supported in file " + fileNode.getFilePath().toString());
+        }
+        if (deserialized.getKind() != SpecificationKind.SOURCE) {
+            throw new LocalFileSystemException("Invalid kind in file " + fileNode.getFilePath().toString());
+        }
+
+        return deserializedSpec;
+    }
+
+    /**
+     * Stores a deserialized connection specification as a loaded (unmodified) specification.
+     * @param spec Deserialized connection specification.
+     */
+    @Override
+    public void attachLoadedSpec(ConnectionSpec spec) {
+		this.setSpec(spec);
+        spec.clearDirty(true);
+		this.clearDirty(false);
+    }
+
     /**
      * Flushes changes to the persistent storage. Derived classes (that are based on a real persistence store) should override
      * this method and perform a store specific serialization.
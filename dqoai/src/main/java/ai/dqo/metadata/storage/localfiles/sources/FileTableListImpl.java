@@ -20,11 +20,18 @@ import ai.dqo.core.filesystem.virtual.FolderTreeNode;
 import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.metadata.sources.TableListImpl;
 import ai.dqo.metadata.sources.TableSpec;
+import ai.dqo.metadata.sources.TableWrapper;
 import ai.dqo.metadata.sources.TableWrapperImpl;
 import ai.dqo.metadata.storage.localfiles.SpecFileNames;
+import ai.dqo.metadata.storage.localfiles.SpecFileParallelLoader;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
 import ai.dqo.utils.serialization.YamlSerializer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Tables collection that uses a local file system (the user's home folder) to read yaml files.
  */
@@ -33,6 +40,8 @@ public class FileTableListImpl extends TableListImpl {
     private final FolderTreeNode connectionFolder;
     @JsonIgnore
     private final YamlSerializer yamlSerializer;
+    @JsonIgnore
+    private final SpecFileSnapshot specFileSnapshot;
 
     /**
      * Creates a table collection using a given parent connection folder.
@@ -40,8 +49,19 @@ public class FileTableListImpl extends TableListImpl {
      * @param yamlSerializer  Yaml serializer.
      */
     public FileTableListImpl(FolderTreeNode connectionFolder, YamlSerializer yamlSerializer) {
+        this(connectionFolder, yamlSerializer, null);
+    }
+
+    /**
+     * Creates a table collection using a given parent connection folder and a binary snapshot of parsed specification files.
+     * @param connectionFolder Parent connection folder node.
+     * @param yamlSerializer  Yaml serializer.
+     * @param specFileSnapshot Binary snapshot of parsed specification files used by the bulk load, may be null.
+     */
+    public FileTableListImpl(FolderTreeNode connectionFolder, YamlSerializer yamlSerializer, SpecFileSnapshot specFileSnapshot) {
         this.connectionFolder = connectionFolder;
         this.yamlSerializer = yamlSerializer;
+        this.specFileSnapshot = specFileSnapshot;
     }
 
     /**
@@ -59,6 +79,36 @@ public class FileTableListImpl extends TableListImpl {
         }
     }
 
+    /**
+     * Loads the specifications of the tables that match a table name filter in bulk. The table files are read and parsed in parallel.
+     * Files that were not changed since they were stored in the binary snapshot are decoded from the snapshot.
+     *
+     * @param tableNameFilter Table name filter, tables whose names are not accepted are not loaded.
+     */
+    @Override
+    public void preloadSpecs(Predicate<PhysicalTableName> tableNameFilter) {
+        SpecFileParallelLoader.loadSpecs(collectTablesToPreload(tableNameFilter), this.specFileSnapshot);
+    }
+
+    /**
+     * Finds file based table wrappers whose names match the filter and whose specifications are not loaded yet.
+     * @param tableNameFilter Table name filter.
+     * @return List of table wrappers to load.
+     */
+    public List<FileTableWrapperImpl> collectTablesToPreload(Predicate<PhysicalTableName> tableNameFilter) {
+        List<FileTableWrapperImpl> tablesToLoad = new ArrayList<>();
+        for (TableWrapper tableWrapper : this) {
+            if (tableWrapper instanceof FileTableWrapperImpl && tableNameFilter.test(tableWrapper.getPhysicalTableName())) {
+                FileTableWrapperImpl fileTableWrapper = (FileTableWrapperImpl) tableWrapper;
+                if (!fileTableWrapper.isSpecLoaded()) {
+                    tablesToLoad.add(fileTableWrapper);
+                }
+            }
+        }
+
+        return tablesToLoad;
+    }
+
     /**
      * Truncates the file name extension and leaves the base file name.
      * @param fileName Full file name with the table specification yaml, including the file extension.
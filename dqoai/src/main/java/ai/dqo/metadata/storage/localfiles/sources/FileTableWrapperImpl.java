@@ -25,6 +25,7 @@ import ai.dqo.metadata.sources.PhysicalTableName;
 import ai.dqo.metadata.sources.TableSpec;
 import ai.dqo.metadata.sources.TableWrapperImpl;
 import ai.dqo.metadata.storage.localfiles.IncorrectFileNameException;
+import ai.dqo.metadata.storage.localfiles.ParallelLoadableSpecWrapper;
 import ai.dqo.metadata.storage.localfiles.SpecFileNames;
 import ai.dqo.metadata.storage.localfiles.SpecificationKind;
 import ai.dqo.utils.serialization.YamlSerializer;
@@ -35,7 +36,7 @@ import java.util.Objects;
 /**
  * File based table spec wrapper. Loads and writes the table information to a yaml file in the user's home folder.
  */
-public class FileTableWrapperImpl extends TableWrapperImpl {
+public class FileTableWrapperImpl extends TableWrapperImpl implements ParallelLoadableSpecWrapper<TableSpec> {
     @JsonIgnore
     private final FolderTreeNode connectionFolderNode;
     @JsonIgnore
@@ -81,34 +82,82 @@ public class FileTableWrapperImpl extends TableWrapperImpl {
     public TableSpec getSpec() {
         TableSpec spec = super.getSpec();
         if (spec == null) {
-            String fileNameWithExt = this.getRealBaseFileName() + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML;
-            FileTreeNode fileNode = this.connectionFolderNode.getChildFileByFileName(fileNameWithExt);
+            FileTreeNode fileNode = findSpecFileNode();
             FileContent fileContent = fileNode.getContent();
             String textContent = fileContent.getTextContent();
-            TableYaml deserialized = this.yamlSerializer.deserialize(textContent, TableYaml.class, fileNode.getPhysicalAbsolutePath());
-            TableSpec deserializedSpec = deserialized.getSpec();
-            if (!Objects.equals(deserialized.getApiVersion(), ApiVersion.CURRENT_API_VERSION)) {
-                throw new LocalFileSystemException("apiVersion not supported in file " + fileNode.getFilePath().toString());
-            }
-            if (deserialized.getKind() != SpecificationKind.TABLE) {
-                throw new LocalFileSystemException("Invalid kind in file " + fileNode.getFilePath().toString());
-            }
-            if (deserializedSpec.getTarget() == null) {
-                deserializedSpec.getTarget().setSchemaName(this.getObjectName().getSchemaName());
-                deserializedSpec.getTarget().setTableName(this.getObjectName().getTableName());
-            }
-            if (!deserializedSpec.getTarget().toPhysicalTableName().equals(this.getObjectName())) {
-                // file name does not match the physical table name, we will return an error to the user, users must fix the file name
-                throw new IncorrectFileNameException("File " + fileNode.getFilePath().toString() + " is incorrectly named. The file name must be a <schema>.<table>" + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML);
-            }
-
-			this.setSpec(deserializedSpec);
-			this.clearDirty(true);
+            TableSpec deserializedSpec = deserializeSpec(fileNode, textContent);
+            attachLoadedSpec(deserializedSpec);
             return deserializedSpec;
         }
         return spec;
     }
 
+    /**
+     * Checks if the specification is already loaded (or was assigned) and does not need to be loaded.
+     * @return True when the specification is already loaded.
+     */
+    @Override
+    public boolean isSpecLoaded() {
+        return super.getSpec() != null;
+    }
+
+    /**
+     * Returns the class of the specification, used to decode the specification from a binary snapshot.
+     * @return Table specification class.
+     */
+    @Override
+    public Class<TableSpec> getSpecClass() {
+        return TableSpec.class;
+    }
+
+    /**
+     * Finds the file node of the table specification file.
+     * @return Specification file node or null when the file is missing.
+     */
+    @Override
+    public FileTreeNode findSpecFileNode() {
+        String fileNameWithExt = this.getRealBaseFileName() + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML;
+        return this.connectionFolderNode.getChildFileByFileName(fileNameWithExt);
+    }
+
+    /**
+     * Deserializes and validates the table specification from the file content. The method does not modify the wrapper and may be called on a worker thread.
+     * @param fileNode Specification file node, used for error messages.
+     * @param textContent Text content of the file.
+     * @return Deserialized table specification.
+     */
+    @Override
+    public TableSpec deserializeSpec(FileTreeNode fileNode, String textContent) {
+        TableYaml deserialized = this.yamlSerializer.deserialize(textContent, TableYaml.class, fileNode.getPhysicalAbsolutePath());
+        TableSpec deserializedSpec = deserialized.getSpec();
+        if (!Objects.equals(deserialized.getApiVersion(), ApiVersion.CURRENT_API_VERSION)) {
+            throw new LocalFileSystemException("apiVersion not supported in file " + fileNode.getFilePath().toString());
+        }
+        if (deserialized.getKind() != SpecificationKind.TABLE) {
+            throw new LocalFileSystemException("Invalid kind in file " + fileNode.getFilePath().toString());
+        }
+        if (deserializedSpec.getTarget() == null) {
+            deserializedSpec.getTarget().setSchemaName(this.getObjectName().getSchemaName());
+            deserializedSpec.getTarget().setTableName(this.getObjectName().getTableName());
+        }
+        if (!deserializedSpec.getTarget().toPhysicalTableName().equals(this.getObjectName())) {
+            // file name does not match the physical table name, we will return an error to the user, users must fix the file name
+            throw new IncorrectFileNameException("File " + fileNode.getFilePath().toString() + " is incorrectly named. The file name must be a <schema>.<table>" + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML);
+        }
+
+        return deserializedSpec;
+    }
+
+    /**
+     * Stores a deserialized table specification as a loaded (unmodified) specification.
+     * @param spec Deserialized table specification.
+     */
+    @Override
+    public void attachLoadedSpec(TableSpec spec) {
+		this.setSpec(spec);
+		this.clearDirty(true);
+    }
+
     /**
      * Flushes changes to the persistent storage. Derived classes (that are based on a real persistence store) should override
      * this method and perform a store specific serialization.
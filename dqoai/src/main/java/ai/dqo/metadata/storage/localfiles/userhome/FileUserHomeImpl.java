@@ -21,6 +21,7 @@ import ai.dqo.metadata.storage.localfiles.fileindices.FileFileIndexListImpl;
 import ai.dqo.metadata.storage.localfiles.ruledefinitions.FileRuleDefinitionListImpl;
 import ai.dqo.metadata.storage.localfiles.sensordefinitions.FileSensorDefinitionListImpl;
 import ai.dqo.metadata.storage.localfiles.settings.FileSettingsWrapperImpl;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
 import ai.dqo.metadata.storage.localfiles.sources.FileConnectionListImpl;
 import ai.dqo.metadata.userhome.UserHomeImpl;
 import ai.dqo.utils.serialization.JsonSerializer;
@@ -64,12 +65,26 @@ public class FileUserHomeImpl extends UserHomeImpl {
      * @return File based user home.
      */
     public static FileUserHomeImpl create(UserHomeContext userHomeContext, YamlSerializer yamlSerializer, JsonSerializer jsonSerializer) {
+        return create(userHomeContext, yamlSerializer, jsonSerializer, null);
+    }
+
+    /**
+     * Creates a file based user home that uses a binary snapshot of parsed specification files. When the connections and tables are loaded in bulk
+     * (before searches and check runs), only the yaml files that were changed since they were stored in the snapshot are parsed.
+     * @param userHomeContext User home context.
+     * @param yamlSerializer Configured YAML serializer.
+     * @param jsonSerializer Configured JSON serializer.
+     * @param specFileSnapshot Binary snapshot of parsed specification files, may be null.
+     * @return File based user home.
+     */
+    public static FileUserHomeImpl create(UserHomeContext userHomeContext, YamlSerializer yamlSerializer, JsonSerializer jsonSerializer,
+                                          SpecFileSnapshot specFileSnapshot) {
         FolderTreeNode sourcesFolder = userHomeContext.getHomeRoot().getOrAddDirectFolder(BuiltInFolderNames.SOURCES);
         FolderTreeNode sensorsFolder = userHomeContext.getHomeRoot().getOrAddDirectFolder(BuiltInFolderNames.SENSORS);
         FolderTreeNode rulesFolder = userHomeContext.getHomeRoot().getOrAddDirectFolder(BuiltInFolderNames.RULES);
         FolderTreeNode indexFolder = userHomeContext.getHomeRoot().getOrAddDirectFolder(BuiltInFolderNames.INDEX);
         FolderTreeNode settingsFolder = userHomeContext.getHomeRoot();
-        FileConnectionListImpl dataSources = new FileConnectionListImpl(sourcesFolder, yamlSerializer);
+        FileConnectionListImpl dataSources = new FileConnectionListImpl(sourcesFolder, yamlSerializer, specFileSnapshot);
         FileSensorDefinitionListImpl sensors = new FileSensorDefinitionListImpl(sensorsFolder, yamlSerializer);
         FileRuleDefinitionListImpl rules = new FileRuleDefinitionListImpl(rulesFolder, yamlSerializer);
         FileSettingsWrapperImpl settings = new FileSettingsWrapperImpl(settingsFolder, yamlSerializer);
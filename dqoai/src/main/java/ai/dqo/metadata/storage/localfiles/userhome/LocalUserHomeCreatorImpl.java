@@ -149,6 +149,7 @@ public class LocalUserHomeCreatorImpl implements LocalUserHomeCreator {
                         BuiltInFolderNames.CREDENTIALS + "/\n" +
                                 BuiltInFolderNames.DATA + "/\n" +
                                 BuiltInFolderNames.INDEX + "/\n" +
+                                BuiltInFolderNames.CACHE + "/\n" +
                                 SpecFileNames.SETTINGS_SPEC_FILE_NAME_YAML + "\n";
 
                 Files.writeString(gitIgnorePath, gitIgnoreContent);
@@ -24,6 +24,7 @@ import ai.dqo.metadata.userhome.UserHome;
  */
 public class UserHomeContext {
     private final FolderTreeNode homeRoot;
+    private final boolean readOnly;
     private UserHome userHome;
     private UserHomeContextCache userHomeContextCache;
 
@@ -32,7 +33,17 @@ public class UserHomeContext {
      * @param homeRoot User home root folder.
      */
     public UserHomeContext(FolderTreeNode homeRoot) {
+        this(homeRoot, false);
+    }
+
+    /**
+     * Creates a user home context given a virtual folder with the user home.
+     * @param homeRoot User home root folder.
+     * @param readOnly True when the user home model is a shared snapshot that must not be modified or flushed.
+     */
+    public UserHomeContext(FolderTreeNode homeRoot, boolean readOnly) {
         this.homeRoot = homeRoot;
+        this.readOnly = readOnly;
     }
 
     /**
@@ -43,6 +54,14 @@ public class UserHomeContext {
         return homeRoot;
     }
 
+    /**
+     * Returns true when the user home model is a shared, cached snapshot that must not be modified.
+     * @return True when the user home context is read only.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     /**
      * Returns a user home model that is used by this instance.
      * @return User home model connected to the file system.
@@ -64,6 +83,10 @@ public class UserHomeContext {
      * Flushes changes to disk.
      */
     public void flush() {
+        if (this.readOnly) {
+            throw new IllegalStateException("The cached user home model is read only and cannot be flushed, open a new user home context to make changes");
+        }
+
 		this.userHome.flush(); // flushes changes to the virtual file system
 		this.homeRoot.flush(); // flushes changes to disk
 
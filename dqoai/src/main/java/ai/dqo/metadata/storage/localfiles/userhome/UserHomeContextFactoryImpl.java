@@ -15,29 +15,78 @@
  */
 package ai.dqo.metadata.storage.localfiles.userhome;
 
+import ai.dqo.cli.completion.completers.cache.CliCompletionCache;
+import ai.dqo.core.configuration.DqoCacheConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemService;
 import ai.dqo.core.filesystem.localfiles.LocalFileSystemFactory;
 import ai.dqo.core.filesystem.localfiles.LocalFolderTreeNode;
+import ai.dqo.core.filesystem.localfiles.LocalFolderWatcher;
+import ai.dqo.core.filesystem.virtual.FileTreeNode;
+import ai.dqo.metadata.basespecs.ElementWrapper;
+import ai.dqo.metadata.definitions.rules.RuleDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.ProviderSensorDefinitionWrapper;
+import ai.dqo.metadata.definitions.sensors.SensorDefinitionWrapper;
+import ai.dqo.metadata.sources.ConnectionWrapper;
+import ai.dqo.metadata.sources.TableWrapper;
+import ai.dqo.metadata.storage.localfiles.SpecFileNames;
+import ai.dqo.metadata.storage.localfiles.snapshot.SpecFileSnapshot;
+import ai.dqo.metadata.storage.localfiles.sources.FileConnectionWrapperImpl;
+import ai.dqo.metadata.storage.localfiles.sources.FileTableWrapperImpl;
+import ai.dqo.metadata.userhome.UserHome;
 import ai.dqo.utils.serialization.JsonSerializer;
+import ai.dqo.utils.serialization.SmileSerializer;
 import ai.dqo.utils.serialization.YamlSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Creates a user come context and loads the home model from the file system.
+ * Also maintains a cached, read only snapshot of the user home that is used by the cli completers and read only cli commands.
+ * The user home folder is watched for changes. After a change, a new snapshot is loaded that reuses the parsed connection and table
+ * specifications of the previous snapshot for files that were not changed, only the changed files are parsed again.
+ * The new snapshot is fully loaded before it replaces the previous snapshot (copy-on-write), so readers never see a partially updated model.
+ * Parsed connection and table specifications are also stored in a binary snapshot file in the user home .cache folder, so a new process
+ * parses only the yaml files that were changed since the binary snapshot was written.
+ * The first snapshot is loaded in the background when the application starts, so the first cli completion or read only command
+ * does not wait for loading all specifications.
  */
 @Component
-public class UserHomeContextFactoryImpl implements UserHomeContextFactory, UserHomeContextCache {
+public class UserHomeContextFactoryImpl implements UserHomeContextFactory, UserHomeContextCache, InitializingBean, DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(UserHomeContextFactoryImpl.class);
+
     private final YamlSerializer yamlSerializer;
     private final JsonSerializer jsonSerializer;
     private final LocalFileSystemFactory localFileSystemFactory;
-    private UserHomeContext cachedUserHomeContext;
-    private Instant cachedAt;
+    private final SmileSerializer smileSerializer;
+    private final LocalFileSystemService localFileSystemService;
+    private final DqoCacheConfigurationProperties cacheConfigurationProperties;
+    private final Object snapshotLock = new Object();
+    private final Set<Path> changedPaths = ConcurrentHashMap.newKeySet();
+    private volatile UserHomeContext cachedUserHomeContext;
+    private volatile Instant cachedAt;
+    private volatile boolean cachedUserHomeOutdated;
+    private volatile boolean fullReloadRequired;
+    private volatile LocalFolderWatcher userHomeWatcher;
+    private boolean userHomeWatcherStartAttempted;
+    private Map<Path, FileTime> cachedFileTimestamps = new HashMap<>();
+    private SpecFileSnapshot specFileSnapshot;
 
     /**
-     * The cache duration for a cached user home context (in seconds).
+     * The cache duration for a cached user home context (in seconds), used only when the user home folder is not watched for changes.
      */
     public static final int CACHE_DURATION_SECONDS = 30;
 
@@ -46,14 +95,23 @@ public class UserHomeContextFactoryImpl implements UserHomeContextFactory, UserH
      * @param yamlSerializer Configured yaml serializer.
      * @param jsonSerializer Configured json serializer.
      * @param localFileSystemFactory Local file system factory to manage local files.
+     * @param smileSerializer Smile serializer used to store the parsed specifications in the binary snapshot file.
+     * @param localFileSystemService Local file system service used to read the hashes of the specification files.
+     * @param configurationProperties Configuration properties with the user home cache configuration.
      */
     @Autowired
     public UserHomeContextFactoryImpl(YamlSerializer yamlSerializer,
                                       JsonSerializer jsonSerializer,
-                                      LocalFileSystemFactory localFileSystemFactory) {
+                                      LocalFileSystemFactory localFileSystemFactory,
+                                      SmileSerializer smileSerializer,
+                                      LocalFileSystemService localFileSystemService,
+                                      DqoConfigurationProperties configurationProperties) {
         this.yamlSerializer = yamlSerializer;
         this.jsonSerializer = jsonSerializer;
         this.localFileSystemFactory = localFileSystemFactory;
+        this.smileSerializer = smileSerializer;
+        this.localFileSystemService = localFileSystemService;
+        this.cacheConfigurationProperties = configurationProperties.getCache();
     }
 
     /**
@@ -64,36 +122,288 @@ public class UserHomeContextFactoryImpl implements UserHomeContextFactory, UserH
     public UserHomeContext openLocalUserHome() {
         LocalFolderTreeNode homeRoot = this.localFileSystemFactory.openLocalUserHome();
         UserHomeContext userHomeContext = new UserHomeContext(homeRoot);
-        FileUserHomeImpl fileUserHomeModel = FileUserHomeImpl.create(userHomeContext, this.yamlSerializer, this.jsonSerializer);
+        FileUserHomeImpl fileUserHomeModel = FileUserHomeImpl.create(userHomeContext, this.yamlSerializer, this.jsonSerializer,
+                getSpecFileSnapshot(homeRoot));
         userHomeContext.setUserHome(fileUserHomeModel);
         userHomeContext.setUserModelCache(this);
         return userHomeContext;
     }
 
+    /**
+     * Returns the binary snapshot of parsed specification files of the user home, opening the snapshot file once.
+     * @param homeRoot User home root folder.
+     * @return Binary snapshot or null when the snapshot is disabled or the user home is not stored on a local disk.
+     */
+    protected synchronized SpecFileSnapshot getSpecFileSnapshot(LocalFolderTreeNode homeRoot) {
+        Path userHomePath = homeRoot.getPhysicalAbsolutePath();
+        if (!this.cacheConfigurationProperties.isUserHomeSnapshot() || userHomePath == null) {
+            return null;
+        }
+
+        if (this.specFileSnapshot == null || !userHomePath.equals(this.specFileSnapshot.getHomePath())) {
+            this.specFileSnapshot = SpecFileSnapshot.open(userHomePath, this.smileSerializer, this.localFileSystemService);
+        }
+
+        return this.specFileSnapshot;
+    }
+
     /**
      * Notifies the factory that a cached copy of a user home context should be invalidated because a change was written to the user home.
+     * The next snapshot verifies the modification timestamps of all connection and table files and parses again only the changed files.
      */
     @Override
     public void invalidateCache() {
-        this.cachedUserHomeContext = null;
-        this.cachedAt = null;
+        this.cachedUserHomeOutdated = true;
     }
 
     /**
-     * Returns a cached user home context.
+     * Returns a cached user home context. The returned context is a read only snapshot, it must not be modified.
      * @return Cached user home context.
      */
     @Override
     public UserHomeContext getCachedLocalUserHome() {
-        if (this.cachedAt != null && this.cachedUserHomeContext != null &&
-                this.cachedAt.plus(CACHE_DURATION_SECONDS, ChronoUnit.SECONDS).isAfter(Instant.now())) {
-            return this.cachedUserHomeContext;
+        UserHomeContext userHomeContext = this.cachedUserHomeContext;
+        if (userHomeContext != null && isCachedUserHomeCurrent()) {
+            return userHomeContext;
+        }
+
+        synchronized (this.snapshotLock) {
+            userHomeContext = this.cachedUserHomeContext;
+            if (userHomeContext != null && isCachedUserHomeCurrent()) {
+                return userHomeContext;
+            }
+
+            LocalFolderTreeNode homeRoot = this.localFileSystemFactory.openLocalUserHome();
+            if (!this.userHomeWatcherStartAttempted) {
+                this.userHomeWatcherStartAttempted = true;
+                startUserHomeWatcher(homeRoot);  // started before loading, changes made while loading will cause a reload
+            }
+
+            this.cachedUserHomeOutdated = false;
+            boolean fullReload = this.fullReloadRequired;
+            this.fullReloadRequired = false;
+            Set<Path> changedPathsSnapshot = new HashSet<>(this.changedPaths);
+            this.changedPaths.removeAll(changedPathsSnapshot);
+
+            UserHomeContext previousUserHomeContext = fullReload ? null : userHomeContext;
+            UserHomeContext newUserHomeContext = loadUserHomeSnapshot(homeRoot, previousUserHomeContext, changedPathsSnapshot);
+            this.cachedAt = Instant.now();
+            this.cachedUserHomeContext = newUserHomeContext;
+            return newUserHomeContext;
+        }
+    }
+
+    /**
+     * Checks if the cached user home snapshot is still current. When the user home is watched, the snapshot is current until a change is detected.
+     * Otherwise, the snapshot expires after {@link #CACHE_DURATION_SECONDS} seconds.
+     * @return True when the cached user home can be returned.
+     */
+    private boolean isCachedUserHomeCurrent() {
+        if (this.cachedUserHomeOutdated) {
+            return false;
+        }
+
+        if (this.userHomeWatcher != null) {
+            return true;
+        }
+
+        Instant cachedAt = this.cachedAt;
+        return cachedAt != null && cachedAt.plus(CACHE_DURATION_SECONDS, ChronoUnit.SECONDS).isAfter(Instant.now());
+    }
+
+    /**
+     * Starts watching the user home folder for changes. Hidden folders (.data, .index, etc.) are not watched, they are not a part of the cached model.
+     * @param homeRoot User home root folder.
+     */
+    private void startUserHomeWatcher(LocalFolderTreeNode homeRoot) {
+        Path userHomePath = homeRoot.getPhysicalAbsolutePath();
+        if (!this.cacheConfigurationProperties.isUserHomeWatch() || userHomePath == null) {
+            return;
+        }
+
+        LocalFolderWatcher folderWatcher = new LocalFolderWatcher(userHomePath, this::onUserHomeFilesChanged,
+                subFolder -> !subFolder.getFileName().toString().startsWith("."));
+        if (folderWatcher.start()) {
+            this.userHomeWatcher = folderWatcher;
+        }
+    }
+
+    /**
+     * Called by the user home folder watcher when files in the user home were changed.
+     * @param changedFiles List of changed files and folders or null when the changes are unknown and the whole user home must be loaded again.
+     */
+    private void onUserHomeFilesChanged(List<Path> changedFiles) {
+        if (changedFiles == null) {
+            this.fullReloadRequired = true;
+        }
+        else {
+            this.changedPaths.addAll(changedFiles);
+        }
+
+        this.cachedUserHomeOutdated = true;
+        CliCompletionCache.invalidateCache();
+    }
+
+    /**
+     * Loads a new read only snapshot of the user home. Connection and table specifications are taken from the previous snapshot
+     * when their files were not changed, other specifications are parsed from the yaml files.
+     * @param homeRoot User home root folder.
+     * @param previousUserHomeContext Previous user home snapshot or null when all files must be parsed.
+     * @param changedFiles Paths of files reported as changed by the folder watcher, they are always parsed again.
+     * @return New, fully loaded user home snapshot.
+     */
+    private UserHomeContext loadUserHomeSnapshot(LocalFolderTreeNode homeRoot, UserHomeContext previousUserHomeContext, Set<Path> changedFiles) {
+        UserHomeContext userHomeContext = new UserHomeContext(homeRoot, true);
+        FileUserHomeImpl fileUserHomeModel = FileUserHomeImpl.create(userHomeContext, this.yamlSerializer, this.jsonSerializer,
+                getSpecFileSnapshot(homeRoot));
+        userHomeContext.setUserHome(fileUserHomeModel);
+
+        UserHome previousUserHome = previousUserHomeContext != null ? previousUserHomeContext.getUserHome() : null;
+        if (previousUserHome == null) {
+            // the first snapshot, all files are loaded in bulk (in parallel, unchanged files are decoded from the binary snapshot)
+            fileUserHomeModel.getConnections().preloadSpecs(connectionName -> true, tableName -> true);
+        }
+        Map<Path, FileTime> fileTimestamps = new HashMap<>();
+
+        for (ConnectionWrapper connectionWrapper : fileUserHomeModel.getConnections()) {
+            FileConnectionWrapperImpl fileConnectionWrapper = (FileConnectionWrapperImpl) connectionWrapper;
+            ConnectionWrapper previousConnectionWrapper = previousUserHome != null ?
+                    previousUserHome.getConnections().getByObjectName(connectionWrapper.getName(), false) : null;
+
+            FileTreeNode connectionFileNode = fileConnectionWrapper.getConnectionFolderNode()
+                    .getChildFileByFileName(SpecFileNames.CONNECTION_SPEC_FILE_NAME_YAML);
+            loadOrReuseSpec(connectionWrapper, previousConnectionWrapper, connectionFileNode, changedFiles, fileTimestamps);
+
+            for (TableWrapper tableWrapper : connectionWrapper.getTables()) {
+                FileTableWrapperImpl fileTableWrapper = (FileTableWrapperImpl) tableWrapper;
+                TableWrapper previousTableWrapper = previousConnectionWrapper != null ?
+                        previousConnectionWrapper.getTables().getByObjectName(tableWrapper.getPhysicalTableName(), false) : null;
+                FileTreeNode tableFileNode = fileTableWrapper.getConnectionFolderNode().getChildFileByFileName(
+                        fileTableWrapper.getRealBaseFileName() + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML);
+                loadOrReuseSpec(tableWrapper, previousTableWrapper, tableFileNode, changedFiles, fileTimestamps);
+            }
+        }
+
+        for (SensorDefinitionWrapper sensorDefinitionWrapper : fileUserHomeModel.getSensors()) {
+            preloadSpec(sensorDefinitionWrapper);
+            for (ProviderSensorDefinitionWrapper providerSensorDefinitionWrapper : sensorDefinitionWrapper.getProviderSensors()) {
+                preloadSpec(providerSensorDefinitionWrapper);
+            }
+        }
+
+        for (RuleDefinitionWrapper ruleDefinitionWrapper : fileUserHomeModel.getRules()) {
+            preloadSpec(ruleDefinitionWrapper);
+        }
+
+        preloadSpec(fileUserHomeModel.getSettings());
+
+        this.cachedFileTimestamps = fileTimestamps;
+        return userHomeContext;
+    }
+
+    /**
+     * Loads a specification in a new snapshot. The specification from the previous snapshot is reused when its file was not changed.
+     * Invalid files are not loaded, the error is reported again when the specification is requested.
+     * @param elementWrapper Specification wrapper in the new snapshot.
+     * @param previousElementWrapper Specification wrapper of the same object in the previous snapshot or null when the object is new.
+     * @param fileNode File node of the specification file or null when the file is missing.
+     * @param changedFiles Paths of files reported as changed by the folder watcher.
+     * @param fileTimestamps Target dictionary of file modification timestamps for the new snapshot.
+     * @param <V> Specification type.
+     */
+    private <V> void loadOrReuseSpec(ElementWrapper<V> elementWrapper, ElementWrapper<V> previousElementWrapper,
+                                     FileTreeNode fileNode, Set<Path> changedFiles, Map<Path, FileTime> fileTimestamps) {
+        boolean fileUnchanged = fileNode != null && isFileUnchanged(fileNode, changedFiles, fileTimestamps);
+        try {
+            if (fileUnchanged && previousElementWrapper != null) {
+                V previousSpec = previousElementWrapper.getSpec();
+                if (previousSpec != null && elementWrapper.attachSharedSpec(previousSpec)) {
+                    return; // the previous snapshot is read only, so the parsed specification is shared without modifying it
+                }
+            }
+
+            elementWrapper.getSpec();
+        }
+        catch (Exception ex) {
+            LOG.debug("Cannot load a specification for the cached user home: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Checks if a specification file was not changed since the previous snapshot was loaded. Records the current modification time of the file.
+     * The modification time is read before the file is parsed, so a file that is changed while it is parsed will be parsed again by the next snapshot.
+     * @param fileNode File node.
+     * @param changedFiles Paths of files reported as changed by the folder watcher.
+     * @param fileTimestamps Target dictionary of file modification timestamps for the new snapshot.
+     * @return True when the file was not changed.
+     */
+    private boolean isFileUnchanged(FileTreeNode fileNode, Set<Path> changedFiles, Map<Path, FileTime> fileTimestamps) {
+        Path physicalPath = fileNode.getPhysicalAbsolutePath();
+        if (physicalPath == null) {
+            return false;
         }
 
-        UserHomeContext cachedUserHomeContext = openLocalUserHome();
-        this.cachedUserHomeContext = cachedUserHomeContext;
-        this.cachedAt = Instant.now();
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(physicalPath);
+        }
+        catch (IOException ex) {
+            return false;
+        }
+
+        fileTimestamps.put(physicalPath, lastModified);
+        return !changedFiles.contains(physicalPath) && lastModified.equals(this.cachedFileTimestamps.get(physicalPath));
+    }
+
+    /**
+     * Loads a specification in a snapshot. Invalid files are not loaded, the error is reported again when the specification is requested.
+     * @param elementWrapper Specification wrapper.
+     */
+    private static void preloadSpec(ElementWrapper<?> elementWrapper) {
+        try {
+            elementWrapper.getSpec();
+        }
+        catch (Exception ex) {
+            LOG.debug("Cannot load a specification for the cached user home: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Starts loading the first snapshot of the user home in the background. The snapshot is not preloaded when the user home
+     * was not initialized yet, it will be loaded on the first call to {@link #getCachedLocalUserHome()}.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!this.cacheConfigurationProperties.isUserHomePreload()) {
+            return;
+        }
+
+        Thread preloadThread = new Thread(() -> {
+            try {
+                Path userHomePath = this.localFileSystemFactory.openLocalUserHome().getPhysicalAbsolutePath();
+                if (userHomePath == null || !Files.isDirectory(userHomePath)) {
+                    return;
+                }
 
-        return cachedUserHomeContext;
+                getCachedLocalUserHome();
+            }
+            catch (Exception ex) {
+                LOG.debug("Cannot preload the user home: " + ex.getMessage(), ex);
+            }
+        }, "dqo-user-home-preload");
+        preloadThread.setDaemon(true);
+        preloadThread.start();
+    }
+
+    /**
+     * Stops watching the user home folder.
+     */
+    @Override
+    public void destroy() {
+        LocalFolderWatcher folderWatcher = this.userHomeWatcher;
+        if (folderWatcher != null) {
+            folderWatcher.close();
+            this.userHomeWatcher = null;
+        }
     }
 }
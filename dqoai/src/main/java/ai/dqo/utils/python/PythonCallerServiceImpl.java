@@ -16,6 +16,7 @@
 package ai.dqo.utils.python;
 
 import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.configuration.DqoPythonConfigurationProperties;
 import ai.dqo.utils.serialization.JsonSerializer;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -30,9 +31,9 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service that starts python to execute a givens script.
@@ -42,7 +43,7 @@ public class PythonCallerServiceImpl implements PythonCallerService {
     private final DqoConfigurationProperties configurationProperties;
     private final JsonSerializer jsonSerializer;
     private final PythonVirtualEnvService pythonVirtualEnvService;
-    private final Map<String, StreamingPythonProcess> pythonModuleProcesses = new HashMap<>();
+    private final Map<String, StreamingPythonProcessPool> pythonModuleProcessPools = new ConcurrentHashMap<>();
     private final Object processStartLock = new Object();
 
     /**
@@ -100,33 +101,54 @@ public class PythonCallerServiceImpl implements PythonCallerService {
      */
     @Override
     public <I, O> O executePythonHomeScript(I input, String pythonFilePathInHome, Class<O> outputType) {
-        StreamingPythonProcess streamingPythonProcess = null;
-
-        synchronized (this.processStartLock) {
-            streamingPythonProcess = this.pythonModuleProcesses.get(pythonFilePathInHome);
-            if (streamingPythonProcess == null) {
-                String absolutePythonPath = resolveAbsolutePathToHomeFile(pythonFilePathInHome);
-                PythonVirtualEnv virtualEnv = this.pythonVirtualEnvService.getVirtualEnv();
-                String commandLineText = virtualEnv.getPythonInterpreterPath() + " -u \"" + absolutePythonPath + "\"";
-                streamingPythonProcess = new StreamingPythonProcess(this.jsonSerializer, commandLineText, this.configurationProperties.getPython().getPythonScriptTimeoutSeconds());
-                streamingPythonProcess.startProcess(virtualEnv);
-				this.pythonModuleProcesses.put(pythonFilePathInHome, streamingPythonProcess);
-            }
-        }
+        StreamingPythonProcessPool processPool = this.pythonModuleProcessPools.computeIfAbsent(pythonFilePathInHome,
+                this::createProcessPool);
+        StreamingPythonProcess streamingPythonProcess = processPool.checkout();
 
+        O receiveMessage;
         try {
-            O receiveMessage = streamingPythonProcess.sendReceiveMessage(input, outputType);
-            return receiveMessage;
+            receiveMessage = streamingPythonProcess.sendReceiveMessage(input, outputType);
         }
         catch (Exception ex) {
-            // when the process fails, we want to stat a new process
-            synchronized (this.processStartLock) {
-				this.pythonModuleProcesses.remove(pythonFilePathInHome);
-                streamingPythonProcess.close();
-            }
-
+            // when the process fails, it is closed and a new process will be started for the next call
+            processPool.invalidateWorker(streamingPythonProcess);
             throw new PythonExecutionException("Python process failed: " + ex.getMessage(), ex);
         }
+
+        processPool.returnWorker(streamingPythonProcess); // outside the try, the worker permit must be released only once
+        return receiveMessage;
+    }
+
+    /**
+     * Creates a pool of python processes that run a python module.
+     * @param pythonFilePathInHome Path to the python module (.py file) that is relative to the DQO_HOME folder.
+     * @return Python process pool.
+     */
+    protected StreamingPythonProcessPool createProcessPool(String pythonFilePathInHome) {
+        DqoPythonConfigurationProperties pythonConfiguration = this.configurationProperties.getPython();
+        return new StreamingPythonProcessPool(
+                () -> startStreamingPythonProcess(pythonFilePathInHome),
+                pythonConfiguration.getWorkersPerModule(),
+                pythonConfiguration.getMaxRequestsPerWorker());
+    }
+
+    /**
+     * Starts a new python process that runs a python module in a streaming mode.
+     * @param pythonFilePathInHome Path to the python module (.py file) that is relative to the DQO_HOME folder.
+     * @return Started python process.
+     */
+    protected StreamingPythonProcess startStreamingPythonProcess(String pythonFilePathInHome) {
+        PythonVirtualEnv virtualEnv;
+        synchronized (this.processStartLock) {
+            virtualEnv = this.pythonVirtualEnvService.getVirtualEnv();
+        }
+
+        String absolutePythonPath = resolveAbsolutePathToHomeFile(pythonFilePathInHome);
+        String commandLineText = virtualEnv.getPythonInterpreterPath() + " -u \"" + absolutePythonPath + "\"";
+        StreamingPythonProcess streamingPythonProcess = new StreamingPythonProcess(this.jsonSerializer, commandLineText,
+                this.configurationProperties.getPython().getPythonScriptTimeoutSeconds());
+        streamingPythonProcess.startProcess(virtualEnv);
+        return streamingPythonProcess;
     }
 
     /**
@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Instance of a python process that started a python module that works in a streaming mode.
@@ -55,6 +56,7 @@ public class StreamingPythonProcess implements Closeable, ExecuteResultHandler {
     private final int timeoutSeconds;
     private JsonFactory jsonFactory;
     private JsonParser jsonParser;
+    private final AtomicInteger requestCount = new AtomicInteger();
 
     /**
      * Streaming python process wrapper. Keeps a reference to a python process that was started in the background.
@@ -76,6 +78,7 @@ public class StreamingPythonProcess implements Closeable, ExecuteResultHandler {
      * @return Response received from the process.
      */
     public synchronized <I, O> O sendReceiveMessage(I input, Class<O> outputType) {
+        this.requestCount.incrementAndGet();
         try {
             String inputText = this.jsonSerializer.serialize(input);
 
@@ -185,6 +188,26 @@ public class StreamingPythonProcess implements Closeable, ExecuteResultHandler {
         }
     }
 
+    /**
+     * Returns the number of requests that were sent to the process.
+     * @return Number of requests sent to the process.
+     */
+    public int getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    /**
+     * Checks if the process is healthy and could accept requests. The process is not healthy when it has finished, wrote anything to stderr or was closed.
+     * @return True when the process is running and no errors were detected.
+     */
+    public boolean isHealthy() {
+        return this.writeToProcessStream != null &&
+                this.readFromProcessStream != null &&
+                !this.processFinishedErrorFuture.isDone() &&
+                !this.processFinishedSuccessFuture.isDone() &&
+                !this.outputDetectedOnStderrFuture.isDone();
+    }
+
     /**
      * Command line text that was started.
      * @return Command line text.
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.python;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Pool of streaming python processes (workers) that run the same python module. Each worker serves one request at a time,
+ * so the number of workers limits the number of concurrent calls to the module. Workers are checked out, used and returned to the pool.
+ * Unhealthy workers (the process has finished or wrote to stderr) and workers that served the maximum number of requests are closed
+ * and replaced by new workers on demand.
+ */
+public class StreamingPythonProcessPool implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingPythonProcessPool.class);
+
+    private final Supplier<StreamingPythonProcess> workerFactory;
+    private final int maxRequestsPerWorker;
+    private final Semaphore workerPermits;
+    private final Deque<StreamingPythonProcess> idleWorkers = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool of python workers.
+     * @param workerFactory Factory that starts a new python process.
+     * @param maxWorkers Maximum number of workers (python processes) in the pool.
+     * @param maxRequestsPerWorker Maximum number of requests served by a worker, after which it is restarted. 0 disables recycling.
+     */
+    public StreamingPythonProcessPool(Supplier<StreamingPythonProcess> workerFactory, int maxWorkers, int maxRequestsPerWorker) {
+        this.workerFactory = workerFactory;
+        this.maxRequestsPerWorker = maxRequestsPerWorker;
+        this.workerPermits = new Semaphore(Math.max(maxWorkers, 1), true);
+    }
+
+    /**
+     * Checks out a healthy worker from the pool. Waits until a worker is available when all workers are busy.
+     * A new python process is started when there are no idle workers. The worker must be returned by calling
+     * {@link #returnWorker(StreamingPythonProcess)} or {@link #invalidateWorker(StreamingPythonProcess)}.
+     * @return Python process that is exclusively used by the caller.
+     */
+    public StreamingPythonProcess checkout() {
+        if (this.closed) {
+            throw new PythonExecutionException("The python process pool is closed");
+        }
+
+        try {
+            this.workerPermits.acquire();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PythonExecutionException("Interrupted while waiting for a python process", ex);
+        }
+
+        try {
+            StreamingPythonProcess idleWorker;
+            while ((idleWorker = this.idleWorkers.pollFirst()) != null) {
+                if (idleWorker.isHealthy()) {
+                    return idleWorker;
+                }
+
+                LOG.debug("Closing an unhealthy python process " + idleWorker.getCommandLineText());
+                idleWorker.close();
+            }
+
+            return this.workerFactory.get();
+        }
+        catch (RuntimeException ex) {
+            this.workerPermits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a worker to the pool after a successful call. Workers that are no longer healthy or have served
+     * the maximum number of requests are closed instead.
+     * @param worker Worker that was checked out.
+     */
+    public void returnWorker(StreamingPythonProcess worker) {
+        try {
+            boolean recycle = this.maxRequestsPerWorker > 0 && worker.getRequestCount() >= this.maxRequestsPerWorker;
+            if (this.closed || recycle || !worker.isHealthy()) {
+                worker.close();
+            }
+            else {
+                this.idleWorkers.offerFirst(worker); // the most recently used worker is reused first
+            }
+        }
+        finally {
+            this.workerPermits.release();
+        }
+    }
+
+    /**
+     * Closes a worker whose call failed. A new worker will be started when needed.
+     * @param worker Worker that was checked out.
+     */
+    public void invalidateWorker(StreamingPythonProcess worker) {
+        try {
+            worker.close();
+        }
+        finally {
+            this.workerPermits.release();
+        }
+    }
+
+    /**
+     * Returns the number of idle workers in the pool.
+     * @return Number of idle workers.
+     */
+    public int getIdleWorkerCount() {
+        return this.idleWorkers.size();
+    }
+
+    /**
+     * Closes all idle workers. Workers that are checked out are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        StreamingPythonProcess idleWorker;
+        while ((idleWorker = this.idleWorkers.pollFirst()) != null) {
+            idleWorker.close();
+        }
+    }
+}
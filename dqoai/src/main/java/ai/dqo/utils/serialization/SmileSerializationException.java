@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.serialization;
+
+/**
+ * Smile (binary JSON) serialization and deserialization exception thrown when the binary content is invalid or does not match the target class.
+ */
+public class SmileSerializationException extends RuntimeException {
+    /**
+     * Constructs a new runtime exception with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public SmileSerializationException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new runtime exception with the specified detail message and cause.
+     *
+     * @param message the detail message.
+     * @param cause   the cause.
+     */
+    public SmileSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.serialization;
+
+/**
+ * Smile (binary JSON) serializer and deserializer. Used to store already parsed objects in on-disk caches.
+ */
+public interface SmileSerializer {
+    /**
+     * Serializes an object to a binary Smile encoded array.
+     * @param source Source object to be serialized.
+     * @return Object serialized to Smile.
+     * @throws SmileSerializationException
+     */
+    byte[] serialize(Object source);
+
+    /**
+     * Deserializes a Smile encoded array to a class instance.
+     * @param smile Smile encoded object.
+     * @param clazz Target class type.
+     * @param <T> Return class type (the same as the target class type).
+     * @return Deserialized object instance.
+     * @throws SmileSerializationException
+     */
+    <T> T deserialize(byte[] smile, Class<T> clazz);
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Smile (binary JSON) serializer and deserializer. The mapper is configured like the yaml mapper, so objects deserialized from yaml files
+ * can be stored in a binary form and deserialized again to the same objects.
+ */
+@Component
+public class SmileSerializerImpl implements SmileSerializer {
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates and configures a smile serializer.
+     */
+    public SmileSerializerImpl() {
+		this.mapper = new ObjectMapper(new SmileFactory());
+		this.mapper.findAndRegisterModules();
+		this.mapper.registerModule(new JavaTimeModule());
+        this.mapper.registerModule(new Jdk8Module());
+        this.mapper.registerModule(new BlackbirdModule());
+        this.mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		this.mapper.disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+		this.mapper.disable(SerializationFeature.WRITE_NULL_MAP_VALUES);
+
+        // Fail fast, objects stored by an older version that do not match the current classes must be rejected
+		this.mapper.enable(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES);
+		this.mapper.enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		this.mapper.enable(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY);
+    }
+
+    /**
+     * Serializes an object to a binary Smile encoded array.
+     * @param source Source object to be serialized.
+     * @return Object serialized to Smile.
+     * @throws SmileSerializationException
+     */
+    @Override
+    public byte[] serialize(Object source) {
+        try {
+            return this.mapper.writeValueAsBytes(source);
+        } catch (JsonProcessingException e) {
+            throw new SmileSerializationException("Smile serialization failed", e);
+        }
+    }
+
+    /**
+     * Deserializes a Smile encoded array to a class instance.
+     * @param smile Smile encoded object.
+     * @param clazz Target class type.
+     * @param <T> Return class type (the same as the target class type).
+     * @return Deserialized object instance.
+     * @throws SmileSerializationException
+     */
+    @Override
+    public <T> T deserialize(byte[] smile, Class<T> clazz) {
+        try {
+            return this.mapper.readValue(smile, clazz);
+        }
+        catch (IOException e) {
+            throw new SmileSerializationException("Smile deserialization failed", e);
+        }
+    }
+}
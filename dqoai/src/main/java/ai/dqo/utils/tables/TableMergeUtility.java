@@ -15,8 +15,12 @@
  */
 package ai.dqo.utils.tables;
 
-import tech.tablesaw.api.Table;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.*;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +33,8 @@ public class TableMergeUtility {
     /**
      * Table merge utility. Creates a new table that contains all rows from the <code>currentResults</code> except for
      * matching rows that are in the <code>newResults</code>, but with new rows copied from <code>newResults</code>.
-     * Duplication is detected by a join.
+     * Duplication is detected by comparing the values of the join columns. Join columns of primitive types (long, integer, date, date time
+     * and instant columns) are compared using a primitive hash of the key values, other join columns fall back to a table join.
      * @param currentResults Current results.
      * @param newResults New results, must be the same schema as the current results table.
      * @param joinColumns Join column names to detect overwritten rows.
@@ -38,6 +43,26 @@ public class TableMergeUtility {
     public static Table mergeNewResults(Table currentResults, Table newResults, String... joinColumns) {
         assert joinColumns.length > 0;
 
+        long[][] currentKeys = readKeyColumns(currentResults, joinColumns);
+        long[][] newKeys = currentKeys != null ? readKeyColumns(newResults, joinColumns) : null;
+        if (currentKeys == null || newKeys == null) {
+            return mergeNewResultsUsingJoin(currentResults, newResults, joinColumns);
+        }
+
+        return mergeNewResultsUsingKeyHashes(currentResults, newResults, currentKeys, newKeys);
+    }
+
+    /**
+     * Table merge utility that detects the overwritten rows using a Tablesaw left outer join. This method supports join columns of any type,
+     * but it is much slower than {@link #mergeNewResults(Table, Table, String...)} and allocates a joined copy of the current results.
+     * @param currentResults Current results.
+     * @param newResults New results, must be the same schema as the current results table.
+     * @param joinColumns Join column names to detect overwritten rows.
+     * @return New table with all rows.
+     */
+    public static Table mergeNewResultsUsingJoin(Table currentResults, Table newResults, String... joinColumns) {
+        assert joinColumns.length > 0;
+
         List<Column<?>> newResultJoinColumns = new ArrayList<>();
         for (String joinColumnName : joinColumns) {
             newResultJoinColumns.add(newResults.column(joinColumnName).copy());
@@ -53,4 +78,138 @@ public class TableMergeUtility {
         finalRows.append(newResults);
         return finalRows;
     }
+
+    /**
+     * Merges the tables using primitive key hashes. The keys of the new rows are hashed into a primitive long keyed hash map,
+     * then the current rows are scanned once and the rows whose keys are present in the new results are marked in a bitmap selection and dropped.
+     * @param currentResults Current results.
+     * @param newResults New results.
+     * @param currentKeys Key values of the current results (one array per join column).
+     * @param newKeys Key values of the new results (one array per join column).
+     * @return New table with all rows.
+     */
+    private static Table mergeNewResultsUsingKeyHashes(Table currentResults, Table newResults, long[][] currentKeys, long[][] newKeys) {
+        int newRowCount = newResults.rowCount();
+        Long2IntOpenHashMap firstNewRowByHash = new Long2IntOpenHashMap(newRowCount);
+        firstNewRowByHash.defaultReturnValue(-1);
+        int[] nextNewRowWithSameHash = new int[newRowCount]; // chains of new rows whose key hashes collide
+        for (int newRowIndex = 0; newRowIndex < newRowCount; newRowIndex++) {
+            long keyHash = hashKey(newKeys, newRowIndex);
+            nextNewRowWithSameHash[newRowIndex] = firstNewRowByHash.put(keyHash, newRowIndex);
+        }
+
+        Selection overwrittenRows = new BitmapBackedSelection();
+        int currentRowCount = currentResults.rowCount();
+        for (int currentRowIndex = 0; currentRowIndex < currentRowCount; currentRowIndex++) {
+            long keyHash = hashKey(currentKeys, currentRowIndex);
+            for (int newRowIndex = firstNewRowByHash.get(keyHash); newRowIndex >= 0; newRowIndex = nextNewRowWithSameHash[newRowIndex]) {
+                if (keysEqual(currentKeys, currentRowIndex, newKeys, newRowIndex)) {
+                    overwrittenRows.add(currentRowIndex);
+                    break;
+                }
+            }
+        }
+
+        Table finalRows = overwrittenRows.isEmpty() ? currentResults.copy() : currentResults.dropWhere(overwrittenRows);
+        finalRows.append(newResults);
+        return finalRows;
+    }
+
+    /**
+     * Reads the values of the join columns as primitive long arrays.
+     * @param table Source table.
+     * @param joinColumns Join column names.
+     * @return Array of key values, one array per join column. Null when any join column has a type that is not supported as a primitive key.
+     */
+    private static long[][] readKeyColumns(Table table, String[] joinColumns) {
+        long[][] keys = new long[joinColumns.length][];
+        for (int i = 0; i < joinColumns.length; i++) {
+            keys[i] = readKeyColumn(table.column(joinColumns[i]));
+            if (keys[i] == null) {
+                return null;
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Reads the internal (primitive) values of a column. Missing values have their own internal values, so they are matched like in a join.
+     * @param column Source column.
+     * @return Internal values or null when the column type is not supported.
+     */
+    private static long[] readKeyColumn(Column<?> column) {
+        int rowCount = column.size();
+        if (column instanceof LongColumn) {
+            return ((LongColumn) column).asLongArray();
+        }
+
+        long[] values = new long[rowCount];
+        if (column instanceof IntColumn) {
+            IntColumn intColumn = (IntColumn) column;
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = intColumn.getInt(i);
+            }
+        }
+        else if (column instanceof ShortColumn) {
+            ShortColumn shortColumn = (ShortColumn) column;
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = shortColumn.getShort(i);
+            }
+        }
+        else if (column instanceof DateTimeColumn) {
+            DateTimeColumn dateTimeColumn = (DateTimeColumn) column;
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = dateTimeColumn.getLongInternal(i);
+            }
+        }
+        else if (column instanceof InstantColumn) {
+            InstantColumn instantColumn = (InstantColumn) column;
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = instantColumn.getLongInternal(i);
+            }
+        }
+        else if (column instanceof DateColumn) {
+            DateColumn dateColumn = (DateColumn) column;
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = dateColumn.getIntInternal(i);
+            }
+        }
+        else {
+            return null;
+        }
+
+        return values;
+    }
+
+    /**
+     * Calculates a hash of the key values in one row.
+     * @param keys Key values (one array per join column).
+     * @param rowIndex Row index.
+     * @return Hash of the key.
+     */
+    private static long hashKey(long[][] keys, int rowIndex) {
+        long hash = 0L;
+        for (long[] keyColumn : keys) {
+            hash = HashCommon.mix(hash * 31L + keyColumn[rowIndex]);
+        }
+        return hash;
+    }
+
+    /**
+     * Compares the key values of two rows.
+     * @param leftKeys Key values of the left table.
+     * @param leftRowIndex Row index in the left table.
+     * @param rightKeys Key values of the right table.
+     * @param rightRowIndex Row index in the right table.
+     * @return True when all key values are equal.
+     */
+    private static boolean keysEqual(long[][] leftKeys, int leftRowIndex, long[][] rightKeys, int rightRowIndex) {
+        for (int i = 0; i < leftKeys.length; i++) {
+            if (leftKeys[i][leftRowIndex] != rightKeys[i][rightRowIndex]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.tables;
+
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TextColumn;
+import tech.tablesaw.columns.Column;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Utility that estimates the memory used by a Tablesaw table.
+ */
+public class TableSizeEstimateUtility {
+    /**
+     * Estimated overhead of a single {@link String} object (object header, fields and the header of the character array).
+     */
+    public static final int STRING_OBJECT_OVERHEAD_BYTES = 40;
+
+    /**
+     * Estimates the size of the column data of a table. The estimate counts the size of the primitive values of each column.
+     * String columns are dictionary encoded, so the size of the dictionary keys is counted for each row and the content of each unique string is counted once.
+     * The content of text columns is counted for each row.
+     * @param table Table to estimate.
+     * @return Estimated size in bytes.
+     */
+    public static long estimateSizeInBytes(Table table) {
+        long sizeInBytes = 0L;
+        for (Column<?> column : table.columns()) {
+            sizeInBytes += estimateColumnSizeInBytes(column);
+        }
+
+        return sizeInBytes;
+    }
+
+    /**
+     * Estimates the size of the data of a single column.
+     * @param column Column to estimate.
+     * @return Estimated size in bytes.
+     */
+    public static long estimateColumnSizeInBytes(Column<?> column) {
+        long sizeInBytes = (long) column.type().byteSize() * column.size();
+
+        if (column instanceof StringColumn) {
+            for (String uniqueValue : ((StringColumn) column).asSet()) {
+                sizeInBytes += estimateStringSizeInBytes(uniqueValue);
+            }
+        }
+        else if (column instanceof TextColumn) {
+            TextColumn textColumn = (TextColumn) column;
+            for (int i = 0; i < textColumn.size(); i++) {
+                sizeInBytes += estimateStringSizeInBytes(textColumn.get(i));
+            }
+        }
+
+        return sizeInBytes;
+    }
+
+    /**
+     * Estimates the size of the rows in a range of rows of a table, used to track the size of a table that is appended in batches
+     * without estimating the whole table again. The content of each unique string in a string column is counted once in the range,
+     * so the sum of the estimates of consecutive ranges may count a string that is repeated in several ranges more than once.
+     * @param table Table to estimate.
+     * @param fromRowIndex Index of the first row in the range.
+     * @param toRowIndex Index of the row after the last row in the range (exclusive).
+     * @return Estimated size in bytes.
+     */
+    public static long estimateRowsSizeInBytes(Table table, int fromRowIndex, int toRowIndex) {
+        long sizeInBytes = 0L;
+        int rowCount = toRowIndex - fromRowIndex;
+        if (rowCount <= 0) {
+            return sizeInBytes;
+        }
+
+        for (Column<?> column : table.columns()) {
+            sizeInBytes += (long) column.type().byteSize() * rowCount;
+
+            if (column instanceof StringColumn) {
+                StringColumn stringColumn = (StringColumn) column;
+                Set<String> uniqueValues = new HashSet<>();
+                for (int i = fromRowIndex; i < toRowIndex; i++) {
+                    String value = stringColumn.get(i);
+                    if (uniqueValues.add(value)) {
+                        sizeInBytes += estimateStringSizeInBytes(value);
+                    }
+                }
+            }
+            else if (column instanceof TextColumn) {
+                TextColumn textColumn = (TextColumn) column;
+                for (int i = fromRowIndex; i < toRowIndex; i++) {
+                    sizeInBytes += estimateStringSizeInBytes(textColumn.get(i));
+                }
+            }
+        }
+
+        return sizeInBytes;
+    }
+
+    /**
+     * Estimates the size of a string stored in memory (two bytes per character).
+     * @param value String value, may be null.
+     * @return Estimated size in bytes.
+     */
+    private static long estimateStringSizeInBytes(String value) {
+        if (value == null) {
+            return 0L;
+        }
+
+        return STRING_OBJECT_OVERHEAD_BYTES + 2L * value.length();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.connectors.bigquery;
+
+import ai.dqo.BaseTest;
+import ai.dqo.connectors.ProviderType;
+import ai.dqo.metadata.sources.ConnectionSpec;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
+import com.google.cloud.bigquery.storage.v1.stub.EnhancedBigQueryReadStub;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class BigQueryConnectionPoolImplTests extends BaseTest {
+    private BigQueryConnectionPoolImpl sut;
+    private List<EnhancedBigQueryReadStub> createdClientStubs;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.createdClientStubs = new ArrayList<>();
+        this.sut = new BigQueryConnectionPoolImpl() {
+            @Override
+            public BigQueryReadClient createBigQueryReadClient(ConnectionSpec connectionSpec) {
+                EnhancedBigQueryReadStub readClientStub = mock(EnhancedBigQueryReadStub.class);
+                createdClientStubs.add(readClientStub);
+                return BigQueryReadClient.create(readClientStub);
+            }
+        };
+    }
+
+    private ConnectionSpec createConnectionSpec(String projectId) {
+        ConnectionSpec connectionSpec = new ConnectionSpec();
+        connectionSpec.setProviderType(ProviderType.bigquery);
+        connectionSpec.setDatabaseName(projectId);
+        connectionSpec.setBigquery(new BigQueryParametersSpec());
+        return connectionSpec;
+    }
+
+    @Test
+    void getBigQueryReadClient_whenCalledTwiceForSameConnection_thenReturnsCachedClient() {
+        BigQueryReadClient first = this.sut.getBigQueryReadClient(createConnectionSpec("project"));
+        BigQueryReadClient second = this.sut.getBigQueryReadClient(createConnectionSpec("project"));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, this.createdClientStubs.size());
+    }
+
+    @Test
+    void getBigQueryReadClient_whenClientsEvictedFromCache_thenEvictedClientsAreNotClosed() {
+        for (int i = 0; i < 101; i++) {
+            this.sut.getBigQueryReadClient(createConnectionSpec("project" + i));
+        }
+
+        Assertions.assertEquals(101, this.createdClientStubs.size());
+        for (EnhancedBigQueryReadStub readClientStub : this.createdClientStubs) {
+            verify(readClientStub, never()).close();
+        }
+    }
+
+    @Test
+    void closeReadClients_whenClientsEvictedFromCache_thenClosesAllCreatedClients() {
+        for (int i = 0; i < 101; i++) {
+            this.sut.getBigQueryReadClient(createConnectionSpec("project" + i));
+        }
+
+        this.sut.closeReadClients();
+
+        for (EnhancedBigQueryReadStub readClientStub : this.createdClientStubs) {
+            verify(readClientStub).close();
+        }
+    }
+}
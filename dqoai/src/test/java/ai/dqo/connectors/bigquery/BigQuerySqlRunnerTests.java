@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.connectors.bigquery;
+
+import ai.dqo.BaseTest;
+import ai.dqo.connectors.ProviderType;
+import ai.dqo.connectors.QueryExecutionLimits;
+import ai.dqo.metadata.sources.ConnectionSpec;
+import com.google.cloud.bigquery.*;
+import com.google.cloud.bigquery.storage.v1.BigQueryReadClient;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class BigQuerySqlRunnerTests extends BaseTest {
+    private BigQuerySqlRunner sut;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.sut = new BigQuerySqlRunner();
+    }
+
+    @Test
+    void createFieldValueAppender_whenValuesAppended_thenColumnsFilledWithTypedValues() {
+        Schema schema = Schema.of(
+                Field.of("actual_value", StandardSQLTypeName.INT64),
+                Field.of("expected_value", StandardSQLTypeName.NUMERIC),
+                Field.of("time_period", StandardSQLTypeName.DATETIME),
+                Field.of("time_of_day", StandardSQLTypeName.TIME));
+        List<Column<?>> columns = this.sut.createColumnsFromBigQuerySchema(schema);
+
+        this.sut.createFieldValueAppender(columns.get(0), StandardSQLTypeName.INT64)
+                .appendValue(FieldValue.of(FieldValue.Attribute.PRIMITIVE, "15"));
+        this.sut.createFieldValueAppender(columns.get(1), StandardSQLTypeName.NUMERIC)
+                .appendValue(FieldValue.of(FieldValue.Attribute.PRIMITIVE, "12.5"));
+        this.sut.createFieldValueAppender(columns.get(2), StandardSQLTypeName.DATETIME)
+                .appendValue(FieldValue.of(FieldValue.Attribute.PRIMITIVE, "2022-02-01T10:15:00"));
+        this.sut.createFieldValueAppender(columns.get(3), StandardSQLTypeName.TIME)
+                .appendValue(FieldValue.of(FieldValue.Attribute.PRIMITIVE, "10:15:30.250000"));
+
+        Assertions.assertEquals(15L, ((LongColumn) columns.get(0)).get(0));
+        Assertions.assertEquals(12.5, ((DoubleColumn) columns.get(1)).get(0));
+        Assertions.assertEquals(LocalDateTime.of(2022, 2, 1, 10, 15), ((DateTimeColumn) columns.get(2)).get(0));
+        Assertions.assertEquals(LocalTime.of(10, 15, 30, 250000000), ((TimeColumn) columns.get(3)).get(0));
+    }
+
+    /**
+     * Creates a mocked BigQuery connection whose queries are executed as a query job with a destination table of the given size.
+     * @param bigQueryService Mocked BigQuery service.
+     * @param destinationTableId Destination table of the query job.
+     * @param schema Schema of the destination table.
+     * @param totalRows Number of rows in the destination table.
+     * @return Mocked connection with the large results row threshold of 1000 rows.
+     * @throws Exception Never thrown, declared by the mocked methods.
+     */
+    private BigQuerySourceConnection createConnectionWithQueryJob(BigQuery bigQueryService, TableId destinationTableId,
+                                                                  Schema schema, long totalRows) throws Exception {
+        ConnectionSpec connectionSpec = new ConnectionSpec();
+        connectionSpec.setProviderType(ProviderType.bigquery);
+        connectionSpec.setDatabaseName("billing-project");
+        BigQueryParametersSpec bigQueryParametersSpec = new BigQueryParametersSpec();
+        bigQueryParametersSpec.setLargeResultsRowThreshold(1000L);
+        connectionSpec.setBigquery(bigQueryParametersSpec);
+
+        Job queryJob = mock(Job.class);
+        JobStatus jobStatus = mock(JobStatus.class);
+        when(bigQueryService.create(any(JobInfo.class))).thenReturn(queryJob);
+        when(queryJob.waitFor()).thenReturn(queryJob);
+        when(queryJob.getStatus()).thenReturn(jobStatus);
+        when(queryJob.getJobId()).thenReturn(JobId.of("billing-project", "job1"));
+        doReturn(QueryJobConfiguration.newBuilder("select 1").setDestinationTable(destinationTableId).build()).when(queryJob).getConfiguration();
+
+        com.google.cloud.bigquery.Table destinationTable = mock(com.google.cloud.bigquery.Table.class);
+        when(bigQueryService.getTable(destinationTableId)).thenReturn(destinationTable);
+        when(destinationTable.getNumRows()).thenReturn(BigInteger.valueOf(totalRows));
+        doReturn(StandardTableDefinition.of(schema)).when(destinationTable).getDefinition();
+
+        BigQuerySourceConnection connection = mock(BigQuerySourceConnection.class);
+        when(connection.getConnectionSpec()).thenReturn(connectionSpec);
+        when(connection.getBigQueryService()).thenReturn(bigQueryService);
+        return connection;
+    }
+
+    @Test
+    void executeQuery_whenResultsAboveLargeResultsRowThreshold_thenReadsDestinationTableWithStorageReadApi() throws Exception {
+        Schema schema = Schema.of(Field.of("actual_value", StandardSQLTypeName.INT64));
+        TableId destinationTableId = TableId.of("billing-project", "_anonymous_dataset", "anon_table");
+        BigQuery bigQueryService = mock(BigQuery.class);
+        BigQuerySourceConnection connection = createConnectionWithQueryJob(bigQueryService, destinationTableId, schema, 5000L);
+        BigQueryReadClient readClient = mock(BigQueryReadClient.class);
+        when(connection.getBigQueryReadClient()).thenReturn(readClient);
+        tech.tablesaw.api.Table readTable = tech.tablesaw.api.Table.create("select 1", LongColumn.create("actual_value", new long[] { 15L }));
+
+        BigQuerySqlRunner runner = spy(this.sut);
+        doReturn(readTable).when(runner).readTableWithStorageReadApi(readClient, "billing-project", destinationTableId, schema, "select 1");
+
+        tech.tablesaw.api.Table result = runner.executeQuery(connection, "select 1", QueryExecutionLimits.UNLIMITED);
+
+        Assertions.assertSame(readTable, result);
+        verify(bigQueryService, never()).listTableData(any(TableId.class), any(Schema.class));
+        verify(bigQueryService, never()).query(any(QueryJobConfiguration.class), any(JobId.class));
+    }
+
+    @Test
+    void executeQuery_whenResultsBelowLargeResultsRowThreshold_thenListsRowsOfDestinationTable() throws Exception {
+        Schema schema = Schema.of(Field.of("actual_value", StandardSQLTypeName.INT64));
+        TableId destinationTableId = TableId.of("billing-project", "_anonymous_dataset", "anon_table");
+        BigQuery bigQueryService = mock(BigQuery.class);
+        BigQuerySourceConnection connection = createConnectionWithQueryJob(bigQueryService, destinationTableId, schema, 2L);
+        TableResult tableResult = mock(TableResult.class);
+        when(tableResult.getSchema()).thenReturn(schema);
+        when(tableResult.iterateAll()).thenReturn(List.of(
+                FieldValueList.of(List.of(FieldValue.of(FieldValue.Attribute.PRIMITIVE, "15")), schema.getFields()),
+                FieldValueList.of(List.of(FieldValue.of(FieldValue.Attribute.PRIMITIVE, null)), schema.getFields())));
+        when(bigQueryService.listTableData(destinationTableId, schema)).thenReturn(tableResult);
+
+        tech.tablesaw.api.Table result = this.sut.executeQuery(connection, "select 1", QueryExecutionLimits.UNLIMITED);
+
+        Assertions.assertEquals(2, result.rowCount());
+        LongColumn actualValue = (LongColumn) result.column("actual_value");
+        Assertions.assertEquals(15L, actualValue.get(0));
+        Assertions.assertTrue(actualValue.isMissing(1));
+        verify(connection, never()).getBigQueryReadClient();
+    }
+
+    @Test
+    void appendArrowRows_whenRecordBatchLoaded_thenColumnsFilledWithTypedValues() {
+        Schema schema = Schema.of(
+                Field.of("actual_value", StandardSQLTypeName.INT64),
+                Field.of("dimension", StandardSQLTypeName.STRING),
+                Field.of("time_period", StandardSQLTypeName.DATETIME));
+        List<Column<?>> columns = this.sut.createColumnsFromBigQuerySchema(schema);
+
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+             BigIntVector actualValueVector = new BigIntVector("actual_value", allocator);
+             VarCharVector dimensionVector = new VarCharVector("dimension", allocator);
+             TimeStampMicroVector timePeriodVector = new TimeStampMicroVector("time_period", allocator)) {
+            actualValueVector.allocateNew(2);
+            actualValueVector.set(0, 15L);
+            actualValueVector.setNull(1);
+            actualValueVector.setValueCount(2);
+            dimensionVector.allocateNew(2);
+            dimensionVector.setSafe(0, "US".getBytes(StandardCharsets.UTF_8));
+            dimensionVector.setSafe(1, "PL".getBytes(StandardCharsets.UTF_8));
+            dimensionVector.setValueCount(2);
+            timePeriodVector.allocateNew(2);
+            timePeriodVector.set(0, 1643710500000000L); // 2022-02-01T10:15:00
+            timePeriodVector.setNull(1);
+            timePeriodVector.setValueCount(2);
+
+            try (VectorSchemaRoot vectorSchemaRoot = VectorSchemaRoot.of(actualValueVector, dimensionVector, timePeriodVector)) {
+                BigQuerySqlRunner.ArrowValueAppender[] valueAppenders = this.sut.createArrowValueAppenders(vectorSchemaRoot, schema, columns);
+                this.sut.appendArrowRows(vectorSchemaRoot, columns, valueAppenders);
+            }
+        }
+
+        LongColumn actualValue = (LongColumn) columns.get(0);
+        Assertions.assertEquals(2, actualValue.size());
+        Assertions.assertEquals(15L, actualValue.get(0));
+        Assertions.assertTrue(actualValue.isMissing(1));
+        StringColumn dimension = (StringColumn) columns.get(1);
+        Assertions.assertEquals("US", dimension.get(0));
+        Assertions.assertEquals("PL", dimension.get(1));
+        DateTimeColumn timePeriod = (DateTimeColumn) columns.get(2);
+        Assertions.assertEquals(LocalDateTime.of(2022, 2, 1, 10, 15), timePeriod.get(0));
+        Assertions.assertTrue(timePeriod.isMissing(1));
+    }
+}
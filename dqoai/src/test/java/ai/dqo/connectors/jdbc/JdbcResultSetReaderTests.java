@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.connectors.jdbc;
+
+import ai.dqo.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class JdbcResultSetReaderTests extends BaseTest {
+    private ResultSet resultSet;
+    private ResultSetMetaData metaData;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.resultSet = mock(ResultSet.class);
+        this.metaData = mock(ResultSetMetaData.class);
+        when(this.resultSet.getMetaData()).thenReturn(this.metaData);
+        when(this.metaData.getColumnCount()).thenReturn(3);
+        when(this.metaData.getColumnLabel(1)).thenReturn("ACTUAL_VALUE");
+        when(this.metaData.getColumnType(1)).thenReturn(Types.NUMERIC);
+        when(this.metaData.getPrecision(1)).thenReturn(18);
+        when(this.metaData.getScale(1)).thenReturn(0);
+        when(this.metaData.getColumnLabel(2)).thenReturn("Dimension_1");
+        when(this.metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        when(this.metaData.getColumnLabel(3)).thenReturn("TIME_PERIOD");
+        when(this.metaData.getColumnType(3)).thenReturn(Types.TIMESTAMP);
+        when(this.resultSet.next()).thenReturn(true, true, false);
+        when(this.resultSet.getLong(1)).thenReturn(15L, 0L);
+        when(this.resultSet.wasNull()).thenReturn(false, true);
+        when(this.resultSet.getString(2)).thenReturn("US", null);
+        when(this.resultSet.getTimestamp(3)).thenReturn(Timestamp.valueOf(LocalDateTime.of(2022, 2, 1, 0, 0)), null);
+    }
+
+    @Test
+    void read_whenRowsReturned_thenCreatesTypedLowerCaseColumns() throws Exception {
+        Table table = JdbcResultSetReader.read(this.resultSet, "query_result", 0);
+
+        Assertions.assertEquals(2, table.rowCount());
+        LongColumn actualValue = (LongColumn) table.column("actual_value");
+        Assertions.assertEquals(15L, actualValue.get(0));
+        Assertions.assertTrue(actualValue.isMissing(1));
+        StringColumn dimension = (StringColumn) table.column("dimension_1");
+        Assertions.assertEquals("US", dimension.get(0));
+        Assertions.assertTrue(dimension.isMissing(1));
+        DateTimeColumn timePeriod = (DateTimeColumn) table.column("time_period");
+        Assertions.assertEquals(LocalDateTime.of(2022, 2, 1, 0, 0), timePeriod.get(0));
+        Assertions.assertTrue(timePeriod.isMissing(1));
+    }
+
+    @Test
+    void read_whenRowLimitExceeded_thenThrowsException() {
+        Assertions.assertThrows(SQLException.class, () -> JdbcResultSetReader.read(this.resultSet, "query_result", 1));
+    }
+
+    @Test
+    void createColumn_whenDecimalWithScale_thenCreatesDoubleColumn() {
+        Assertions.assertTrue(JdbcResultSetReader.createColumn("c", Types.DECIMAL, 10, 2) instanceof DoubleColumn);
+        Assertions.assertTrue(JdbcResultSetReader.createColumn("c", Types.DECIMAL, 9, 0) instanceof IntColumn);
+        Assertions.assertTrue(JdbcResultSetReader.createColumn("c", Types.DECIMAL, 38, 0) instanceof DoubleColumn);
+        Assertions.assertTrue(JdbcResultSetReader.createColumn("c", Types.BOOLEAN, 0, 0) instanceof BooleanColumn);
+    }
+}
@@ -16,6 +16,7 @@
 package ai.dqo.core.configuration;
 
 import ai.dqo.BaseTest;
+import ai.dqo.data.delta.ParquetCompressionCodec;
 import ai.dqo.utils.BeanFactoryObjectMother;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,4 +53,9 @@ public class DqoStorageConfigurationPropertiesTest extends BaseTest {
         String expected = ".data/alerts";
         Assertions.assertEquals(expected, alertsStoragePath);
     }
+
+    @Test
+    void getParquetCompressionCodec_whenRetrieved_thenReturnsSnappy() {
+        Assertions.assertEquals(ParquetCompressionCodec.SNAPPY, this.sut.getParquetCompressionCodec());
+    }
 }
@@ -20,6 +20,7 @@ import ai.dqo.metadata.sources.PhysicalTableName;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Dummy rule results file storage service that does nothing.
@@ -49,6 +50,31 @@ public class DummyRuleResultsFileStorageService implements RuleResultsFileStorag
 
     }
 
+    /**
+     * Saves new or updated rule results for a connection, table and month as a delta file next to the monthly partition file.
+     *
+     * @param data           New or updated rule results for the given month.
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param month          The date of the first date of the month.
+     */
+    @Override
+    public void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     *
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param month          The date of the first date of the month.
+     */
+    @Override
+    public void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
     /**
      * Reads data for a single month.
      *
@@ -90,4 +116,56 @@ public class DummyRuleResultsFileStorageService implements RuleResultsFileStorag
     public void saveTableInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
 
     }
+
+    /**
+     * Saves new or updated rule results as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     *
+     * @param table          Table with new or updated rule results for the given period.
+     * @param connectionName Connection name.
+     * @param tableName      Table name.
+     * @param start          Start date (a first day of the month is best).
+     * @param end            End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    @Override
+    public void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
+
+    }
+
+    /**
+     * Reads a version of the files of a monthly partition.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Partition version.
+     */
+    @Override
+    public long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        return 0L;
+    }
+
+    /**
+     * Deletes the rule results of a connection, table and month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code>, merging the new rows into changed partitions.
+     * @param table Table with full months for the given period.
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date.
+     * @param end End date.
+     * @param partitionVersions Versions of the partitions when they were loaded.
+     */
+    @Override
+    public void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                       Map<LocalDate, Long> partitionVersions) {
+    }
 }
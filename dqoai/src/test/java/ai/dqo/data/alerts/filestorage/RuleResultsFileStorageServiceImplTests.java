@@ -20,6 +20,7 @@ import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
 import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageServiceImpl;
@@ -55,15 +56,23 @@ public class RuleResultsFileStorageServiceImplTests extends BaseTest {
 		dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
 		storageConfigurationProperties = this.dqoConfigurationProperties.getStorage();
         LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
-        this.sut = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub);
+        this.sut = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
     }
 
     @Test
-    void getDeltaMode_whenCalled_thenReturnsReplaceAll() {
+    void getDeltaMode_whenDefaultConfiguration_thenReturnsReplaceAll() {
         ChangeDeltaMode deltaMode = this.sut.getDeltaMode();
         Assertions.assertEquals(ChangeDeltaMode.REPLACE_ALL, deltaMode);
     }
 
+    @Test
+    void getDeltaMode_whenInsertUpdateDeleteConfigured_thenReturnsInsertUpdateDelete() {
+        this.storageConfigurationProperties.setDeltaMode(ChangeDeltaMode.INSERT_UPDATE_DELETE);
+        ChangeDeltaMode deltaMode = this.sut.getDeltaMode();
+        Assertions.assertEquals(ChangeDeltaMode.INSERT_UPDATE_DELETE, deltaMode);
+    }
+
     @Test
     void makeHivePartitionPath_whenSimpleFolderWithoutEncoding_thenReturnsFolderName() {
         String partitionPath = this.sut.makeHivePartitionPath("connection",
@@ -20,6 +20,7 @@ import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
 import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageServiceImpl;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
 import ai.dqo.data.readings.factory.SensorReadingTableFactoryObjectMother;
@@ -57,7 +58,8 @@ public class RuleResultsSnapshotTests extends BaseTest {
 		dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
 		storageConfigurationProperties = this.dqoConfigurationProperties.getStorage();
         LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
-        ruleResultsFileStorageService = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub);
+        ruleResultsFileStorageService = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
 		tableName = new PhysicalTableName("sch2", "tab2");
         Table newRows = SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("new_rows");
 		this.sut = new RuleResultsSnapshot("conn", tableName, this.ruleResultsFileStorageService, newRows);
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import ai.dqo.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+public class DeltaCompactionServiceImplTests extends BaseTest {
+    private DeltaCompactionServiceImpl sut;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+		this.sut = new DeltaCompactionServiceImpl();
+    }
+
+    @Test
+    void scheduleCompaction_whenScheduled_thenCompactionExecuted() {
+        AtomicInteger counter = new AtomicInteger();
+        Assertions.assertTrue(this.sut.scheduleCompaction("partition1", counter::incrementAndGet));
+        Assertions.assertTrue(this.sut.awaitCompactions(10000L));
+        Assertions.assertEquals(1, counter.get());
+		this.sut.shutdown();
+    }
+
+    @Test
+    void scheduleCompaction_whenCompactionFails_thenNextCompactionsStillExecuted() {
+        AtomicInteger counter = new AtomicInteger();
+		this.sut.scheduleCompaction("partition1", () -> { throw new RuntimeException("compaction failed"); });
+		this.sut.scheduleCompaction("partition2", counter::incrementAndGet);
+        Assertions.assertTrue(this.sut.awaitCompactions(10000L));
+        Assertions.assertEquals(1, counter.get());
+		this.sut.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.delta;
+
+import ai.dqo.BaseTest;
+import ai.dqo.core.filesystem.localfiles.LocalFolderTreeNodeObjectMother;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@SpringBootTest
+public class PartitionFileLockTests extends BaseTest {
+    private Path partitionPath;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        Path homePath = LocalFolderTreeNodeObjectMother.createEmptyTemporaryUserHome(true).getPhysicalAbsolutePath();
+		this.partitionPath = homePath.resolve("partition");
+    }
+
+    @Test
+    void acquire_whenAcquiredTwice_thenLockFileKeepsSameToken() throws Exception {
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(this.partitionPath)) {
+            Assertions.assertTrue(Files.exists(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME)));
+        }
+        String firstToken = Files.readString(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME));
+
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(this.partitionPath)) {
+            Assertions.assertEquals(firstToken, Files.readString(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME)));
+        }
+        Assertions.assertFalse(firstToken.isEmpty());
+    }
+
+    @Test
+    void acquire_whenLockFileDeletedByPreviousHolder_thenLocksNewLockFileWithNewToken() throws Exception {
+        String firstToken;
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(this.partitionPath)) {
+            firstToken = Files.readString(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME));
+            partitionLock.deleteLockFile();
+            Assertions.assertFalse(Files.exists(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME)));
+        }
+
+        try (PartitionFileLock partitionLock = PartitionFileLock.acquire(this.partitionPath)) {
+            String secondToken = Files.readString(this.partitionPath.resolve(PartitionFileLock.LOCK_FILE_NAME));
+            Assertions.assertNotEquals(firstToken, secondToken);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.lake;
+
+import ai.dqo.BaseTest;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
+import ai.dqo.data.alerts.factory.RuleResultsTableFactoryImpl;
+import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageServiceImpl;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
+import ai.dqo.data.local.LocalDqoUserHomePathProvider;
+import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
+import ai.dqo.data.readings.factory.SensorReadingTableFactoryObjectMother;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageServiceImpl;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.data.readings.normalization.SensorNormalizedResultObjectMother;
+import ai.dqo.execution.checks.ruleeval.RuleEvaluationResult;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+public class DataLakeQueryServiceImplTests extends BaseTest {
+    private DataLakeQueryServiceImpl sut;
+    private SensorReadingsFileStorageServiceImpl sensorReadingsStorageService;
+    private RuleResultsFileStorageServiceImpl ruleResultsStorageService;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        DqoConfigurationProperties dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
+        DqoStorageConfigurationProperties storageConfigurationProperties = dqoConfigurationProperties.getStorage();
+        LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
+        this.sensorReadingsStorageService = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
+        this.ruleResultsStorageService = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
+        this.sut = new DataLakeQueryServiceImpl(storageConfigurationProperties, localUserHomeProviderStub);
+    }
+
+    /**
+     * Creates a rule results table with one row per given severity.
+     * @param severities Severities of the rule results.
+     * @return Rule results table.
+     */
+    private Table createRuleResults(int... severities) {
+        Table table = new RuleResultsTableFactoryImpl(SensorReadingTableFactoryObjectMother.createFactory()).createEmptyRuleResultsTable("alerts");
+        SensorNormalizedResult normalizedResults = new SensorNormalizedResult(table);
+        for (int i = 0; i < severities.length; i++) {
+            table.appendRow();
+            normalizedResults.getCheckHashColumn().set(i, 10L + i);
+            normalizedResults.getDimensionIdColumn().set(i, 0L);
+            normalizedResults.getCheckNameColumn().set(i, "row_count");
+            normalizedResults.getTimePeriodColumn().set(i, LocalDateTime.of(2022, 3, 10, 0, 0));
+            normalizedResults.getActualValueColumn().set(i, 10.0);
+            table.intColumn(RuleEvaluationResult.SEVERITY_COLUMN_NAME).set(i, severities[i]);
+            table.longColumn(RuleEvaluationResult.RULE_HASH_COLUMN_NAME).set(i, 1L);
+        }
+
+        return table;
+    }
+
+    @Test
+    void listRuleResultsPartitions_whenPartitionsSaved_thenReturnsDecodedMatchingPartitions() {
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(1), "conn 1", new PhysicalTableName("sch", "tab1"), month);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(1), "other", new PhysicalTableName("sch", "tab2"), month);
+
+        DataLakeQueryFilters filters = new DataLakeQueryFilters();
+        filters.setConnectionName("conn*");
+        List<DataLakePartition> partitions = this.sut.listRuleResultsPartitions(filters);
+
+        Assertions.assertEquals(1, partitions.size());
+        Assertions.assertEquals("conn 1", partitions.get(0).getConnectionName());
+        Assertions.assertEquals(new PhysicalTableName("sch", "tab1"), partitions.get(0).getTableName());
+        Assertions.assertEquals(month, partitions.get(0).getMonth());
+    }
+
+    @Test
+    void listRuleResultsPartitions_whenMonthOutsideRange_thenPartitionSkipped() {
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(1), "conn", new PhysicalTableName("sch", "tab1"), LocalDate.of(2022, 3, 1));
+
+        DataLakeQueryFilters filters = new DataLakeQueryFilters();
+        filters.setStartMonth(LocalDate.of(2022, 4, 15));
+
+        Assertions.assertEquals(0, this.sut.listRuleResultsPartitions(filters).size());
+    }
+
+    @Test
+    void countAlertsPerConnection_whenNoDataStored_thenReturnsEmptyTable() {
+        Table result = this.sut.countAlertsPerConnection(new DataLakeQueryFilters());
+
+        Assertions.assertEquals(0, result.rowCount());
+    }
+
+    @Test
+    void countAlertsPerConnection_whenAlertsInTwoTables_thenCountsAlertsBySeverity() {
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(0, 1, 3), "conn", new PhysicalTableName("sch", "tab1"), month);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(2, 3), "conn", new PhysicalTableName("sch", "tab2"), month);
+
+        Table result = this.sut.countAlertsPerConnection(new DataLakeQueryFilters());
+
+        Assertions.assertEquals(1, result.rowCount());
+        Assertions.assertEquals("conn", result.stringColumn("Connection").get(0));
+        Assertions.assertEquals(2, result.intColumn("Tables").get(0));
+        Assertions.assertEquals(5L, result.longColumn("Rule results").get(0));
+        Assertions.assertEquals(1L, result.longColumn("Valid results").get(0));
+        Assertions.assertEquals(1L, result.longColumn("Alerts (low)").get(0));
+        Assertions.assertEquals(1L, result.longColumn("Alerts (medium)").get(0));
+        Assertions.assertEquals(2L, result.longColumn("Alerts (high)").get(0));
+    }
+
+    @Test
+    void findWorstTables_whenTablesHaveAlerts_thenReturnsTablesOrderedBySeverity() {
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(1, 1, 1), "conn", new PhysicalTableName("sch", "tab1"), month);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(3), "conn", new PhysicalTableName("sch", "tab2"), month);
+        this.ruleResultsStorageService.saveTableMonth(createRuleResults(0), "conn", new PhysicalTableName("sch", "tab3"), month);
+
+        Table result = this.sut.findWorstTables(new DataLakeQueryFilters(), 10);
+
+        Assertions.assertEquals(2, result.rowCount());
+        Assertions.assertEquals("sch.tab2", result.stringColumn("Table").get(0));
+        Assertions.assertEquals("sch.tab1", result.stringColumn("Table").get(1));
+    }
+
+    @Test
+    void calculateSensorTrends_whenReadingsInTwoDays_thenAggregatesPerDay() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table readings = normalizedResults.getTable();
+        double[] values = { 10.0, 20.0, 40.0 };
+        int[] days = { 10, 10, 11 };
+        for (int i = 0; i < values.length; i++) {
+            readings.appendRow();
+            normalizedResults.getCheckHashColumn().set(i, 10L);
+            normalizedResults.getDimensionIdColumn().set(i, (long) i);
+            normalizedResults.getCheckNameColumn().set(i, "row_count");
+            normalizedResults.getActualValueColumn().set(i, values[i]);
+            normalizedResults.getTimePeriodColumn().set(i, LocalDateTime.of(2022, 3, days[i], 0, 0));
+        }
+        this.sensorReadingsStorageService.saveTableMonth(readings, "conn", new PhysicalTableName("sch", "tab1"), LocalDate.of(2022, 3, 1));
+
+        Table result = this.sut.calculateSensorTrends(new DataLakeQueryFilters(), SensorTrendTimeScale.day);
+
+        Assertions.assertEquals(2, result.rowCount());
+        Assertions.assertEquals(LocalDate.of(2022, 3, 10), result.dateColumn("Period").get(0));
+        Assertions.assertEquals(2, result.intColumn("Readings").get(0));
+        Assertions.assertEquals(15.0, result.doubleColumn("Average").get(0));
+        Assertions.assertEquals(LocalDate.of(2022, 3, 11), result.dateColumn("Period").get(1));
+        Assertions.assertEquals(40.0, result.doubleColumn("Max").get(1));
+    }
+}
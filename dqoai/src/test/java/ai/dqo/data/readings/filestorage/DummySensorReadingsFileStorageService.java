@@ -20,6 +20,7 @@ import ai.dqo.metadata.sources.PhysicalTableName;
 import tech.tablesaw.api.Table;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Dummy sensor reading file storage service that does nothing.
@@ -49,6 +50,31 @@ public class DummySensorReadingsFileStorageService implements SensorReadingsFile
 
     }
 
+    /**
+     * Saves new or updated sensor readings for a connection, table and month as a delta file next to the monthly partition file.
+     *
+     * @param data           New or updated readings for the given month.
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param month          The date of the first date of the month.
+     */
+    @Override
+    public void saveTableMonthDelta(Table data, String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
+    /**
+     * Merges all delta files of a monthly partition into the partition file and deletes the delta files.
+     *
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param month          The date of the first date of the month.
+     */
+    @Override
+    public void compactTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
     /**
      * Reads data for a single month.
      *
@@ -77,6 +103,39 @@ public class DummySensorReadingsFileStorageService implements SensorReadingsFile
         return null;
     }
 
+    /**
+     * Reads the historic time series of selected checks (and optionally selected dimensions) for a single month.
+     *
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param month          The date of the first date of the month.
+     * @param checkHashes    Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds   Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Returns a dataset table with the time series columns. Returns null if the data is not present (missing file).
+     */
+    @Override
+    public Table loadTimeSeriesForTableAndMonth(String connectionName, PhysicalTableName tableName, LocalDate month,
+                                                long[] checkHashes, long[] dimensionIds) {
+        return null;
+    }
+
+    /**
+     * Loads the historic time series of selected checks (and optionally selected dimensions) that cover the time period between <code>start</code> and <code>end</code>.
+     *
+     * @param connectionName Connection name.
+     * @param tableName      Table name (schema.table).
+     * @param start          Start date, that is truncated to the beginning of the first loaded month.
+     * @param end            End date, the whole month of the given date is loaded.
+     * @param checkHashes    Array of check hashes (check_hash column values) to load.
+     * @param dimensionIds   Array of dimension ids (dimension_id column values) to load, or null to load all dimensions of the checks.
+     * @return Table with the time series columns. Returns null when no data is present.
+     */
+    @Override
+    public Table loadTimeSeriesForTableAndMonthsRange(String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                                      long[] checkHashes, long[] dimensionIds) {
+        return null;
+    }
+
     /**
      * Saves all months that cover the range between <code>start</code> and <code>end</code>.
      *
@@ -90,4 +149,70 @@ public class DummySensorReadingsFileStorageService implements SensorReadingsFile
     public void saveTableInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
 
     }
+
+    /**
+     * Saves new or updated readings as delta files in all months that cover the range between <code>start</code> and <code>end</code>.
+     *
+     * @param table          Table with new or updated readings for the given period.
+     * @param connectionName Connection name.
+     * @param tableName      Table name.
+     * @param start          Start date (a first day of the month is best).
+     * @param end            End date (the first day of the month is enough because the full month until the last day is saved).
+     */
+    @Override
+    public void saveDeltaInMonthsRange(Table table, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end) {
+
+    }
+
+    /**
+     * Reads a version of the files of a monthly partition.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @return Partition version.
+     */
+    @Override
+    public long readTableMonthVersion(String connectionName, PhysicalTableName tableName, LocalDate month) {
+        return 0L;
+    }
+
+    /**
+     * Replaces the sensor readings of a connection, table and month when the partition was not changed since it was loaded.
+     * @param data Rewritten data for the given month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     * @param loadedVersion Version of the partition read before the month was loaded.
+     * @return True when the partition was replaced.
+     */
+    @Override
+    public boolean replaceTableMonth(Table data, String connectionName, PhysicalTableName tableName, LocalDate month, long loadedVersion) {
+        return true;
+    }
+
+    /**
+     * Deletes the sensor readings of a connection, table and month.
+     * @param connectionName Connection name.
+     * @param tableName Table name (schema.table).
+     * @param month The date of the first date of the month.
+     */
+    @Override
+    public void deleteTableMonth(String connectionName, PhysicalTableName tableName, LocalDate month) {
+
+    }
+
+    /**
+     * Saves all months that cover the range between <code>start</code> and <code>end</code>, merging the new rows into changed partitions.
+     * @param table Table with full months for the given period.
+     * @param newRows New or updated rows.
+     * @param connectionName Connection name.
+     * @param tableName Table name.
+     * @param start Start date.
+     * @param end End date.
+     * @param partitionVersions Versions of the partitions when they were loaded.
+     */
+    @Override
+    public void saveTableInMonthsRange(Table table, Table newRows, String connectionName, PhysicalTableName tableName, LocalDate start, LocalDate end,
+                                       Map<LocalDate, Long> partitionVersions) {
+    }
 }
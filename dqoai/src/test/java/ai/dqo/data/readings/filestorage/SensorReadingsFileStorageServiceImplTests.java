@@ -20,6 +20,8 @@ import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
 import ai.dqo.data.delta.ChangeDeltaMode;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
+import ai.dqo.data.delta.PartitionDeltaFileUtility;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
@@ -32,8 +34,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import tech.tablesaw.api.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @SpringBootTest
 public class SensorReadingsFileStorageServiceImplTests extends BaseTest {
@@ -54,15 +61,23 @@ public class SensorReadingsFileStorageServiceImplTests extends BaseTest {
 		dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
 		storageConfigurationProperties = this.dqoConfigurationProperties.getStorage();
         LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
-        this.sut = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub);
+        this.sut = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
     }
 
     @Test
-    void getDeltaMode_whenCalled_thenReturnsReplaceAll() {
+    void getDeltaMode_whenDefaultConfiguration_thenReturnsReplaceAll() {
         ChangeDeltaMode deltaMode = this.sut.getDeltaMode();
         Assertions.assertEquals(ChangeDeltaMode.REPLACE_ALL, deltaMode);
     }
 
+    @Test
+    void getDeltaMode_whenInsertUpdateDeleteConfigured_thenReturnsInsertUpdateDelete() {
+        this.storageConfigurationProperties.setDeltaMode(ChangeDeltaMode.INSERT_UPDATE_DELETE);
+        ChangeDeltaMode deltaMode = this.sut.getDeltaMode();
+        Assertions.assertEquals(ChangeDeltaMode.INSERT_UPDATE_DELETE, deltaMode);
+    }
+
     @Test
     void makeHivePartitionPath_whenSimpleFolderWithoutEncoding_thenReturnsFolderName() {
         String partitionPath = this.sut.makeHivePartitionPath("connection",
@@ -165,4 +180,177 @@ public class SensorReadingsFileStorageServiceImplTests extends BaseTest {
         Assertions.assertEquals(LocalDateTime.of(2022, 3, 10, 14, 30, 55),
                 table.column(normalizedResults.getTimePeriodColumn().name()).get(2));
     }
+
+    @Test
+    void loadTimeSeriesForTableAndMonth_whenFileHasManyChecksAndDimensions_thenReturnsOnlyTimeSeriesColumnsOfSelectedCheckAndDimensions() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        for (int i = 0; i < 30; i++) {
+            Row row = sourceTable.appendRow();
+            normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 100L + (i % 3));
+            normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), (long)(i % 5));
+            normalizedResults.getActualValueColumn().set(row.getRowNumber(), (double)i);
+            normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 3, 1 + i % 28, 10, 0, 0));
+        }
+
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+		this.sut.saveTableMonth(sourceTable, "connection", tableName, month);
+
+        Table loadedTable = this.sut.loadTimeSeriesForTableAndMonth("connection", tableName, month,
+                new long[] { 101L }, new long[] { 1L, 3L });
+
+        Assertions.assertNotNull(loadedTable);
+        Assertions.assertEquals(SensorReadingsFileStorageService.TIME_SERIES_COLUMN_NAMES.length, loadedTable.columnCount());
+        Assertions.assertEquals(4, loadedTable.rowCount());
+        LongColumn checkHashColumn = (LongColumn) loadedTable.column(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME);
+        LongColumn dimensionIdColumn = (LongColumn) loadedTable.column(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME);
+        Assertions.assertEquals(4, checkHashColumn.isEqualTo(101L).size());
+        Assertions.assertEquals(4, dimensionIdColumn.isIn(1L, 3L).size());
+    }
+
+    @Test
+    void loadTimeSeriesForTableAndMonth_whenCheckNotPresentInFile_thenReturnsEmptyTable() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        Row row1 = sourceTable.appendRow();
+        normalizedResults.getCheckHashColumn().set(row1.getRowNumber(), 100L);
+        normalizedResults.getDimensionIdColumn().set(row1.getRowNumber(), 0L);
+        normalizedResults.getActualValueColumn().set(row1.getRowNumber(), 20.5);
+        normalizedResults.getTimePeriodColumn().set(row1.getRowNumber(), LocalDateTime.of(2022, 3, 10, 14, 40, 55));
+
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+		this.sut.saveTableMonth(sourceTable, "connection", tableName, month);
+
+        Table loadedTable = this.sut.loadTimeSeriesForTableAndMonth("connection", tableName, month, new long[] { 200L }, null);
+
+        Assertions.assertNotNull(loadedTable);
+        Assertions.assertEquals(0, loadedTable.rowCount());
+    }
+
+    @Test
+    void saveTableMonthDelta_whenDeltaUpdatesRowAndAddsRow_thenLoadForTableAndMonthReturnsMergedRows() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        Row row1 = sourceTable.appendRow();
+        normalizedResults.getCheckHashColumn().set(row1.getRowNumber(), 100L);
+        normalizedResults.getDimensionIdColumn().set(row1.getRowNumber(), 0L);
+        normalizedResults.getActualValueColumn().set(row1.getRowNumber(), 20.5);
+        normalizedResults.getTimePeriodColumn().set(row1.getRowNumber(), LocalDateTime.of(2022, 3, 10, 0, 0, 0));
+
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+		this.sut.saveTableMonth(sourceTable, "connection", tableName, month);
+
+        SensorNormalizedResult deltaResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table deltaTable = deltaResults.getTable();
+        Row updatedRow = deltaTable.appendRow();
+        deltaResults.getCheckHashColumn().set(updatedRow.getRowNumber(), 100L);
+        deltaResults.getDimensionIdColumn().set(updatedRow.getRowNumber(), 0L);
+        deltaResults.getActualValueColumn().set(updatedRow.getRowNumber(), 30.5);
+        deltaResults.getTimePeriodColumn().set(updatedRow.getRowNumber(), LocalDateTime.of(2022, 3, 10, 0, 0, 0));
+        Row newRow = deltaTable.appendRow();
+        deltaResults.getCheckHashColumn().set(newRow.getRowNumber(), 100L);
+        deltaResults.getDimensionIdColumn().set(newRow.getRowNumber(), 0L);
+        deltaResults.getActualValueColumn().set(newRow.getRowNumber(), 40.5);
+        deltaResults.getTimePeriodColumn().set(newRow.getRowNumber(), LocalDateTime.of(2022, 3, 11, 0, 0, 0));
+		this.sut.saveTableMonthDelta(deltaTable, "connection", tableName, month);
+
+        Path partitionPath = this.sut.makeParquetFilePath("connection", tableName, month).getParent();
+        List<Path> deltaFiles = PartitionDeltaFileUtility.listDeltaFiles(partitionPath, SensorReadingsFileStorageService.PARQUET_FILE_NAME);
+        Assertions.assertEquals(1, deltaFiles.size());
+        Assertions.assertTrue(deltaFiles.get(0).getFileName().toString().startsWith(PartitionDeltaFileUtility.DELTA_FILE_PREFIX));
+
+        Table loadedTable = this.sut.loadForTableAndMonth("connection", tableName, month).sortOn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        Assertions.assertEquals(2, loadedTable.rowCount());
+        Assertions.assertEquals(30.5, loadedTable.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(0));
+        Assertions.assertEquals(40.5, loadedTable.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(1));
+
+        Table timeSeriesTable = this.sut.loadTimeSeriesForTableAndMonth("connection", tableName, month, new long[] { 100L }, null);
+        Assertions.assertEquals(2, timeSeriesTable.rowCount());
+    }
+
+    @Test
+    void compactTableMonth_whenDeltaFilesPresent_thenMergesDeltaFilesIntoPartitionFileAndDeletesThem() {
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            SensorNormalizedResult deltaResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+            Table deltaTable = deltaResults.getTable();
+            Row row = deltaTable.appendRow();
+            deltaResults.getCheckHashColumn().set(row.getRowNumber(), 100L);
+            deltaResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+            deltaResults.getActualValueColumn().set(row.getRowNumber(), 10.0 + i);
+            deltaResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 3, 10 + i, 0, 0, 0));
+			this.sut.saveTableMonthDelta(deltaTable, "connection", tableName, month);
+        }
+
+        Path parquetFilePath = this.sut.makeParquetFilePath("connection", tableName, month);
+        Assertions.assertEquals(3, PartitionDeltaFileUtility.listDeltaFiles(parquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME).size());
+
+		this.sut.compactTableMonth("connection", tableName, month);
+
+        Assertions.assertTrue(Files.exists(parquetFilePath));
+        Assertions.assertEquals(0, PartitionDeltaFileUtility.listDeltaFiles(parquetFilePath.getParent(), SensorReadingsFileStorageService.PARQUET_FILE_NAME).size());
+        Table loadedTable = this.sut.loadForTableAndMonth("connection", tableName, month);
+        Assertions.assertEquals(3, loadedTable.rowCount());
+    }
+
+    /**
+     * Creates a table with a single sensor reading of the check 100.
+     * @param day Day of March 2022.
+     * @param actualValue Actual value.
+     * @return Table with one row.
+     */
+    private Table createSingleReading(int day, double actualValue) {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table table = normalizedResults.getTable();
+        Row row = table.appendRow();
+        normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 100L);
+        normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+        normalizedResults.getActualValueColumn().set(row.getRowNumber(), actualValue);
+        normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 3, day, 0, 0, 0));
+        return table;
+    }
+
+    @Test
+    void saveTableInMonthsRange_whenPartitionNotChangedSinceLoad_thenWritesDataAndUpdatesVersion() {
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.sut.saveTableMonth(createSingleReading(10, 20.5), "connection", tableName, month);
+        Map<LocalDate, Long> partitionVersions = new HashMap<>();
+        partitionVersions.put(month, this.sut.readTableMonthVersion("connection", tableName, month));
+
+        Table newRows = createSingleReading(11, 30.5);
+        Table mergedRows = this.sut.loadForTableAndMonth("connection", tableName, month);
+        mergedRows.append(newRows);
+        this.sut.saveTableInMonthsRange(mergedRows, newRows, "connection", tableName, month, month, partitionVersions);
+
+        Assertions.assertEquals(2, this.sut.loadForTableAndMonth("connection", tableName, month).rowCount());
+        Assertions.assertEquals(this.sut.readTableMonthVersion("connection", tableName, month), partitionVersions.get(month));
+    }
+
+    @Test
+    void saveTableInMonthsRange_whenPartitionChangedByAnotherWriterSinceLoad_thenMergesNewRowsIntoCurrentPartition() {
+        PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.sut.saveTableMonth(createSingleReading(10, 20.5), "connection", tableName, month);
+        Map<LocalDate, Long> partitionVersions = new HashMap<>();
+        partitionVersions.put(month, this.sut.readTableMonthVersion("connection", tableName, month));
+        Table mergedRows = this.sut.loadForTableAndMonth("connection", tableName, month);
+
+        this.sut.saveTableMonthDelta(createSingleReading(11, 40.5), "connection", tableName, month); // another writer
+
+        Table newRows = createSingleReading(12, 50.5);
+        mergedRows.append(newRows);
+        this.sut.saveTableInMonthsRange(mergedRows, newRows, "connection", tableName, month, month, partitionVersions);
+
+        Table loadedTable = this.sut.loadForTableAndMonth("connection", tableName, month).sortOn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+        Assertions.assertEquals(3, loadedTable.rowCount());
+        Assertions.assertEquals(40.5, loadedTable.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(1));
+        Assertions.assertEquals(50.5, loadedTable.column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(2));
+        Assertions.assertFalse(partitionVersions.containsKey(month));
+    }
 }
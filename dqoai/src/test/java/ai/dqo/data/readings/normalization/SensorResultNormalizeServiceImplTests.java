@@ -218,5 +218,44 @@ public class SensorResultNormalizeServiceImplTests extends BaseTest {
         Assertions.assertEquals(4298143061576664681L, results.getDimensionIdColumn().get(0));
     }
 
+    @Test
+    void normalizeBatchedResults_whenSecondActualValueExtracted_thenReturnsActualValueAndSharedDimensions() {
+		this.table.addColumns(DoubleColumn.create("actual_value_1", 12.5));
+		this.table.addColumns(DoubleColumn.create("actual_value_2", 40.0));
+		this.table.addColumns(DateTimeColumn.create("time_period", LocalDateTime.now(this.utcZone).minus(Period.ofDays(2)).truncatedTo(ChronoUnit.DAYS)));
+		this.table.addColumns(StringColumn.create("dimension_1", "US"));
+        SensorNormalizedResult results = this.sut.normalizeBatchedResults(this.sensorExecutionResult, 2, TimeSeriesGradient.DAY, this.sensorExecutionRunParameters);
+        Assertions.assertNotNull(results.getTable());
+        Assertions.assertEquals(1, results.getTable().rowCount());
+        Assertions.assertEquals(40.0, results.getActualValueColumn().get(0));
+        Assertions.assertFalse(results.getTable().containsColumn("actual_value_1"));
+        Assertions.assertFalse(results.getTable().containsColumn("actual_value_2"));
+        LocalDateTime localTimeNow = LocalDateTime.now(this.utcZone).minus(Period.ofDays(2));
+        Assertions.assertEquals(localTimeNow.truncatedTo(ChronoUnit.DAYS), results.getTimePeriodColumn().get(0));
+        Assertions.assertEquals(6115115649832173011L, results.getDimensionIdColumn().get(0));
+    }
+
+    @Test
+    void normalizeBatchedResults_whenActualValueColumnOfBatchedSensorMissing_thenThrowsException() {
+		this.table.addColumns(DoubleColumn.create("actual_value_1", 12.5));
+        Assertions.assertThrows(SensorResultNormalizeException.class, () -> {
+			this.sut.normalizeBatchedResults(this.sensorExecutionResult, 2, TimeSeriesGradient.DAY, this.sensorExecutionRunParameters);
+        });
+    }
+
+    @Test
+    void normalizeResults_whenManyRows_thenConstantColumnsStoreSingleDictionaryValue() {
+        this.table.addColumns(DoubleColumn.create("actual_value", 12.5, 13.5, 14.5));
+        SensorNormalizedResult results = this.sut.normalizeResults(this.sensorExecutionResult, TimeSeriesGradient.DAY, this.sensorExecutionRunParameters);
+
+        Assertions.assertEquals(3, results.getTable().rowCount());
+        Assertions.assertEquals(1, results.getConnectionNameColumn().countUnique());
+        Assertions.assertEquals("conn", results.getConnectionNameColumn().get(2));
+        Assertions.assertEquals(1, results.getTableNameColumn().countUnique());
+        Assertions.assertEquals(1, results.getTimeGradientColumn().countUnique());
+        Assertions.assertEquals("day", results.getTimeGradientColumn().get(2));
+        Assertions.assertEquals(3, results.getColumnNameColumn().countMissing());
+    }
+
     // TODO: write more tests, for dimensions, different data types (cast required), time period granularity trimming, etc...
 }
@@ -19,6 +19,7 @@ import ai.dqo.BaseTest;
 import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
 import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
 import ai.dqo.data.local.LocalDqoUserHomePathProvider;
 import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
 import ai.dqo.data.readings.factory.SensorReadingTableFactoryObjectMother;
@@ -26,6 +27,7 @@ import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageServiceImpl;
 import ai.dqo.data.readings.normalization.SensorNormalizedResult;
 import ai.dqo.data.readings.normalization.SensorNormalizedResultObjectMother;
 import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.utils.tables.TableSizeEstimateUtility;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,7 +59,8 @@ public class SensorReadingsSnapshotTests extends BaseTest {
 		dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
 		storageConfigurationProperties = this.dqoConfigurationProperties.getStorage();
         LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
-        sensorReadingsFileStorageService = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub);
+        sensorReadingsFileStorageService = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
 		tableName = new PhysicalTableName("sch2", "tab2");
         Table newRows = SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("new_rows");
 		this.sut = new SensorReadingsSnapshot("conn", tableName, this.sensorReadingsFileStorageService, newRows);
@@ -179,4 +182,195 @@ public class SensorReadingsSnapshotTests extends BaseTest {
 		this.sut.getNewResults().appendRow();
         Assertions.assertTrue(this.sut.hasNewReadings());
     }
+
+    @Test
+    void ensureTimeSeriesAreLoaded_whenMonthsNotLoaded_thenLoadsOnlyTimeSeriesOfTheCheck() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        for (int i = 0; i < 6; i++) {
+            Row row = sourceTable.appendRow();
+            normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 10L + (i % 2));
+            normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+            normalizedResults.getActualValueColumn().set(row.getRowNumber(), (double)i);
+            normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 1 + i / 2, 10, 14, 10, 55));
+        }
+		this.sensorReadingsFileStorageService.saveTableInMonthsRange(sourceTable, this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+
+		this.sut.ensureTimeSeriesAreLoaded(11L, new long[] { 0L }, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+
+        Assertions.assertNull(this.sut.getHistoricResults());
+        SensorReadingsTimeSeriesData timeSeriesData = this.sut.getHistoricReadingsTimeSeries(11L).findTimeSeriesData(11L, 0L);
+        Assertions.assertNotNull(timeSeriesData);
+        Assertions.assertEquals(3, timeSeriesData.getTable().rowCount());
+        Assertions.assertEquals(1.0, timeSeriesData.getTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(0));
+        Assertions.assertEquals(5.0, timeSeriesData.getTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(2));
+        Assertions.assertNull(this.sut.getHistoricReadingsTimeSeries(11L).findTimeSeriesData(10L, 0L));
+    }
+
+    @Test
+    void getHistoricReadingsTimeSeries_whenMonthsAlreadyLoaded_thenSplitsOnlyTimeSeriesOfTheCheck() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        for (int i = 0; i < 4; i++) {
+            Row row = sourceTable.appendRow();
+            normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 10L + (i % 2));
+            normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+            normalizedResults.getActualValueColumn().set(row.getRowNumber(), (double)i);
+            normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 2, 1 + i, 14, 10, 55));
+        }
+		this.sensorReadingsFileStorageService.saveTableInMonthsRange(sourceTable, this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+		this.sut.ensureMonthsAreLoaded(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+
+		this.sut.ensureTimeSeriesAreLoaded(10L, null, LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+        SensorReadingsTimeSeriesMap timeSeriesMap = this.sut.getHistoricReadingsTimeSeries(10L);
+
+        SensorReadingsTimeSeriesData timeSeriesData = timeSeriesMap.findTimeSeriesData(10L, 0L);
+        Assertions.assertNotNull(timeSeriesData);
+        Assertions.assertEquals(2, timeSeriesData.getTable().rowCount());
+        Assertions.assertNull(timeSeriesMap.findTimeSeriesData(11L, 0L));
+    }
+
+    @Test
+    void getHistoricReadingsTimeSeries_whenMonthsLoadedAfterLookup_thenReturnsTimeSeriesFromAllLoadedMonths() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        for (int i = 0; i < 3; i++) {
+            Row row = sourceTable.appendRow();
+            normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 10L);
+            normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+            normalizedResults.getActualValueColumn().set(row.getRowNumber(), 10.5 + i * 10.0);
+            normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 1 + i, 10, 14, 10, 55));
+        }
+		this.sensorReadingsFileStorageService.saveTableInMonthsRange(sourceTable, this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+		this.sut.ensureMonthsAreLoaded(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1));
+        Assertions.assertEquals(2, this.sut.getHistoricReadingsTimeSeries().findTimeSeriesData(10L, 0L).getTable().rowCount());
+
+		this.sut.ensureMonthsAreLoaded(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+
+        SensorReadingsTimeSeriesData timeSeriesData = this.sut.getHistoricReadingsTimeSeries().findTimeSeriesData(10L, 0L);
+        Assertions.assertEquals(3, timeSeriesData.getTable().rowCount());
+        Assertions.assertEquals(10.5, timeSeriesData.getTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(0));
+        Assertions.assertEquals(30.5, timeSeriesData.getTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(2));
+    }
+
+    @Test
+    void findRowOffsets_whenMonthsLoaded_thenReturnsSameSortedOffsetsIntoHistoricResults() {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table sourceTable = normalizedResults.getTable();
+        for (int i = 0; i < 4; i++) {
+            Row row = sourceTable.appendRow();
+            normalizedResults.getCheckHashColumn().set(row.getRowNumber(), 10L + (i % 2));
+            normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), 0L);
+            normalizedResults.getActualValueColumn().set(row.getRowNumber(), (double)i);
+            normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 2, 4 - i, 14, 10, 55));
+        }
+		this.sensorReadingsFileStorageService.saveTableInMonthsRange(sourceTable, this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+		this.sut.ensureMonthsAreLoaded(LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+        SensorReadingsTimeSeriesMap timeSeriesMap = this.sut.getHistoricReadingsTimeSeries(10L);
+
+        int[] rowOffsets = timeSeriesMap.findRowOffsets(10L, 0L);
+
+        Assertions.assertSame(this.sut.getHistoricResults(), timeSeriesMap.getSourceTable());
+        Assertions.assertEquals(2, rowOffsets.length);
+        Assertions.assertEquals(2.0, timeSeriesMap.getSourceTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(rowOffsets[0]));
+        Assertions.assertEquals(0.0, timeSeriesMap.getSourceTable().column(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(rowOffsets[1]));
+        Assertions.assertSame(rowOffsets, timeSeriesMap.findRowOffsets(10L, 0L));
+        Assertions.assertNull(timeSeriesMap.findRowOffsets(11L, 0L));
+    }
+
+    @Test
+    void save_whenOnlyTimeSeriesWereLoaded_thenMergesNewReadingsWithWholeMonths() {
+		saveThreeMonthsData();
+		this.sut.ensureTimeSeriesAreLoaded(0L, null, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+
+        Table newResults = this.sut.getNewResults();
+        SensorNormalizedResult newNormalizedResults = new SensorNormalizedResult(newResults);
+        Row newRow = newResults.appendRow();
+        newNormalizedResults.getActualValueColumn().set(newRow.getRowNumber(), 40.5);
+        newNormalizedResults.getTimePeriodColumn().set(newRow.getRowNumber(), LocalDateTime.of(2022, 3, 20, 10, 0, 0));
+		this.sut.save();
+
+        Table table = this.sensorReadingsFileStorageService.loadForTableAndMonthsRange(this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+        Assertions.assertEquals(4, table.rowCount());
+    }
+
+    @Test
+    void flush_whenMoreReadingsAppendedAfterFlush_thenSavesAllReadings() {
+		saveThreeMonthsData();
+        Table newResults = this.sut.getNewResults();
+        SensorNormalizedResult newNormalizedResults = new SensorNormalizedResult(newResults);
+        Row newRow1 = newResults.appendRow();
+        newNormalizedResults.getCheckHashColumn().set(newRow1.getRowNumber(), 1L);
+        newNormalizedResults.getActualValueColumn().set(newRow1.getRowNumber(), 40.5);
+        newNormalizedResults.getTimePeriodColumn().set(newRow1.getRowNumber(), LocalDateTime.of(2022, 3, 20, 10, 0, 0));
+		this.sut.flush();
+        Assertions.assertFalse(this.sut.hasNewReadings());
+
+        Row newRow2 = newResults.appendRow();
+        newNormalizedResults.getCheckHashColumn().set(newRow2.getRowNumber(), 2L);
+        newNormalizedResults.getActualValueColumn().set(newRow2.getRowNumber(), 50.5);
+        newNormalizedResults.getTimePeriodColumn().set(newRow2.getRowNumber(), LocalDateTime.of(2022, 3, 21, 10, 0, 0));
+		this.sut.save();
+
+        Table table = this.sensorReadingsFileStorageService.loadForTableAndMonthsRange(this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 1));
+        Assertions.assertEquals(5, table.rowCount());
+    }
+
+    void appendNewReading(long checkHashId, double actualValue, LocalDateTime timePeriod) {
+        Row row = this.sut.getNewResults().appendRow();
+        row.setLong(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, checkHashId);
+        row.setLong(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME, 0L);
+        row.setDouble(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME, actualValue);
+        row.setDateTime(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME, timePeriod);
+    }
+
+    @Test
+    void flush_whenCalledTwiceForTheSameMonth_thenReleasesHistoricResultsAndKeepsAllFlushedReadings() {
+		saveThreeMonthsData();
+
+        appendNewReading(10L, 40.5, LocalDateTime.of(2022, 2, 11, 14, 20, 55));
+		this.sut.flush();
+
+        Assertions.assertNull(this.sut.getHistoricResults());
+        Assertions.assertEquals(0, this.sut.getNewResults().rowCount());
+
+        appendNewReading(11L, 50.5, LocalDateTime.of(2022, 2, 12, 14, 20, 55));
+		this.sut.flush();
+
+        Assertions.assertNull(this.sut.getHistoricResults());
+        Table table = this.sensorReadingsFileStorageService.loadForTableAndMonthsRange(this.sut.getConnection(), tableName,
+                LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+        Assertions.assertEquals(3, table.rowCount());
+        Assertions.assertTrue(table.doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).contains(40.5));
+        Assertions.assertTrue(table.doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).contains(50.5));
+    }
+
+    @Test
+    void estimateNewResultsSizeInBytes_whenMoreReadingsAppended_thenAddsEstimateOfOnlyAppendedRows() {
+        appendNewReading(10L, 40.5, LocalDateTime.of(2022, 2, 11, 14, 20, 55));
+        long firstEstimate = this.sut.estimateNewResultsSizeInBytes();
+
+        appendNewReading(11L, 50.5, LocalDateTime.of(2022, 2, 12, 14, 20, 55));
+        long secondEstimate = this.sut.estimateNewResultsSizeInBytes();
+
+        Assertions.assertTrue(firstEstimate > 0L);
+        Assertions.assertEquals(firstEstimate + TableSizeEstimateUtility.estimateRowsSizeInBytes(this.sut.getNewResults(), 1, 2), secondEstimate);
+        Assertions.assertEquals(secondEstimate, this.sut.estimateNewResultsSizeInBytes());
+    }
+
+    @Test
+    void estimateNewResultsSizeInBytes_whenFlushed_thenResetsEstimate() {
+        appendNewReading(10L, 40.5, LocalDateTime.of(2022, 2, 11, 14, 20, 55));
+        Assertions.assertTrue(this.sut.estimateNewResultsSizeInBytes() > 0L);
+
+        this.sut.flush();
+
+        Assertions.assertEquals(0L, this.sut.estimateNewResultsSizeInBytes());
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.readings.snapshot;
+
+import ai.dqo.BaseTest;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.data.readings.normalization.SensorNormalizedResultObjectMother;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.Row;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class SensorReadingsTimeSeriesIndexTests extends BaseTest {
+    private SensorNormalizedResult normalizedResults;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+    }
+
+    void addRow(long checkHashId, long dimensionId, int dayOfMonth) {
+        Row row = this.normalizedResults.getTable().appendRow();
+        this.normalizedResults.getCheckHashColumn().set(row.getRowNumber(), checkHashId);
+        this.normalizedResults.getDimensionIdColumn().set(row.getRowNumber(), dimensionId);
+        this.normalizedResults.getActualValueColumn().set(row.getRowNumber(), (double)dayOfMonth);
+        this.normalizedResults.getTimePeriodColumn().set(row.getRowNumber(), LocalDateTime.of(2022, 3, dayOfMonth, 0, 0));
+    }
+
+    @Test
+    void findRowOffsets_whenTableEmpty_thenReturnsNull() {
+        SensorReadingsTimeSeriesIndex sut = new SensorReadingsTimeSeriesIndex(this.normalizedResults.getTable());
+
+        Assertions.assertNull(sut.findRowOffsets(10L, 0L));
+    }
+
+    @Test
+    void findRowOffsets_whenRowsOfManyTimeSeries_thenReturnsRowsOfTimeSeriesSortedByTimePeriod() {
+        addRow(10L, 0L, 5);
+        addRow(11L, 0L, 1);
+        addRow(10L, 0L, 2);
+        addRow(10L, 1L, 3);
+        addRow(10L, 0L, 3);
+
+        SensorReadingsTimeSeriesIndex sut = new SensorReadingsTimeSeriesIndex(this.normalizedResults.getTable());
+
+        Assertions.assertArrayEquals(new int[] { 2, 4, 0 }, sut.findRowOffsets(10L, 0L));
+        Assertions.assertArrayEquals(new int[] { 3 }, sut.findRowOffsets(10L, 1L));
+        Assertions.assertArrayEquals(new int[] { 1 }, sut.findRowOffsets(11L, 0L));
+        Assertions.assertNull(sut.findRowOffsets(11L, 1L));
+    }
+
+    @Test
+    void findRowOffsets_whenCalledTwice_thenReturnsSameArray() {
+        addRow(10L, 0L, 2);
+        addRow(10L, 0L, 1);
+        SensorReadingsTimeSeriesIndex sut = new SensorReadingsTimeSeriesIndex(this.normalizedResults.getTable());
+
+        Assertions.assertSame(sut.findRowOffsets(10L, 0L), sut.findRowOffsets(10L, 0L));
+    }
+
+    @Test
+    void appendNewRows_whenRowsAppendedToTable_thenExtendsIndex() {
+        addRow(10L, 0L, 10);
+        addRow(10L, 0L, 20);
+        SensorReadingsTimeSeriesIndex sut = new SensorReadingsTimeSeriesIndex(this.normalizedResults.getTable());
+        Assertions.assertArrayEquals(new int[] { 0, 1 }, sut.findRowOffsets(10L, 0L));
+
+        addRow(10L, 0L, 5);
+        addRow(12L, 0L, 5);
+        sut.appendNewRows();
+
+        Assertions.assertEquals(4, sut.getIndexedRowCount());
+        Assertions.assertArrayEquals(new int[] { 2, 0, 1 }, sut.findRowOffsets(10L, 0L));
+        Assertions.assertArrayEquals(new int[] { 3 }, sut.findRowOffsets(12L, 0L));
+    }
+}
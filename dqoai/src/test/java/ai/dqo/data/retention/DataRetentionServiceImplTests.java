@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.data.retention;
+
+import ai.dqo.BaseTest;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.configuration.DqoStorageConfigurationProperties;
+import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageServiceImpl;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
+import ai.dqo.data.lake.DataLakeQueryServiceImpl;
+import ai.dqo.data.local.LocalDqoUserHomePathProvider;
+import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageServiceImpl;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.data.readings.normalization.SensorNormalizedResultObjectMother;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.Table;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class DataRetentionServiceImplTests extends BaseTest {
+    private DataRetentionServiceImpl sut;
+    private SensorReadingsFileStorageServiceImpl sensorReadingsStorageService;
+    private final PhysicalTableName tableName = new PhysicalTableName("sch", "tab1");
+    private final LocalDate today = LocalDate.of(2022, 6, 15);
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        DqoConfigurationProperties dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
+        DqoStorageConfigurationProperties storageConfigurationProperties = dqoConfigurationProperties.getStorage();
+        LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
+        this.sensorReadingsStorageService = new SensorReadingsFileStorageServiceImpl(storageConfigurationProperties, localUserHomeProviderStub,
+                new DeltaCompactionServiceImpl());
+        RuleResultsFileStorageServiceImpl ruleResultsStorageService = new RuleResultsFileStorageServiceImpl(storageConfigurationProperties,
+                localUserHomeProviderStub, new DeltaCompactionServiceImpl());
+        this.sut = new DataRetentionServiceImpl(new DataLakeQueryServiceImpl(storageConfigurationProperties, localUserHomeProviderStub),
+                this.sensorReadingsStorageService, ruleResultsStorageService);
+    }
+
+    /**
+     * Creates a table with sensor readings of one check, one reading per given time period.
+     * @param timeGradient Time gradient of the readings.
+     * @param timePeriods Time periods.
+     * @return Sensor readings table.
+     */
+    private Table createReadings(String timeGradient, LocalDateTime... timePeriods) {
+        SensorNormalizedResult normalizedResults = SensorNormalizedResultObjectMother.createEmptyNormalizedResults();
+        Table table = normalizedResults.getTable();
+        for (int i = 0; i < timePeriods.length; i++) {
+            table.appendRow();
+            normalizedResults.getCheckHashColumn().set(i, 100L);
+            normalizedResults.getDimensionIdColumn().set(i, 0L);
+            normalizedResults.getActualValueColumn().set(i, 10.0 * (i + 1));
+            normalizedResults.getTimePeriodColumn().set(i, timePeriods[i]);
+            normalizedResults.getTimeGradientColumn().set(i, timeGradient);
+        }
+
+        return table;
+    }
+
+    @Test
+    void downsampleHourlyReadings_whenHourlyReadingsOfTwoDays_thenReturnsDailyAverages() {
+        Table readings = createReadings(DataRetentionServiceImpl.HOURLY_TIME_GRADIENT,
+                LocalDateTime.of(2022, 3, 10, 1, 0),
+                LocalDateTime.of(2022, 3, 10, 2, 0),
+                LocalDateTime.of(2022, 3, 11, 1, 0));
+
+        Table downsampled = DataRetentionServiceImpl.downsampleHourlyReadings(readings);
+
+        SensorNormalizedResult downsampledResults = new SensorNormalizedResult(downsampled.sortAscendingOn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME));
+        Assertions.assertEquals(2, downsampled.rowCount());
+        Assertions.assertEquals(LocalDateTime.of(2022, 3, 10, 0, 0), downsampledResults.getTimePeriodColumn().get(0));
+        Assertions.assertEquals(15.0, downsampledResults.getActualValueColumn().get(0));
+        Assertions.assertEquals(DataRetentionServiceImpl.DAILY_TIME_GRADIENT, downsampledResults.getTimeGradientColumn().get(0));
+        Assertions.assertEquals(LocalDateTime.of(2022, 3, 11, 0, 0), downsampledResults.getTimePeriodColumn().get(1));
+        Assertions.assertEquals(30.0, downsampledResults.getActualValueColumn().get(1));
+    }
+
+    @Test
+    void downsampleHourlyReadings_whenNoHourlyReadings_thenReturnsNull() {
+        Table readings = createReadings(DataRetentionServiceImpl.DAILY_TIME_GRADIENT, LocalDateTime.of(2022, 3, 10, 0, 0));
+
+        Assertions.assertNull(DataRetentionServiceImpl.downsampleHourlyReadings(readings));
+    }
+
+    @Test
+    void applyRetention_whenPartitionExpired_thenDeletesPartitionAndEmptyFolders() {
+        LocalDate expiredMonth = LocalDate.of(2022, 2, 1);
+        LocalDate retainedMonth = LocalDate.of(2022, 3, 1);
+        this.sensorReadingsStorageService.saveTableMonth(createReadings("day", LocalDateTime.of(2022, 2, 10, 0, 0)), "conn", this.tableName, expiredMonth);
+        this.sensorReadingsStorageService.saveTableMonth(createReadings("day", LocalDateTime.of(2022, 3, 10, 0, 0)), "conn", this.tableName, retainedMonth);
+        Path expiredPartitionPath = this.sensorReadingsStorageService.makeParquetFilePath("conn", this.tableName, expiredMonth).getParent();
+
+        Table summary = this.sut.applyRetention(new DataRetentionPolicy(3, 0), this.today);
+
+        Assertions.assertEquals(1, summary.rowCount());
+        Assertions.assertEquals("deleted", summary.stringColumn("Action").get(0));
+        Assertions.assertFalse(Files.exists(expiredPartitionPath));
+        Assertions.assertNotNull(this.sensorReadingsStorageService.loadForTableAndMonth("conn", this.tableName, retainedMonth));
+    }
+
+    @Test
+    void applyRetention_whenRetentionDisabled_thenKeepsAllPartitions() {
+        LocalDate month = LocalDate.of(2020, 2, 1);
+        this.sensorReadingsStorageService.saveTableMonth(createReadings("day", LocalDateTime.of(2020, 2, 10, 0, 0)), "conn", this.tableName, month);
+
+        Table summary = this.sut.applyRetention(new DataRetentionPolicy(0, 0), this.today);
+
+        Assertions.assertEquals(0, summary.rowCount());
+        Assertions.assertNotNull(this.sensorReadingsStorageService.loadForTableAndMonth("conn", this.tableName, month));
+    }
+
+    @Test
+    void applyRetention_whenHourlyReadingsOlderThanHourlyRetention_thenPartitionDownsampled() {
+        LocalDate month = LocalDate.of(2022, 3, 1);
+        this.sensorReadingsStorageService.saveTableMonth(createReadings(DataRetentionServiceImpl.HOURLY_TIME_GRADIENT,
+                LocalDateTime.of(2022, 3, 10, 1, 0), LocalDateTime.of(2022, 3, 10, 2, 0)), "conn", this.tableName, month);
+
+        Table summary = this.sut.applyRetention(new DataRetentionPolicy(0, 2), this.today);
+
+        Assertions.assertEquals(1, summary.rowCount());
+        Assertions.assertEquals("downsampled", summary.stringColumn("Action").get(0));
+        Table readings = this.sensorReadingsStorageService.loadForTableAndMonth("conn", this.tableName, month);
+        Assertions.assertEquals(1, readings.rowCount());
+        Assertions.assertEquals(15.0, readings.doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).get(0));
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.checks;
+
+import ai.dqo.BaseTest;
+import ai.dqo.connectors.ConnectionProviderRegistry;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.configuration.DqoExecutionConfigurationProperties;
+import ai.dqo.data.alerts.filestorage.RuleResultsFileStorageServiceImpl;
+import ai.dqo.data.alerts.snapshot.RuleResultsSnapshot;
+import ai.dqo.data.alerts.snapshot.RuleResultsSnapshotFactory;
+import ai.dqo.data.delta.DeltaCompactionServiceImpl;
+import ai.dqo.data.local.LocalDqoUserHomePathProvider;
+import ai.dqo.data.local.LocalDqoUserHomePathProviderObjectMother;
+import ai.dqo.data.readings.factory.SensorReadingTableFactoryObjectMother;
+import ai.dqo.data.readings.filestorage.SensorReadingsFileStorageServiceImpl;
+import ai.dqo.data.readings.normalization.SensorNormalizedResult;
+import ai.dqo.data.readings.normalization.SensorResultNormalizeService;
+import ai.dqo.data.readings.snapshot.SensorReadingsSnapshot;
+import ai.dqo.data.readings.snapshot.SensorReadingsSnapshotFactory;
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.CheckExecutionContextObjectMother;
+import ai.dqo.execution.checks.progress.CheckExecutionProgressListenerStub;
+import ai.dqo.execution.checks.progress.SavingRuleEvaluationResults;
+import ai.dqo.execution.checks.progress.SavingSensorResultsEvent;
+import ai.dqo.execution.checks.ruleeval.RuleEvaluationService;
+import ai.dqo.execution.sensors.DataQualitySensorRunner;
+import ai.dqo.execution.sensors.SensorExecutionRunParametersFactory;
+import ai.dqo.execution.sqltemplates.BatchedSensorQueryRunner;
+import ai.dqo.metadata.search.CheckSearchFilters;
+import ai.dqo.metadata.search.HierarchyNodeTreeSearcher;
+import ai.dqo.metadata.sources.ConnectionWrapper;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.metadata.sources.TableSpec;
+import ai.dqo.metadata.sources.TableWrapper;
+import ai.dqo.metadata.userhome.UserHome;
+import ai.dqo.utils.tables.TableSizeEstimateUtility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.Row;
+import tech.tablesaw.api.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class CheckExecutionServiceImplTests extends BaseTest {
+    private CheckExecutionServiceImpl sut;
+    private HierarchyNodeTreeSearcher hierarchyNodeTreeSearcher;
+    private DqoExecutionConfigurationProperties executionConfigurationProperties;
+    private SensorReadingsFileStorageServiceImpl sensorReadingsFileStorageService;
+    private RuleResultsFileStorageServiceImpl ruleResultsFileStorageService;
+    private SensorReadingsSnapshot sensorReadingsSnapshot;
+    private RuleResultsSnapshot ruleResultsSnapshot;
+    private CheckExecutionProgressListenerStub progressListener;
+    private PhysicalTableName tableName;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        DqoConfigurationProperties dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.createConfigurationWithTemporaryUserHome(true);
+        LocalDqoUserHomePathProvider localUserHomeProviderStub = LocalDqoUserHomePathProviderObjectMother.createLocalUserHomeProviderStub(dqoConfigurationProperties);
+        this.sensorReadingsFileStorageService = new SensorReadingsFileStorageServiceImpl(dqoConfigurationProperties.getStorage(),
+                localUserHomeProviderStub, new DeltaCompactionServiceImpl());
+        this.ruleResultsFileStorageService = new RuleResultsFileStorageServiceImpl(dqoConfigurationProperties.getStorage(),
+                localUserHomeProviderStub, new DeltaCompactionServiceImpl());
+        this.tableName = new PhysicalTableName("sch", "tab");
+        this.sensorReadingsSnapshot = new SensorReadingsSnapshot("conn", this.tableName, this.sensorReadingsFileStorageService,
+                SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("new_readings"));
+        this.ruleResultsSnapshot = new RuleResultsSnapshot("conn", this.tableName, this.ruleResultsFileStorageService,
+                SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("new_rule_results"));
+        this.progressListener = new CheckExecutionProgressListenerStub();
+
+        this.executionConfigurationProperties = new DqoExecutionConfigurationProperties();
+        this.hierarchyNodeTreeSearcher = mock(HierarchyNodeTreeSearcher.class);
+        this.sut = new CheckExecutionServiceImpl(
+                this.hierarchyNodeTreeSearcher,
+                mock(SensorExecutionRunParametersFactory.class),
+                mock(DataQualitySensorRunner.class),
+                mock(ConnectionProviderRegistry.class),
+                mock(SensorResultNormalizeService.class),
+                mock(RuleEvaluationService.class),
+                mock(SensorReadingsSnapshotFactory.class),
+                mock(RuleResultsSnapshotFactory.class),
+                this.executionConfigurationProperties,
+                mock(BatchedSensorQueryRunner.class));
+    }
+
+    void appendRows(Table targetTable, long checkHashId, int rowCount) {
+        for (int i = 0; i < rowCount; i++) {
+            Row row = targetTable.appendRow();
+            row.setLong(SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, checkHashId);
+            row.setLong(SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME, 0L);
+            row.setDouble(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME, 10.0 + i);
+            row.setDateTime(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME, LocalDateTime.of(2022, 2, 1 + i, 14, 10, 55));
+        }
+    }
+
+    Table loadSavedReadings() {
+        return this.sensorReadingsFileStorageService.loadForTableAndMonthsRange("conn", this.tableName,
+                LocalDate.of(2022, 2, 1), LocalDate.of(2022, 2, 1));
+    }
+
+    @Test
+    void flushResultsWhenThresholdExceeded_whenRowsBelowThresholds_thenKeepsResultsInMemory() {
+        this.executionConfigurationProperties.setFlushResultsRowsThreshold(3);
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 10L, 2);
+        appendRows(this.ruleResultsSnapshot.getNewResults(), 10L, 2);
+
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        Assertions.assertEquals(2, this.sensorReadingsSnapshot.getNewResults().rowCount());
+        Assertions.assertEquals(2, this.ruleResultsSnapshot.getNewResults().rowCount());
+        Assertions.assertTrue(this.progressListener.getEvents().isEmpty());
+        Assertions.assertNull(loadSavedReadings());
+    }
+
+    @Test
+    void flushResultsWhenThresholdExceeded_whenRowsThresholdExceeded_thenSavesResultsAndReleasesMemory() {
+        this.executionConfigurationProperties.setFlushResultsRowsThreshold(3);
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 10L, 3);
+        appendRows(this.ruleResultsSnapshot.getNewResults(), 10L, 3);
+
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        Assertions.assertEquals(0, this.sensorReadingsSnapshot.getNewResults().rowCount());
+        Assertions.assertEquals(0, this.ruleResultsSnapshot.getNewResults().rowCount());
+        Assertions.assertNull(this.sensorReadingsSnapshot.getHistoricResults());
+        Assertions.assertNull(this.ruleResultsSnapshot.getHistoricResults());
+        Assertions.assertTrue(this.progressListener.getEvents().stream().anyMatch(e -> e instanceof SavingSensorResultsEvent));
+        Assertions.assertTrue(this.progressListener.getEvents().stream().anyMatch(e -> e instanceof SavingRuleEvaluationResults));
+        Assertions.assertEquals(3, loadSavedReadings().rowCount());
+    }
+
+    @Test
+    void flushResultsWhenThresholdExceeded_whenFlushedTwice_thenBothFlushedBatchesAreSaved() {
+        this.executionConfigurationProperties.setFlushResultsRowsThreshold(3);
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 10L, 3);
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 11L, 3);
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        Assertions.assertEquals(0, this.sensorReadingsSnapshot.getNewResults().rowCount());
+        Assertions.assertNull(this.sensorReadingsSnapshot.getHistoricResults());
+        Assertions.assertEquals(6, loadSavedReadings().rowCount());
+    }
+
+    @Test
+    void flushResultsWhenThresholdExceeded_whenBytesThresholdExceeded_thenSavesResults() {
+        this.executionConfigurationProperties.setFlushResultsRowsThreshold(0);
+        this.executionConfigurationProperties.setFlushResultsBytesThreshold(1L);
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 10L, 1);
+
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        Assertions.assertEquals(0, this.sensorReadingsSnapshot.getNewResults().rowCount());
+        Assertions.assertEquals(1, loadSavedReadings().rowCount());
+    }
+
+    @Test
+    void flushResultsWhenThresholdExceeded_whenBytesThresholdExceededAfterSecondBatch_thenSavesBothBatches() {
+        this.executionConfigurationProperties.setFlushResultsRowsThreshold(0);
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 10L, 1);
+        long firstBatchSize = TableSizeEstimateUtility.estimateSizeInBytes(this.sensorReadingsSnapshot.getNewResults());
+        this.executionConfigurationProperties.setFlushResultsBytesThreshold(firstBatchSize + 1L);
+
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+        Assertions.assertEquals(1, this.sensorReadingsSnapshot.getNewResults().rowCount());
+
+        appendRows(this.sensorReadingsSnapshot.getNewResults(), 11L, 1);
+        this.sut.flushResultsWhenThresholdExceeded(new TableSpec(), this.sensorReadingsSnapshot, this.ruleResultsSnapshot, this.progressListener);
+
+        Assertions.assertEquals(0, this.sensorReadingsSnapshot.getNewResults().rowCount());
+        Assertions.assertEquals(2, loadSavedReadings().rowCount());
+    }
+
+    /**
+     * Adds tables to a new connection in the user home.
+     * @param userHome User home.
+     * @param connectionName Connection name.
+     * @param tablesCount Number of tables to add.
+     * @param targetTables Target list of tables where the new tables are added.
+     */
+    void addTables(UserHome userHome, String connectionName, int tablesCount, List<TableWrapper> targetTables) {
+        ConnectionWrapper connectionWrapper = userHome.getConnections().createAndAddNew(connectionName);
+        for (int i = 0; i < tablesCount; i++) {
+            targetTables.add(connectionWrapper.getTables().createAndAddNew(new PhysicalTableName("sch", "tab" + i)));
+        }
+    }
+
+    /**
+     * Executes checks on the given tables with a stubbed table processing that reports the table to the summary and tracks
+     * the highest number of tables processed at the same time, in total and for each connection.
+     * @param checkExecutionContext Check execution context with the user home that contains the target tables.
+     * @param targetTables Target tables.
+     * @param maxRunningTables Receives the highest number of tables that were processed at the same time.
+     * @param maxRunningTablesPerConnection Receives the highest number of tables processed at the same time for each connection.
+     * @return Check execution summary.
+     */
+    CheckExecutionSummary executeChecksWithStubbedTables(CheckExecutionContext checkExecutionContext,
+                                                         List<TableWrapper> targetTables,
+                                                         AtomicInteger maxRunningTables,
+                                                         Map<String, AtomicInteger> maxRunningTablesPerConnection) {
+        when(this.hierarchyNodeTreeSearcher.findTables(any(), any())).thenReturn(targetTables);
+        CheckExecutionServiceImpl spiedSut = spy(this.sut);
+        doNothing().when(spiedSut).preloadDefinitions(any());
+        AtomicInteger runningTables = new AtomicInteger();
+        Map<String, AtomicInteger> runningTablesPerConnection = new ConcurrentHashMap<>();
+
+        doAnswer(invocation -> {
+            ConnectionWrapper connectionWrapper = invocation.getArgument(2);
+            TableWrapper tableWrapper = invocation.getArgument(3);
+            CheckExecutionSummary checkExecutionSummary = invocation.getArgument(7);
+            AtomicInteger runningOnConnection = runningTablesPerConnection.computeIfAbsent(connectionWrapper.getName(), c -> new AtomicInteger());
+            maxRunningTables.accumulateAndGet(runningTables.incrementAndGet(), Math::max);
+            maxRunningTablesPerConnection.computeIfAbsent(connectionWrapper.getName(), c -> new AtomicInteger())
+                    .accumulateAndGet(runningOnConnection.incrementAndGet(), Math::max);
+            Thread.sleep(100L);
+            runningOnConnection.decrementAndGet();
+            runningTables.decrementAndGet();
+            checkExecutionSummary.reportTableStats(connectionWrapper, tableWrapper.getSpec(), 2, 3, 1, 1, 0, 0);
+            return null;
+        }).when(spiedSut).executeChecksOnTable(any(), any(), any(), any(), any(), any(), anyBoolean(), any());
+
+        return spiedSut.executeChecks(checkExecutionContext, new CheckSearchFilters(), this.progressListener, false);
+    }
+
+    @Test
+    void executeChecks_whenTablesOnTwoConnections_thenRunsUpToMaxParallelTablesAndAggregatesSummary() {
+        this.executionConfigurationProperties.setMaxParallelTables(3);
+        this.executionConfigurationProperties.setMaxParallelTablesPerConnection(2);
+        CheckExecutionContext checkExecutionContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
+        List<TableWrapper> targetTables = new ArrayList<>();
+        addTables(checkExecutionContext.getUserHomeContext().getUserHome(), "conn1", 4, targetTables);
+        addTables(checkExecutionContext.getUserHomeContext().getUserHome(), "conn2", 4, targetTables);
+        AtomicInteger maxRunningTables = new AtomicInteger();
+        Map<String, AtomicInteger> maxRunningTablesPerConnection = new ConcurrentHashMap<>();
+
+        CheckExecutionSummary summary = executeChecksWithStubbedTables(checkExecutionContext, targetTables, maxRunningTables, maxRunningTablesPerConnection);
+
+        Assertions.assertEquals(3, maxRunningTables.get());
+        Assertions.assertTrue(maxRunningTablesPerConnection.get("conn1").get() <= 2);
+        Assertions.assertTrue(maxRunningTablesPerConnection.get("conn2").get() <= 2);
+        Assertions.assertEquals(8, summary.getSummaryTable().rowCount());
+        Assertions.assertEquals(4, summary.getConnectionColumn().isEqualTo("conn1").size());
+        Assertions.assertEquals(4, summary.getConnectionColumn().isEqualTo("conn2").size());
+        Assertions.assertEquals(16.0, summary.getChecksExecutedColumn().sum());
+        Assertions.assertEquals(24.0, summary.getSensorResultsColumn().sum());
+        Assertions.assertEquals(8.0, summary.getLowSeverityAlertsColumn().sum());
+    }
+
+    @Test
+    void executeChecks_whenTablesOnOneConnection_thenRunsUpToMaxParallelTablesPerConnection() {
+        this.executionConfigurationProperties.setMaxParallelTables(4);
+        this.executionConfigurationProperties.setMaxParallelTablesPerConnection(2);
+        CheckExecutionContext checkExecutionContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
+        List<TableWrapper> targetTables = new ArrayList<>();
+        addTables(checkExecutionContext.getUserHomeContext().getUserHome(), "conn1", 5, targetTables);
+        AtomicInteger maxRunningTables = new AtomicInteger();
+        Map<String, AtomicInteger> maxRunningTablesPerConnection = new ConcurrentHashMap<>();
+
+        CheckExecutionSummary summary = executeChecksWithStubbedTables(checkExecutionContext, targetTables, maxRunningTables, maxRunningTablesPerConnection);
+
+        Assertions.assertEquals(2, maxRunningTables.get());
+        Assertions.assertEquals(2, maxRunningTablesPerConnection.get("conn1").get());
+        Assertions.assertEquals(5, summary.getSummaryTable().rowCount());
+        Assertions.assertEquals(10.0, summary.getChecksExecutedColumn().sum());
+    }
+
+    @Test
+    void executeChecks_whenMaxParallelTablesIsOne_thenRunsTablesSequentially() {
+        this.executionConfigurationProperties.setMaxParallelTables(1);
+        CheckExecutionContext checkExecutionContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
+        List<TableWrapper> targetTables = new ArrayList<>();
+        addTables(checkExecutionContext.getUserHomeContext().getUserHome(), "conn1", 2, targetTables);
+        addTables(checkExecutionContext.getUserHomeContext().getUserHome(), "conn2", 2, targetTables);
+        AtomicInteger maxRunningTables = new AtomicInteger();
+        Map<String, AtomicInteger> maxRunningTablesPerConnection = new ConcurrentHashMap<>();
+
+        CheckExecutionSummary summary = executeChecksWithStubbedTables(checkExecutionContext, targetTables, maxRunningTables, maxRunningTablesPerConnection);
+
+        Assertions.assertEquals(1, maxRunningTables.get());
+        Assertions.assertEquals(4, summary.getSummaryTable().rowCount());
+    }
+}
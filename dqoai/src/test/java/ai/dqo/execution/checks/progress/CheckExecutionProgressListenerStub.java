@@ -16,13 +16,22 @@
 package ai.dqo.execution.checks.progress;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Stub that captures all events that were reported.
  */
 public class CheckExecutionProgressListenerStub implements CheckExecutionProgressListener {
-    private final List<CheckExecutionProgressEvent> events = new ArrayList<>();
+    private final List<CheckExecutionProgressEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Returns the list of events that were reported.
+     * @return List of reported events.
+     */
+    public List<CheckExecutionProgressEvent> getEvents() {
+        return events;
+    }
 
     /**
      * Called before checks are started on a target table.
@@ -79,4 +79,96 @@ public class HistoricDataPointTimeSeriesCollectorTests extends BaseTest {
             Assertions.assertEquals(-(14 - i), dataPoints[i].getBackPeriodsIndex());
         }
     }
+
+    @Test
+    void getWindowBefore_whenReadingsEvaluatedInOrder_thenReturnsDataPointsWithinWindow() {
+        for( int i = 1; i <= 30; i++) {
+            int rowNumber = this.table.appendRow().getRowNumber();
+			this.normalizedResult.getActualValueColumn().set(rowNumber, i + 100.0);
+			this.normalizedResult.getTimePeriodColumn().set(rowNumber,
+                    LocalDateTime.of(2022, 1, i, 0, 0, 0));
+        }
+
+        HistoricDataPointTimeSeriesCollector sut = new HistoricDataPointTimeSeriesCollector(this.table, TimeSeriesGradient.DAY, ZoneId.of("UTC"));
+        HistoricDataPointWindow window1 = sut.getWindowBefore(LocalDateTime.of(2022, 1, 3, 0, 0, 0), 7);
+        HistoricDataPointWindow window2 = sut.getWindowBefore(LocalDateTime.of(2022, 1, 20, 0, 0, 0), 7);
+
+        Assertions.assertEquals(7, window1.getTimePeriodsCount());
+        Assertions.assertEquals(2, window1.getDataPointsCount());
+        Assertions.assertEquals(101.0, window1.getSensorReading(0));
+        Assertions.assertEquals(7, window2.getDataPointsCount());
+        Assertions.assertEquals(113.0, window2.getSensorReading(0));
+        Assertions.assertEquals(119.0, window2.getSensorReading(6));
+    }
+
+    @Test
+    void getWindowBefore_whenReadingsEvaluatedBackwards_thenReturnsDataPointsWithinWindow() {
+        for( int i = 1; i <= 30; i++) {
+            int rowNumber = this.table.appendRow().getRowNumber();
+			this.normalizedResult.getActualValueColumn().set(rowNumber, i + 100.0);
+			this.normalizedResult.getTimePeriodColumn().set(rowNumber,
+                    LocalDateTime.of(2022, 1, i, 0, 0, 0));
+        }
+
+        HistoricDataPointTimeSeriesCollector sut = new HistoricDataPointTimeSeriesCollector(this.table, TimeSeriesGradient.DAY, ZoneId.of("UTC"));
+        sut.getWindowBefore(LocalDateTime.of(2022, 1, 20, 0, 0, 0), 7);
+        HistoricDataPointWindow window = sut.getWindowBefore(LocalDateTime.of(2022, 1, 5, 0, 0, 0), 2);
+
+        Assertions.assertEquals(2, window.getDataPointsCount());
+        Assertions.assertEquals(103.0, window.getSensorReading(0));
+        Assertions.assertEquals(104.0, window.getSensorReading(1));
+    }
+
+    @Test
+    void getHistoricDataPointsBefore_whenPreviousTimeSeriesGiven_thenCurrentReadingsReplacePreviousReadings() {
+        Table previousTable = SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("previous");
+        SensorNormalizedResult previousResult = new SensorNormalizedResult(previousTable);
+        for( int i = 1; i <= 10; i++) {
+            int rowNumber = previousTable.appendRow().getRowNumber();
+            previousResult.getActualValueColumn().set(rowNumber, i + 100.0);
+            previousResult.getTimePeriodColumn().set(rowNumber, LocalDateTime.of(2022, 1, i, 0, 0, 0));
+        }
+        for( int i = 8; i <= 10; i++) {
+            int rowNumber = this.table.appendRow().getRowNumber();
+			this.normalizedResult.getActualValueColumn().set(rowNumber, i + 200.0);
+			this.normalizedResult.getTimePeriodColumn().set(rowNumber, LocalDateTime.of(2022, 1, i, 0, 0, 0));
+        }
+
+        HistoricDataPointTimeSeriesCollector sut = new HistoricDataPointTimeSeriesCollector(this.table, previousTable, TimeSeriesGradient.DAY, ZoneId.of("UTC"));
+        HistoricDataPoint[] dataPoints = sut.getHistoricDataPointsBefore(LocalDateTime.of(2022, 1, 11, 0, 0, 0), 5);
+
+        Assertions.assertEquals(5, dataPoints.length);
+        Assertions.assertEquals(106.0, dataPoints[0].getSensorReading());
+        Assertions.assertEquals(107.0, dataPoints[1].getSensorReading());
+        Assertions.assertEquals(208.0, dataPoints[2].getSensorReading());
+        Assertions.assertEquals(210.0, dataPoints[4].getSensorReading());
+        Assertions.assertEquals(-1, dataPoints[4].getBackPeriodsIndex());
+    }
+
+    @Test
+    void getHistoricDataPointsBefore_whenPreviousRowOffsetsGiven_thenReadsOnlyRowsOfTimeSeries() {
+        Table previousTable = SensorReadingTableFactoryObjectMother.createEmptyNormalizedTable("previous");
+        SensorNormalizedResult previousResult = new SensorNormalizedResult(previousTable);
+        for( int i = 1; i <= 10; i++) {
+            int rowNumber = previousTable.appendRow().getRowNumber();
+            previousResult.getActualValueColumn().set(rowNumber, i + 100.0);
+            previousResult.getTimePeriodColumn().set(rowNumber, LocalDateTime.of(2022, 1, i, 0, 0, 0));
+            rowNumber = previousTable.appendRow().getRowNumber(); // a reading of another time series
+            previousResult.getActualValueColumn().set(rowNumber, i + 300.0);
+            previousResult.getTimePeriodColumn().set(rowNumber, LocalDateTime.of(2022, 1, i, 0, 0, 0));
+        }
+        int[] previousRowOffsets = new int[] { 10, 12, 14, 16, 18 };
+        int rowNumber = this.table.appendRow().getRowNumber();
+        this.normalizedResult.getActualValueColumn().set(rowNumber, 210.0);
+        this.normalizedResult.getTimePeriodColumn().set(rowNumber, LocalDateTime.of(2022, 1, 10, 0, 0, 0));
+
+        HistoricDataPointTimeSeriesCollector sut = new HistoricDataPointTimeSeriesCollector(this.table, previousTable, previousRowOffsets,
+                TimeSeriesGradient.DAY, ZoneId.of("UTC"));
+        HistoricDataPoint[] dataPoints = sut.getHistoricDataPointsBefore(LocalDateTime.of(2022, 1, 11, 0, 0, 0), 5);
+
+        Assertions.assertEquals(5, dataPoints.length);
+        Assertions.assertEquals(106.0, dataPoints[0].getSensorReading());
+        Assertions.assertEquals(109.0, dataPoints[3].getSensorReading());
+        Assertions.assertEquals(210.0, dataPoints[4].getSensorReading());
+    }
 }
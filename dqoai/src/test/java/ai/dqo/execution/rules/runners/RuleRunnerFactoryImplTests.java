@@ -16,6 +16,7 @@
 package ai.dqo.execution.rules.runners;
 
 import ai.dqo.BaseTest;
+import ai.dqo.execution.rules.runners.builtin.MinValueRuleRunner;
 import ai.dqo.execution.rules.runners.python.PythonRuleRunner;
 import ai.dqo.metadata.definitions.rules.RuleRunnerType;
 import org.junit.jupiter.api.Assertions;
@@ -53,4 +54,11 @@ public class RuleRunnerFactoryImplTests extends BaseTest {
         Assertions.assertNotNull(ruleRunner);
         Assertions.assertInstanceOf(PythonRuleRunner.class, ruleRunner);
     }
+
+    @Test
+    void getRuleRunner_whenBuiltInJavaRuleRunnerRequestedByClassName_thenReturnsCachedRunner() {
+        AbstractRuleRunner ruleRunner = this.sut.getRuleRunner(RuleRunnerType.custom_class, MinValueRuleRunner.CLASS_NAME);
+        Assertions.assertInstanceOf(MinValueRuleRunner.class, ruleRunner);
+        Assertions.assertSame(ruleRunner, this.sut.getRuleRunner(RuleRunnerType.custom_class, MinValueRuleRunner.CLASS_NAME));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.CheckExecutionContextObjectMother;
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.RuleExecutionRunParameters;
+import ai.dqo.execution.rules.finder.RuleDefinitionFindResult;
+import ai.dqo.execution.rules.finder.RuleDefinitionFindResultObjectMother;
+import ai.dqo.execution.rules.runners.AbstractRuleRunner;
+import ai.dqo.rules.AbstractRuleParametersSpec;
+import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import ai.dqo.utils.BeanFactoryObjectMother;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Object mother for the native java rule runners of built-in rules. Supports calling (evaluating) rules.
+ */
+public class BuiltInRuleRunnerObjectMother {
+    /**
+     * Returns a built-in rule runner bean.
+     * @param ruleRunnerClass Rule runner class.
+     * @param <T> Rule runner type.
+     * @return Rule runner instance.
+     */
+    public static <T extends AbstractRuleRunner> T getRuleRunner(Class<T> ruleRunnerClass) {
+        BeanFactory beanFactory = BeanFactoryObjectMother.getBeanFactory();
+        return beanFactory.getBean(ruleRunnerClass);
+    }
+
+    /**
+     * Executes a built-in rule using the given rule runner.
+     * @param ruleRunner Rule runner (a native java runner or the python rule runner).
+     * @param actualValue Actual sensor value.
+     * @param ruleParameters Rule parameters, also used to find the rule definition.
+     * @param readingTimestamp Reading timestamp.
+     * @param previousReadings Array of previous readings.
+     * @param timeWindowSettingsSpec Time window settings.
+     * @return Rule evaluation result.
+     */
+    public static RuleExecutionResult executeBuiltInRule(AbstractRuleRunner ruleRunner,
+                                                         double actualValue,
+                                                         AbstractRuleParametersSpec ruleParameters,
+                                                         LocalDateTime readingTimestamp,
+                                                         HistoricDataPoint[] previousReadings,
+                                                         RuleTimeWindowSettingsSpec timeWindowSettingsSpec) {
+        CheckExecutionContext checkExecutionContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
+        RuleExecutionRunParameters ruleRunParameters = new RuleExecutionRunParameters(actualValue, ruleParameters, readingTimestamp, previousReadings, timeWindowSettingsSpec);
+        RuleDefinitionFindResult ruleDefinitionFindResult = RuleDefinitionFindResultObjectMother.findDqoHomeRuleDefinition(ruleParameters.getRuleDefinitionName());
+
+        return ruleRunner.executeRule(checkExecutionContext, ruleRunParameters, ruleDefinitionFindResult);
+    }
+}
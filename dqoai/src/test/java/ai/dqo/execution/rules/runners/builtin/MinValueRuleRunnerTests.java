@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.BaseTest;
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.HistoricDataPointObjectMother;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.runners.python.PythonRuleRunnerObjectMother;
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import ai.dqo.rules.comparison.MinValueRuleParametersSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class MinValueRuleRunnerTests extends BaseTest {
+    private MinValueRuleRunner sut;
+    private MinValueRuleParametersSpec parameters;
+    private RuleTimeWindowSettingsSpec timeWindowSettings;
+    private LocalDateTime readingTimestamp;
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.sut = BuiltInRuleRunnerObjectMother.getRuleRunner(MinValueRuleRunner.class);
+        this.parameters = new MinValueRuleParametersSpec();
+        this.timeWindowSettings = new RuleTimeWindowSettingsSpec();
+        this.readingTimestamp = LocalDateTime.of(2022, 02, 15, 0, 0);
+    }
+
+    private RuleExecutionResult execute(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        return BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+    }
+
+    private void assertSameAsPythonRule(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        RuleExecutionResult javaResult = BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+        RuleExecutionResult pythonResult = PythonRuleRunnerObjectMother.executeBuiltInRule(actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+
+        Assertions.assertEquals(pythonResult.isPassed(), javaResult.isPassed());
+        assertSameValue(pythonResult.getExpectedValue(), javaResult.getExpectedValue());
+        assertSameValue(pythonResult.getLowerBound(), javaResult.getLowerBound());
+        assertSameValue(pythonResult.getUpperBound(), javaResult.getUpperBound());
+    }
+
+    private static void assertSameValue(Double expected, Double actual) {
+        if (expected == null) {
+            Assertions.assertNull(actual);
+        }
+        else {
+            Assertions.assertEquals(expected, actual, 1e-9);
+        }
+    }
+
+    @Test
+    void executeRule_whenActualValueIsAboveMinValue_thenReturnsPassed() {
+        this.parameters.setMinValue(20.5);
+        RuleExecutionResult ruleExecutionResult = execute(20.8);
+        Assertions.assertTrue(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(20.5, ruleExecutionResult.getExpectedValue());
+        Assertions.assertEquals(20.5, ruleExecutionResult.getLowerBound());
+        Assertions.assertNull(ruleExecutionResult.getUpperBound());
+    }
+
+    @Test
+    void executeRule_whenActualValueIsEqualMinValue_thenReturnsPassed() {
+        this.parameters.setMinValue(20.5);
+        RuleExecutionResult ruleExecutionResult = execute(20.5);
+        Assertions.assertTrue(ruleExecutionResult.isPassed());
+    }
+
+    @Test
+    void executeRule_whenActualValueIsBelowMinValue_thenReturnsFailed() {
+        this.parameters.setMinValue(20.5);
+        RuleExecutionResult ruleExecutionResult = execute(20.4);
+        Assertions.assertFalse(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(20.5, ruleExecutionResult.getExpectedValue());
+        Assertions.assertEquals(20.5, ruleExecutionResult.getLowerBound());
+    }
+
+    @Test
+    void executeRule_whenComparedWithPythonRule_thenReturnsSameResults() {
+        this.parameters.setMinValue(20.5);
+        assertSameAsPythonRule(20.8);
+        assertSameAsPythonRule(20.4);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.BaseTest;
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.HistoricDataPointObjectMother;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.runners.python.PythonRuleRunnerObjectMother;
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import ai.dqo.rules.averages.PercentMovingAverageRuleParametersSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class PercentMovingAverageRuleRunnerTests extends BaseTest {
+    private PercentMovingAverageRuleRunner sut;
+    private PercentMovingAverageRuleParametersSpec parameters;
+    private RuleTimeWindowSettingsSpec timeWindowSettings;
+    private LocalDateTime readingTimestamp;
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.sut = BuiltInRuleRunnerObjectMother.getRuleRunner(PercentMovingAverageRuleRunner.class);
+        this.parameters = new PercentMovingAverageRuleParametersSpec();
+        this.timeWindowSettings = new RuleTimeWindowSettingsSpec();
+        this.readingTimestamp = LocalDateTime.of(2022, 02, 15, 0, 0);
+    }
+
+    private RuleExecutionResult execute(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        return BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+    }
+
+    private void assertSameAsPythonRule(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        RuleExecutionResult javaResult = BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+        RuleExecutionResult pythonResult = PythonRuleRunnerObjectMother.executeBuiltInRule(actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+
+        Assertions.assertEquals(pythonResult.isPassed(), javaResult.isPassed());
+        assertSameValue(pythonResult.getExpectedValue(), javaResult.getExpectedValue());
+        assertSameValue(pythonResult.getLowerBound(), javaResult.getLowerBound());
+        assertSameValue(pythonResult.getUpperBound(), javaResult.getUpperBound());
+    }
+
+    private static void assertSameValue(Double expected, Double actual) {
+        if (expected == null) {
+            Assertions.assertNull(actual);
+        }
+        else {
+            Assertions.assertEquals(expected, actual, 1e-9);
+        }
+    }
+
+    @Test
+    void executeRule_whenActualValueIsWithinPercentAboveAverage_thenReturnsPassed() {
+        this.parameters.setMaxPercentAbove(5.0);
+        RuleExecutionResult ruleExecutionResult = execute(20.5, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0);
+        Assertions.assertTrue(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(20.0, ruleExecutionResult.getExpectedValue());
+        Assertions.assertNull(ruleExecutionResult.getLowerBound());
+        Assertions.assertEquals(21.0, ruleExecutionResult.getUpperBound());
+    }
+
+    @Test
+    void executeRule_whenActualValueIsBelowPercentBelowAverage_thenReturnsFailed() {
+        this.parameters.setMaxPercentAbove(5.0);
+        this.parameters.setMaxPercentBelow(5.0);
+        RuleExecutionResult ruleExecutionResult = execute(18.9, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0, 20.0);
+        Assertions.assertFalse(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(19.0, ruleExecutionResult.getLowerBound());
+        Assertions.assertEquals(21.0, ruleExecutionResult.getUpperBound());
+    }
+
+    @Test
+    void executeRule_whenSomeReadingsAreMissing_thenCalculatesAverageOfPresentReadings() {
+        this.parameters.setMaxPercentAbove(10.0);
+        RuleExecutionResult ruleExecutionResult = execute(25.0, 10.0, null, 30.0, null, 20.0);
+        Assertions.assertEquals(20.0, ruleExecutionResult.getExpectedValue());
+        Assertions.assertEquals(22.0, ruleExecutionResult.getUpperBound(), 1e-9);
+        Assertions.assertFalse(ruleExecutionResult.isPassed());
+    }
+
+    @Test
+    void executeRule_whenComparedWithPythonRule_thenReturnsSameResults() {
+        this.parameters.setMaxPercentAbove(7.5);
+        this.parameters.setMaxPercentBelow(3.0);
+        assertSameAsPythonRule(20.5, 19.0, 21.5, null, 20.0, 22.0, 18.5, null, 20.0, 21.0, 19.5);
+        assertSameAsPythonRule(23.0, 19.0, 21.5, null, 20.0, 22.0, 18.5, null, 20.0, 21.0, 19.5);
+    }
+}
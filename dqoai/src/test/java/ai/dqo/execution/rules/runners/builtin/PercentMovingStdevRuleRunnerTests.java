@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.BaseTest;
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.HistoricDataPointObjectMother;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.runners.python.PythonRuleRunnerObjectMother;
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import ai.dqo.rules.stdev.PercentMovingStdevRuleParametersSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class PercentMovingStdevRuleRunnerTests extends BaseTest {
+    private PercentMovingStdevRuleRunner sut;
+    private PercentMovingStdevRuleParametersSpec parameters;
+    private RuleTimeWindowSettingsSpec timeWindowSettings;
+    private LocalDateTime readingTimestamp;
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.sut = BuiltInRuleRunnerObjectMother.getRuleRunner(PercentMovingStdevRuleRunner.class);
+        this.parameters = new PercentMovingStdevRuleParametersSpec();
+        this.timeWindowSettings = new RuleTimeWindowSettingsSpec();
+        this.readingTimestamp = LocalDateTime.of(2022, 02, 15, 0, 0);
+    }
+
+    private RuleExecutionResult execute(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        return BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+    }
+
+    private void assertSameAsPythonRule(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        RuleExecutionResult javaResult = BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+        RuleExecutionResult pythonResult = PythonRuleRunnerObjectMother.executeBuiltInRule(actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+
+        Assertions.assertEquals(pythonResult.isPassed(), javaResult.isPassed());
+        assertSameValue(pythonResult.getExpectedValue(), javaResult.getExpectedValue());
+        assertSameValue(pythonResult.getLowerBound(), javaResult.getLowerBound());
+        assertSameValue(pythonResult.getUpperBound(), javaResult.getUpperBound());
+    }
+
+    private static void assertSameValue(Double expected, Double actual) {
+        if (expected == null) {
+            Assertions.assertNull(actual);
+        }
+        else {
+            Assertions.assertEquals(expected, actual, 1e-9);
+        }
+    }
+
+    @Test
+    void executeRule_whenActualValueIsWithinStdevAboveAverage_thenReturnsPassed() {
+        this.parameters.setMultipleStdevAbove(1.0);
+        RuleExecutionResult ruleExecutionResult = execute(20.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0);
+        Assertions.assertTrue(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(20.0, ruleExecutionResult.getExpectedValue());
+        Assertions.assertNull(ruleExecutionResult.getLowerBound());
+        Assertions.assertEquals(25.18874521662771, ruleExecutionResult.getUpperBound(), 1e-9);
+    }
+
+    @Test
+    void executeRule_whenActualValueIsBelowStdevBelowAverage_thenReturnsFailed() {
+        this.parameters.setMultipleStdevAbove(1.0);
+        this.parameters.setMultipleStdevBelow(1.0);
+        RuleExecutionResult ruleExecutionResult = execute(14.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0, 15.0, 25.0);
+        Assertions.assertFalse(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(14.81125478337229, ruleExecutionResult.getLowerBound(), 1e-9);
+    }
+
+    @Test
+    void executeRule_whenComparedWithPythonRule_thenReturnsSameResults() {
+        this.parameters.setMultipleStdevAbove(2.0);
+        this.parameters.setMultipleStdevBelow(1.5);
+        assertSameAsPythonRule(20.5, 19.0, 21.5, null, 20.0, 22.0, 18.5, null, 20.0, 21.0, 19.5);
+        assertSameAsPythonRule(17.0, 19.0, 21.5, null, 20.0, 22.0, 18.5, null, 20.0, 21.0, 19.5);
+    }
+}
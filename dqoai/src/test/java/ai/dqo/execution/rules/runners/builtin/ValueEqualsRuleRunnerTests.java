@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.rules.runners.builtin;
+
+import ai.dqo.BaseTest;
+import ai.dqo.execution.rules.HistoricDataPoint;
+import ai.dqo.execution.rules.HistoricDataPointObjectMother;
+import ai.dqo.execution.rules.RuleExecutionResult;
+import ai.dqo.execution.rules.runners.python.PythonRuleRunnerObjectMother;
+import ai.dqo.metadata.groupings.TimeSeriesGradient;
+import ai.dqo.rules.RuleTimeWindowSettingsSpec;
+import ai.dqo.rules.comparison.ValueEqualsRuleParametersSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+@SpringBootTest
+public class ValueEqualsRuleRunnerTests extends BaseTest {
+    private ValueEqualsRuleRunner sut;
+    private ValueEqualsRuleParametersSpec parameters;
+    private RuleTimeWindowSettingsSpec timeWindowSettings;
+    private LocalDateTime readingTimestamp;
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.sut = BuiltInRuleRunnerObjectMother.getRuleRunner(ValueEqualsRuleRunner.class);
+        this.parameters = new ValueEqualsRuleParametersSpec();
+        this.timeWindowSettings = new RuleTimeWindowSettingsSpec();
+        this.readingTimestamp = LocalDateTime.of(2022, 02, 15, 0, 0);
+    }
+
+    private RuleExecutionResult execute(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        return BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+    }
+
+    private void assertSameAsPythonRule(double actualValue, Double... previousReadings) {
+        HistoricDataPoint[] historicDataPoints = HistoricDataPointObjectMother.fillHistoricReadings(
+                this.timeWindowSettings, TimeSeriesGradient.DAY, this.readingTimestamp, previousReadings);
+        RuleExecutionResult javaResult = BuiltInRuleRunnerObjectMother.executeBuiltInRule(this.sut, actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+        RuleExecutionResult pythonResult = PythonRuleRunnerObjectMother.executeBuiltInRule(actualValue, this.parameters,
+                this.readingTimestamp, historicDataPoints, this.timeWindowSettings);
+
+        Assertions.assertEquals(pythonResult.isPassed(), javaResult.isPassed());
+        assertSameValue(pythonResult.getExpectedValue(), javaResult.getExpectedValue());
+        assertSameValue(pythonResult.getLowerBound(), javaResult.getLowerBound());
+        assertSameValue(pythonResult.getUpperBound(), javaResult.getUpperBound());
+    }
+
+    private static void assertSameValue(Double expected, Double actual) {
+        if (expected == null) {
+            Assertions.assertNull(actual);
+        }
+        else {
+            Assertions.assertEquals(expected, actual, 1e-9);
+        }
+    }
+
+    @Test
+    void executeRule_whenActualValueIsWithinErrorMargin_thenReturnsPassed() {
+        this.parameters.setExpectedValue(20.0);
+        this.parameters.setErrorMargin(0.5);
+        RuleExecutionResult ruleExecutionResult = execute(20.4);
+        Assertions.assertTrue(ruleExecutionResult.isPassed());
+        Assertions.assertEquals(20.0, ruleExecutionResult.getExpectedValue());
+        Assertions.assertEquals(19.5, ruleExecutionResult.getLowerBound());
+        Assertions.assertEquals(20.5, ruleExecutionResult.getUpperBound());
+    }
+
+    @Test
+    void executeRule_whenActualValueIsOutsideErrorMargin_thenReturnsFailed() {
+        this.parameters.setExpectedValue(20.0);
+        this.parameters.setErrorMargin(0.5);
+        Assertions.assertFalse(execute(20.6).isPassed());
+        Assertions.assertFalse(execute(19.4).isPassed());
+    }
+
+    @Test
+    void executeRule_whenComparedWithPythonRule_thenReturnsSameResults() {
+        this.parameters.setExpectedValue(20.0);
+        this.parameters.setErrorMargin(0.5);
+        assertSameAsPythonRule(20.4);
+        assertSameAsPythonRule(20.6);
+    }
+}
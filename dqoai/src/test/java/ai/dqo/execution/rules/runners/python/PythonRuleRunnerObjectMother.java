@@ -54,7 +54,7 @@ public class PythonRuleRunnerObjectMother {
         PythonRuleRunner ruleRunner = getDefault();
         CheckExecutionContext checkExecutionContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
         LocalDateTime today = LocalDateTimeTruncateUtility.truncateTimePeriod(LocalDateTime.now(), TimeSeriesGradient.DAY);
-        RuleExecutionRunParameters ruleRunParameters = new RuleExecutionRunParameters(actualValue, ruleParameters, today, null, new RuleTimeWindowSettingsSpec());
+        RuleExecutionRunParameters ruleRunParameters = new RuleExecutionRunParameters(actualValue, ruleParameters, today, (HistoricDataPoint[]) null, new RuleTimeWindowSettingsSpec());
         RuleDefinitionFindResult ruleDefinitionFindResult = RuleDefinitionFindResultObjectMother.findDqoHomeRuleDefinition(ruleParameters.getRuleDefinitionName());
 
         RuleExecutionResult ruleExecutionResult = ruleRunner.executeRule(checkExecutionContext, ruleRunParameters, ruleDefinitionFindResult);
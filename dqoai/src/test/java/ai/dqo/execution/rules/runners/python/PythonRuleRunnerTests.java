@@ -34,6 +34,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SpringBootTest
 public class PythonRuleRunnerTests extends BaseTest {
     private PythonRuleRunner sut;
@@ -76,4 +79,26 @@ public class PythonRuleRunnerTests extends BaseTest {
         Assertions.assertEquals(15.5, executionResult.getLowerBound().doubleValue());
         Assertions.assertNull(executionResult.getUpperBound());
     }
+
+    @Test
+    void executeRules_whenMinValueBuiltInRuleEvaluatedForBatch_thenReturnsResultsInBatchOrder() {
+        MinValueRuleParametersSpec ruleParameters = new MinValueRuleParametersSpec();
+        ruleParameters.setMinValue(15.5);
+        List<RuleExecutionRunParameters> ruleRunParametersBatch = new ArrayList<>();
+        for (double actualValue : new double[] { 15.8, 15.4, 20.0 }) {
+            RuleExecutionRunParameters ruleRunParameters = new RuleExecutionRunParameters();
+            ruleRunParameters.setParameters(ruleParameters);
+            ruleRunParameters.setActualValue(actualValue);
+            ruleRunParametersBatch.add(ruleRunParameters);
+        }
+        RuleDefinitionFindResult ruleDefinitionFindResult = RuleDefinitionFindResultObjectMother.findDqoHomeRuleDefinition("comparison/min_value");
+
+        List<RuleExecutionResult> executionResults = this.sut.executeRules(this.inMemoryCheckContext, ruleRunParametersBatch, ruleDefinitionFindResult);
+
+        Assertions.assertEquals(3, executionResults.size());
+        Assertions.assertTrue(executionResults.get(0).isPassed());
+        Assertions.assertFalse(executionResults.get(1).isPassed());
+        Assertions.assertTrue(executionResults.get(2).isPassed());
+        Assertions.assertEquals(15.5, executionResults.get(1).getLowerBound().doubleValue());
+    }
 }
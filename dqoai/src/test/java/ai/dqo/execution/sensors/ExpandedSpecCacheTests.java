@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sensors;
+
+import ai.dqo.BaseTest;
+import ai.dqo.connectors.ProviderType;
+import ai.dqo.core.secrets.SecretValueProvider;
+import ai.dqo.core.secrets.SecretValueProviderObjectMother;
+import ai.dqo.metadata.sources.*;
+import ai.dqo.metadata.userhome.UserHomeImpl;
+import ai.dqo.metadata.userhome.UserHomeObjectMother;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class ExpandedSpecCacheTests extends BaseTest {
+    private ExpandedSpecCache sut;
+    private SecretValueProvider secretValueProvider;
+    private ConnectionSpec connectionSpec;
+    private TableSpec tableSpec;
+    private ColumnSpec columnSpec;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+		this.sut = new ExpandedSpecCache();
+		this.secretValueProvider = SecretValueProviderObjectMother.getInstance();
+        UserHomeImpl userHome = UserHomeObjectMother.createBareUserHome();
+        ConnectionWrapper connectionWrapper = userHome.getConnections().createAndAddNew("conn");
+        connectionWrapper.getSpec().setProviderType(ProviderType.bigquery);
+		this.connectionSpec = connectionWrapper.getSpec();
+        TableWrapper tableWrapper = connectionWrapper.getTables().createAndAddNew(new PhysicalTableName("schema", "tab1"));
+		this.tableSpec = tableWrapper.getSpec();
+		this.columnSpec = new ColumnSpec();
+		this.tableSpec.getColumns().put("col1", this.columnSpec);
+    }
+
+    @Test
+    void expandConnection_whenCalledTwice_thenReturnsSameExpandedInstance() {
+        ConnectionSpec first = this.sut.expandConnection(this.connectionSpec, this.secretValueProvider);
+        ConnectionSpec second = this.sut.expandConnection(this.connectionSpec, this.secretValueProvider);
+
+        Assertions.assertNotSame(this.connectionSpec, first);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, this.sut.getExpandedSpecsCount());
+        Assertions.assertEquals(1, this.sut.getReusedSpecsCount());
+    }
+
+    @Test
+    void expandTable_whenCalledTwice_thenReturnsSameExpandedInstance() {
+        TableSpec first = this.sut.expandTable(this.tableSpec, this.secretValueProvider);
+        TableSpec second = this.sut.expandTable(this.tableSpec, this.secretValueProvider);
+
+        Assertions.assertNotSame(this.tableSpec, first);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, this.sut.getExpandedSpecsCount());
+        Assertions.assertEquals(1, this.sut.getReusedSpecsCount());
+    }
+
+    @Test
+    void expandColumn_whenColumnOfExpandedTable_thenReturnsColumnFromExpandedTable() {
+        TableSpec expandedTable = this.sut.expandTable(this.tableSpec, this.secretValueProvider);
+        ColumnSpec expandedColumn = this.sut.expandColumn(this.columnSpec, this.secretValueProvider);
+
+        Assertions.assertSame(expandedTable.getColumns().get("col1"), expandedColumn);
+        Assertions.assertEquals(1, this.sut.getExpandedSpecsCount());
+        Assertions.assertEquals(1, this.sut.getReusedSpecsCount());
+    }
+
+    @Test
+    void expandColumn_whenColumnNotInExpandedTable_thenExpandsColumnOnce() {
+        ColumnSpec otherColumn = new ColumnSpec();
+        ColumnSpec first = this.sut.expandColumn(otherColumn, this.secretValueProvider);
+        ColumnSpec second = this.sut.expandColumn(otherColumn, this.secretValueProvider);
+
+        Assertions.assertNotSame(otherColumn, first);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, this.sut.getExpandedSpecsCount());
+        Assertions.assertEquals(1, this.sut.getReusedSpecsCount());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates;
+
+import ai.dqo.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+@SpringBootTest
+public class BatchableSensorQueryTests extends BaseTest {
+    private static final String ROW_COUNT_SQL = "SELECT\n" +
+            "    count(*) AS actual_value, analyzed_table.`country` AS dimension_1\n" +
+            "FROM `project`.`schema`.`tab1` AS analyzed_table\n" +
+            "GROUP BY dimension_1\n" +
+            "ORDER BY dimension_1";
+
+    private static final String DISTINCT_COUNT_SQL = "SELECT\n" +
+            "    count(distinct analyzed_table.`id`) AS actual_value, analyzed_table.`country` AS dimension_1\n" +
+            "FROM `project`.`schema`.`tab1` AS analyzed_table\n" +
+            "GROUP BY dimension_1\n" +
+            "ORDER BY dimension_1";
+
+    @Test
+    void parse_whenSimpleAggregateQuery_thenSplitsValueExpressionAndQueryTail() {
+        BatchableSensorQuery query = BatchableSensorQuery.parse(ROW_COUNT_SQL);
+
+        Assertions.assertNotNull(query);
+        Assertions.assertEquals("count(*)", query.getValueExpression());
+        Assertions.assertEquals(", analyzed_table.`country` AS dimension_1\n" +
+                "FROM `project`.`schema`.`tab1` AS analyzed_table\n" +
+                "GROUP BY dimension_1\n" +
+                "ORDER BY dimension_1", query.getQueryTail());
+    }
+
+    @Test
+    void parse_whenNestedCaseExpressionAndTextLiterals_thenReturnsWholeExpression() {
+        BatchableSensorQuery query = BatchableSensorQuery.parse("SELECT\n" +
+                "    CASE WHEN COUNT(*) = 0 THEN NULL ELSE 100.0 * SUM(CASE WHEN analyzed_table.`c` IN ('a, b', 'AS actual_value') THEN 1 ELSE 0 END) / COUNT(*) END AS actual_value\n" +
+                "FROM `project`.`schema`.`tab1` AS analyzed_table");
+
+        Assertions.assertNotNull(query);
+        Assertions.assertEquals("CASE WHEN COUNT(*) = 0 THEN NULL ELSE 100.0 * SUM(CASE WHEN analyzed_table.`c` IN ('a, b', 'AS actual_value') THEN 1 ELSE 0 END) / COUNT(*) END",
+                query.getValueExpression());
+        Assertions.assertEquals("\nFROM `project`.`schema`.`tab1` AS analyzed_table", query.getQueryTail());
+    }
+
+    @Test
+    void parse_whenQueryUsesCte_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("WITH t AS (SELECT 1 AS x)\nSELECT sum(x) AS actual_value FROM t"));
+    }
+
+    @Test
+    void parse_whenQueryReturnsExpectedValue_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("SELECT count(*) AS actual_value, 10 AS expected_value FROM tab"));
+    }
+
+    @Test
+    void parse_whenOtherProjectionBeforeActualValue_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("SELECT analyzed_table.a AS dimension_1, count(*) AS actual_value FROM tab AS analyzed_table GROUP BY dimension_1"));
+    }
+
+    @Test
+    void parse_whenQueryIsUnion_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("SELECT count(*) AS actual_value FROM tab1 UNION ALL SELECT count(*) FROM tab2"));
+    }
+
+    @Test
+    void parse_whenSelectDistinct_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("SELECT DISTINCT a AS actual_value FROM tab"));
+    }
+
+    @Test
+    void parse_whenQueryHasComments_thenReturnsNull() {
+        Assertions.assertNull(BatchableSensorQuery.parse("SELECT count(*) AS actual_value -- comment\nFROM tab"));
+    }
+
+    @Test
+    void renderBatchedQuery_whenTwoQueriesWithSameTail_thenRendersOneQueryWithNumberedActualValues() {
+        BatchableSensorQuery rowCountQuery = BatchableSensorQuery.parse(ROW_COUNT_SQL);
+        BatchableSensorQuery distinctCountQuery = BatchableSensorQuery.parse(DISTINCT_COUNT_SQL);
+        Assertions.assertEquals(rowCountQuery.getQueryTail(), distinctCountQuery.getQueryTail());
+
+        String batchedSql = BatchableSensorQuery.renderBatchedQuery(List.of(rowCountQuery, distinctCountQuery));
+
+        Assertions.assertEquals("SELECT\n" +
+                "    count(*) AS actual_value_1,\n" +
+                "    count(distinct analyzed_table.`id`) AS actual_value_2, analyzed_table.`country` AS dimension_1\n" +
+                "FROM `project`.`schema`.`tab1` AS analyzed_table\n" +
+                "GROUP BY dimension_1\n" +
+                "ORDER BY dimension_1", batchedSql);
+    }
+}
@@ -20,6 +20,9 @@ import ai.dqo.connectors.ProviderDialectSettingsObjectMother;
 import ai.dqo.connectors.ProviderType;
 import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemServiceImpl;
+import ai.dqo.core.filesystem.localfiles.HomeLocationFindServiceObjectMother;
+import ai.dqo.execution.sqltemplates.cache.RenderedSqlCacheImpl;
 import ai.dqo.metadata.definitions.sensors.ProviderSensorDefinitionSpec;
 import ai.dqo.metadata.definitions.sensors.SensorDefinitionSpec;
 import ai.dqo.metadata.groupings.DimensionsConfigurationSpec;
@@ -56,7 +59,9 @@ public class JinjaTemplateRenderServiceImplTests extends BaseTest {
         DqoConfigurationProperties dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.getDefaultCloned();
         PythonVirtualEnvService pythonVirtualEnvService = PythonVirtualEnvServiceObjectMother.getDefault();
         PythonCallerServiceImpl pythonCallerService = new PythonCallerServiceImpl(dqoConfigurationProperties, new JsonSerializerImpl(), pythonVirtualEnvService);
-		this.sut = new JinjaTemplateRenderServiceImpl(pythonCallerService, dqoConfigurationProperties);
+        RenderedSqlCacheImpl renderedSqlCache = new RenderedSqlCacheImpl(dqoConfigurationProperties, new LocalFileSystemServiceImpl(),
+                HomeLocationFindServiceObjectMother.getDefaultHomeFinder(), new JsonSerializerImpl());
+		this.sut = new JinjaTemplateRenderServiceImpl(pythonCallerService, dqoConfigurationProperties, renderedSqlCache);
 		this.renderParameters = new JinjaTemplateRenderParameters(
                 new ConnectionSpec(),
                 new TableSpec(),
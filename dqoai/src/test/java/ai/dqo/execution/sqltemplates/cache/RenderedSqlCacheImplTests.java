@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.execution.sqltemplates.cache;
+
+import ai.dqo.BaseTest;
+import ai.dqo.connectors.ProviderDialectSettingsObjectMother;
+import ai.dqo.connectors.ProviderType;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
+import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.filesystem.BuiltInFolderNames;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemServiceImpl;
+import ai.dqo.core.filesystem.localfiles.HomeLocationFindServiceObjectMother;
+import ai.dqo.core.filesystem.virtual.HomeFilePath;
+import ai.dqo.execution.CheckExecutionContext;
+import ai.dqo.execution.CheckExecutionContextObjectMother;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindResult;
+import ai.dqo.execution.sensors.finder.SensorDefinitionFindResultObjectMother;
+import ai.dqo.execution.sqltemplates.JinjaTemplateRenderParameters;
+import ai.dqo.metadata.definitions.sensors.ProviderSensorDefinitionSpec;
+import ai.dqo.metadata.definitions.sensors.SensorDefinitionSpec;
+import ai.dqo.metadata.groupings.DimensionsConfigurationSpec;
+import ai.dqo.metadata.groupings.TimeSeriesConfigurationSpec;
+import ai.dqo.metadata.sources.ColumnSpec;
+import ai.dqo.metadata.sources.ConnectionSpec;
+import ai.dqo.metadata.sources.TableSpec;
+import ai.dqo.metadata.sources.TableTargetSpec;
+import ai.dqo.metadata.storage.localfiles.HomeType;
+import ai.dqo.sensors.table.consistency.TableConsistencyRowCountSensorParametersSpec;
+import ai.dqo.utils.serialization.JsonSerializerImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@SpringBootTest
+public class RenderedSqlCacheImplTests extends BaseTest {
+    private RenderedSqlCacheImpl sut;
+    private DqoConfigurationProperties dqoConfigurationProperties;
+    private JinjaTemplateRenderParameters renderParameters;
+    private CheckExecutionContext inMemoryContext;
+    private SensorDefinitionFindResult rowCountSensor;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.dqoConfigurationProperties = DqoConfigurationPropertiesObjectMother.getDefaultCloned();
+        this.dqoConfigurationProperties.getCache().setRenderedSqlPersistent(false);
+        this.sut = createCache();
+        TableSpec tableSpec = new TableSpec();
+        tableSpec.setTarget(new TableTargetSpec("schema1", "table1"));
+        this.renderParameters = new JinjaTemplateRenderParameters(
+                new ConnectionSpec(),
+                tableSpec,
+                new ColumnSpec(),
+                null,
+                new TableConsistencyRowCountSensorParametersSpec(),
+                TimeSeriesConfigurationSpec.createDefault(),
+                new DimensionsConfigurationSpec(),
+                new SensorDefinitionSpec(),
+                new ProviderSensorDefinitionSpec(),
+                ProviderDialectSettingsObjectMother.getDialectForProvider(ProviderType.bigquery)
+        );
+        this.inMemoryContext = CheckExecutionContextObjectMother.createWithInMemoryUserContext();
+        this.rowCountSensor = SensorDefinitionFindResultObjectMother.findDqoHomeSensorDefinition(
+                "table/consistency/row_count", ProviderType.bigquery);
+    }
+
+    private RenderedSqlCacheImpl createCache() {
+        return new RenderedSqlCacheImpl(this.dqoConfigurationProperties, new LocalFileSystemServiceImpl(),
+                HomeLocationFindServiceObjectMother.getDefaultHomeFinder(), new JsonSerializerImpl());
+    }
+
+    @Test
+    void calculateCacheKey_whenSameParametersGiven_thenReturnsSameKey() {
+        String key1 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+        String key2 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+
+        Assertions.assertNotNull(key1);
+        Assertions.assertEquals(64, key1.length());
+        Assertions.assertEquals(key1, key2);
+    }
+
+    @Test
+    void calculateCacheKey_whenParametersChanged_thenReturnsDifferentKey() {
+        String key1 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+        this.renderParameters.getTable().setTarget(new TableTargetSpec("schema1", "table2"));
+        String key2 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+
+        Assertions.assertNotEquals(key1, key2);
+    }
+
+    @Test
+    void calculateCacheKey_whenCacheDisabled_thenReturnsNull() {
+        this.dqoConfigurationProperties.getCache().setRenderedSqlMaxEntries(0);
+        this.sut = createCache();
+
+        Assertions.assertNull(this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters));
+    }
+
+    @Test
+    void calculateCacheKey_whenUserHomeTemplateFileModified_thenReturnsDifferentKey() throws Exception {
+        CheckExecutionContext fileContext = CheckExecutionContextObjectMother.createTestableUserContext(true);
+        Path userHomePath = fileContext.getUserHomeContext().getHomeRoot().getPhysicalAbsolutePath();
+        Path templateFile = userHomePath.resolve(BuiltInFolderNames.SENSORS).resolve("custom/sensor/bigquery.sql.jinja2");
+        Files.createDirectories(templateFile.getParent());
+        Files.writeString(templateFile, "SELECT COUNT(*) AS actual_value FROM {{ table.target.table_name }}");
+        SensorDefinitionFindResult customSensor = new SensorDefinitionFindResult(new SensorDefinitionSpec(), new ProviderSensorDefinitionSpec(),
+                null, ProviderType.bigquery, HomeType.USER_HOME, HomeFilePath.fromFilePath("custom/sensor/bigquery.sql.jinja2"));
+
+        String key1 = this.sut.calculateCacheKey(fileContext, customSensor, this.renderParameters);
+        String key2 = this.sut.calculateCacheKey(fileContext, customSensor, this.renderParameters);
+        long lastModified = Files.getLastModifiedTime(templateFile).toMillis();
+        Files.writeString(templateFile, "SELECT COUNT(1) AS actual_value FROM {{ table.target.table_name }}");
+        templateFile.toFile().setLastModified(lastModified + 2000L);
+        String key3 = this.sut.calculateCacheKey(fileContext, customSensor, this.renderParameters);
+
+        Assertions.assertNotNull(key1);
+        Assertions.assertEquals(key1, key2);
+        Assertions.assertNotEquals(key1, key3);
+    }
+
+    @Test
+    void getRenderedSql_whenQueryStored_thenReturnsCachedQuery() {
+        String key = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+        Assertions.assertNull(this.sut.getRenderedSql(this.inMemoryContext, key));
+
+        this.sut.putRenderedSql(this.inMemoryContext, key, "SELECT 1");
+
+        Assertions.assertEquals("SELECT 1", this.sut.getRenderedSql(this.inMemoryContext, key));
+        this.sut.invalidateAll();
+        Assertions.assertNull(this.sut.getRenderedSql(this.inMemoryContext, key));
+    }
+
+    @Test
+    void getRenderedSql_whenPersistentCacheEnabled_thenReturnsQueryStoredByOtherInstance() {
+        this.dqoConfigurationProperties.getCache().setRenderedSqlPersistent(true);
+        this.sut = createCache();
+        CheckExecutionContext fileContext = CheckExecutionContextObjectMother.createTestableUserContext(true);
+        String key = this.sut.calculateCacheKey(fileContext, this.rowCountSensor, this.renderParameters);
+        this.sut.putRenderedSql(fileContext, key, "SELECT 1");
+
+        RenderedSqlCacheImpl otherCache = createCache();
+        Assertions.assertEquals("SELECT 1", otherCache.getRenderedSql(fileContext, key));
+        Path userHomePath = fileContext.getUserHomeContext().getHomeRoot().getPhysicalAbsolutePath();
+        Assertions.assertTrue(Files.exists(userHomePath.resolve(BuiltInFolderNames.CACHE)
+                .resolve(RenderedSqlCacheImpl.RENDERED_SQL_CACHE_FOLDER_NAME).resolve(key.substring(0, 2)).resolve(key + ".sql")));
+    }
+
+    @Test
+    void calculateCacheKey_whenCalledManyTimesInOneCheckRun_thenReadsDialectsFolderHashOncePerCheckRun() {
+        int[] dialectsFolderReads = new int[1];
+        this.sut = new RenderedSqlCacheImpl(this.dqoConfigurationProperties, new LocalFileSystemServiceImpl(),
+                HomeLocationFindServiceObjectMother.getDefaultHomeFinder(), new JsonSerializerImpl()) {
+            @Override
+            protected Long readDialectsFolderHash() {
+                dialectsFolderReads[0]++;
+                return super.readDialectsFolderHash();
+            }
+        };
+
+        String key1 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+        String key2 = this.sut.calculateCacheKey(this.inMemoryContext, this.rowCountSensor, this.renderParameters);
+        Assertions.assertEquals(1, dialectsFolderReads[0]);
+
+        String key3 = this.sut.calculateCacheKey(CheckExecutionContextObjectMother.createWithInMemoryUserContext(), this.rowCountSensor, this.renderParameters);
+        Assertions.assertEquals(2, dialectsFolderReads[0]);
+        Assertions.assertEquals(key1, key2);
+        Assertions.assertEquals(key1, key3);
+    }
+
+    @Test
+    void putRenderedSql_whenPersistentCacheExceedsLimits_thenRemovesOldAndLeastRecentlyUsedFiles() throws Exception {
+        this.dqoConfigurationProperties.getCache().setRenderedSqlPersistent(true);
+        this.dqoConfigurationProperties.getCache().setRenderedSqlPersistentMaxEntries(2);
+        this.dqoConfigurationProperties.getCache().setRenderedSqlPersistentMaxAgeDays(30);
+        this.sut = createCache();
+        CheckExecutionContext fileContext = CheckExecutionContextObjectMother.createTestableUserContext(true);
+        Path cacheFolder = fileContext.getUserHomeContext().getHomeRoot().getPhysicalAbsolutePath()
+                .resolve(BuiltInFolderNames.CACHE).resolve(RenderedSqlCacheImpl.RENDERED_SQL_CACHE_FOLDER_NAME).resolve("aa");
+        Files.createDirectories(cacheFolder);
+        long now = System.currentTimeMillis();
+        Path expiredFile = cacheFolder.resolve("aa01.sql");
+        Path olderFile = cacheFolder.resolve("aa02.sql");
+        Path recentFile = cacheFolder.resolve("aa03.sql");
+        Files.writeString(expiredFile, "SELECT 1");
+        Files.writeString(olderFile, "SELECT 2");
+        Files.writeString(recentFile, "SELECT 3");
+        expiredFile.toFile().setLastModified(now - 40L * 24L * 3600L * 1000L);
+        olderFile.toFile().setLastModified(now - 2L * 24L * 3600L * 1000L);
+        recentFile.toFile().setLastModified(now - 1L * 24L * 3600L * 1000L);
+
+        String key = this.sut.calculateCacheKey(fileContext, this.rowCountSensor, this.renderParameters);
+        this.sut.putRenderedSql(fileContext, key, "SELECT 4");
+
+        Assertions.assertFalse(Files.exists(expiredFile));
+        Assertions.assertFalse(Files.exists(olderFile));
+        Assertions.assertTrue(Files.exists(recentFile));
+        Assertions.assertEquals("SELECT 4", createCache().getRenderedSql(fileContext, key));
+    }
+}
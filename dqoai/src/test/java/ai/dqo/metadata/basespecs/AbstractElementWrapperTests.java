@@ -18,6 +18,7 @@ package ai.dqo.metadata.basespecs;
 import ai.dqo.BaseTest;
 import ai.dqo.metadata.id.ChildHierarchyNodeFieldMap;
 import ai.dqo.metadata.id.ChildHierarchyNodeFieldMapImpl;
+import ai.dqo.metadata.id.HierarchyId;
 import ai.dqo.metadata.id.HierarchyNodeResultVisitor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -161,6 +162,35 @@ public class AbstractElementWrapperTests extends BaseTest {
         Assertions.assertEquals(InstanceStatus.MODIFIED, sut.getStatus());
     }
 
+    @Test
+    void attachSharedSpec_whenSpecHasSameHierarchyId_thenAttachesSpecWithoutModifyingIt() {
+        TestableElementWrapper sut = new TestableElementWrapper("abc");
+        sut.setHierarchyId(new HierarchyId("wrappers", "abc"));
+        TestableSpec sharedSpec = new TestableSpec("model");
+        HierarchyId sharedSpecHierarchyId = new HierarchyId("wrappers", "abc", "spec");
+        sharedSpec.setHierarchyId(sharedSpecHierarchyId);
+        sharedSpec.setName("newname");
+
+        Assertions.assertTrue(sut.attachSharedSpec(sharedSpec));
+        Assertions.assertSame(sharedSpec, sut.getSpec());
+        Assertions.assertSame(sharedSpecHierarchyId, sharedSpec.getHierarchyId());
+        Assertions.assertTrue(sharedSpec.isDirty());
+        Assertions.assertEquals(InstanceStatus.UNCHANGED, sut.getStatus());
+    }
+
+    @Test
+    void attachSharedSpec_whenSpecHasDifferentHierarchyId_thenDoesNotAttachSpec() {
+        TestableElementWrapper sut = new TestableElementWrapper("abc");
+        sut.setHierarchyId(new HierarchyId("wrappers", "abc"));
+        TestableSpec sharedSpec = new TestableSpec("model");
+        HierarchyId sharedSpecHierarchyId = new HierarchyId("wrappers", "other", "spec");
+        sharedSpec.setHierarchyId(sharedSpecHierarchyId);
+
+        Assertions.assertFalse(sut.attachSharedSpec(sharedSpec));
+        Assertions.assertNull(sut.getSpec());
+        Assertions.assertSame(sharedSpecHierarchyId, sharedSpec.getHierarchyId());
+    }
+
     public class TestableElementWrapper extends AbstractElementWrapper<String, TestableSpec> {
         private final ChildHierarchyNodeFieldMapImpl<TestableElementWrapper> FIELDS = new ChildHierarchyNodeFieldMapImpl<>(AbstractElementWrapper.FIELDS) {
             {
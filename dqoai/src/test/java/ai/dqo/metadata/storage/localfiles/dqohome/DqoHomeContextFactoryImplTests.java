@@ -49,4 +49,29 @@ public class DqoHomeContextFactoryImplTests extends BaseTest {
         Assertions.assertNotNull(dqoHome.getSensors());
         Assertions.assertNotNull(dqoHome.getRules());
     }
+
+    @Test
+    void getCachedLocalDqoHome_whenCalledTwice_thenReturnsSameReadOnlyInstance() {
+        DqoHomeContext first = this.sut.getCachedLocalDqoHome();
+        DqoHomeContext second = this.sut.getCachedLocalDqoHome();
+        Assertions.assertNotNull(first);
+        Assertions.assertSame(first, second);
+        Assertions.assertTrue(first.isReadOnly());
+        Assertions.assertFalse(first.getDqoHome().getSensors().toList().isEmpty());
+    }
+
+    @Test
+    void getCachedLocalDqoHome_whenCacheInvalidated_thenLoadsNewInstance() {
+        DqoHomeContext first = this.sut.getCachedLocalDqoHome();
+        this.sut.invalidateCache();
+        DqoHomeContext second = this.sut.getCachedLocalDqoHome();
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(second, this.sut.getCachedLocalDqoHome());
+    }
+
+    @Test
+    void flush_whenSharedDqoHomeContext_thenThrows() {
+        DqoHomeContext dqoHomeContext = this.sut.getCachedLocalDqoHome();
+        Assertions.assertThrows(IllegalStateException.class, dqoHomeContext::flush);
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.metadata.storage.localfiles.snapshot;
+
+import ai.dqo.BaseTest;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemServiceImpl;
+import ai.dqo.metadata.sources.ConnectionWrapper;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.metadata.sources.TableSpec;
+import ai.dqo.metadata.sources.TableWrapper;
+import ai.dqo.metadata.storage.localfiles.SpecFileNames;
+import ai.dqo.metadata.storage.localfiles.sources.FileTableWrapperImpl;
+import ai.dqo.metadata.storage.localfiles.userhome.FileUserHomeImpl;
+import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContext;
+import ai.dqo.metadata.storage.localfiles.userhome.UserHomeContextObjectMother;
+import ai.dqo.utils.serialization.JsonSerializerObjectMother;
+import ai.dqo.utils.serialization.SmileSerializerImpl;
+import ai.dqo.utils.serialization.YamlSerializerObjectMother;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+@SpringBootTest
+public class SpecFileSnapshotTests extends BaseTest {
+    private static final PhysicalTableName TABLE_NAME = new PhysicalTableName("schema", "tab1");
+    private SpecFileSnapshot sut;
+    private Path homePath;
+    private Path tableFilePath;
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        UserHomeContext homeContext = UserHomeContextObjectMother.createTemporaryFileHomeContext(true);
+        ConnectionWrapper connectionWrapper = homeContext.getUserHome().getConnections().createAndAddNew("conn");
+        TableWrapper tableWrapper = connectionWrapper.getTables().createAndAddNew(TABLE_NAME);
+        tableWrapper.getSpec().getTarget().copyFrom(TABLE_NAME);
+        homeContext.flush();
+
+        this.homePath = homeContext.getHomeRoot().getPhysicalAbsolutePath();
+        this.tableFilePath = ((FileTableWrapperImpl) tableWrapper).getConnectionFolderNode()
+                .getChildFileByFileName(TABLE_NAME.toBaseFileName() + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML).getPhysicalAbsolutePath();
+        this.sut = new SpecFileSnapshot(this.homePath, new SmileSerializerImpl(), new LocalFileSystemServiceImpl());
+    }
+
+    /**
+     * Stores a table specification in the tested snapshot, using the current content of the table file.
+     * @param tableSpec Table specification to store.
+     */
+    private void storeTableSpec(TableSpec tableSpec) throws Exception {
+        long lastModifiedAt = this.tableFilePath.toFile().lastModified();
+        byte[] fileHash = Hashing.sha256().hashBytes(Files.readAllBytes(this.tableFilePath)).asBytes();
+        this.sut.storeSpec(this.tableFilePath, lastModifiedAt, fileHash, tableSpec);
+    }
+
+    @Test
+    void readSpec_whenSpecStoredAndFileNotChanged_thenReturnsEqualSpec() throws Exception {
+        TableSpec tableSpec = new TableSpec();
+        tableSpec.getTarget().copyFrom(TABLE_NAME);
+        storeTableSpec(tableSpec);
+
+        TableSpec decodedSpec = this.sut.readSpec(this.tableFilePath, TableSpec.class);
+
+        Assertions.assertNotNull(decodedSpec);
+        Assertions.assertNotSame(tableSpec, decodedSpec);
+        Assertions.assertEquals(TABLE_NAME, decodedSpec.getTarget().toPhysicalTableName());
+    }
+
+    @Test
+    void readSpec_whenFileContentChangedAfterSpecStored_thenReturnsNull() throws Exception {
+        TableSpec tableSpec = new TableSpec();
+        tableSpec.getTarget().copyFrom(TABLE_NAME);
+        storeTableSpec(tableSpec);
+        Files.writeString(this.tableFilePath, Files.readString(this.tableFilePath) + "\n# changed\n");
+        Files.setLastModifiedTime(this.tableFilePath, FileTime.from(Instant.now().plusSeconds(60)));
+
+        Assertions.assertNull(this.sut.readSpec(this.tableFilePath, TableSpec.class));
+        Assertions.assertEquals(0, this.sut.getEntryCount());
+    }
+
+    @Test
+    void readSpec_whenFileOnlyTouchedAfterSpecStored_thenReturnsSpec() throws Exception {
+        TableSpec tableSpec = new TableSpec();
+        tableSpec.getTarget().copyFrom(TABLE_NAME);
+        storeTableSpec(tableSpec);
+        Files.setLastModifiedTime(this.tableFilePath, FileTime.from(Instant.now().plusSeconds(60)));
+
+        Assertions.assertNotNull(this.sut.readSpec(this.tableFilePath, TableSpec.class));
+    }
+
+    @Test
+    void saveIfModified_whenSavedAndOpenedAgain_thenReturnsStoredSpec() throws Exception {
+        TableSpec tableSpec = new TableSpec();
+        tableSpec.getTarget().copyFrom(TABLE_NAME);
+        storeTableSpec(tableSpec);
+        this.sut.saveIfModified();
+
+        Assertions.assertFalse(this.sut.isModified());
+        Assertions.assertTrue(Files.exists(this.sut.getSnapshotFilePath()));
+        SpecFileSnapshot reopened = SpecFileSnapshot.open(this.homePath, new SmileSerializerImpl(), new LocalFileSystemServiceImpl());
+        TableSpec decodedSpec = reopened.readSpec(this.tableFilePath, TableSpec.class);
+        Assertions.assertNotNull(decodedSpec);
+        Assertions.assertEquals(TABLE_NAME, decodedSpec.getTarget().toPhysicalTableName());
+    }
+
+    @Test
+    void preloadSpecs_whenUserHomeLoadedTwiceWithSnapshot_thenSecondLoadDecodesTableFromSnapshot() {
+        UserHomeContext firstContext = UserHomeContextObjectMother.createTemporaryFileHomeContext(false);
+        firstContext.setUserHome(FileUserHomeImpl.create(firstContext, YamlSerializerObjectMother.getDefault(),
+                JsonSerializerObjectMother.getDefault(), this.sut));
+        firstContext.getUserHome().getConnections().preloadSpecs(connectionName -> true, tableName -> true);
+        Assertions.assertEquals(2, this.sut.getEntryCount());
+        Assertions.assertTrue(Files.exists(this.sut.getSnapshotFilePath()));
+
+        SpecFileSnapshot reopened = SpecFileSnapshot.open(this.homePath, new SmileSerializerImpl(), new LocalFileSystemServiceImpl());
+        UserHomeContext secondContext = UserHomeContextObjectMother.createTemporaryFileHomeContext(false);
+        secondContext.setUserHome(FileUserHomeImpl.create(secondContext, YamlSerializerObjectMother.getDefault(),
+                JsonSerializerObjectMother.getDefault(), reopened));
+        secondContext.getUserHome().getConnections().preloadSpecs(connectionName -> true, tableName -> true);
+
+        TableWrapper tableWrapper = secondContext.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true);
+        Assertions.assertTrue(((FileTableWrapperImpl) tableWrapper).isSpecLoaded());
+        Assertions.assertEquals(TABLE_NAME, tableWrapper.getSpec().getTarget().toPhysicalTableName());
+        Assertions.assertFalse(reopened.isModified());
+    }
+}
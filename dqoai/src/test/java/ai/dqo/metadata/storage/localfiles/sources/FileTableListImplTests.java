@@ -169,4 +169,47 @@ public class FileTableListImplTests extends BaseTest {
         Assertions.assertTrue(wrapperLoaded.getSpec().getLabels().contains("label2"));
         Assertions.assertFalse(iterator.hasNext());
     }
+
+    @Test
+    void preloadSpecs_whenManyTablesSavedAndPreloaded_thenAllSpecsAreLoadedAndUnmodified() {
+        for (int i = 0; i < 10; i++) {
+            PhysicalTableName tableName = new PhysicalTableName("s1", "tab" + i);
+            TableWrapper wrapper = this.sut.createAndAddNew(tableName);
+            wrapper.getSpec().getTarget().copyFrom(tableName);
+        }
+        homeContext.flush();
+
+        UserHomeContext homeContext2 = UserHomeContextObjectMother.createTemporaryFileHomeContext(false);
+        ConnectionWrapper conn2 = homeContext2.getUserHome().getConnections().getByObjectName("newConnection", true);
+        FileTableListImpl sut2 = (FileTableListImpl) conn2.getTables();
+        sut2.preloadSpecs(tableName -> true);
+
+        for (TableWrapper tableWrapper : sut2) {
+            FileTableWrapperImpl fileTableWrapper = (FileTableWrapperImpl) tableWrapper;
+            Assertions.assertTrue(fileTableWrapper.isSpecLoaded());
+            Assertions.assertEquals(tableWrapper.getPhysicalTableName().getTableName(), tableWrapper.getSpec().getTarget().getTableName());
+            Assertions.assertFalse(tableWrapper.getSpec().isDirty());
+        }
+    }
+
+    @Test
+    void preloadSpecs_whenFilterRejectsTable_thenRejectedTableIsNotLoaded() {
+        for (int i = 0; i < 5; i++) {
+            PhysicalTableName tableName = new PhysicalTableName("s1", "tab" + i);
+            TableWrapper wrapper = this.sut.createAndAddNew(tableName);
+            wrapper.getSpec().getTarget().copyFrom(tableName);
+        }
+        homeContext.flush();
+
+        UserHomeContext homeContext2 = UserHomeContextObjectMother.createTemporaryFileHomeContext(false);
+        ConnectionWrapper conn2 = homeContext2.getUserHome().getConnections().getByObjectName("newConnection", true);
+        FileTableListImpl sut2 = (FileTableListImpl) conn2.getTables();
+        sut2.preloadSpecs(tableName -> !tableName.getTableName().equals("tab0"));
+
+        FileTableWrapperImpl rejectedWrapper = (FileTableWrapperImpl) sut2.getByObjectName(new PhysicalTableName("s1", "tab0"), true);
+        FileTableWrapperImpl loadedWrapper = (FileTableWrapperImpl) sut2.getByObjectName(new PhysicalTableName("s1", "tab1"), true);
+        Assertions.assertFalse(rejectedWrapper.isSpecLoaded());
+        Assertions.assertTrue(loadedWrapper.isSpecLoaded());
+        Assertions.assertEquals("tab0", rejectedWrapper.getSpec().getTarget().getTableName());
+    }
 }
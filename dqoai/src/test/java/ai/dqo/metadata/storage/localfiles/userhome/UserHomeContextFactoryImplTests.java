@@ -16,23 +16,43 @@
 package ai.dqo.metadata.storage.localfiles.userhome;
 
 import ai.dqo.BaseTest;
+import ai.dqo.core.configuration.DqoConfigurationProperties;
 import ai.dqo.core.configuration.DqoConfigurationPropertiesObjectMother;
+import ai.dqo.core.filesystem.filesystemservice.localfiles.LocalFileSystemServiceImpl;
 import ai.dqo.core.filesystem.localfiles.LocalFileSystemFactory;
 import ai.dqo.core.filesystem.localfiles.LocalFolderTreeNode;
 import ai.dqo.core.filesystem.localfiles.LocalFolderTreeNodeObjectMother;
+import ai.dqo.metadata.basespecs.InstanceStatus;
+import ai.dqo.metadata.id.HierarchyId;
+import ai.dqo.metadata.sources.ConnectionWrapper;
+import ai.dqo.metadata.sources.PhysicalTableName;
+import ai.dqo.metadata.sources.TableSpec;
+import ai.dqo.metadata.sources.TableWrapper;
+import ai.dqo.metadata.storage.localfiles.SpecFileNames;
+import ai.dqo.metadata.storage.localfiles.sources.FileTableWrapperImpl;
 import ai.dqo.utils.serialization.JsonSerializer;
 import ai.dqo.utils.serialization.JsonSerializerObjectMother;
+import ai.dqo.utils.serialization.SmileSerializerImpl;
 import ai.dqo.utils.serialization.YamlSerializer;
 import ai.dqo.utils.serialization.YamlSerializerImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
 public class UserHomeContextFactoryImplTests extends BaseTest {
+    private static final PhysicalTableName TABLE_NAME = new PhysicalTableName("schema", "tab1");
+
     @Test
     void openLocalHome_whenCalledForTestableHome_thenLoadsEmptyHome() {
         LocalFolderTreeNode localHomeFolder = LocalFolderTreeNodeObjectMother.createEmptyTemporaryUserHome(true);
@@ -40,11 +60,139 @@ public class UserHomeContextFactoryImplTests extends BaseTest {
         when(factoryMock.openLocalUserHome()).thenReturn(localHomeFolder);
         YamlSerializer yamlSerializer = new YamlSerializerImpl(DqoConfigurationPropertiesObjectMother.getDefaultCloned());
         JsonSerializer jsonSerializer = JsonSerializerObjectMother.createNew();
-        UserHomeContextFactoryImpl sut = new UserHomeContextFactoryImpl(yamlSerializer, jsonSerializer, factoryMock);
+        UserHomeContextFactoryImpl sut = new UserHomeContextFactoryImpl(yamlSerializer, jsonSerializer, factoryMock,
+                new SmileSerializerImpl(), new LocalFileSystemServiceImpl(), DqoConfigurationPropertiesObjectMother.getDefaultCloned());
 
         UserHomeContext userHomeContext = sut.openLocalUserHome();
         Assertions.assertNotNull(userHomeContext);
         Assertions.assertSame(localHomeFolder, userHomeContext.getHomeRoot());
         Assertions.assertNotNull(userHomeContext.getUserHome());
     }
+
+    /**
+     * Creates a user home context factory that opens the temporary user home with one connection and one table.
+     * The user home folder is not watched, the tests invalidate the cache explicitly.
+     * @param preloadedLatch Latch that is counted down when a cached user home snapshot was returned, or null when not tracked.
+     * @return User home context factory.
+     */
+    private UserHomeContextFactoryImpl createFactoryForTemporaryHomeWithTable(CountDownLatch preloadedLatch) {
+        LocalFolderTreeNodeObjectMother.createEmptyTemporaryUserHome(true);
+        LocalFileSystemFactory factoryMock = mock(LocalFileSystemFactory.class);
+        when(factoryMock.openLocalUserHome()).thenAnswer(invocation -> LocalFolderTreeNodeObjectMother.createEmptyTemporaryUserHome(false));
+        DqoConfigurationProperties configurationProperties = DqoConfigurationPropertiesObjectMother.getDefaultCloned();
+        configurationProperties.getCache().setUserHomeWatch(false);
+        YamlSerializer yamlSerializer = new YamlSerializerImpl(configurationProperties);
+        UserHomeContextFactoryImpl sut = new UserHomeContextFactoryImpl(yamlSerializer, JsonSerializerObjectMother.createNew(),
+                factoryMock, new SmileSerializerImpl(), new LocalFileSystemServiceImpl(), configurationProperties) {
+            @Override
+            public UserHomeContext getCachedLocalUserHome() {
+                UserHomeContext userHomeContext = super.getCachedLocalUserHome();
+                if (preloadedLatch != null) {
+                    preloadedLatch.countDown();
+                }
+                return userHomeContext;
+            }
+        };
+
+        UserHomeContext userHomeContext = sut.openLocalUserHome();
+        ConnectionWrapper connectionWrapper = userHomeContext.getUserHome().getConnections().createAndAddNew("conn");
+        connectionWrapper.getTables().createAndAddNew(TABLE_NAME);
+        userHomeContext.flush();
+
+        return sut;
+    }
+
+    /**
+     * Creates a user home context factory that opens the temporary user home with one connection and one table.
+     * @return User home context factory.
+     */
+    private UserHomeContextFactoryImpl createFactoryForTemporaryHomeWithTable() {
+        return createFactoryForTemporaryHomeWithTable(null);
+    }
+
+    @Test
+    void getCachedLocalUserHome_whenCalledTwice_thenReturnsSameReadOnlySnapshot() {
+        UserHomeContextFactoryImpl sut = createFactoryForTemporaryHomeWithTable();
+
+        UserHomeContext first = sut.getCachedLocalUserHome();
+        UserHomeContext second = sut.getCachedLocalUserHome();
+
+        Assertions.assertSame(first, second);
+        Assertions.assertTrue(first.isReadOnly());
+        Assertions.assertThrows(IllegalStateException.class, first::flush);
+    }
+
+    @Test
+    void getCachedLocalUserHome_whenInvalidatedAndFilesNotChanged_thenReusesParsedTableSpec() {
+        UserHomeContextFactoryImpl sut = createFactoryForTemporaryHomeWithTable();
+        UserHomeContext first = sut.getCachedLocalUserHome();
+        TableSpec firstTableSpec = first.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true).getSpec();
+
+        sut.invalidateCache();
+        UserHomeContext second = sut.getCachedLocalUserHome();
+        TableSpec secondTableSpec = second.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true).getSpec();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotNull(firstTableSpec);
+        Assertions.assertSame(firstTableSpec, secondTableSpec);
+    }
+
+    @Test
+    void getCachedLocalUserHome_whenTableFileChanged_thenParsesOnlyChangedTable() throws Exception {
+        UserHomeContextFactoryImpl sut = createFactoryForTemporaryHomeWithTable();
+        UserHomeContext first = sut.getCachedLocalUserHome();
+        ConnectionWrapper firstConnection = first.getUserHome().getConnections().getByObjectName("conn", true);
+        TableSpec firstTableSpec = firstConnection.getTables().getByObjectName(TABLE_NAME, true).getSpec();
+
+        UserHomeContext writableContext = sut.openLocalUserHome();
+        TableWrapper tableWrapper = writableContext.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true);
+        tableWrapper.getSpec().setDisabled(true);
+        writableContext.flush();
+        Path tableFilePath = ((FileTableWrapperImpl) tableWrapper).getConnectionFolderNode()
+                .getChildFileByFileName(TABLE_NAME.toBaseFileName() + SpecFileNames.TABLE_SPEC_FILE_EXT_YAML).getPhysicalAbsolutePath();
+        Files.setLastModifiedTime(tableFilePath, FileTime.from(Instant.now().plusSeconds(60)));
+
+        UserHomeContext second = sut.getCachedLocalUserHome();
+        ConnectionWrapper secondConnection = second.getUserHome().getConnections().getByObjectName("conn", true);
+        TableSpec secondTableSpec = secondConnection.getTables().getByObjectName(TABLE_NAME, true).getSpec();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotSame(firstTableSpec, secondTableSpec);
+        Assertions.assertFalse(firstTableSpec.isDisabled());
+        Assertions.assertTrue(secondTableSpec.isDisabled());
+        Assertions.assertSame(firstConnection.getSpec(), secondConnection.getSpec());
+    }
+
+    @Test
+    void getCachedLocalUserHome_whenInvalidatedAndFilesNotChanged_thenSharesTableSpecWithoutModifyingIt() {
+        UserHomeContextFactoryImpl sut = createFactoryForTemporaryHomeWithTable();
+        UserHomeContext first = sut.getCachedLocalUserHome();
+        TableSpec firstTableSpec = first.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true).getSpec();
+        HierarchyId firstTableSpecHierarchyId = firstTableSpec.getHierarchyId();
+
+        sut.invalidateCache();
+        UserHomeContext second = sut.getCachedLocalUserHome();
+        TableWrapper secondTableWrapper = second.getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true);
+
+        Assertions.assertSame(firstTableSpec, secondTableWrapper.getSpec());
+        Assertions.assertSame(firstTableSpecHierarchyId, firstTableSpec.getHierarchyId());
+        Assertions.assertEquals(InstanceStatus.UNCHANGED, secondTableWrapper.getStatus());
+    }
+
+    @Test
+    void afterPropertiesSet_whenUserHomePreloadEnabled_thenLoadsFirstSnapshotInBackground() throws Exception {
+        CountDownLatch preloadedLatch = new CountDownLatch(1);
+        UserHomeContextFactoryImpl sut = createFactoryForTemporaryHomeWithTable(preloadedLatch);
+
+        sut.afterPropertiesSet();
+
+        Assertions.assertTrue(preloadedLatch.await(30, TimeUnit.SECONDS));
+        Assertions.assertNotNull(sut.getCachedLocalUserHome().getUserHome().getConnections().getByObjectName("conn", true)
+                .getTables().getByObjectName(TABLE_NAME, true).getSpec());
+    }
 }
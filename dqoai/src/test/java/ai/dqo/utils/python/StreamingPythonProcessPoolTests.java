@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.python;
+
+import ai.dqo.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+public class StreamingPythonProcessPoolTests extends BaseTest {
+    private List<FakeStreamingPythonProcess> startedProcesses;
+
+    /**
+     * Python process stub that does not start a python interpreter.
+     */
+    private static class FakeStreamingPythonProcess extends StreamingPythonProcess {
+        private boolean healthy = true;
+        private boolean closed;
+        private int requestCount;
+
+        public FakeStreamingPythonProcess() {
+            super(null, "python fake.py", 1);
+        }
+
+        @Override
+        public int getRequestCount() {
+            return requestCount;
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return healthy && !closed;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+        this.startedProcesses = new ArrayList<>();
+    }
+
+    private StreamingPythonProcessPool createPool(int maxWorkers, int maxRequestsPerWorker) {
+        return new StreamingPythonProcessPool(() -> {
+            FakeStreamingPythonProcess process = new FakeStreamingPythonProcess();
+            this.startedProcesses.add(process);
+            return process;
+        }, maxWorkers, maxRequestsPerWorker);
+    }
+
+    @Test
+    void checkout_whenWorkerReturned_thenSameWorkerReused() {
+        StreamingPythonProcessPool sut = createPool(2, 0);
+
+        StreamingPythonProcess worker1 = sut.checkout();
+        sut.returnWorker(worker1);
+        StreamingPythonProcess worker2 = sut.checkout();
+
+        Assertions.assertSame(worker1, worker2);
+        Assertions.assertEquals(1, this.startedProcesses.size());
+    }
+
+    @Test
+    void checkout_whenTwoWorkersCheckedOut_thenStartsTwoProcesses() {
+        StreamingPythonProcessPool sut = createPool(2, 0);
+
+        StreamingPythonProcess worker1 = sut.checkout();
+        StreamingPythonProcess worker2 = sut.checkout();
+
+        Assertions.assertNotSame(worker1, worker2);
+        sut.returnWorker(worker1);
+        sut.returnWorker(worker2);
+        Assertions.assertEquals(2, sut.getIdleWorkerCount());
+    }
+
+    @Test
+    void checkout_whenIdleWorkerUnhealthy_thenClosesItAndStartsNewProcess() {
+        StreamingPythonProcessPool sut = createPool(2, 0);
+        StreamingPythonProcess worker1 = sut.checkout();
+        sut.returnWorker(worker1);
+        this.startedProcesses.get(0).healthy = false;
+
+        StreamingPythonProcess worker2 = sut.checkout();
+
+        Assertions.assertNotSame(worker1, worker2);
+        Assertions.assertTrue(this.startedProcesses.get(0).closed);
+        Assertions.assertEquals(2, this.startedProcesses.size());
+    }
+
+    @Test
+    void returnWorker_whenMaxRequestsReached_thenWorkerRecycled() {
+        StreamingPythonProcessPool sut = createPool(2, 10);
+        StreamingPythonProcess worker = sut.checkout();
+        this.startedProcesses.get(0).requestCount = 10;
+
+        sut.returnWorker(worker);
+
+        Assertions.assertTrue(this.startedProcesses.get(0).closed);
+        Assertions.assertEquals(0, sut.getIdleWorkerCount());
+    }
+
+    @Test
+    void invalidateWorker_whenCalled_thenWorkerClosedAndNotReused() {
+        StreamingPythonProcessPool sut = createPool(1, 0);
+        StreamingPythonProcess worker1 = sut.checkout();
+
+        sut.invalidateWorker(worker1);
+        StreamingPythonProcess worker2 = sut.checkout();
+
+        Assertions.assertTrue(this.startedProcesses.get(0).closed);
+        Assertions.assertNotSame(worker1, worker2);
+    }
+
+    @Test
+    void checkout_whenAllWorkersBusy_thenWaitsUntilWorkerReturned() throws Exception {
+        StreamingPythonProcessPool sut = createPool(1, 0);
+        StreamingPythonProcess worker1 = sut.checkout();
+
+        CompletableFuture<StreamingPythonProcess> secondCheckout = CompletableFuture.supplyAsync(sut::checkout);
+        Thread.sleep(100);
+        Assertions.assertFalse(secondCheckout.isDone());
+
+        sut.returnWorker(worker1);
+        Assertions.assertSame(worker1, secondCheckout.get(5, TimeUnit.SECONDS));
+    }
+}
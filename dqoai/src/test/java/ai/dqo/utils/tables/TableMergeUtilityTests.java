@@ -25,6 +25,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
 
+import java.time.LocalDateTime;
+import java.util.Random;
+
 @SpringBootTest
 public class TableMergeUtilityTests extends BaseTest {
     private Table currentTable;
@@ -108,4 +111,59 @@ public class TableMergeUtilityTests extends BaseTest {
         Assertions.assertEquals("10", merged.getString(0, SensorNormalizedResult.CHECK_HASH_COLUMN_NAME));
         Assertions.assertEquals("15", merged.getString(0, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
     }
+
+    @Test
+    void mergeNewResults_whenTimePeriodIsJoinColumnAndOnlyOneTimePeriodOverridden_thenOnlyMatchingRowReplaced() {
+        addRows(currentTable, 10L, 20L, 16.0);
+        currentTable.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME).set(0, LocalDateTime.of(2022, 3, 1, 0, 0));
+        addRows(currentTable, 10L, 20L, 17.0);
+        currentTable.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME).set(1, LocalDateTime.of(2022, 3, 2, 0, 0));
+        addRows(newTable, 10L, 20L, 15.0);
+        newTable.dateTimeColumn(SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME).set(0, LocalDateTime.of(2022, 3, 2, 0, 0));
+
+        Table merged = TableMergeUtility.mergeNewResults(this.currentTable, this.newTable,
+                SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, SensorNormalizedResult.DIMENSION_ID_COLUMN_NAME, SensorNormalizedResult.TIME_PERIOD_COLUMN_NAME);
+
+        Assertions.assertEquals(2, merged.rowCount());
+        Assertions.assertEquals("16", merged.getString(0, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
+        Assertions.assertEquals("15", merged.getString(1, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
+        Assertions.assertEquals(2, this.currentTable.rowCount());
+    }
+
+    @Test
+    void mergeNewResults_whenManyRandomRows_thenReturnsSameRowsAsMergeUsingJoin() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            addRows(currentTable, random.nextInt(20), random.nextInt(30), i);
+        }
+        for (int i = 0; i < 300; i++) {
+            addRows(newTable, random.nextInt(20), random.nextInt(30), -i);
+        }
+
+        Table merged = TableMergeUtility.mergeNewResults(this.currentTable, this.newTable, this.joinColumnNames);
+        Table mergedUsingJoin = TableMergeUtility.mergeNewResultsUsingJoin(this.currentTable, this.newTable, this.joinColumnNames);
+
+        Assertions.assertEquals(mergedUsingJoin.rowCount(), merged.rowCount());
+        Assertions.assertEquals(mergedUsingJoin.columnCount(), merged.columnCount());
+        Assertions.assertEquals(
+                mergedUsingJoin.sortOn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).asList(),
+                merged.sortOn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).doubleColumn(SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME).asList());
+    }
+
+    @Test
+    void mergeNewResults_whenJoinColumnIsTextColumn_thenMergesUsingJoin() {
+        addRows(currentTable, 10L, 20L, 16.0);
+        currentTable.stringColumn(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME).set(0, "a");
+        addRows(currentTable, 10L, 20L, 17.0);
+        currentTable.stringColumn(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME).set(1, "b");
+        addRows(newTable, 10L, 20L, 15.0);
+        newTable.stringColumn(SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME).set(0, "b");
+
+        Table merged = TableMergeUtility.mergeNewResults(this.currentTable, this.newTable,
+                SensorNormalizedResult.CHECK_HASH_COLUMN_NAME, SensorNormalizedResult.COLUMN_NAME_COLUMN_NAME);
+
+        Assertions.assertEquals(2, merged.rowCount());
+        Assertions.assertEquals("16", merged.getString(0, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
+        Assertions.assertEquals("15", merged.getString(1, SensorNormalizedResult.ACTUAL_VALUE_COLUMN_NAME));
+    }
 }
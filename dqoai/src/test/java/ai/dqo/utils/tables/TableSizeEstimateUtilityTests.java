@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2021 DQO.ai (support@dqo.ai)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ai.dqo.utils.tables;
+
+import ai.dqo.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TextColumn;
+
+@SpringBootTest
+public class TableSizeEstimateUtilityTests extends BaseTest {
+    private static final String LONG_VALUE = "a".repeat(1000);
+
+    /**
+     * Called before each test.
+     * This method should be overridden in derived super classes (test classes), but remember to add {@link BeforeEach} annotation in a derived test class. JUnit5 demands it.
+     *
+     * @throws Throwable
+     */
+    @Override
+    @BeforeEach
+    protected void setUp() throws Throwable {
+        super.setUp();
+    }
+
+    @Test
+    void estimateSizeInBytes_whenDoubleColumn_thenCountsPrimitiveValues() {
+        Table table = Table.create("tab", DoubleColumn.create("col", new double[] { 1.0, 2.0, 3.0 }));
+
+        Assertions.assertEquals(24L, TableSizeEstimateUtility.estimateSizeInBytes(table));
+    }
+
+    @Test
+    void estimateSizeInBytes_whenStringColumnWithRepeatedValue_thenCountsContentOfUniqueValueOnce() {
+        StringColumn column = StringColumn.create("col");
+        for (int i = 0; i < 10; i++) {
+            column.append(LONG_VALUE);
+        }
+        Table table = Table.create("tab", column);
+
+        long sizeInBytes = TableSizeEstimateUtility.estimateSizeInBytes(table);
+
+        Assertions.assertTrue(sizeInBytes >= 2000L);
+        Assertions.assertTrue(sizeInBytes < 2 * 2000L);
+    }
+
+    @Test
+    void estimateSizeInBytes_whenTextColumn_thenCountsContentOfEachValue() {
+        TextColumn column = TextColumn.create("col");
+        for (int i = 0; i < 10; i++) {
+            column.append(LONG_VALUE);
+        }
+        Table table = Table.create("tab", column);
+
+        long sizeInBytes = TableSizeEstimateUtility.estimateSizeInBytes(table);
+
+        Assertions.assertTrue(sizeInBytes >= 10 * 2000L);
+    }
+
+    @Test
+    void estimateRowsSizeInBytes_whenRangeOfRowsGiven_thenCountsOnlyRowsInRange() {
+        Table table = Table.create("tab", DoubleColumn.create("col", new double[] { 1.0, 2.0, 3.0, 4.0 }));
+
+        Assertions.assertEquals(16L, TableSizeEstimateUtility.estimateRowsSizeInBytes(table, 1, 3));
+        Assertions.assertEquals(0L, TableSizeEstimateUtility.estimateRowsSizeInBytes(table, 4, 4));
+    }
+
+    @Test
+    void estimateRowsSizeInBytes_whenStringColumnRangesEstimatedSeparately_thenCountsUniqueValueOncePerRange() {
+        StringColumn column = StringColumn.create("col");
+        for (int i = 0; i < 10; i++) {
+            column.append(LONG_VALUE);
+        }
+        Table table = Table.create("tab", column);
+
+        long firstRangeSize = TableSizeEstimateUtility.estimateRowsSizeInBytes(table, 0, 5);
+        long secondRangeSize = TableSizeEstimateUtility.estimateRowsSizeInBytes(table, 5, 10);
+
+        Assertions.assertEquals(firstRangeSize, secondRangeSize);
+        Assertions.assertTrue(firstRangeSize >= 2000L);
+        Assertions.assertTrue(firstRangeSize < 2 * 2000L);
+        Assertions.assertTrue(firstRangeSize + secondRangeSize >= TableSizeEstimateUtility.estimateSizeInBytes(table));
+    }
+}
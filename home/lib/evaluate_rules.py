@@ -47,6 +47,7 @@ class RuleExecutionRunParameters:
 class PythonRuleCallInput:
     rule_module_path: str
     rule_parameters: any
+    rule_parameters_batch: Sequence[RuleExecutionRunParameters]
 
 
 class PythonRuleCallOutput:
@@ -60,6 +61,15 @@ class PythonRuleCallOutput:
         self.error = error
 
 
+class PythonRuleBatchCallOutput:
+    results: Sequence[any]
+    error: str
+
+    def __init__(self, results, error):
+        self.results = results
+        self.error = error
+
+
 class RuleRunner:
     rule_modules = {}
 
@@ -75,23 +85,45 @@ class RuleRunner:
             raise ImportError(f"{e.strerror}: {file_name}") from e
         return module
 
+    def get_rule_module(self, rule_module_path: str) -> "types.ModuleType":
+        if rule_module_path not in self.rule_modules:
+            rules_folder_index = rule_module_path.rfind('rules')
+            rule_module_name = rule_module_path[rules_folder_index + 'rules'.__len__() + 1: -3] \
+                .replace('\\', '.').replace('/', '.')
+            rule_module = self.import_source_file(rule_module_path, rule_module_name)
+            self.rule_modules[rule_module_path] = rule_module
+
+        return self.rule_modules[rule_module_path]
+
     def process_rule_request(self, request: PythonRuleCallInput):
+        if hasattr(request, 'rule_parameters_batch'):
+            return self.process_rule_batch_request(request)
+
         try:
-            rule_module_path = request.rule_module_path
             rule_parameters = request.rule_parameters
-            if rule_module_path not in self.rule_modules:
-                rules_folder_index = rule_module_path.rfind('rules')
-                rule_module_name = rule_module_path[rules_folder_index + 'rules'.__len__() + 1: -3] \
-                    .replace('\\', '.').replace('/', '.')
-                rule_module = self.import_source_file(rule_module_path, rule_module_name)
-                self.rule_modules[rule_module_path] = rule_module
-
-            rule_module = self.rule_modules[rule_module_path]
+            rule_module = self.get_rule_module(request.rule_module_path)
             rule_function = getattr(rule_module, 'evaluate_rule')
             rule_result = rule_function(rule_parameters)
             return PythonRuleCallOutput(rule_result, rule_parameters, None)
         except Exception as ex:
-            return PythonRuleCallOutput(None, rule_parameters, traceback.format_exc())
+            return PythonRuleCallOutput(None, request.rule_parameters, traceback.format_exc())
+
+    def process_rule_batch_request(self, request: PythonRuleCallInput):
+        # rule modules may implement a vectorized evaluate_rules(batch) function that evaluates all rule parameters at once,
+        # otherwise the evaluate_rule function is called for each element of the batch
+        try:
+            rule_parameters_batch = request.rule_parameters_batch
+            rule_module = self.get_rule_module(request.rule_module_path)
+            if hasattr(rule_module, 'evaluate_rules'):
+                rule_results = list(getattr(rule_module, 'evaluate_rules')(rule_parameters_batch))
+                if len(rule_results) != len(rule_parameters_batch):
+                    raise ValueError(f'evaluate_rules returned {len(rule_results)} results for a batch of {len(rule_parameters_batch)} rule parameters')
+            else:
+                rule_function = getattr(rule_module, 'evaluate_rule')
+                rule_results = [rule_function(rule_parameters) for rule_parameters in rule_parameters_batch]
+            return PythonRuleBatchCallOutput(rule_results, None)
+        except Exception as ex:
+            return PythonRuleBatchCallOutput(None, traceback.format_exc())
 
 
 def main():
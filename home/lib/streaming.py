@@ -64,6 +64,10 @@ def stream_json_objects(file_obj: TextIO, buf_size=1024):
         if not block:
             break
         buf += block
+        if not block[-1].isspace():
+            # the caller sends whitespaces after each message, a block without a trailing whitespace is inside a message,
+            # we skip parsing it to avoid parsing large (batched) messages again and again after each received block
+            continue
         pos = 0
         while True:
             match = NOT_WHITESPACE.search(buf, pos)
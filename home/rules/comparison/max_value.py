@@ -63,6 +63,6 @@ class RuleExecutionResult:
 def evaluate_rule(rule_parameters: RuleExecutionRunParameters) -> RuleExecutionResult:
     passed = rule_parameters.actual_value <= rule_parameters.parameters.max_value
     expected_value = rule_parameters.parameters.max_value
-    lower_bound = rule_parameters.parameters.max_value
-    upper_bound = None
+    lower_bound = None
+    upper_bound = rule_parameters.parameters.max_value
     return RuleExecutionResult(passed, expected_value, lower_bound, upper_bound)